@@ -0,0 +1,76 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.order.CheckoutLine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장바구니 20줄의 줄별 최적 쿠폰. 색인이 캐시에 있는 사용자 기준으로 전수 조사와 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BestCouponBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10", "200"})
+    private int couponCount;
+
+    private List<UsableCoupon> coupons;
+    private List<CheckoutLine> cart;
+    private BestCouponFinder finder;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        coupons = new ArrayList<>(couponCount);
+        for (int c = 0; c < couponCount; c++) {
+            Long productId = random.nextInt(3) == 0 ? null : (long) random.nextInt(1, 200);
+            coupons.add(new UsableCoupon((long) c, (long) c, productId, random.nextInt(1, 10) * 1_000,
+                    random.nextInt(0, 6) * 5_000, now.minusDays(random.nextInt(0, 10)), now.plusDays(random.nextInt(1, 10))));
+        }
+        cart = new ArrayList<>();
+        for (int line = 0; line < 20; line++) {
+            cart.add(new CheckoutLine((long) random.nextInt(1, 200), (long) random.nextInt(1, 40) * 1_000));
+        }
+        finder = new BestCouponFinder((userId, at) -> coupons, 1_000, Duration.ofHours(1));
+        finder.bestPerLine(USER_ID, cart);
+    }
+
+    @Benchmark
+    public List<BestCoupon> indexed() {
+        return finder.bestPerLine(USER_ID, cart);
+    }
+
+    @Benchmark
+    public List<BestCoupon> scan() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BestCoupon> result = new ArrayList<>(cart.size());
+        for (CheckoutLine line : cart) {
+            UsableCoupon best = null;
+            for (UsableCoupon coupon : coupons) {
+                if (coupon.usableAt(now) && coupon.appliesTo(line.productId()) && coupon.discount(line.price()) > 0
+                        && (best == null || coupon.discount(line.price()) > best.discount(line.price()))) {
+                    best = coupon;
+                }
+            }
+            result.add(BestCoupon.of(line.productId(), line.price(), best));
+        }
+        return result;
+    }
+}
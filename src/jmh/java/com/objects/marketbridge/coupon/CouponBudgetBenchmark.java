@@ -0,0 +1,132 @@
+package com.objects.marketbridge.coupon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 판매자 예산을 32 스레드가 동시에 차감할 때 shard 수별 처리량.
+ * shard 행마다 락을 두고, 커밋까지 행 잠금을 쥐고 있는 시간을 consumeCPU 로 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class CouponBudgetBenchmark {
+
+    private static final Long SELLER_ID = 1L;
+    private static final long ROW_LOCK_TOKENS = 2_000;
+
+    @Param({"1", "8", "64"})
+    private int shards;
+
+    private CouponBudgetService service;
+
+    @Setup
+    public void setUp() {
+        service = new CouponBudgetService(new RowLockStore(shards, Long.MAX_VALUE / 2), shards, 2);
+    }
+
+    @Benchmark
+    public boolean spend() {
+        return service.spend(SELLER_ID, 1_000);
+    }
+
+    static final class RowLockStore implements CouponBudgetStore {
+
+        private final ReentrantLock[] locks;
+        private final long[] remaining;
+
+        RowLockStore(int shards, long total) {
+            this.locks = new ReentrantLock[shards];
+            this.remaining = new long[shards];
+            for (int i = 0; i < shards; i++) {
+                locks[i] = new ReentrantLock();
+                remaining[i] = JdbcCouponBudgetStore.share(total, shards, i);
+            }
+        }
+
+        @Override
+        public boolean tryTake(Long userId, int shardNo, long amount) {
+            locks[shardNo].lock();
+            try {
+                Blackhole.consumeCPU(ROW_LOCK_TOKENS);
+                if (remaining[shardNo] < amount) {
+                    return false;
+                }
+                remaining[shardNo] -= amount;
+                return true;
+            } finally {
+                locks[shardNo].unlock();
+            }
+        }
+
+        @Override
+        public BudgetTakeResult takeAcross(Long userId, long amount) {
+            for (ReentrantLock lock : locks) {
+                lock.lock();
+            }
+            try {
+                Blackhole.consumeCPU(ROW_LOCK_TOKENS);
+                long total = 0;
+                for (long value : remaining) {
+                    total += value;
+                }
+                if (total < amount) {
+                    return BudgetTakeResult.INSUFFICIENT;
+                }
+                long left = amount;
+                for (int i = 0; i < remaining.length && left > 0; i++) {
+                    long taken = Math.min(left, remaining[i]);
+                    remaining[i] -= taken;
+                    left -= taken;
+                }
+                return BudgetTakeResult.TAKEN;
+            } finally {
+                for (ReentrantLock lock : locks) {
+                    lock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public boolean give(Long userId, int shardNo, long amount) {
+            locks[shardNo].lock();
+            try {
+                remaining[shardNo] += amount;
+                return true;
+            } finally {
+                locks[shardNo].unlock();
+            }
+        }
+
+        @Override
+        public boolean seed(Long userId, int shards) {
+            return true;
+        }
+
+        @Override
+        public long remaining(Long userId) {
+            long total = 0;
+            for (long value : remaining) {
+                total += value;
+            }
+            return total;
+        }
+
+        @Override
+        public long reconcile(Long userId, int shards) {
+            return remaining(userId);
+        }
+    }
+}
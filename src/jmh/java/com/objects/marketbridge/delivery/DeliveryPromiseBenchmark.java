@@ -0,0 +1,77 @@
+package com.objects.marketbridge.delivery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 카드 한 화면 분량의 도착 약속 계산. 창고 20곳, 로켓배송 상품 10만 개 기준.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeliveryPromiseBenchmark {
+
+    private static final int WAREHOUSES = 20;
+    private static final int PRODUCTS = 100_000;
+
+    @Param({"1", "60"})
+    private int cardCount;
+
+    private DeliveryPromiseEngine engine;
+    private List<PromiseRequest> requests;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<WarehouseLocation> warehouses = new ArrayList<>();
+        List<DeliveryCutoff> cutoffs = new ArrayList<>();
+        for (long w = 1; w <= WAREHOUSES; w++) {
+            warehouses.add(new WarehouseLocation(w, String.format("%02d100", random.nextInt(1, 64))));
+            cutoffs.add(new DeliveryCutoff(w, random.nextInt(12, 25), 1));
+        }
+        List<PromiseStockRow> stock = new ArrayList<>();
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            for (int i = 0; i < 3; i++) {
+                stock.add(new PromiseStockRow(productId, (long) random.nextInt(1, WAREHOUSES + 1), null, random.nextInt(10) > 0));
+            }
+        }
+        engine = new DeliveryPromiseEngine(new DeliveryPromiseStore() {
+            @Override
+            public List<WarehouseLocation> findWarehouses() {
+                return warehouses;
+            }
+
+            @Override
+            public List<DeliveryCutoff> findCutoffs() {
+                return cutoffs;
+            }
+
+            @Override
+            public List<PromiseStockRow> findOwnProductStock() {
+                return stock;
+            }
+        });
+        engine.reload();
+
+        requests = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            requests.add(new PromiseRequest(random.nextLong(1, PRODUCTS + 1), String.format("%02d%03d", random.nextInt(1, 64), i)));
+        }
+    }
+
+    @Benchmark
+    public List<DeliveryPromise> promisePage() {
+        return engine.promise(requests);
+    }
+}
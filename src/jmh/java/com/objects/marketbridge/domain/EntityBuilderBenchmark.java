@@ -0,0 +1,53 @@
+package com.objects.marketbridge.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lombok 빌더로 엔티티를 만드는 비용. 생성자 직접 호출과 비교할 수 없어서(private) 빌더 경로만 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityBuilderBenchmark {
+
+    private long sequence;
+
+    @Benchmark
+    public Product product() {
+        return Product.builder()
+                .categoryId(sequence++)
+                .isOwn(true)
+                .name("상품")
+                .price(10_000)
+                .discountRate(10)
+                .build();
+    }
+
+    @Benchmark
+    public ProdOrder prodOrder() {
+        return ProdOrder.builder()
+                .userId(sequence++)
+                .addressId(1L)
+                .statusCode(StatusCodeType.ORDER_INIT)
+                .totalPrice(25_000L)
+                .pointRate(1)
+                .savedPoint(250)
+                .build();
+    }
+
+    @Benchmark
+    public ProdOrderDetail prodOrderDetail() {
+        return ProdOrderDetail.builder()
+                .orderId(sequence++)
+                .productId(10L)
+                .price(10_000L)
+                .build();
+    }
+}
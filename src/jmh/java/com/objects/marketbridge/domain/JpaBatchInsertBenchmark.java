@@ -0,0 +1,129 @@
+package com.objects.marketbridge.domain;
+
+import com.objects.marketbridge.common.config.IdGeneratorConfig;
+import com.objects.marketbridge.common.config.JpaAuditingConfig;
+import com.objects.marketbridge.common.id.IdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 H2 에 prod_order_detail 을 rows 건씩 넣는 비용.
+ * JPA persist (hibernate.jdbc.batch_size 배치) 와 JdbcTemplate batchUpdate 를 비교한다.
+ * 컴포넌트 스캔 없이 DataSource / JPA / JdbcTemplate 만 띄우므로 스케줄러와 폴러가 측정 중에 같은 DB 를 쓰지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JpaBatchInsertBenchmark {
+
+    private static final String INSERT_ORDER_DETAIL =
+            "insert into prod_order_detail (prod_order_detail_id, order_id, product_id, price, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private IdGenerator idGenerator;
+    private int batchSize;
+    private long orderId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(JpaSlice.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        idGenerator = context.getBean(IdGenerator.class);
+        batchSize = Integer.parseInt(context.getEnvironment().getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "500"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("delete from prod_order_detail");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public int jpaPersist() {
+        long order = ++orderId;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(ProdOrderDetail.builder().orderId(order).productId((long) i).price(10_000L).build());
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int jdbcBatchUpdate() {
+        long order = ++orderId;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(new Object[]{idGenerator.nextId(), order, (long) i, 10_000L, now, now});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ORDER_DETAIL, args));
+        return rows;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan(basePackageClasses = ProdOrderDetail.class)
+    @Import({IdGeneratorConfig.class, JpaAuditingConfig.class})
+    static class JpaSlice {
+    }
+}
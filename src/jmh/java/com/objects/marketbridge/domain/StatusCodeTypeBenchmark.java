@@ -0,0 +1,66 @@
+package com.objects.marketbridge.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatusCodeType 조회 경로 비교. linearScan 은 색인 없이 values() 를 도는 기준값이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatusCodeTypeBenchmark {
+
+    private String[] codes;
+    private String[] names;
+    private int[] values;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        StatusCodeType[] types = StatusCodeType.values();
+        codes = Arrays.stream(types).map(StatusCodeType::getCode).toArray(String[]::new);
+        names = Arrays.stream(types).map(StatusCodeType::name).toArray(String[]::new);
+        values = Arrays.stream(types).mapToInt(StatusCodeType::getValue).toArray();
+    }
+
+    @Benchmark
+    public StatusCodeType fromCode() {
+        return StatusCodeType.fromCode(codes[next()]);
+    }
+
+    @Benchmark
+    public StatusCodeType fromValue() {
+        return StatusCodeType.fromValue(values[next()]);
+    }
+
+    @Benchmark
+    public StatusCodeType valueOf() {
+        return StatusCodeType.valueOf(names[next()]);
+    }
+
+    @Benchmark
+    public StatusCodeType linearScan() {
+        String code = codes[next()];
+        for (StatusCodeType type : StatusCodeType.values()) {
+            if (type.getCode().equals(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private int next() {
+        int i = index;
+        index = i + 1 == codes.length ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,105 @@
+package com.objects.marketbridge.image;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 상품 목록 한 화면(썸네일 60장, 4~24KB) 을 8 스레드가 동시에 보낼 때의 처리량.
+ * 열어 둔 FileChannel 에서 transferTo 로 보내는 방식과, 요청마다 파일을 힙으로 읽어 쓰는 방식을 비교한다.
+ * 응답 대상은 /dev/null 채널이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ImageServingBenchmark {
+
+    private static final int IMAGES = 2_000;
+    private static final int PAGE = 60;
+
+    private Path root;
+    private Map<Long, String> urls;
+    private ImageService imageService;
+    private FileChannel sink;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        root = Files.createTempDirectory("image-bench");
+        urls = new HashMap<>();
+        for (long imageId = 1; imageId <= IMAGES; imageId++) {
+            byte[] bytes = new byte[random.nextInt(4_096, 24_576)];
+            random.nextBytes(bytes);
+            String url = "thumb/" + imageId + ".jpg";
+            Files.createDirectories(root.resolve("thumb"));
+            Files.write(root.resolve(url), bytes);
+            urls.put(imageId, url);
+        }
+        imageService = new ImageService(
+                new ImageFileCache(imageId -> Optional.ofNullable(urls.get(imageId)), root.toString(), 4_096, Duration.ofSeconds(10)),
+                Duration.ofDays(1));
+        sink = FileChannel.open(Path.of("/dev/null"), StandardOpenOption.WRITE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        sink.close();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long transferFromOpenChannel() throws IOException {
+        long sent = 0;
+        long first = firstImageOfPage();
+        for (long imageId = first; imageId < first + PAGE; imageId++) {
+            try (ImageResponse response = imageService.open(imageId, null, null, null)) {
+                sent += response.transferTo(sink);
+            }
+        }
+        return sent;
+    }
+
+    @Benchmark
+    public long readIntoHeap() throws IOException {
+        long sent = 0;
+        long first = firstImageOfPage();
+        for (long imageId = first; imageId < first + PAGE; imageId++) {
+            byte[] bytes = Files.readAllBytes(root.resolve(urls.get(imageId)));
+            sent += sink.write(ByteBuffer.wrap(bytes));
+        }
+        return sent;
+    }
+
+    // 인기 있는 앞쪽 페이지가 더 자주 보이도록 고른다
+    private static long firstImageOfPage() {
+        double skew = Math.pow(ThreadLocalRandom.current().nextDouble(), 3);
+        return 1 + (long) (skew * (IMAGES / PAGE - 1)) * PAGE;
+    }
+}
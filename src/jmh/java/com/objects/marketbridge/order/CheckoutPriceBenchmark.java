@@ -0,0 +1,53 @@
+package com.objects.marketbridge.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 금액과 적립 포인트 계산. 주문 한 건의 상품 줄 수별로 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CheckoutPriceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lineCount;
+
+    private CheckoutCommand command;
+
+    @Setup
+    public void setUp() {
+        List<CheckoutLine> lines = new ArrayList<>(lineCount);
+        for (long i = 0; i < lineCount; i++) {
+            lines.add(new CheckoutLine(i, 1_000L + i * 10));
+        }
+        command = CheckoutCommand.builder()
+                .userId(1L)
+                .lines(lines)
+                .pointRate(1)
+                .build();
+    }
+
+    @Benchmark
+    public long totalPrice() {
+        return command.totalPrice();
+    }
+
+    @Benchmark
+    public void totalPriceAndSavedPoint(Blackhole blackhole) {
+        blackhole.consume(command.totalPrice());
+        blackhole.consume(command.savedPoint());
+    }
+}
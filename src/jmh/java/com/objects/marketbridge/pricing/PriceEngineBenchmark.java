@@ -0,0 +1,116 @@
+package com.objects.marketbridge.pricing;
+
+import com.objects.marketbridge.domain.Coupon;
+import com.objects.marketbridge.domain.Membership;
+import com.objects.marketbridge.domain.ProdOption;
+import com.objects.marketbridge.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면 가격 계산. 엔티티를 하나씩 도는 방식과 배열 묶음(PriceBatch) 방식을 비교한다.
+ * 상품마다 옵션 0~3개, 쿠폰 0~2개.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceEngineBenchmark {
+
+    private static final int WOW_DISCOUNT_RATE = 5;
+
+    @Param({"60", "10000", "200000"})
+    private int productCount;
+
+    private List<Product> products;
+    private List<List<ProdOption>> options;
+    private List<List<Coupon>> coupons;
+    private PriceBatch batch;
+    private PriceEngine sequential;
+    private PriceEngine parallel;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        products = new ArrayList<>(productCount);
+        options = new ArrayList<>(productCount);
+        coupons = new ArrayList<>(productCount);
+        batch = new PriceBatch(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Product product = Product.builder()
+                    .isOwn(random.nextBoolean())
+                    .price(random.nextInt(1_000, 500_000))
+                    .discountRate(random.nextInt(0, 60))
+                    .build();
+            products.add(product);
+            int index = batch.addProduct(i + 1, product.getPrice(), product.getDiscountRate(), product.isOwn());
+
+            List<ProdOption> productOptions = new ArrayList<>();
+            for (int o = random.nextInt(0, 4); o > 0; o--) {
+                ProdOption option = ProdOption.builder().price(random.nextInt(1_000, 500_000)).build();
+                productOptions.add(option);
+                batch.addOptionPrice(index, option.getPrice());
+            }
+            options.add(productOptions);
+
+            List<Coupon> productCoupons = new ArrayList<>();
+            for (int c = random.nextInt(0, 3); c > 0; c--) {
+                Coupon coupon = Coupon.builder()
+                        .price(random.nextInt(500, 20_000))
+                        .minimumPrice(random.nextInt(0, 300_000))
+                        .build();
+                productCoupons.add(coupon);
+                batch.addCoupon(index, productCoupons.size(), coupon.getPrice(), coupon.getMinimumPrice());
+            }
+            coupons.add(productCoupons);
+        }
+        sequential = new PriceEngine(WOW_DISCOUNT_RATE, Integer.MAX_VALUE);
+        parallel = new PriceEngine(WOW_DISCOUNT_RATE, 20_000);
+    }
+
+    @Benchmark
+    public int[] perEntity() {
+        int[] finalPrices = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            Product product = products.get(i);
+            Integer list = product.getPrice();
+            for (ProdOption option : options.get(i)) {
+                if (option.getPrice() != null && option.getPrice() < list) {
+                    list = option.getPrice();
+                }
+            }
+            int sale = list * (100 - product.getDiscountRate()) / 100;
+            if (product.isOwn()) {
+                sale = sale * (100 - WOW_DISCOUNT_RATE) / 100;
+            }
+            int best = 0;
+            for (Coupon coupon : coupons.get(i)) {
+                if (sale >= coupon.getMinimumPrice() && coupon.getPrice() > best) {
+                    best = coupon.getPrice();
+                }
+            }
+            finalPrices[i] = Math.max(0, sale - best);
+        }
+        return finalPrices;
+    }
+
+    @Benchmark
+    public PriceBatchResult batchSequential() {
+        return sequential.compute(batch, Membership.WOW);
+    }
+
+    @Benchmark
+    public PriceBatchResult batchParallel() {
+        return parallel.compute(batch, Membership.WOW);
+    }
+}
@@ -0,0 +1,68 @@
+package com.objects.marketbridge.stock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 카운터 기반 재고 예약. 재고는 충분히 크게 잡아 측정 중에 바닥나지 않게 하고,
+ * DB 접근을 빼기 위해 StockStore 는 메모리 구현을 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockReservationBenchmark {
+
+    private static final StockKey HOT_KEY = new StockKey(1L, 1L, null);
+
+    private StockReservationService service;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new StockReservationService(new InMemoryStockStore(), Duration.ofMinutes(10), event -> {});
+        service.available(HOT_KEY);
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        return service.reserve(HOT_KEY, 1)
+                .map(reservation -> service.release(reservation.id()))
+                .orElse(false);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean reserveAndReleaseContended() {
+        return reserveAndRelease();
+    }
+
+    @Benchmark
+    public boolean reserveAndConfirm() {
+        return service.reserve(HOT_KEY, 1)
+                .map(reservation -> service.confirm(reservation.id()))
+                .orElse(false);
+    }
+
+    static class InMemoryStockStore implements StockStore {
+
+        @Override
+        public Optional<StockSnapshot> load(StockKey key) {
+            return Optional.of(new StockSnapshot(key.productId(), Integer.MAX_VALUE));
+        }
+
+        @Override
+        public void applyDeltas(List<StockDelta> deltas) {
+        }
+    }
+}
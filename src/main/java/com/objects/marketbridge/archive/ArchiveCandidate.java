@@ -0,0 +1,10 @@
+package com.objects.marketbridge.archive;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 보관할 행. row 는 컬럼 이름을 키로 한 원본 행 전체.
+ */
+public record ArchiveCandidate(long id, LocalDateTime deletedAt, Map<String, Object> row) {
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테이블별 보관 진행 위치. (deletedAt, id) 순으로 이 행까지 옮겼다.
+ */
+public record ArchivePosition(LocalDateTime deletedAt, long id, long archivedCount) {
+
+    public static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static ArchivePosition start() {
+        return new ArchivePosition(BEGINNING, 0, 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테이블별 보관 진행 상황.
+ *
+ * @param archivedTotal   지금까지 옮긴 행 수 (checkpoint 에 누적된 값)
+ * @param archivedLastRun 마지막 실행에서 옮긴 행 수
+ * @param checkpoint      다음 실행이 이어서 시작할 위치
+ * @param rowsPerSecond   마지막 실행의 처리량
+ */
+public record ArchiveProgress(String table, long archivedTotal, long archivedLastRun, ArchivePosition checkpoint,
+                              LocalDateTime lastRunAt, boolean running, double rowsPerSecond) {
+}
@@ -0,0 +1,22 @@
+package com.objects.marketbridge.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * soft delete 행 보관 작업이 사용하는 테이블 접근 포트
+ */
+public interface ArchiveStore {
+
+    ArchivePosition findCheckpoint(ArchiveTarget target);
+
+    /**
+     * cutoff 전에 삭제되었고 after 보다 뒤인 행을 (deleted_at, id) 순으로 limit 건 읽는다.
+     */
+    List<ArchiveCandidate> findDeleted(ArchiveTarget target, LocalDateTime cutoff, ArchivePosition after, int limit);
+
+    /**
+     * 행을 보관 테이블에 넣고 원본에서 지운 뒤 checkpoint 를 옮긴다. 한 트랜잭션으로 처리한다.
+     */
+    void archive(ArchiveTarget target, List<ArchiveCandidate> rows, ArchivePosition checkpoint);
+}
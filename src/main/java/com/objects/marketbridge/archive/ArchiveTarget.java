@@ -0,0 +1,26 @@
+package com.objects.marketbridge.archive;
+
+import java.util.regex.Pattern;
+
+/**
+ * 보관 대상 테이블과 그 기본키 컬럼. 설정값 "review:review_id" 형식으로 만든다.
+ */
+public record ArchiveTarget(String table, String idColumn) {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z][a-z0-9_]*");
+
+    public ArchiveTarget {
+        // SQL 에 그대로 넣으므로 식별자 형식만 허용한다
+        if (table == null || idColumn == null || !IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(idColumn).matches()) {
+            throw new IllegalArgumentException("잘못된 보관 대상입니다. table=" + table + ", idColumn=" + idColumn);
+        }
+    }
+
+    public static ArchiveTarget parse(String value) {
+        String[] parts = value.trim().split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("보관 대상은 table:id_column 형식입니다. value=" + value);
+        }
+        return new ArchiveTarget(parts[0].trim(), parts[1].trim());
+    }
+}
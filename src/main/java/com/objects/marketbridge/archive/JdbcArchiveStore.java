@@ -0,0 +1,103 @@
+package com.objects.marketbridge.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.objects.marketbridge.common.id.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcArchiveStore implements ArchiveStore {
+
+    private static final String SELECT_CHECKPOINT =
+            "select last_deleted_at, last_id, archived_count from archive_checkpoint where source_table = :table";
+    private static final String UPDATE_CHECKPOINT =
+            "update archive_checkpoint set last_deleted_at = :deletedAt, last_id = :id, archived_count = :count, updated_at = :now " +
+            "where source_table = :table";
+    private static final String INSERT_CHECKPOINT =
+            "insert into archive_checkpoint (source_table, last_deleted_at, last_id, archived_count, updated_at) " +
+            "values (:table, :deletedAt, :id, :count, :now)";
+    private static final String INSERT_ARCHIVED_ROW =
+            "insert into archived_row (archived_row_id, source_table, source_id, deleted_at, payload, archived_at) " +
+            "values (:archivedRowId, :table, :sourceId, :deletedAt, :payload, :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public ArchivePosition findCheckpoint(ArchiveTarget target) {
+        return jdbcTemplate.query(SELECT_CHECKPOINT, Map.of("table", target.table()), (rs, rowNum) -> new ArchivePosition(
+                        rs.getTimestamp("last_deleted_at").toLocalDateTime(), rs.getLong("last_id"), rs.getLong("archived_count")))
+                .stream().findFirst()
+                .orElse(ArchivePosition.start());
+    }
+
+    @Override
+    public List<ArchiveCandidate> findDeleted(ArchiveTarget target, LocalDateTime cutoff, ArchivePosition after, int limit) {
+        String sql = "select * from " + target.table() + " where deleted_at < :cutoff " +
+                "and (deleted_at > :deletedAt or (deleted_at = :deletedAt and " + target.idColumn() + " > :id)) " +
+                "order by deleted_at, " + target.idColumn() + " limit :limit";
+        Map<String, Object> params = new HashMap<>();
+        params.put("cutoff", Timestamp.valueOf(cutoff));
+        params.put("deletedAt", Timestamp.valueOf(after.deletedAt()));
+        params.put("id", after.id());
+        params.put("limit", limit);
+        // queryForList 의 행은 컬럼 이름 대소문자를 가리지 않는다
+        return jdbcTemplate.queryForList(sql, params).stream()
+                .map(row -> new ArchiveCandidate(
+                        ((Number) row.get(target.idColumn())).longValue(),
+                        ((Timestamp) row.get("deleted_at")).toLocalDateTime(),
+                        row))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void archive(ArchiveTarget target, List<ArchiveCandidate> rows, ArchivePosition checkpoint) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!rows.isEmpty()) {
+            Map<String, Object>[] archived = rows.stream().map(candidate -> {
+                Map<String, Object> params = new HashMap<>();
+                params.put("archivedRowId", idGenerator.nextId());
+                params.put("table", target.table());
+                params.put("sourceId", candidate.id());
+                params.put("deletedAt", Timestamp.valueOf(candidate.deletedAt()));
+                params.put("payload", toJson(candidate.row()));
+                params.put("now", now);
+                return params;
+            }).toArray(Map[]::new);
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVED_ROW, archived);
+            jdbcTemplate.update("delete from " + target.table() + " where " + target.idColumn() + " in (:ids) and deleted_at is not null",
+                    Map.of("ids", rows.stream().map(ArchiveCandidate::id).toList()));
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("table", target.table());
+        params.put("deletedAt", Timestamp.valueOf(checkpoint.deletedAt()));
+        params.put("id", checkpoint.id());
+        params.put("count", checkpoint.archivedCount());
+        params.put("now", now);
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT, params) == 0) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, params);
+        }
+    }
+
+    private String toJson(Map<String, Object> row) {
+        Map<String, Object> normalized = new HashMap<>();
+        row.forEach((column, value) -> normalized.put(column.toLowerCase(), value instanceof Timestamp timestamp ? timestamp.toLocalDateTime().toString() : value));
+        try {
+            return objectMapper.writeValueAsString(normalized);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("보관할 행을 직렬화하지 못했습니다.", e);
+        }
+    }
+}
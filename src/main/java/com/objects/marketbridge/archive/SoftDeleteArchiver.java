@@ -0,0 +1,155 @@
+package com.objects.marketbridge.archive;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 보관 기간이 지난 soft delete 행을 archived_row 로 옮기고 원본 테이블에서 지운다.
+ * <p>
+ * 테이블마다 (deleted_at, id) 순으로 chunkSize 건씩 옮기며, 한 묶음의 보관/삭제/checkpoint 갱신은 한 트랜잭션이다.
+ * 중간에 멈춰도 다음 실행이 checkpoint 부터 이어서 한다.
+ * 운영 DB 부하를 줄이기 위해 초당 rowsPerSecond 건을 넘지 않도록 묶음 사이에 쉰다.
+ */
+@Slf4j
+@Component
+public class SoftDeleteArchiver {
+
+    private final ArchiveStore archiveStore;
+    private final List<ArchiveTarget> targets;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int rowsPerSecond;
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped;
+    private final Map<String, ArchiveProgress> progress = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SoftDeleteArchiver(ArchiveStore archiveStore,
+                              @Value("${marketbridge.archive.tables:review:review_id,qna:board_id,prod_order:prod_order_id,prod_order_detail:prod_order_detail_id}") String[] tables,
+                              @Value("${marketbridge.archive.retention:90d}") Duration retention,
+                              @Value("${marketbridge.archive.chunk-size:500}") int chunkSize,
+                              @Value("${marketbridge.archive.rows-per-second:2000}") int rowsPerSecond) {
+        this(archiveStore, Arrays.stream(tables).map(ArchiveTarget::parse).toList(), retention, chunkSize, rowsPerSecond,
+                Clock.systemDefaultZone(), duration -> Thread.sleep(duration.toMillis()));
+    }
+
+    SoftDeleteArchiver(ArchiveStore archiveStore, List<ArchiveTarget> targets, Duration retention, int chunkSize, int rowsPerSecond,
+                       Clock clock, Sleeper sleeper) {
+        this.archiveStore = archiveStore;
+        this.targets = List.copyOf(targets);
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * 모든 대상 테이블을 보관한다. 이미 실행 중이면 아무것도 하지 않고 0 을 돌려준다.
+     */
+    @Scheduled(cron = "${marketbridge.archive.cron:0 0 3 * * *}")
+    public long run() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+            long archived = 0;
+            for (ArchiveTarget target : targets) {
+                if (stopped) {
+                    break;
+                }
+                archived += archive(target, cutoff);
+            }
+            return archived;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public List<ArchiveProgress> progress() {
+        return targets.stream()
+                .map(target -> progress.getOrDefault(target.table(),
+                        new ArchiveProgress(target.table(), 0, 0, null, null, false, 0)))
+                .toList();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    private long archive(ArchiveTarget target, LocalDateTime cutoff) throws InterruptedException {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        long startNanos = System.nanoTime();
+        ArchivePosition position = archiveStore.findCheckpoint(target);
+        long archived = 0;
+        while (!stopped) {
+            long chunkStart = System.nanoTime();
+            List<ArchiveCandidate> rows = archiveStore.findDeleted(target, cutoff, position, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            ArchiveCandidate last = rows.get(rows.size() - 1);
+            position = new ArchivePosition(last.deletedAt(), last.id(), position.archivedCount() + rows.size());
+            archiveStore.archive(target, rows, position);
+            archived += rows.size();
+            progress.put(target.table(), new ArchiveProgress(target.table(), position.archivedCount(), archived, position,
+                    startedAt, true, rate(archived, startNanos)));
+            log.debug("archived {} rows from {}. checkpoint={}", rows.size(), target.table(), position);
+            if (rows.size() < chunkSize) {
+                break;
+            }
+            pace(rows.size(), chunkStart);
+        }
+        progress.put(target.table(), new ArchiveProgress(target.table(), position.archivedCount(), archived, position,
+                startedAt, false, rate(archived, startNanos)));
+        if (archived > 0) {
+            log.info("archived {} rows from {} (total {})", archived, target.table(), position.archivedCount());
+        }
+        return archived;
+    }
+
+    /**
+     * rows 건을 옮기는 데 rowsPerSecond 기준 시간보다 빨랐으면 남은 만큼 쉰다.
+     */
+    private void pace(int rows, long chunkStartNanos) throws InterruptedException {
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long budgetNanos = rows * 1_000_000_000L / rowsPerSecond;
+        long remaining = budgetNanos - (System.nanoTime() - chunkStartNanos);
+        if (remaining > 0) {
+            sleeper.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    private static double rate(long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds == 0 ? 0 : rows / seconds;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
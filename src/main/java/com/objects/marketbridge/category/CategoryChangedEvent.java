@@ -0,0 +1,21 @@
+package com.objects.marketbridge.category;
+
+import com.objects.marketbridge.domain.Category;
+
+/**
+ * 카테고리가 추가/변경되었거나(node 있음) 지워졌다(node 없음).
+ */
+public record CategoryChangedEvent(Long categoryId, CategoryNode node) {
+
+    public static CategoryChangedEvent saved(Category category) {
+        return new CategoryChangedEvent(category.getId(), CategoryNode.from(category));
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, null);
+    }
+
+    public boolean isDeleted() {
+        return node == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.objects.marketbridge.category;
+
+import com.objects.marketbridge.domain.Category;
+
+/**
+ * 카테고리 트리의 노드. Category.prevId 를 상위 카테고리로 본다.
+ */
+public record CategoryNode(Long id, Long parentId, String name) {
+
+    public static CategoryNode from(Category category) {
+        return new CategoryNode(category.getId(), category.getPrevId(), category.getName());
+    }
+}
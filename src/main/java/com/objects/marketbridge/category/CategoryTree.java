@@ -0,0 +1,302 @@
+package com.objects.marketbridge.category;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 전위 순회 번호를 매긴 불변 카테고리 트리.
+ * <p>
+ * 각 노드의 하위 트리는 전위 순회 배열에서 [pre, end) 구간으로 이어져 있어서,
+ * 하위 여부 판단은 O(1), 하위 카테고리 목록은 배열 구간 뷰로 바로 돌려준다.
+ * 상위가 없거나 순환에 걸린 노드는 최상위로 취급한다.
+ * 한 노드를 바꾼 트리는 그 노드와 상위의 하위 목록만 고쳐 만들고, 정렬과 그룹핑을 다시 하지 않는다.
+ */
+public final class CategoryTree {
+
+    private final Map<Long, CategoryNode> nodes;
+    private final Map<Long, List<CategoryNode>> children;
+    private final List<CategoryNode> roots;
+    private final long[] preorder;
+    private final Map<Long, Integer> preIndex;
+    private final int[] subtreeEnd;
+
+    private CategoryTree(Map<Long, CategoryNode> nodes, Map<Long, List<CategoryNode>> children, List<CategoryNode> roots) {
+        this.nodes = nodes;
+        this.children = children;
+        this.preorder = new long[nodes.size()];
+        this.subtreeEnd = new int[nodes.size()];
+        this.preIndex = new HashMap<>(nodes.size() * 2);
+        int next = 0;
+        for (CategoryNode root : roots) {
+            next = number(root, next);
+        }
+        // 순환에 걸려 최상위에서 닿지 않는 노드는 최상위로 끊어 낸다
+        List<CategoryNode> all = new ArrayList<>(roots);
+        for (CategoryNode node : nodes.values()) {
+            if (!preIndex.containsKey(node.id())) {
+                all.add(node);
+                next = number(node, next);
+            }
+        }
+        this.roots = List.copyOf(all);
+    }
+
+    // 구조가 그대로일 때 번호 배열을 그대로 나눠 쓴다
+    private CategoryTree(Map<Long, CategoryNode> nodes, Map<Long, List<CategoryNode>> children, List<CategoryNode> roots,
+                         CategoryTree numbered) {
+        this.nodes = nodes;
+        this.children = children;
+        this.roots = roots;
+        this.preorder = numbered.preorder;
+        this.preIndex = numbered.preIndex;
+        this.subtreeEnd = numbered.subtreeEnd;
+    }
+
+    public static CategoryTree of(Collection<CategoryNode> categories) {
+        Map<Long, CategoryNode> nodes = new LinkedHashMap<>();
+        categories.stream()
+                .sorted(Comparator.comparing(CategoryNode::id))
+                .forEach(node -> nodes.put(node.id(), node));
+        Map<Long, List<CategoryNode>> children = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+        for (CategoryNode node : nodes.values()) {
+            if (isRoot(node, nodes)) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.parentId(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        children.replaceAll((id, list) -> List.copyOf(list));
+        return new CategoryTree(nodes, children, roots);
+    }
+
+    public static CategoryTree empty() {
+        return of(List.of());
+    }
+
+    /**
+     * node 를 추가하거나 바꾼 새 트리를 돌려준다.
+     * 바뀐 노드와 그 상위의 하위 목록만 고치고, 이름만 바뀌면 번호 배열도 그대로 쓴다.
+     * 떨어져 있던 하위 카테고리가 다시 붙거나 순환이 생길 수 있는 변경만 전체를 다시 만든다.
+     */
+    public CategoryTree with(CategoryNode node) {
+        CategoryNode previous = nodes.get(node.id());
+        if (previous != null && Objects.equals(previous.parentId(), node.parentId())) {
+            Map<Long, CategoryNode> copy = new LinkedHashMap<>(nodes);
+            copy.put(node.id(), node);
+            Map<Long, List<CategoryNode>> childrenCopy = new HashMap<>(children);
+            childrenCopy.computeIfPresent(previous.parentId(), (id, list) -> replace(list, previous, node));
+            return new CategoryTree(copy, childrenCopy, replace(roots, previous, node), this);
+        }
+        boolean adoptsOrphans = previous == null && roots.stream().anyMatch(root -> node.id().equals(root.parentId()));
+        CategoryNode parent = node.parentId() == null ? null : nodes.get(node.parentId());
+        boolean mayCycle = previous != null && (inCyclicTree(previous) || parent != null && isInSubtree(node.id(), parent.id()))
+                || parent != null && inCyclicTree(parent);
+        Map<Long, CategoryNode> copy = new LinkedHashMap<>(nodes);
+        copy.put(node.id(), node);
+        if (adoptsOrphans || mayCycle) {
+            return of(copy.values());
+        }
+
+        Map<Long, List<CategoryNode>> childrenCopy = new HashMap<>(children);
+        List<CategoryNode> rootsCopy = detach(previous, childrenCopy);
+        if (isRoot(node, copy)) {
+            rootsCopy = insertRoot(rootsCopy, node);
+        } else {
+            childrenCopy.put(node.parentId(), insert(childrenCopy.getOrDefault(node.parentId(), List.of()), node));
+        }
+        return new CategoryTree(copy, childrenCopy, rootsCopy);
+    }
+
+    /**
+     * 카테고리를 뺀 새 트리를 돌려준다. 하위 카테고리는 최상위가 된다.
+     */
+    public CategoryTree without(Long categoryId) {
+        CategoryNode removed = nodes.get(categoryId);
+        if (removed == null) {
+            return this;
+        }
+        Map<Long, CategoryNode> copy = new LinkedHashMap<>(nodes);
+        copy.remove(categoryId);
+        if (inCyclicTree(removed)) {
+            return of(copy.values());
+        }
+        Map<Long, List<CategoryNode>> childrenCopy = new HashMap<>(children);
+        List<CategoryNode> rootsCopy = detach(removed, childrenCopy);
+        for (CategoryNode child : childrenCopy.getOrDefault(categoryId, List.of())) {
+            rootsCopy = insertRoot(rootsCopy, child);
+        }
+        childrenCopy.remove(categoryId);
+        return new CategoryTree(copy, childrenCopy, rootsCopy);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public Optional<CategoryNode> find(Long categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    public List<CategoryNode> roots() {
+        return roots;
+    }
+
+    public List<CategoryNode> children(Long categoryId) {
+        return children.getOrDefault(categoryId, List.of());
+    }
+
+    /**
+     * 자기 자신을 포함한 하위 카테고리 id 목록 (전위 순서). 없는 카테고리면 빈 목록.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        Integer pre = preIndex.get(categoryId);
+        if (pre == null) {
+            return List.of();
+        }
+        int from = pre;
+        int to = subtreeEnd[pre];
+        return new AbstractList<>() {
+            @Override
+            public Long get(int index) {
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return preorder[from + index];
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * categoryId 가 ancestorId 자신이거나 그 하위이면 true
+     */
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        Integer ancestor = preIndex.get(ancestorId);
+        Integer target = preIndex.get(categoryId);
+        return ancestor != null && target != null && ancestor <= target && target < subtreeEnd[ancestor];
+    }
+
+    /**
+     * 최상위부터 categoryId 까지의 경로 (breadcrumb)
+     */
+    public List<CategoryNode> path(Long categoryId) {
+        List<CategoryNode> path = new ArrayList<>();
+        CategoryNode current = nodes.get(categoryId);
+        while (current != null && path.size() <= nodes.size()) {
+            path.add(current);
+            if (roots.contains(current)) {
+                break;
+            }
+            current = nodes.get(current.parentId());
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static boolean isRoot(CategoryNode node, Map<Long, CategoryNode> nodes) {
+        return node.parentId() == null || !nodes.containsKey(node.parentId()) || node.parentId().equals(node.id());
+    }
+
+    /**
+     * 순환을 끊어 최상위로 만든 트리에 들어 있는지. 그런 최상위 노드는 상위의 하위 목록에도 남아 있다.
+     */
+    private boolean inCyclicTree(CategoryNode node) {
+        CategoryNode top = path(node.id()).get(0);
+        return children.getOrDefault(top.parentId(), List.of()).contains(top);
+    }
+
+    /**
+     * node 를 상위의 하위 목록이나 최상위 목록에서 뺀다. 바뀐 하위 목록은 children 에 넣고, 최상위 목록을 돌려준다.
+     */
+    private List<CategoryNode> detach(CategoryNode node, Map<Long, List<CategoryNode>> children) {
+        if (node == null) {
+            return roots;
+        }
+        if (roots.contains(node)) {
+            return roots.stream().filter(root -> !root.equals(node)).toList();
+        }
+        children.computeIfPresent(node.parentId(), (id, list) -> {
+            List<CategoryNode> rest = list.stream().filter(child -> !child.equals(node)).toList();
+            return rest.isEmpty() ? null : rest;
+        });
+        return roots;
+    }
+
+    // id 순서를 지켜서 넣는다
+    private static List<CategoryNode> insert(List<CategoryNode> list, CategoryNode node) {
+        return insert(list, node, existing -> existing.id() > node.id());
+    }
+
+    // 순환을 끊어 만든 최상위 노드는 {@link #of} 처럼 항상 맨 뒤에 둔다
+    private List<CategoryNode> insertRoot(List<CategoryNode> list, CategoryNode node) {
+        return insert(list, node, existing -> existing.id() > node.id()
+                || children.getOrDefault(existing.parentId(), List.of()).contains(existing));
+    }
+
+    private static List<CategoryNode> insert(List<CategoryNode> list, CategoryNode node, Predicate<CategoryNode> before) {
+        List<CategoryNode> copy = new ArrayList<>(list.size() + 1);
+        boolean added = false;
+        for (CategoryNode existing : list) {
+            if (!added && before.test(existing)) {
+                copy.add(node);
+                added = true;
+            }
+            copy.add(existing);
+        }
+        if (!added) {
+            copy.add(node);
+        }
+        return List.copyOf(copy);
+    }
+
+    private static List<CategoryNode> replace(List<CategoryNode> list, CategoryNode previous, CategoryNode node) {
+        return list.stream().map(existing -> existing.equals(previous) ? node : existing).toList();
+    }
+
+    private int number(CategoryNode start, int next) {
+        // 깊이가 깊어도 스택이 넘치지 않도록 반복으로 순회한다
+        Deque<Object[]> stack = new ArrayDeque<>();
+        preIndex.put(start.id(), next);
+        preorder[next] = start.id();
+        stack.push(new Object[]{start, next, 0});
+        next++;
+        while (!stack.isEmpty()) {
+            Object[] frame = stack.peek();
+            CategoryNode node = (CategoryNode) frame[0];
+            List<CategoryNode> childList = children.getOrDefault(node.id(), List.of());
+            int childIndex = (int) frame[2];
+            if (childIndex < childList.size()) {
+                frame[2] = childIndex + 1;
+                CategoryNode child = childList.get(childIndex);
+                if (preIndex.containsKey(child.id())) {
+                    continue;
+                }
+                preIndex.put(child.id(), next);
+                preorder[next] = child.id();
+                stack.push(new Object[]{child, next, 0});
+                next++;
+            } else {
+                stack.pop();
+                subtreeEnd[(int) frame[1]] = next;
+            }
+        }
+        return next;
+    }
+}
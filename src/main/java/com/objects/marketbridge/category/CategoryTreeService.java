@@ -0,0 +1,110 @@
+package com.objects.marketbridge.category;
+
+import com.objects.marketbridge.domain.Category;
+import com.objects.marketbridge.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 카테고리 목록 화면이 DB 없이 쓰는 메모리 카테고리 트리.
+ * <p>
+ * 기동 시 전체를 읽고, 이 노드에서 바뀐 카테고리는 {@link CategoryWriteService} 가 커밋 후 보내는
+ * {@link CategoryChangedEvent} 로 바뀐 노드만 반영한다. 다른 노드의 변경은 주기적 reload 로 따라온다.
+ * 읽기는 항상 불변 스냅샷을 보므로 락이 없다. 쓰기 락은 DB 조회 중에도 잡고 있으므로
+ * 가상 스레드의 캐리어를 붙잡지 않도록 synchronized 대신 {@link ReentrantLock} 을 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile CategoryTree tree = CategoryTree.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${marketbridge.category.reload-interval:600000}", initialDelayString = "${marketbridge.category.reload-interval:600000}")
+    public void reload() {
+        lock.lock();
+        try {
+            tree = CategoryTree.of(categoryRepository.findAll().stream().map(CategoryNode::from).toList());
+            log.info("category tree loaded. size={}", tree.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.categoryId());
+        } else {
+            apply(event.node());
+        }
+    }
+
+    public void apply(Category category) {
+        apply(CategoryNode.from(category));
+    }
+
+    public void apply(CategoryNode node) {
+        lock.lock();
+        try {
+            tree = tree.with(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long categoryId) {
+        lock.lock();
+        try {
+            tree = tree.without(categoryId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CategoryTree tree() {
+        return tree;
+    }
+
+    public List<CategoryNode> roots() {
+        return tree.roots();
+    }
+
+    public List<CategoryNode> children(Long categoryId) {
+        return tree.children(categoryId);
+    }
+
+    public Optional<CategoryNode> find(Long categoryId) {
+        return tree.find(categoryId);
+    }
+
+    /**
+     * 하위 카테고리를 모두 포함한 id 목록. Product.categoryId in (...) 조회 조건으로 쓴다.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        return tree.subtreeIds(categoryId);
+    }
+
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        return tree.isInSubtree(ancestorId, categoryId);
+    }
+
+    public List<CategoryNode> path(Long categoryId) {
+        return tree.path(categoryId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.objects.marketbridge.category;
+
+import com.objects.marketbridge.domain.Category;
+import com.objects.marketbridge.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 카테고리 쓰기. 커밋되면 {@link CategoryChangedEvent} 로 이 노드의 카테고리 트리에 바로 반영한다.
+ * 다른 노드는 카테고리 트리의 주기적 reload 로 따라온다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryWriteService {
+
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Category create(Long parentId, String name) {
+        if (parentId != null && !categoryRepository.existsById(parentId)) {
+            throw new IllegalArgumentException("상위 카테고리가 없습니다. parentId=" + parentId);
+        }
+        Category category = categoryRepository.save(Category.builder()
+                .prevId(parentId)
+                .name(name)
+                .build());
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(category));
+        return category;
+    }
+
+    /**
+     * 카테고리를 지운다 (soft delete). 하위 카테고리는 트리에서 최상위로 보인다.
+     */
+    @Transactional
+    public void delete(Long categoryId) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("카테고리가 없습니다. categoryId=" + categoryId));
+        category.delete();
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(categoryId));
+    }
+}
@@ -0,0 +1,56 @@
+package com.objects.marketbridge.common.code;
+
+import com.objects.marketbridge.domain.StatusCode;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.repository.StatusCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * status_code 테이블의 표시명을 기동 시 한 번 읽어 두는 불변 캐시.
+ * 테이블에 없는 상태는 {@link StatusCodeType#getText()} 를 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatusCodeCache {
+
+    private final StatusCodeRepository statusCodeRepository;
+
+    private volatile Map<StatusCodeType, String> names = defaults();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<StatusCodeType, String> loaded = new EnumMap<>(defaults());
+        for (StatusCode statusCode : statusCodeRepository.findAll()) {
+            if (statusCode.getStatusCodeType() != null && statusCode.getName() != null) {
+                loaded.put(statusCode.getStatusCodeType(), statusCode.getName());
+            }
+        }
+        names = Collections.unmodifiableMap(loaded);
+        log.info("status code cache loaded. size={}", loaded.size());
+    }
+
+    public String nameOf(StatusCodeType type) {
+        return type == null ? null : names.get(type);
+    }
+
+    public String nameOf(String code) {
+        return nameOf(StatusCodeType.fromCode(code));
+    }
+
+    private static Map<StatusCodeType, String> defaults() {
+        Map<StatusCodeType, String> defaults = new EnumMap<>(StatusCodeType.class);
+        for (StatusCodeType type : StatusCodeType.values()) {
+            defaults.put(type, type.getText());
+        }
+        return Collections.unmodifiableMap(defaults);
+    }
+}
@@ -0,0 +1,13 @@
+package com.objects.marketbridge.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} 는 Spring Boot 의 applicationTaskExecutor 에서 실행된다.
+ * spring.threads.virtual.enabled=true 이면 작업마다 가상 스레드를 쓰고, 아니면 스레드 풀을 쓴다.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.common.config;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.common.id.IdGenerators;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return IdGenerators.get();
+    }
+}
@@ -0,0 +1,9 @@
+package com.objects.marketbridge.common.id;
+
+/**
+ * DB 왕복 없이 식별자를 발급하는 생성기. JPA 엔티티와 JDBC 배치 insert 가 같은 생성기를 공유한다.
+ */
+public interface IdGenerator {
+
+    long nextId();
+}
@@ -0,0 +1,35 @@
+package com.objects.marketbridge.common.id;
+
+/**
+ * 프로세스 전체가 공유하는 {@link IdGenerator}.
+ * <p>
+ * Hibernate 가 직접 만드는 {@link SnowflakeIdentifierGenerator} 와 스프링 빈이 같은 인스턴스를 써야
+ * 같은 노드 번호로 중복 식별자가 나오지 않는다. 노드 번호는 시스템 프로퍼티 {@code marketbridge.id.node-id}
+ * 또는 환경 변수 {@code MARKETBRIDGE_NODE_ID} 로 지정하며, 앱 서버마다 달라야 한다.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator shared;
+
+    private IdGenerators() {
+    }
+
+    public static IdGenerator get() {
+        IdGenerator generator = shared;
+        if (generator == null) {
+            synchronized (IdGenerators.class) {
+                generator = shared;
+                if (generator == null) {
+                    generator = new SnowflakeIdGenerator(nodeId());
+                    shared = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    private static int nodeId() {
+        String value = System.getProperty("marketbridge.id.node-id", System.getenv("MARKETBRIDGE_NODE_ID"));
+        return value == null || value.isBlank() ? 0 : Integer.parseInt(value.trim());
+    }
+}
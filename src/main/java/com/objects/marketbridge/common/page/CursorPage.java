@@ -0,0 +1,27 @@
+package com.objects.marketbridge.common.page;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이지 결과. 다음 페이지가 없으면 nextCursor 는 null 이다.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public static <T> CursorPage<T> of(Window<T> window, CursorPageRequest request) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? PageCursor.of(window.positionAt(window.size() - 1), request.direction()).encode()
+                : null;
+        return new CursorPage<>(window.getContent(), nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
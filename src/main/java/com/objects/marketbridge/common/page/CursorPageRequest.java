@@ -0,0 +1,50 @@
+package com.objects.marketbridge.common.page;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * keyset 페이지 요청. cursor 가 없으면 첫 페이지이며, 정렬은 항상 (createdAt, id) 이다.
+ * 다른 방향으로 만든 cursor 는 받지 않는다.
+ */
+public record CursorPageRequest(String cursor, int size, Sort.Direction direction) {
+
+    public static final int MAX_SIZE = 100;
+
+    public CursorPageRequest {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 ~ " + MAX_SIZE + " 입니다. size=" + size);
+        }
+        if (direction == null) {
+            direction = Sort.Direction.DESC;
+        }
+        if (cursor != null && !cursor.isBlank() && PageCursor.decode(cursor).direction() != direction) {
+            throw new IllegalArgumentException("정렬 방향이 다른 cursor 입니다.");
+        }
+    }
+
+    public static CursorPageRequest first(int size, Sort.Direction direction) {
+        return new CursorPageRequest(null, size, direction);
+    }
+
+    public CursorPageRequest next(String cursor) {
+        return new CursorPageRequest(cursor, size, direction);
+    }
+
+    public boolean isFirst() {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, PageCursor.CREATED_AT, PageCursor.ID);
+    }
+
+    public ScrollPosition position() {
+        return isFirst() ? ScrollPosition.keyset() : PageCursor.decode(cursor).toPosition();
+    }
+
+    public Limit limit() {
+        return Limit.of(size);
+    }
+}
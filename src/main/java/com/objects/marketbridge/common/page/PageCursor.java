@@ -0,0 +1,56 @@
+package com.objects.marketbridge.common.page;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 마지막으로 본 행의 (createdAt, id) 와 정렬 방향. 클라이언트에는 {@link #encode()} 한 불투명 문자열로만 준다.
+ */
+public record PageCursor(LocalDateTime createdAt, Long id, Sort.Direction direction) {
+
+    static final String CREATED_AT = "createdAt";
+    static final String ID = "id";
+
+    public PageCursor {
+        if (createdAt == null || id == null || direction == null) {
+            throw new IllegalArgumentException("cursor 값이 비어 있습니다.");
+        }
+    }
+
+    public static PageCursor of(ScrollPosition position, Sort.Direction direction) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        return new PageCursor((LocalDateTime) keys.get(CREATED_AT), ((Number) keys.get(ID)).longValue(), direction);
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다.");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), Sort.Direction.valueOf(parts[0]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.", e);
+        }
+    }
+
+    public String encode() {
+        String raw = direction.name() + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition toPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(CREATED_AT, createdAt);
+        keys.put(ID, id);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,168 @@
+package com.objects.marketbridge.common.util;
+
+import java.util.Arrays;
+
+/**
+ * long 값 전용 동시성 집합.
+ * <p>
+ * 세그먼트별 락을 가진 open addressing(linear probing) 테이블이라 원소당 8바이트 남짓만 쓴다.
+ * {@link Long#MIN_VALUE} 는 빈 슬롯 표시로 쓰므로 저장할 수 없다.
+ */
+public final class ConcurrentLongSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int SEGMENT_COUNT = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public ConcurrentLongSet() {
+        this(256);
+    }
+
+    public ConcurrentLongSet(int expectedSize) {
+        int perSegment = Math.max(8, (int) (expectedSize / SEGMENT_COUNT / LOAD_FACTOR) + 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(Integer.highestOneBit(perSegment - 1) << 1);
+        }
+    }
+
+    public boolean add(long value) {
+        checkValue(value);
+        long hash = mix(value);
+        return segmentFor(hash).add(value, hash);
+    }
+
+    public boolean remove(long value) {
+        checkValue(value);
+        long hash = mix(value);
+        return segmentFor(hash).remove(value, hash);
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return false;
+        }
+        long hash = mix(value);
+        return segmentFor(hash).contains(value, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static void checkValue(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE 는 저장할 수 없습니다.");
+        }
+    }
+
+    private static long mix(long value) {
+        // murmur3 fmix64
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Segment {
+
+        private long[] table;
+        private int size;
+
+        Segment(int capacity) {
+            this.table = newTable(capacity);
+        }
+
+        synchronized boolean add(long value, long hash) {
+            int mask = table.length - 1;
+            int i = (int) hash & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            if (++size > table.length * LOAD_FACTOR) {
+                resize();
+            }
+            return true;
+        }
+
+        synchronized boolean contains(long value, long hash) {
+            int mask = table.length - 1;
+            int i = (int) hash & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == value) {
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        synchronized boolean remove(long value, long hash) {
+            int mask = table.length - 1;
+            int i = (int) hash & mask;
+            while (table[i] != value) {
+                if (table[i] == EMPTY) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            // backward shift: 뒤따르는 클러스터를 당겨서 tombstone 없이 지운다
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (table[j] == EMPTY) {
+                    break;
+                }
+                int home = (int) mix(table[j]) & mask;
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = EMPTY;
+            size--;
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] old = table;
+            table = newTable(old.length << 1);
+            int mask = table.length - 1;
+            for (long value : old) {
+                if (value != EMPTY) {
+                    int i = (int) mix(value) & mask;
+                    while (table[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = value;
+                }
+            }
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+    }
+}
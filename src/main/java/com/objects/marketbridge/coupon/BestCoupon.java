@@ -0,0 +1,23 @@
+package com.objects.marketbridge.coupon;
+
+/**
+ * 주문 상품 한 줄에 쓸 수 있는 가장 많이 깎이는 쿠폰.
+ *
+ * @param customerCouponId 쓸 쿠폰이 없으면 null
+ * @param discount         깎이는 금액. 쓸 쿠폰이 없으면 0
+ */
+public record BestCoupon(Long productId, long price, Long customerCouponId, Long couponId, long discount) {
+
+    static BestCoupon none(Long productId, long price) {
+        return new BestCoupon(productId, price, null, null, 0);
+    }
+
+    static BestCoupon of(Long productId, long price, UsableCoupon coupon) {
+        return coupon == null ? none(productId, price)
+                : new BestCoupon(productId, price, coupon.customerCouponId(), coupon.couponId(), coupon.discount(price));
+    }
+
+    public boolean present() {
+        return customerCouponId != null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.objects.marketbridge.coupon;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.objects.marketbridge.order.CheckoutLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 주문 시 사용자의 쓰지 않은 쿠폰 중 가장 많이 깎이는 쿠폰을 찾는다.
+ * <p>
+ * 사용자별 {@link UserCouponIndex} 를 Caffeine 에 두고 마지막 조회 후 일정 시간 동안 유지한다.
+ * 쿠폰을 발급받거나 쓰면 커밋 뒤 {@link CustomerCouponChangedEvent} 로 그 사용자의 색인을 버리고, 다음 조회에서 다시 읽는다.
+ */
+@Service
+public class BestCouponFinder {
+
+    private final LoadingCache<Long, UserCouponIndex> indexes;
+    private final Clock clock;
+
+    @Autowired
+    public BestCouponFinder(UsableCouponStore usableCouponStore,
+                            @Value("${marketbridge.coupon.index-cache-size:200000}") long cacheSize,
+                            @Value("${marketbridge.coupon.index-idle:30m}") Duration idle) {
+        this(usableCouponStore, cacheSize, idle, Clock.systemDefaultZone());
+    }
+
+    BestCouponFinder(UsableCouponStore usableCouponStore, long cacheSize, Duration idle, Clock clock) {
+        this.clock = clock;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(idle)
+                .build(userId -> UserCouponIndex.of(usableCouponStore.findUnused(userId, LocalDateTime.now(clock))));
+    }
+
+    /**
+     * 주문 상품 줄마다 가장 많이 깎이는 쿠폰. 줄마다 따로 고르므로 같은 쿠폰이 여러 줄에 나올 수 있다.
+     */
+    public List<BestCoupon> bestPerLine(Long userId, List<CheckoutLine> lines) {
+        UserCouponIndex index = indexes.get(userId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<BestCoupon> result = new ArrayList<>(lines.size());
+        for (CheckoutLine line : lines) {
+            long price = line.price() == null ? 0 : line.price();
+            result.add(BestCoupon.of(line.productId(), price, index.best(line.productId(), price, now)));
+        }
+        return result;
+    }
+
+    /**
+     * 주문 한 건에는 쿠폰을 하나만 쓰므로, 줄별 최적 쿠폰 중 가장 많이 깎이는 것을 고른다.
+     */
+    public Optional<BestCoupon> bestForCart(Long userId, List<CheckoutLine> lines) {
+        BestCoupon best = null;
+        for (BestCoupon candidate : bestPerLine(userId, lines)) {
+            if (candidate.present() && (best == null || candidate.discount() > best.discount())) {
+                best = candidate;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void invalidate(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerCouponChanged(CustomerCouponChangedEvent event) {
+        indexes.invalidateAll(event.userIds());
+    }
+}
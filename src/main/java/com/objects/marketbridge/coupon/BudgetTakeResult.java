@@ -0,0 +1,8 @@
+package com.objects.marketbridge.coupon;
+
+public enum BudgetTakeResult {
+    TAKEN,
+    INSUFFICIENT,
+    // 아직 shard 로 나누지 않은 예산
+    NOT_SHARDED
+}
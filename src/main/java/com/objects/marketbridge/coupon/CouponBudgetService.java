@@ -0,0 +1,119 @@
+package com.objects.marketbridge.coupon;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 판매자 쿠폰 예산(CouponBudget.price) 차감.
+ * <p>
+ * 예산을 coupon_budget_shard 행 여러 개로 나눠 두고, 주문마다 임의의 shard 하나를 조건부 UPDATE 로 차감한다.
+ * 그 shard 가 모자라면 옆 shard 몇 개를 더 시도하고, 그래도 모자라면 모든 shard 를 잠가 합쳐서 쓴다.
+ * 차감은 항상 "남은 금액 >= 차감액" 조건으로만 하므로 예산을 넘겨 쓰지 않는다.
+ * {@link #reconcile()} 은 바뀐 예산의 shard 합계를 CouponBudget.price 에 기록하고 shard 를 다시 고르게 나눈다.
+ * 나눈 뒤의 예산은 이 서비스로만 바꿔야 한다. CouponBudget.price 를 직접 고치면 다음 reconcile 에서 덮어쓴다.
+ */
+@Slf4j
+@Service
+public class CouponBudgetService {
+
+    private final CouponBudgetStore couponBudgetStore;
+    private final int shards;
+    private final int borrowAttempts;
+
+    // 마지막 reconcile 이후 차감/충전된 판매자
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public CouponBudgetService(CouponBudgetStore couponBudgetStore,
+                               @Value("${marketbridge.coupon.budget-shards:8}") int shards,
+                               @Value("${marketbridge.coupon.budget-borrow-attempts:2}") int borrowAttempts) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("쿠폰 예산 shard 는 1개 이상이어야 합니다. shards=" + shards);
+        }
+        this.couponBudgetStore = couponBudgetStore;
+        this.shards = shards;
+        this.borrowAttempts = Math.max(0, Math.min(borrowAttempts, shards - 1));
+    }
+
+    /**
+     * 예산이 남아 있으면 amount 만큼 차감한다.
+     *
+     * @return 예산이 없거나 모자라면 false
+     */
+    public boolean spend(Long userId, int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("차감 금액은 1 이상이어야 합니다. amount=" + amount);
+        }
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i <= borrowAttempts; i++) {
+            if (couponBudgetStore.tryTake(userId, (start + i) % shards, amount)) {
+                dirty.add(userId);
+                return true;
+            }
+        }
+        BudgetTakeResult result = couponBudgetStore.takeAcross(userId, amount);
+        if (result == BudgetTakeResult.NOT_SHARDED) {
+            // 처음 쓰는 예산은 나눈 뒤 한 번 더 시도한다
+            if (!couponBudgetStore.seed(userId, shards)) {
+                return false;
+            }
+            result = couponBudgetStore.takeAcross(userId, amount);
+        }
+        if (result == BudgetTakeResult.TAKEN) {
+            dirty.add(userId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 주문 취소로 돌려받거나 예산을 늘린다.
+     */
+    public void credit(Long userId, int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("충전 금액은 1 이상이어야 합니다. amount=" + amount);
+        }
+        int shardNo = ThreadLocalRandom.current().nextInt(shards);
+        if (!couponBudgetStore.give(userId, shardNo, amount)) {
+            // shard 0 은 나눈 예산이면 항상 있다
+            if (!couponBudgetStore.seed(userId, shards) || !couponBudgetStore.give(userId, 0, amount)) {
+                throw new IllegalStateException("쿠폰 예산이 없습니다. userId=" + userId);
+            }
+        }
+        dirty.add(userId);
+    }
+
+    public long remaining(Long userId) {
+        return couponBudgetStore.remaining(userId);
+    }
+
+    /**
+     * 바뀐 판매자의 shard 합계를 CouponBudget.price 에 기록하고 shard 를 고르게 다시 나눈다.
+     * 실패한 판매자는 다음 주기에 다시 한다.
+     *
+     * @return 맞춘 판매자 수
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.coupon.budget-reconcile-interval:60000}")
+    public int reconcile() {
+        List<Long> userIds = new ArrayList<>(dirty);
+        int reconciled = 0;
+        for (Long userId : userIds) {
+            dirty.remove(userId);
+            try {
+                couponBudgetStore.reconcile(userId, shards);
+                reconciled++;
+            } catch (RuntimeException e) {
+                dirty.add(userId);
+                log.warn("coupon budget reconcile failed. userId={}", userId, e);
+            }
+        }
+        return reconciled;
+    }
+}
@@ -0,0 +1,41 @@
+package com.objects.marketbridge.coupon;
+
+/**
+ * 쿠폰 예산 shard 가 사용하는 coupon_budget / coupon_budget_shard 접근 포트
+ */
+public interface CouponBudgetStore {
+
+    /**
+     * shard 하나의 남은 금액이 amount 이상일 때만 차감한다.
+     */
+    boolean tryTake(Long userId, int shardNo, long amount);
+
+    /**
+     * 예산 행과 사용자의 모든 shard 를 shard_no 순으로 잠그고 합계가 충분하면 앞에서부터 나눠 차감한다.
+     */
+    BudgetTakeResult takeAcross(Long userId, long amount);
+
+    /**
+     * @return shard 가 없으면 false
+     */
+    boolean give(Long userId, int shardNo, long amount);
+
+    /**
+     * shard 가 없으면 coupon_budget.price 를 shards 개로 나눠 만든다.
+     *
+     * @return 예산 행이 없으면 false
+     */
+    boolean seed(Long userId, int shards);
+
+    /**
+     * shard 합계. 나누지 않은 예산이면 coupon_budget.price, 예산이 없으면 0
+     */
+    long remaining(Long userId);
+
+    /**
+     * shard 합계를 coupon_budget.price 에 기록하고, shard 0 ~ shards-1 에 고르게 다시 나눈다.
+     *
+     * @return 합계. shard 가 없으면 -1
+     */
+    long reconcile(Long userId, int shards);
+}
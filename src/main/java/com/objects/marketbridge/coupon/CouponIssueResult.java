@@ -0,0 +1,9 @@
+package com.objects.marketbridge.coupon;
+
+public enum CouponIssueResult {
+    ISSUED,
+    SOLD_OUT,
+    DUPLICATE,
+    NOT_IN_PERIOD,
+    NOT_FOUND
+}
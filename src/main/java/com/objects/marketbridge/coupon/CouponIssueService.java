@@ -0,0 +1,182 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.common.util.ConcurrentLongSet;
+import com.objects.marketbridge.domain.Coupon;
+import com.objects.marketbridge.domain.CustomerCoupon;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 선착순 쿠폰 발급 서비스.
+ * <p>
+ * 쿠폰별 남은 수량은 메모리의 원자 카운터로, 이미 받은 사용자는 {@link ConcurrentLongSet} 으로 거른다.
+ * 발급이 확정된 CustomerCoupon 은 큐에 쌓였다가 {@link #flush()} 에서 배치 insert 된다.
+ */
+@Slf4j
+@Service
+public class CouponIssueService {
+
+    private final CouponIssueStore couponIssueStore;
+    private final int flushSize;
+    private final Clock clock;
+
+    private final Map<Long, CouponGate> gates = new ConcurrentHashMap<>();
+    private final Queue<CustomerCoupon> pending = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public CouponIssueService(CouponIssueStore couponIssueStore,
+                              @Value("${marketbridge.coupon.issue-flush-size:500}") int flushSize) {
+        this(couponIssueStore, flushSize, Clock.systemDefaultZone());
+    }
+
+    CouponIssueService(CouponIssueStore couponIssueStore, int flushSize, Clock clock) {
+        this.couponIssueStore = couponIssueStore;
+        this.flushSize = flushSize;
+        this.clock = clock;
+    }
+
+    public CouponIssueResult issue(Long couponId, Long userId) {
+        CouponGate gate = gate(couponId);
+        if (gate == null) {
+            return CouponIssueResult.NOT_FOUND;
+        }
+        if (gate.remaining.get() <= 0) {
+            return CouponIssueResult.SOLD_OUT;
+        }
+        if (!gate.inPeriod(LocalDateTime.now(clock))) {
+            return CouponIssueResult.NOT_IN_PERIOD;
+        }
+        if (!gate.issuedUsers.add(userId)) {
+            return CouponIssueResult.DUPLICATE;
+        }
+        if (!gate.tryTake()) {
+            gate.issuedUsers.remove(userId);
+            return CouponIssueResult.SOLD_OUT;
+        }
+        pending.add(CustomerCoupon.builder()
+                .couponId(couponId)
+                .userId(userId)
+                .isUsed(false)
+                .build());
+        return CouponIssueResult.ISSUED;
+    }
+
+    public int remaining(Long couponId) {
+        CouponGate gate = gate(couponId);
+        return gate == null ? 0 : Math.max(gate.remaining.get(), 0);
+    }
+
+    /**
+     * 발급된 쿠폰을 flushSize 단위로 묶어 저장한다. 저장에 실패한 묶음은 큐로 되돌려 다음 주기에 다시 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.coupon.issue-flush-interval:200}")
+    public int flush() {
+        int saved = 0;
+        List<CustomerCoupon> batch = new ArrayList<>(flushSize);
+        CustomerCoupon next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == flushSize) {
+                if (!save(batch)) {
+                    return saved;
+                }
+                saved += batch.size();
+                batch = new ArrayList<>(flushSize);
+            }
+        }
+        if (!batch.isEmpty() && save(batch)) {
+            saved += batch.size();
+        }
+        return saved;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean save(List<CustomerCoupon> batch) {
+        try {
+            couponIssueStore.saveAll(batch);
+            return true;
+        } catch (RuntimeException e) {
+            pending.addAll(batch);
+            log.warn("customer coupon flush failed, {} rows will be retried", batch.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 쿠폰의 게이트. 처음 보는 쿠폰이면 맵 밖에서 DB 를 읽어 만들고, 먼저 등록된 게이트가 있으면 그것을 쓴다.
+     * computeIfAbsent 안에서 읽으면 같은 bin 의 다른 쿠폰까지 DB 조회가 끝날 때까지 막힌다.
+     */
+    private CouponGate gate(Long couponId) {
+        CouponGate gate = gates.get(couponId);
+        if (gate != null) {
+            return gate;
+        }
+        CouponGate opened = openGate(couponId);
+        if (opened == null) {
+            return null;
+        }
+        CouponGate raced = gates.putIfAbsent(couponId, opened);
+        return raced == null ? opened : raced;
+    }
+
+    private CouponGate openGate(Long couponId) {
+        return couponIssueStore.findCoupon(couponId)
+                .map(coupon -> {
+                    List<Long> issuedUserIds = couponIssueStore.findIssuedUserIds(couponId);
+                    CouponGate gate = new CouponGate(coupon, issuedUserIds.size());
+                    issuedUserIds.forEach(gate.issuedUsers::add);
+                    return gate;
+                })
+                .orElse(null);
+    }
+
+    static final class CouponGate {
+
+        private final AtomicInteger remaining;
+        private final ConcurrentLongSet issuedUsers;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+
+        CouponGate(Coupon coupon, int issuedCount) {
+            int count = coupon.getCount() == null ? 0 : coupon.getCount();
+            this.remaining = new AtomicInteger(count - issuedCount);
+            this.issuedUsers = new ConcurrentLongSet(count);
+            this.startDate = coupon.getStartDate();
+            this.endDate = coupon.getEndDate();
+        }
+
+        boolean inPeriod(LocalDateTime now) {
+            return (startDate == null || !now.isBefore(startDate)) && (endDate == null || now.isBefore(endDate));
+        }
+
+        boolean tryTake() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.domain.Coupon;
+import com.objects.marketbridge.domain.CustomerCoupon;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 선착순 발급 엔진이 사용하는 Coupon / CustomerCoupon 접근 포트
+ */
+public interface CouponIssueStore {
+
+    Optional<Coupon> findCoupon(Long couponId);
+
+    List<Long> findIssuedUserIds(Long couponId);
+
+    void saveAll(List<CustomerCoupon> customerCoupons);
+}
@@ -0,0 +1,9 @@
+package com.objects.marketbridge.coupon;
+
+import java.util.Set;
+
+/**
+ * 쿠폰을 발급받거나 쓴 사용자들. 커밋 뒤 {@link BestCouponFinder} 가 이 사용자들의 쿠폰 색인을 버린다.
+ */
+public record CustomerCouponChangedEvent(Set<Long> userIds) {
+}
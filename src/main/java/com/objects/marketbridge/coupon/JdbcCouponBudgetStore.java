@@ -0,0 +1,173 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 둘 이상의 행을 잠그는 쪽(takeAcross, seed, reconcile)은 모두 coupon_budget 행 → coupon_budget_shard 행(shard_no 순)으로 잠근다.
+ * tryTake / give 는 shard 행 하나만 잠그므로 이 순서와 엇갈리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCouponBudgetStore implements CouponBudgetStore {
+
+    private static final String TAKE =
+            "update coupon_budget_shard set remaining = remaining - ?, updated_at = ? " +
+            "where user_id = ? and shard_no = ? and remaining >= ?";
+    private static final String GIVE =
+            "update coupon_budget_shard set remaining = remaining + ?, updated_at = ? where user_id = ? and shard_no = ?";
+    private static final String SELECT_SHARDS_FOR_UPDATE =
+            "select coupon_budget_shard_id, shard_no, remaining from coupon_budget_shard where user_id = ? order by shard_no for update";
+    private static final String SET_REMAINING =
+            "update coupon_budget_shard set remaining = ?, updated_at = ? where coupon_budget_shard_id = ?";
+    private static final String INSERT_SHARD =
+            "insert into coupon_budget_shard (coupon_budget_shard_id, user_id, shard_no, remaining, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_SHARD =
+            "delete from coupon_budget_shard where coupon_budget_shard_id = ?";
+    private static final String SUM_SHARDS =
+            "select sum(remaining) from coupon_budget_shard where user_id = ?";
+    private static final String SELECT_BUDGET =
+            "select price from coupon_budget where user_id = ? and deleted_at is null";
+    private static final String SELECT_BUDGET_FOR_UPDATE = SELECT_BUDGET + " for update";
+    private static final String UPDATE_BUDGET =
+            "update coupon_budget set price = ?, updated_at = ? where user_id = ? and deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public boolean tryTake(Long userId, int shardNo, long amount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(TAKE, amount, now, userId, shardNo, amount) == 1;
+    }
+
+    @Override
+    @Transactional
+    public BudgetTakeResult takeAcross(Long userId, long amount) {
+        jdbcTemplate.queryForList(SELECT_BUDGET_FOR_UPDATE, Long.class, userId);
+        List<Shard> shards = lockShards(userId);
+        if (shards.isEmpty()) {
+            return BudgetTakeResult.NOT_SHARDED;
+        }
+        long total = shards.stream().mapToLong(Shard::remaining).sum();
+        if (total < amount) {
+            return BudgetTakeResult.INSUFFICIENT;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        long left = amount;
+        for (Shard shard : shards) {
+            if (left == 0) {
+                break;
+            }
+            long taken = Math.min(left, shard.remaining());
+            if (taken > 0) {
+                updates.add(new Object[]{shard.remaining() - taken, now, shard.id()});
+                left -= taken;
+            }
+        }
+        jdbcTemplate.batchUpdate(SET_REMAINING, updates);
+        return BudgetTakeResult.TAKEN;
+    }
+
+    @Override
+    public boolean give(Long userId, int shardNo, long amount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(GIVE, amount, now, userId, shardNo) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean seed(Long userId, int shards) {
+        List<Long> budget = jdbcTemplate.queryForList(SELECT_BUDGET_FOR_UPDATE, Long.class, userId);
+        if (budget.isEmpty()) {
+            return false;
+        }
+        // 예산 행을 잠근 뒤 다시 본다. 다른 요청이 먼저 나눴으면 그대로 쓴다
+        if (!lockShards(userId).isEmpty()) {
+            return true;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long total = budget.get(0) == null ? 0 : budget.get(0);
+        List<Object[]> inserts = new ArrayList<>(shards);
+        for (int shardNo = 0; shardNo < shards; shardNo++) {
+            inserts.add(new Object[]{idGenerator.nextId(), userId, shardNo, share(total, shards, shardNo), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARD, inserts);
+        return true;
+    }
+
+    @Override
+    public long remaining(Long userId) {
+        Long sum = jdbcTemplate.queryForObject(SUM_SHARDS, Long.class, userId);
+        if (sum != null) {
+            return sum;
+        }
+        List<Long> budget = jdbcTemplate.queryForList(SELECT_BUDGET, Long.class, userId);
+        return budget.isEmpty() || budget.get(0) == null ? 0 : budget.get(0);
+    }
+
+    @Override
+    @Transactional
+    public long reconcile(Long userId, int shards) {
+        jdbcTemplate.queryForList(SELECT_BUDGET_FOR_UPDATE, Long.class, userId);
+        List<Shard> current = lockShards(userId);
+        if (current.isEmpty()) {
+            return -1;
+        }
+        long total = current.stream().mapToLong(Shard::remaining).sum();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        boolean[] present = new boolean[shards];
+        for (Shard shard : current) {
+            if (shard.shardNo() < shards) {
+                present[shard.shardNo()] = true;
+                updates.add(new Object[]{share(total, shards, shard.shardNo()), now, shard.id()});
+            } else {
+                deletes.add(new Object[]{shard.id()});
+            }
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        for (int shardNo = 0; shardNo < shards; shardNo++) {
+            if (!present[shardNo]) {
+                inserts.add(new Object[]{idGenerator.nextId(), userId, shardNo, share(total, shards, shardNo), now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(SET_REMAINING, updates);
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SHARD, deletes);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SHARD, inserts);
+        }
+        jdbcTemplate.update(UPDATE_BUDGET, total, now, userId);
+        return total;
+    }
+
+    private List<Shard> lockShards(Long userId) {
+        return jdbcTemplate.query(SELECT_SHARDS_FOR_UPDATE, (rs, rowNum) -> new Shard(
+                rs.getLong("coupon_budget_shard_id"),
+                rs.getInt("shard_no"),
+                rs.getLong("remaining")), userId);
+    }
+
+    /**
+     * total 을 shards 개로 나눌 때 shardNo 의 몫. 나머지는 앞쪽 shard 에 1씩 준다.
+     */
+    static long share(long total, int shards, int shardNo) {
+        return total / shards + (shardNo < total % shards ? 1 : 0);
+    }
+
+    private record Shard(long id, int shardNo, long remaining) {
+    }
+}
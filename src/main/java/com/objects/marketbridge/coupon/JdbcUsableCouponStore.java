@@ -0,0 +1,38 @@
+package com.objects.marketbridge.coupon;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcUsableCouponStore implements UsableCouponStore {
+
+    private static final String SELECT_UNUSED =
+            "select cc.customer_coupon_id, c.coupon_id, c.product_id, c.price, c.minimum_price, c.start_date, c.end_date " +
+            "from customer_coupon cc join coupon c on c.coupon_id = cc.coupon_id " +
+            "where cc.user_id = ? and cc.is_used = false and cc.deleted_at is null and c.deleted_at is null " +
+            "and (c.end_date is null or c.end_date > ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UsableCoupon> findUnused(Long userId, LocalDateTime now) {
+        return jdbcTemplate.query(SELECT_UNUSED, (rs, rowNum) -> new UsableCoupon(
+                rs.getLong("customer_coupon_id"),
+                rs.getLong("coupon_id"),
+                rs.getObject("product_id", Long.class),
+                rs.getInt("price"),
+                rs.getInt("minimum_price"),
+                toLocalDateTime(rs.getTimestamp("start_date")),
+                toLocalDateTime(rs.getTimestamp("end_date"))), userId, Timestamp.valueOf(now));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
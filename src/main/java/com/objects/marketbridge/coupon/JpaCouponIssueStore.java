@@ -0,0 +1,45 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.domain.Coupon;
+import com.objects.marketbridge.domain.CustomerCoupon;
+import com.objects.marketbridge.repository.CouponRepository;
+import com.objects.marketbridge.repository.CustomerCouponRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaCouponIssueStore implements CouponIssueStore {
+
+    private final CouponRepository couponRepository;
+    private final CustomerCouponRepository customerCouponRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Coupon> findCoupon(Long couponId) {
+        return couponRepository.findById(couponId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findIssuedUserIds(Long couponId) {
+        return customerCouponRepository.findUserIdsByCouponId(couponId);
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(List<CustomerCoupon> customerCoupons) {
+        // hibernate.jdbc.batch_size 단위로 묶여서 insert 된다
+        customerCouponRepository.saveAll(customerCoupons);
+        Set<Long> userIds = customerCoupons.stream().map(CustomerCoupon::getUserId).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new CustomerCouponChangedEvent(userIds));
+    }
+}
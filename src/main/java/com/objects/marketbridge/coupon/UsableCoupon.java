@@ -0,0 +1,30 @@
+package com.objects.marketbridge.coupon;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자가 아직 쓰지 않은 CustomerCoupon 과 그 Coupon 조건을 합친 한 줄.
+ *
+ * @param productId 쓸 수 있는 상품. null 이면 모든 상품
+ * @param amount    할인 금액 (Coupon.price)
+ * @param startDate null 이면 시작 제한 없음
+ * @param endDate   이 시각부터 못 쓴다. null 이면 종료 제한 없음
+ */
+public record UsableCoupon(Long customerCouponId, Long couponId, Long productId, int amount, int minimumPrice,
+                           LocalDateTime startDate, LocalDateTime endDate) {
+
+    public boolean usableAt(LocalDateTime now) {
+        return (startDate == null || !now.isBefore(startDate)) && (endDate == null || now.isBefore(endDate));
+    }
+
+    public boolean appliesTo(Long productId) {
+        return this.productId == null || this.productId.equals(productId);
+    }
+
+    /**
+     * 주문 금액 price 에 이 쿠폰을 쓸 때 깎이는 금액. 최소 주문 금액에 못 미치면 0
+     */
+    public long discount(long price) {
+        return price < minimumPrice ? 0 : Math.min(amount, price);
+    }
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.coupon;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 최적 쿠폰 색인이 사용하는 CustomerCoupon ⋈ Coupon 조회 포트
+ */
+public interface UsableCouponStore {
+
+    /**
+     * 사용자의 쓰지 않은 쿠폰 중 now 에 이미 끝난 것을 뺀 목록. 아직 시작하지 않은 쿠폰은 포함한다.
+     */
+    List<UsableCoupon> findUnused(Long userId, LocalDateTime now);
+}
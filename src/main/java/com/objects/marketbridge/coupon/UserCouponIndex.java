@@ -0,0 +1,137 @@
+package com.objects.marketbridge.coupon;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 한 명의 쓰지 않은 쿠폰 색인.
+ * <p>
+ * 쿠폰들의 시작/종료 시각을 정렬해 시간축을 구간으로 나누면, 한 구간 안에서는 쓸 수 있는 쿠폰 집합이 바뀌지 않는다.
+ * 쿠폰마다 유효한 구간 범위 [from, to) 를 미리 구해 두고, 지금 시각이 속한 구간의 쿠폰만
+ * productId 별(상품 전용)과 전체 상품용으로 나눠 할인 금액 내림차순 배열로 만들어 둔다.
+ * 시각이 다음 구간으로 넘어가면 그 구간의 배열을 다시 만든다.
+ */
+final class UserCouponIndex {
+
+    // 할인 금액 큰 순, 같으면 customerCouponId 작은 순
+    static final Comparator<UsableCoupon> PRIORITY = Comparator.comparingInt(UsableCoupon::amount).reversed()
+            .thenComparing(UsableCoupon::customerCouponId);
+
+    private static final UsableCoupon[] NONE = new UsableCoupon[0];
+
+    private final LocalDateTime[] breakpoints;
+    private final UsableCoupon[] coupons;
+    private final int[] from;
+    private final int[] to;
+
+    private volatile ActiveCoupons active;
+
+    private UserCouponIndex(LocalDateTime[] breakpoints, UsableCoupon[] coupons, int[] from, int[] to) {
+        this.breakpoints = breakpoints;
+        this.coupons = coupons;
+        this.from = from;
+        this.to = to;
+    }
+
+    static UserCouponIndex of(List<UsableCoupon> unused) {
+        UsableCoupon[] coupons = unused.toArray(NONE);
+        Arrays.sort(coupons, PRIORITY);
+        LocalDateTime[] breakpoints = unused.stream()
+                .<LocalDateTime>mapMulti((coupon, sink) -> {
+                    if (coupon.startDate() != null) {
+                        sink.accept(coupon.startDate());
+                    }
+                    if (coupon.endDate() != null) {
+                        sink.accept(coupon.endDate());
+                    }
+                })
+                .distinct()
+                .sorted()
+                .toArray(LocalDateTime[]::new);
+        int[] from = new int[coupons.length];
+        int[] to = new int[coupons.length];
+        for (int i = 0; i < coupons.length; i++) {
+            UsableCoupon coupon = coupons[i];
+            from[i] = coupon.startDate() == null ? 0 : Arrays.binarySearch(breakpoints, coupon.startDate()) + 1;
+            to[i] = coupon.endDate() == null ? breakpoints.length + 1 : Arrays.binarySearch(breakpoints, coupon.endDate()) + 1;
+        }
+        return new UserCouponIndex(breakpoints, coupons, from, to);
+    }
+
+    int size() {
+        return coupons.length;
+    }
+
+    /**
+     * 주문 상품 한 줄(productId, 금액)에 가장 많이 깎이는 쿠폰. 같은 금액이면 customerCouponId 가 작은 쿠폰.
+     *
+     * @return 쓸 수 있는 쿠폰이 없으면 null
+     */
+    UsableCoupon best(Long productId, long price, LocalDateTime now) {
+        ActiveCoupons current = activeAt(now);
+        UsableCoupon best = pick(current.byProduct.getOrDefault(productId, NONE), price, null);
+        return pick(current.global, price, best);
+    }
+
+    private static UsableCoupon pick(UsableCoupon[] candidates, long price, UsableCoupon best) {
+        long bestDiscount = best == null ? 0 : best.discount(price);
+        for (UsableCoupon candidate : candidates) {
+            // 금액 내림차순이라 이후 쿠폰은 더 깎일 수 없다
+            if (candidate.amount() < bestDiscount) {
+                break;
+            }
+            long discount = candidate.discount(price);
+            if (discount > bestDiscount
+                    || discount > 0 && discount == bestDiscount && candidate.customerCouponId() < best.customerCouponId()) {
+                best = candidate;
+                bestDiscount = discount;
+            }
+        }
+        return best;
+    }
+
+    private ActiveCoupons activeAt(LocalDateTime now) {
+        int segment = segment(now);
+        ActiveCoupons current = active;
+        if (current == null || current.segment != segment) {
+            // 여러 스레드가 동시에 만들어도 결과가 같으므로 마지막 것이 남아도 된다
+            current = build(segment);
+            active = current;
+        }
+        return current;
+    }
+
+    /**
+     * now 이하인 경계 시각의 개수. 시작 시각은 포함, 종료 시각은 제외하는 쿠폰 기간과 맞는다.
+     */
+    private int segment(LocalDateTime now) {
+        int position = Arrays.binarySearch(breakpoints, now);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private ActiveCoupons build(int segment) {
+        Map<Long, List<UsableCoupon>> byProduct = new HashMap<>();
+        List<UsableCoupon> global = new ArrayList<>();
+        for (int i = 0; i < coupons.length; i++) {
+            if (from[i] <= segment && segment < to[i]) {
+                UsableCoupon coupon = coupons[i];
+                if (coupon.productId() == null) {
+                    global.add(coupon);
+                } else {
+                    byProduct.computeIfAbsent(coupon.productId(), k -> new ArrayList<>()).add(coupon);
+                }
+            }
+        }
+        Map<Long, UsableCoupon[]> arrays = new HashMap<>(byProduct.size() * 2);
+        byProduct.forEach((productId, list) -> arrays.put(productId, list.toArray(NONE)));
+        return new ActiveCoupons(segment, arrays, global.toArray(NONE));
+    }
+
+    private record ActiveCoupons(int segment, Map<Long, UsableCoupon[]> byProduct, UsableCoupon[] global) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.objects.marketbridge.datagen;
+
+import java.util.List;
+
+/**
+ * 합성 데이터를 테이블에 넣는 포트
+ */
+public interface BulkInsertStore {
+
+    /**
+     * rows 를 한 트랜잭션으로 넣는다. 각 행은 {@link SyntheticTable#getColumns()} 순서의 값 배열이다.
+     */
+    void insert(SyntheticTable table, List<Object[]> rows);
+}
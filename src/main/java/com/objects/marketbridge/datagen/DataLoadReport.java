@@ -0,0 +1,21 @@
+package com.objects.marketbridge.datagen;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 합성 데이터 적재 결과.
+ *
+ * @param rows 테이블별로 넣은 행 수
+ */
+public record DataLoadReport(Map<SyntheticTable, Long> rows, Duration elapsed) {
+
+    public long totalRows() {
+        return rows.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double rowsPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? totalRows() : totalRows() / seconds;
+    }
+}
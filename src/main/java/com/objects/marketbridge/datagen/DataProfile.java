@@ -0,0 +1,41 @@
+package com.objects.marketbridge.datagen;
+
+import java.util.Locale;
+
+/**
+ * 합성 데이터 규모.
+ *
+ * @param users            사용자 수
+ * @param products         상품 수
+ * @param categories       상품에 붙일 카테고리 id 범위 (1..categories). 카테고리 행은 만들지 않는다.
+ * @param ordersPerUser    사용자당 주문 수
+ * @param maxLinesPerOrder 주문당 최대 상품 줄 수 (1..max 균등)
+ * @param reviewPercent    배송완료 상품 줄 중 리뷰를 남기는 비율 (%)
+ */
+public record DataProfile(int users, int products, int categories, int ordersPerUser, int maxLinesPerOrder, int reviewPercent) {
+
+    public DataProfile {
+        if (users <= 0 || products <= 0 || categories <= 0 || ordersPerUser <= 0 || maxLinesPerOrder <= 0) {
+            throw new IllegalArgumentException("데이터 규모는 1 이상이어야 합니다.");
+        }
+        if (reviewPercent < 0 || reviewPercent > 100) {
+            throw new IllegalArgumentException("리뷰 비율은 0~100 사이여야 합니다. reviewPercent=" + reviewPercent);
+        }
+    }
+
+    /**
+     * 이름으로 정해 둔 규모. large 는 여섯 테이블 합계 약 1,000만 행이다.
+     */
+    public static DataProfile of(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "tiny" -> new DataProfile(1_000, 500, 20, 3, 4, 20);
+            case "small" -> new DataProfile(100_000, 20_000, 200, 2, 4, 20);
+            case "large" -> new DataProfile(1_000_000, 200_000, 1_000, 2, 4, 20);
+            default -> throw new IllegalArgumentException("알 수 없는 데이터 규모입니다. name=" + name);
+        };
+    }
+
+    public long orders() {
+        return (long) users * ordersPerUser;
+    }
+}
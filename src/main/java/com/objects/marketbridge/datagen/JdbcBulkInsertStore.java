@@ -0,0 +1,72 @@
+package com.objects.marketbridge.datagen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * insert ... values (...), (...), ... 형태로 여러 행을 한 문장에 담고, 그 문장들을 다시 배치로 보낸다.
+ * rowsPerStatement 로 나누어 떨어지지 않는 나머지 행은 한 문장으로 따로 보낸다.
+ */
+@Repository
+public class JdbcBulkInsertStore implements BulkInsertStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+    private final Map<SyntheticTable, String> fullStatements = new EnumMap<>(SyntheticTable.class);
+
+    public JdbcBulkInsertStore(JdbcTemplate jdbcTemplate,
+                               @Value("${marketbridge.datagen.rows-per-statement:500}") int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+        for (SyntheticTable table : SyntheticTable.values()) {
+            fullStatements.put(table, insertSql(table, rowsPerStatement));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void insert(SyntheticTable table, List<Object[]> rows) {
+        int full = rows.size() / rowsPerStatement * rowsPerStatement;
+        if (full > 0) {
+            List<Object[]> statements = new ArrayList<>(full / rowsPerStatement);
+            for (int from = 0; from < full; from += rowsPerStatement) {
+                statements.add(flatten(table, rows, from, from + rowsPerStatement));
+            }
+            jdbcTemplate.batchUpdate(fullStatements.get(table), statements);
+        }
+        if (full < rows.size()) {
+            jdbcTemplate.update(insertSql(table, rows.size() - full), flatten(table, rows, full, rows.size()));
+        }
+    }
+
+    private static Object[] flatten(SyntheticTable table, List<Object[]> rows, int from, int to) {
+        int width = table.getColumns().size();
+        Object[] args = new Object[(to - from) * width];
+        for (int i = from; i < to; i++) {
+            System.arraycopy(rows.get(i), 0, args, (i - from) * width, width);
+        }
+        return args;
+    }
+
+    static String insertSql(SyntheticTable table, int rowCount) {
+        List<String> columns = table.getColumns();
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        StringBuilder sql = new StringBuilder("insert into ").append(table.getTableName())
+                .append(" (").append(String.join(", ", columns)).append(") values ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+}
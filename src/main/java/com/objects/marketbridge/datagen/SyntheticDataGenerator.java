@@ -0,0 +1,265 @@
+package com.objects.marketbridge.datagen;
+
+import com.objects.marketbridge.domain.Membership;
+import com.objects.marketbridge.domain.SocialType;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.domain.UserType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * seed 와 {@link DataProfile} 로 정해지는 합성 데이터.
+ * <p>
+ * 행마다 (seed, 테이블, 번호) 로 난수를 새로 만들기 때문에 어느 구간을 어떤 순서로 만들어도 같은 행이 나온다.
+ * id 는 번호에서 바로 계산한다 (사용자/상품/주문 = 번호 + 1, 주문 상세 = 주문 번호 * 최대 줄 수 + 줄 + 1).
+ * 그래서 다른 테이블을 조회하지 않고도 참조가 맞으며, 비어 있는 테이블에 넣는 것을 전제로 한다.
+ * <p>
+ * 주문의 상품 줄은 주문 번호로 다시 만들 수 있어서, 주문 금액과 상세 금액, 적립 포인트와 잔액이 서로 맞는다.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String PASSWORD = "{noop}synthetic";
+    private static final String[] REVIEW_TEXTS = {
+            "배송이 빨라요", "가격 대비 좋아요", "생각보다 별로예요", "재구매 의사 있어요", "포장이 꼼꼼해요", "사진과 조금 달라요"
+    };
+    private static final int[] DISCOUNT_RATES = {0, 0, 5, 10, 20, 30};
+    private static final SocialType[] SOCIAL_TYPES = SocialType.values();
+
+    // 테이블과 별개로 주문 상품 줄에 쓰는 난수 흐름
+    private static final int LINE_STREAM = SyntheticTable.values().length;
+
+    private final long seed;
+    private final DataProfile profile;
+    private final LocalDateTime anchor;
+
+    /**
+     * @param anchor 생성 시각의 기준. 모든 생성/주문 시각은 이 시각 이전이다.
+     */
+    public SyntheticDataGenerator(long seed, DataProfile profile, LocalDateTime anchor) {
+        this.seed = seed;
+        this.profile = profile;
+        this.anchor = anchor;
+    }
+
+    public DataProfile profile() {
+        return profile;
+    }
+
+    /**
+     * table 을 만들 때 나눠 맡을 번호 범위 [0, count). 주문 상세와 리뷰는 주문 번호, 포인트는 사용자 번호로 나눈다.
+     */
+    public long partitionCount(SyntheticTable table) {
+        return switch (table) {
+            case USER, POINT -> profile.users();
+            case PRODUCT -> profile.products();
+            case PROD_ORDER, PROD_ORDER_DETAIL, REVIEW -> profile.orders();
+        };
+    }
+
+    /**
+     * 번호 [from, to) 에 해당하는 table 행을 순서대로 sink 에 넘긴다. 행은 columns 순서의 값 배열이다.
+     */
+    public void generate(SyntheticTable table, long from, long to, Consumer<Object[]> sink) {
+        for (long index = from; index < to; index++) {
+            switch (table) {
+                case USER -> sink.accept(user(index));
+                case PRODUCT -> sink.accept(product(index));
+                case PROD_ORDER -> sink.accept(orderRow(order(index)));
+                case PROD_ORDER_DETAIL -> details(order(index), sink);
+                case REVIEW -> reviews(order(index), sink);
+                case POINT -> points(index, sink);
+            }
+        }
+    }
+
+    private Object[] user(long index) {
+        SplittableRandom random = random(SyntheticTable.USER, index);
+        long id = index + 1;
+        Timestamp createdAt = Timestamp.valueOf(anchor.minusDays(730).plusMinutes(random.nextLong(730L * 24 * 60)));
+        return new Object[]{
+                id,
+                (random.nextInt(100) == 0 ? UserType.SELLER : UserType.CUSTOMER).name(),
+                SOCIAL_TYPES[random.nextInt(SOCIAL_TYPES.length)].name(),
+                (random.nextInt(5) == 0 ? Membership.WOW : Membership.BASIC).name(),
+                "user" + id + "@marketbridge.test",
+                PASSWORD,
+                "사용자" + id,
+                String.format("010-%04d-%04d", random.nextInt(10_000), random.nextInt(10_000)),
+                String.format("%d-%02d-%02d", 1960 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                random.nextBoolean(),
+                true,
+                createdAt,
+                createdAt
+        };
+    }
+
+    private Object[] product(long index) {
+        SplittableRandom random = random(SyntheticTable.PRODUCT, index);
+        long id = index + 1;
+        // 가격과 할인율은 주문 상품 줄에서 다시 계산하므로 항상 먼저 뽑는다
+        int price = productPrice(random);
+        int discountRate = DISCOUNT_RATES[random.nextInt(DISCOUNT_RATES.length)];
+        Timestamp createdAt = Timestamp.valueOf(anchor.minusDays(730).plusMinutes(random.nextLong(365L * 24 * 60)));
+        return new Object[]{
+                id,
+                1L + random.nextInt(profile.categories()),
+                random.nextInt(3) == 0,
+                "상품 " + id,
+                price,
+                random.nextInt(10) == 0,
+                "/images/product/" + id + ".jpg",
+                discountRate,
+                createdAt,
+                createdAt
+        };
+    }
+
+    /**
+     * 할인이 반영된 상품 단가
+     */
+    long salePrice(long productIndex) {
+        SplittableRandom random = random(SyntheticTable.PRODUCT, productIndex);
+        int price = productPrice(random);
+        int discountRate = DISCOUNT_RATES[random.nextInt(DISCOUNT_RATES.length)];
+        return price * (100L - discountRate) / 100;
+    }
+
+    private static int productPrice(SplittableRandom random) {
+        return (10 + random.nextInt(2_000)) * 100;
+    }
+
+    GeneratedOrder order(long index) {
+        int ordersPerUser = profile.ordersPerUser();
+        long userIndex = index / ordersPerUser;
+        int sequence = (int) (index % ordersPerUser);
+        SplittableRandom random = random(SyntheticTable.PROD_ORDER, index);
+
+        // 사용자별 주문은 최근 1년 안에서 번호 순으로 시각이 늘어난다
+        long slotMinutes = 365L * 24 * 60 / ordersPerUser;
+        LocalDateTime orderedAt = anchor.minusDays(365).plusMinutes(sequence * slotMinutes + random.nextLong(slotMinutes));
+        int roll = random.nextInt(100);
+        StatusCodeType status = roll < 80 ? StatusCodeType.DELIVERY_COMPLETED
+                : roll < 92 ? StatusCodeType.PAYMENT_COMPLETED : StatusCodeType.ORDER_CANCEL;
+        int pointRate = random.nextInt(5) == 0 ? 5 : 1;
+
+        SplittableRandom lineRandom = random(LINE_STREAM, index);
+        int lineCount = 1 + lineRandom.nextInt(profile.maxLinesPerOrder());
+        long[] productIndexes = new long[lineCount];
+        long[] prices = new long[lineCount];
+        for (int line = 0; line < lineCount; line++) {
+            // 제곱으로 치우치게 해서 앞쪽 상품에 주문이 몰리게 한다
+            double skew = lineRandom.nextDouble();
+            productIndexes[line] = (long) (profile.products() * skew * skew);
+            prices[line] = salePrice(productIndexes[line]) * (1 + lineRandom.nextInt(3));
+        }
+        return new GeneratedOrder(index + 1, userIndex + 1, orderedAt, status, pointRate, productIndexes, prices);
+    }
+
+    private Object[] orderRow(GeneratedOrder order) {
+        Timestamp orderedAt = Timestamp.valueOf(order.orderedAt());
+        return new Object[]{
+                order.id(),
+                order.userId(),
+                null,
+                (short) order.status().getValue(),
+                order.totalPrice(),
+                order.pointRate(),
+                order.savedPoint(),
+                order.delivered() ? Timestamp.valueOf(order.orderedAt().plusDays(2)) : null,
+                orderedAt,
+                orderedAt
+        };
+    }
+
+    private void details(GeneratedOrder order, Consumer<Object[]> sink) {
+        Timestamp orderedAt = Timestamp.valueOf(order.orderedAt());
+        for (int line = 0; line < order.lineCount(); line++) {
+            sink.accept(new Object[]{detailId(order, line), order.id(), order.productId(line), order.prices()[line], orderedAt, orderedAt});
+        }
+    }
+
+    private void reviews(GeneratedOrder order, Consumer<Object[]> sink) {
+        if (!order.delivered()) {
+            return;
+        }
+        for (int line = 0; line < order.lineCount(); line++) {
+            long detailId = detailId(order, line);
+            SplittableRandom random = random(SyntheticTable.REVIEW, detailId);
+            if (random.nextInt(100) >= profile.reviewPercent()) {
+                continue;
+            }
+            // 별점은 5점 쪽으로 치우친다
+            int rating = Math.min(5, 1 + random.nextInt(3) + random.nextInt(3));
+            Timestamp writtenAt = Timestamp.valueOf(order.orderedAt().plusDays(3 + random.nextInt(30)));
+            sink.accept(new Object[]{detailId, order.id(), order.productId(line), REVIEW_TEXTS[random.nextInt(REVIEW_TEXTS.length)],
+                    rating, writtenAt, writtenAt});
+        }
+    }
+
+    /**
+     * 사용자의 주문을 순서대로 따라가며 적립 포인트와 잔액을 만든다. 취소된 주문은 적립하지 않는다.
+     */
+    private void points(long userIndex, Consumer<Object[]> sink) {
+        long balance = 0;
+        long firstOrder = userIndex * profile.ordersPerUser();
+        for (long index = firstOrder; index < firstOrder + profile.ordersPerUser(); index++) {
+            GeneratedOrder order = order(index);
+            if (order.status() == StatusCodeType.ORDER_CANCEL) {
+                continue;
+            }
+            balance += order.savedPoint();
+            Timestamp orderedAt = Timestamp.valueOf(order.orderedAt());
+            sink.accept(new Object[]{order.id(), order.userId(), order.id(), order.savedPoint(), 0, (int) balance, "구매 적립",
+                    orderedAt, orderedAt});
+        }
+    }
+
+    private long detailId(GeneratedOrder order, int line) {
+        return (order.id() - 1) * profile.maxLinesPerOrder() + line + 1;
+    }
+
+    private SplittableRandom random(SyntheticTable table, long index) {
+        return random(table.ordinal(), index);
+    }
+
+    private SplittableRandom random(int stream, long index) {
+        return new SplittableRandom(mix(seed + mix(stream * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    record GeneratedOrder(long id, long userId, LocalDateTime orderedAt, StatusCodeType status, int pointRate,
+                          long[] productIndexes, long[] prices) {
+
+        int lineCount() {
+            return prices.length;
+        }
+
+        long productId(int line) {
+            return productIndexes[line] + 1;
+        }
+
+        long totalPrice() {
+            long total = 0;
+            for (long price : prices) {
+                total += price;
+            }
+            return total;
+        }
+
+        int savedPoint() {
+            return (int) (totalPrice() * pointRate / 100);
+        }
+
+        boolean delivered() {
+            return status == StatusCodeType.DELIVERY_COMPLETED;
+        }
+    }
+}
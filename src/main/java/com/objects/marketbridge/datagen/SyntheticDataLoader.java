@@ -0,0 +1,109 @@
+package com.objects.marketbridge.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 합성 데이터를 DB 에 흘려 넣는다.
+ * <p>
+ * 테이블마다 번호 범위를 partitionSize 로 잘라 스레드 풀에서 나눠 만들고, flushRows 행이 모일 때마다 넣는다.
+ * 테이블은 의존 테이블을 다 넣은 직후에 시작하므로 서로 관계없는 테이블(사용자/상품, 포인트/주문 상세)은 함께 들어간다.
+ * 메모리에는 스레드마다 한 묶음만 둔다.
+ */
+@Slf4j
+@Service
+public class SyntheticDataLoader {
+
+    private final BulkInsertStore bulkInsertStore;
+    private final int threads;
+    private final long partitionSize;
+    private final int flushRows;
+
+    public SyntheticDataLoader(BulkInsertStore bulkInsertStore,
+                               @Value("${marketbridge.datagen.threads:8}") int threads,
+                               @Value("${marketbridge.datagen.partition-size:20000}") long partitionSize,
+                               @Value("${marketbridge.datagen.flush-rows:5000}") int flushRows) {
+        this.bulkInsertStore = bulkInsertStore;
+        this.threads = threads;
+        this.partitionSize = partitionSize;
+        this.flushRows = flushRows;
+    }
+
+    public DataLoadReport load(DataProfile profile, long seed) {
+        return load(new SyntheticDataGenerator(seed, profile, LocalDate.now().atStartOfDay()));
+    }
+
+    public DataLoadReport load(SyntheticDataGenerator generator) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<SyntheticTable, CompletableFuture<Long>> tables = new EnumMap<>(SyntheticTable.class);
+        try {
+            for (SyntheticTable table : SyntheticTable.values()) {
+                CompletableFuture<?>[] dependencies = table.getDependencies().stream()
+                        .map(tables::get)
+                        .toArray(CompletableFuture[]::new);
+                tables.put(table, CompletableFuture.allOf(dependencies)
+                        .thenCompose(ignored -> loadTable(generator, table, executor)));
+            }
+            Map<SyntheticTable, Long> rows = new EnumMap<>(SyntheticTable.class);
+            tables.forEach((table, future) -> rows.put(table, future.join()));
+            DataLoadReport report = new DataLoadReport(rows, Duration.ofNanos(System.nanoTime() - start));
+            log.info("synthetic data loaded. rows={}, total={}, elapsed={}, {} rows/s",
+                    report.rows(), report.totalRows(), report.elapsed(), String.format("%.0f", report.rowsPerSecond()));
+            return report;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Long> loadTable(SyntheticDataGenerator generator, SyntheticTable table, ExecutorService executor) {
+        long count = generator.partitionCount(table);
+        List<CompletableFuture<Long>> partitions = new ArrayList<>();
+        for (long from = 0; from < count; from += partitionSize) {
+            long to = Math.min(count, from + partitionSize);
+            long partitionFrom = from;
+            partitions.add(CompletableFuture.supplyAsync(() -> loadPartition(generator, table, partitionFrom, to), executor));
+        }
+        return CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    long rows = partitions.stream().mapToLong(CompletableFuture::join).sum();
+                    log.info("synthetic {} loaded. rows={}", table.getTableName(), rows);
+                    return rows;
+                });
+    }
+
+    private long loadPartition(SyntheticDataGenerator generator, SyntheticTable table, long from, long to) {
+        List<Object[]> batch = new ArrayList<>(flushRows);
+        long[] rows = new long[1];
+        generator.generate(table, from, to, row -> {
+            batch.add(row);
+            if (batch.size() == flushRows) {
+                bulkInsertStore.insert(table, batch);
+                rows[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            bulkInsertStore.insert(table, batch);
+            rows[0] += batch.size();
+        }
+        return rows[0];
+    }
+}
@@ -0,0 +1,36 @@
+package com.objects.marketbridge.datagen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * marketbridge.datagen.profile 이 지정되면 기동할 때 합성 데이터를 적재한다. 비어 있으면 아무것도 하지 않는다.
+ * <pre>
+ * ./gradlew bootRun --args='--marketbridge.datagen.profile=large --marketbridge.datagen.seed=42'
+ * </pre>
+ */
+@Component
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataLoader loader;
+    private final String profile;
+    private final long seed;
+
+    public SyntheticDataRunner(SyntheticDataLoader loader,
+                               @Value("${marketbridge.datagen.profile:}") String profile,
+                               @Value("${marketbridge.datagen.seed:42}") long seed) {
+        this.loader = loader;
+        this.profile = profile;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (profile == null || profile.isBlank()) {
+            return;
+        }
+        loader.load(DataProfile.of(profile), seed);
+    }
+}
@@ -0,0 +1,37 @@
+package com.objects.marketbridge.datagen;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 합성 데이터를 넣는 테이블. 앞에 선언한 테이블만 의존할 수 있고, 의존 테이블을 다 넣은 뒤에 시작한다.
+ * FK 는 없지만 id 참조가 가리키는 행이 먼저 있도록 순서를 지킨다.
+ */
+@Getter
+public enum SyntheticTable {
+
+    // user 는 H2 2.x / PostgreSQL 예약어라 엔티티 User 와 같이 따옴표로 감싼다
+    USER("\"user\"", List.of("user_id", "user_type", "social_type", "membership", "email", "password", "name",
+            "phone_no", "birth", "is_alert", "is_agree", "created_at", "updated_at")),
+    PRODUCT("product", List.of("product_id", "category_id", "is_own", "name", "price", "is_subs", "thumb_img",
+            "discount_rate", "created_at", "updated_at")),
+    PROD_ORDER("prod_order", List.of("prod_order_id", "user_id", "address_id", "status_code", "total_price",
+            "point_rate", "saved_point", "delivered_date", "created_at", "updated_at"), USER),
+    PROD_ORDER_DETAIL("prod_order_detail", List.of("prod_order_detail_id", "order_id", "product_id", "price",
+            "created_at", "updated_at"), PROD_ORDER, PRODUCT),
+    REVIEW("review", List.of("review_id", "order_id", "product_id", "content", "rating", "created_at", "updated_at"),
+            PROD_ORDER_DETAIL),
+    POINT("point", List.of("point_id", "user_id", "order_id", "in_point", "out_point", "balance", "comments",
+            "created_at", "updated_at"), PROD_ORDER);
+
+    private final String tableName;
+    private final List<String> columns;
+    private final List<SyntheticTable> dependencies;
+
+    SyntheticTable(String tableName, List<String> columns, SyntheticTable... dependencies) {
+        this.tableName = tableName;
+        this.columns = columns;
+        this.dependencies = List.of(dependencies);
+    }
+}
@@ -0,0 +1,9 @@
+package com.objects.marketbridge.delivery;
+
+/**
+ * EstimatedTime 행. hour 시 전에 들어온 주문은 addDay 일 뒤, 그 뒤 주문은 하루 더 걸린다.
+ *
+ * @param warehouseId null 이면 창고별 설정이 없는 창고에 쓰는 기본값
+ */
+public record DeliveryCutoff(Long warehouseId, int hour, int addDay) {
+}
@@ -0,0 +1,20 @@
+package com.objects.marketbridge.delivery;
+
+import java.time.LocalDate;
+
+/**
+ * 상품 카드의 "언제 도착" 약속.
+ *
+ * @param warehouseId 가장 빨리 도착하는 창고
+ * @param arrivesBy   도착 예정일. 로켓배송 상품이 아니거나, 재고가 없거나, 배송할 수 없는 우편번호면 null
+ */
+public record DeliveryPromise(Long productId, String zipcode, Long warehouseId, LocalDate arrivesBy) {
+
+    static DeliveryPromise none(Long productId, String zipcode) {
+        return new DeliveryPromise(productId, zipcode, null, null);
+    }
+
+    public boolean available() {
+        return arrivesBy != null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.stock.StockAvailabilityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로켓배송(isOwn) 상품 카드의 "언제 도착" 약속을 메모리에서 계산한다.
+ * <p>
+ * 창고별 마감 시각(EstimatedTime), 우편번호 권역 × 창고 추가 배송일, 상품별 창고 재고 여부를
+ * {@link DeliveryPromiseTable} 로 미리 펼쳐 두고, 요청마다 재고 있는 창고 중 가장 빠른 도착일을 고른다.
+ * 표는 주기적으로 DB 에서 다시 만들고, 그 사이에는 재고 예약 엔진의 {@link StockAvailabilityChangedEvent} 로
+ * 재고가 0 을 지난 키만 바로 반영한다. 다시 만드는 동안 들어온 이벤트는 새 표에 한 번 더 적용한 뒤 바꿔 끼운다.
+ * stock 테이블은 재고 예약 엔진의 flush 주기만큼 늦을 수 있다.
+ */
+@Slf4j
+@Service
+public class DeliveryPromiseEngine {
+
+    private final DeliveryPromiseStore deliveryPromiseStore;
+    private final Clock clock;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // 표 교체와 재고 이벤트 적용을 맞물리게 하는 락. DB 조회 중에는 잡지 않는다.
+    private final ReentrantLock swapLock = new ReentrantLock();
+
+    private volatile DeliveryPromiseTable table = DeliveryPromiseTable.empty();
+    private List<StockAvailabilityChangedEvent> duringReload;
+
+    @Autowired
+    public DeliveryPromiseEngine(DeliveryPromiseStore deliveryPromiseStore) {
+        this(deliveryPromiseStore, Clock.systemDefaultZone());
+    }
+
+    DeliveryPromiseEngine(DeliveryPromiseStore deliveryPromiseStore, Clock clock) {
+        this.deliveryPromiseStore = deliveryPromiseStore;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${marketbridge.delivery.promise-reload-interval:300000}",
+            initialDelayString = "${marketbridge.delivery.promise-reload-interval:300000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            swapLock.lock();
+            try {
+                duringReload = new ArrayList<>();
+            } finally {
+                swapLock.unlock();
+            }
+            DeliveryPromiseTable reloaded = DeliveryPromiseTable.build(
+                    deliveryPromiseStore.findWarehouses(),
+                    deliveryPromiseStore.findCutoffs(),
+                    deliveryPromiseStore.findOwnProductStock());
+            swapLock.lock();
+            try {
+                duringReload.forEach(event -> reloaded.apply(event.key(), event.available()));
+                duringReload = null;
+                table = reloaded;
+            } finally {
+                swapLock.unlock();
+            }
+            log.info("delivery promise table loaded. warehouses={}, products={}", reloaded.warehouseCount(), reloaded.productCount());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onStockAvailabilityChanged(StockAvailabilityChangedEvent event) {
+        swapLock.lock();
+        try {
+            table.apply(event.key(), event.available());
+            if (duringReload != null) {
+                duringReload.add(event);
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    public DeliveryPromise promise(Long productId, String zipcode) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return promise(table, productId, zipcode, now.toLocalDate(), now.getHour());
+    }
+
+    /**
+     * 상품 카드 목록처럼 여러 (상품, 우편번호) 를 한 번에 계산한다. 결과는 요청 순서와 같다.
+     */
+    public List<DeliveryPromise> promise(List<PromiseRequest> requests) {
+        DeliveryPromiseTable current = table;
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        int hour = now.getHour();
+        List<DeliveryPromise> promises = new ArrayList<>(requests.size());
+        for (PromiseRequest request : requests) {
+            promises.add(promise(current, request.productId(), request.zipcode(), today, hour));
+        }
+        return promises;
+    }
+
+    private static DeliveryPromise promise(DeliveryPromiseTable table, Long productId, String zipcode, LocalDate today, int hour) {
+        long fastest = table.fastest(productId, ZipRegion.prefix(zipcode), hour);
+        if (fastest < 0) {
+            return DeliveryPromise.none(productId, zipcode);
+        }
+        int warehouse = (int) (fastest >>> 32);
+        int days = (int) fastest;
+        return new DeliveryPromise(productId, zipcode, table.warehouseId(warehouse), today.plusDays(days));
+    }
+}
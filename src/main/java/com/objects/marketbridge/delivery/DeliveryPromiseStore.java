@@ -0,0 +1,18 @@
+package com.objects.marketbridge.delivery;
+
+import java.util.List;
+
+/**
+ * 도착 약속 엔진이 미리 계산할 때 읽는 warehouse / estimated_time / stock 테이블 접근 포트
+ */
+public interface DeliveryPromiseStore {
+
+    List<WarehouseLocation> findWarehouses();
+
+    List<DeliveryCutoff> findCutoffs();
+
+    /**
+     * isOwn 상품의 stock 행 전체. 수량은 0 보다 큰지만 본다.
+     */
+    List<PromiseStockRow> findOwnProductStock();
+}
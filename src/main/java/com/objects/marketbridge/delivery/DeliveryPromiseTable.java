@@ -0,0 +1,193 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.stock.StockKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 도착 약속 계산용으로 미리 펼쳐 둔 표.
+ * <p>
+ * 창고는 0 부터 번호를 매겨 마감 시각/추가 일수를 배열로 두고,
+ * 우편번호 앞 두 자리 × 창고 번호로 권역 간 추가 배송일을 1차원 배열에 채워 둔다 (배송할 수 없으면 -1).
+ * 상품별 재고는 (창고 번호, 옵션, 재고 있음) 목록이며, 재고가 0 을 지나면 그 상품의 목록만 새로 만들어 바꾼다.
+ */
+final class DeliveryPromiseTable {
+
+    private static final long NO_OPTION = Long.MIN_VALUE;
+
+    private final long[] warehouseIds;
+    private final int[] cutoffHour;
+    private final int[] addDay;
+    private final byte[] transitDays;
+    private final Map<Long, ProductStock> stock;
+
+    private DeliveryPromiseTable(long[] warehouseIds, int[] cutoffHour, int[] addDay, byte[] transitDays, Map<Long, ProductStock> stock) {
+        this.warehouseIds = warehouseIds;
+        this.cutoffHour = cutoffHour;
+        this.addDay = addDay;
+        this.transitDays = transitDays;
+        this.stock = stock;
+    }
+
+    static DeliveryPromiseTable empty() {
+        return build(List.of(), List.of(), List.of());
+    }
+
+    static DeliveryPromiseTable build(List<WarehouseLocation> warehouses, List<DeliveryCutoff> cutoffs, List<PromiseStockRow> stockRows) {
+        DeliveryCutoff fallback = null;
+        Map<Long, DeliveryCutoff> cutoffByWarehouse = new HashMap<>();
+        for (DeliveryCutoff cutoff : cutoffs) {
+            if (cutoff.warehouseId() == null) {
+                fallback = fallback == null ? cutoff : fallback;
+            } else {
+                cutoffByWarehouse.putIfAbsent(cutoff.warehouseId(), cutoff);
+            }
+        }
+
+        // 마감 시각과 권역을 알 수 있는 창고만 번호를 매긴다
+        List<WarehouseLocation> usable = new ArrayList<>();
+        for (WarehouseLocation warehouse : warehouses) {
+            boolean hasCutoff = cutoffByWarehouse.containsKey(warehouse.warehouseId()) || fallback != null;
+            if (hasCutoff && ZipRegion.ofPrefix(ZipRegion.prefix(warehouse.zipcode())) != null) {
+                usable.add(warehouse);
+            }
+        }
+        int count = usable.size();
+        long[] warehouseIds = new long[count];
+        int[] cutoffHour = new int[count];
+        int[] addDay = new int[count];
+        ZipRegion[] regions = new ZipRegion[count];
+        Map<Long, Integer> index = new HashMap<>(count * 2);
+        for (int w = 0; w < count; w++) {
+            WarehouseLocation warehouse = usable.get(w);
+            DeliveryCutoff cutoff = cutoffByWarehouse.getOrDefault(warehouse.warehouseId(), fallback);
+            warehouseIds[w] = warehouse.warehouseId();
+            cutoffHour[w] = cutoff.hour();
+            addDay[w] = cutoff.addDay();
+            regions[w] = ZipRegion.ofPrefix(ZipRegion.prefix(warehouse.zipcode()));
+            index.put(warehouse.warehouseId(), w);
+        }
+
+        byte[] transitDays = new byte[ZipRegion.PREFIXES * count];
+        Arrays.fill(transitDays, (byte) -1);
+        for (int prefix = 0; prefix < ZipRegion.PREFIXES; prefix++) {
+            ZipRegion destination = ZipRegion.ofPrefix(prefix);
+            if (destination == null) {
+                continue;
+            }
+            for (int w = 0; w < count; w++) {
+                transitDays[prefix * count + w] = (byte) regions[w].transitDays(destination);
+            }
+        }
+
+        Map<Long, List<PromiseStockRow>> rowsByProduct = new LinkedHashMap<>();
+        stockRows.forEach(row -> rowsByProduct.computeIfAbsent(row.productId(), k -> new ArrayList<>()).add(row));
+        Map<Long, ProductStock> stock = new ConcurrentHashMap<>(Math.max(16, rowsByProduct.size() * 2));
+        rowsByProduct.forEach((productId, rows) -> stock.put(productId, ProductStock.of(rows, index)));
+        return new DeliveryPromiseTable(warehouseIds, cutoffHour, addDay, transitDays, stock);
+    }
+
+    int warehouseCount() {
+        return warehouseIds.length;
+    }
+
+    int productCount() {
+        return stock.size();
+    }
+
+    long warehouseId(int warehouse) {
+        return warehouseIds[warehouse];
+    }
+
+    /**
+     * 재고가 있는 창고 중 가장 빨리 도착하는 창고를 찾는다. 객체를 만들지 않도록 결과를 long 하나에 담는다.
+     *
+     * @return 상위 32비트는 창고 번호, 하위 32비트는 걸리는 날 수. 없으면 -1
+     */
+    long fastest(Long productId, int zipPrefix, int hourOfDay) {
+        ProductStock productStock = stock.get(productId);
+        if (productStock == null || zipPrefix < 0 || zipPrefix >= ZipRegion.PREFIXES) {
+            return -1;
+        }
+        int count = warehouseIds.length;
+        int bestWarehouse = -1;
+        int bestDays = Integer.MAX_VALUE;
+        for (int i = 0; i < productStock.warehouses.length; i++) {
+            int w = productStock.warehouses[i];
+            if (!productStock.inStock[i] || w < 0) {
+                continue;
+            }
+            int transit = transitDays[zipPrefix * count + w];
+            if (transit < 0) {
+                return -1;
+            }
+            int days = addDay[w] + (hourOfDay >= cutoffHour[w] ? 1 : 0) + transit;
+            if (days < bestDays) {
+                bestDays = days;
+                bestWarehouse = w;
+            }
+        }
+        return bestWarehouse < 0 ? -1 : (long) bestWarehouse << 32 | bestDays;
+    }
+
+    /**
+     * 한 stock 키의 재고 여부를 바꾼다. 같은 값으로 여러 번 불러도 결과는 같다.
+     */
+    void apply(StockKey key, boolean available) {
+        stock.computeIfPresent(key.productId(), (productId, current) -> current.with(key, available));
+    }
+
+    /**
+     * 상품 하나의 stock 행 목록. 갱신할 때는 새 객체로 바꾼다.
+     */
+    private static final class ProductStock {
+
+        private final long[] warehouseIds;
+        private final int[] warehouses;
+        private final long[] options;
+        private final boolean[] inStock;
+
+        private ProductStock(long[] warehouseIds, int[] warehouses, long[] options, boolean[] inStock) {
+            this.warehouseIds = warehouseIds;
+            this.warehouses = warehouses;
+            this.options = options;
+            this.inStock = inStock;
+        }
+
+        static ProductStock of(List<PromiseStockRow> rows, Map<Long, Integer> index) {
+            long[] warehouseIds = new long[rows.size()];
+            int[] warehouses = new int[rows.size()];
+            long[] options = new long[rows.size()];
+            boolean[] inStock = new boolean[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                PromiseStockRow row = rows.get(i);
+                warehouseIds[i] = row.warehouseId();
+                warehouses[i] = index.getOrDefault(row.warehouseId(), -1);
+                options[i] = row.productOptionId() == null ? NO_OPTION : row.productOptionId();
+                inStock[i] = row.inStock();
+            }
+            return new ProductStock(warehouseIds, warehouses, options, inStock);
+        }
+
+        ProductStock with(StockKey key, boolean available) {
+            long option = key.productOptionId() == null ? NO_OPTION : key.productOptionId();
+            for (int i = 0; i < options.length; i++) {
+                if (warehouseIds[i] == key.warehouseId() && options[i] == option) {
+                    if (inStock[i] == available) {
+                        return this;
+                    }
+                    boolean[] changed = inStock.clone();
+                    changed[i] = available;
+                    return new ProductStock(warehouseIds, warehouses, options, changed);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.objects.marketbridge.delivery;
+
+import java.time.LocalDateTime;
+
+/**
+ * 추적 이벤트를 적용할 배송 한 건의 현재 상태. orderId 는 배송이 속한 주문 (없으면 null).
+ * trackedAt 은 마지막으로 반영한 추적 이벤트의 발생 시각이다 (없으면 null).
+ */
+public record DeliveryState(Long deliveryId, String trackingNo, Long orderId, String status, LocalDateTime shipDate, LocalDateTime deliveredDate,
+                            LocalDateTime trackedAt) {
+}
@@ -0,0 +1,48 @@
+package com.objects.marketbridge.delivery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcDeliveryPromiseStore implements DeliveryPromiseStore {
+
+    private static final String SELECT_WAREHOUSES =
+            "select warehouse_id, zipcode from warehouse where deleted_at is null";
+    private static final String SELECT_CUTOFFS =
+            "select warehouse_id, hour, add_day from estimated_time " +
+            "where deleted_at is null and hour is not null and add_day is not null order by estimated_time_id";
+    private static final String SELECT_OWN_PRODUCT_STOCK =
+            "select s.product_id, s.warehouse_id, s.product_option_id, s.quantity from stock s " +
+            "join product p on p.product_id = s.product_id " +
+            "where p.is_own = true and p.deleted_at is null and s.deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<WarehouseLocation> findWarehouses() {
+        return jdbcTemplate.query(SELECT_WAREHOUSES, (rs, rowNum) -> new WarehouseLocation(
+                rs.getLong("warehouse_id"),
+                rs.getString("zipcode")));
+    }
+
+    @Override
+    public List<DeliveryCutoff> findCutoffs() {
+        return jdbcTemplate.query(SELECT_CUTOFFS, (rs, rowNum) -> new DeliveryCutoff(
+                rs.getObject("warehouse_id", Long.class),
+                rs.getInt("hour"),
+                rs.getInt("add_day")));
+    }
+
+    @Override
+    public List<PromiseStockRow> findOwnProductStock() {
+        return jdbcTemplate.query(SELECT_OWN_PRODUCT_STOCK, (rs, rowNum) -> new PromiseStockRow(
+                rs.getLong("product_id"),
+                rs.getLong("warehouse_id"),
+                rs.getObject("product_option_id", Long.class),
+                rs.getInt("quantity") > 0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.domain.OrderLifecycle;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.order.OrderStatusStore;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import com.objects.marketbridge.outbox.StatusChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcTrackingStore implements TrackingStore {
+
+    private static final String SELECT_BY_TRACKING_NOS =
+            "select dl.delivery_id, dl.tracking_no, dl.status, dl.ship_date, dl.delivered_date, dl.tracked_at, d.order_id from delivery dl " +
+            "left join prod_order_detail d on d.prod_order_detail_id = dl.order_detail_id " +
+            "where dl.tracking_no in (:trackingNos) and dl.deleted_at is null";
+    private static final String UPDATE_DELIVERY =
+            "update delivery set status = :status, ship_date = :shipDate, delivered_date = :deliveredDate, tracked_at = :trackedAt, updated_at = :now " +
+            "where delivery_id = :deliveryId and deleted_at is null";
+    // 모든 주문 상품의 배송이 끝난 주문. 배송 행이 아직 없는 주문 상품도 미완료로 본다.
+    // 상태 조건과 잠금은 OrderStatusStore 가 전이표로 건다
+    private static final String SELECT_DELIVERED_ORDERS =
+            "select prod_order_id from prod_order " +
+            "where prod_order_id in (:orderIds) and not exists (" +
+            "select 1 from prod_order_detail d " +
+            "left join delivery dl on dl.order_detail_id = d.prod_order_detail_id and dl.deleted_at is null " +
+            "where d.order_id = prod_order.prod_order_id and (dl.delivery_id is null or dl.status is null or dl.status <> :completedCode))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxWriter outboxWriter;
+    private final OrderStatusStore orderStatusStore;
+
+    @Override
+    public List<DeliveryState> findByTrackingNos(Collection<String> trackingNos) {
+        if (trackingNos.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_BY_TRACKING_NOS, Map.of("trackingNos", trackingNos), (rs, rowNum) -> new DeliveryState(
+                rs.getLong("delivery_id"),
+                rs.getString("tracking_no"),
+                rs.getObject("order_id", Long.class),
+                rs.getString("status"),
+                toLocalDateTime(rs.getTimestamp("ship_date")),
+                toLocalDateTime(rs.getTimestamp("delivered_date")),
+                toLocalDateTime(rs.getTimestamp("tracked_at"))));
+    }
+
+    @Override
+    @Transactional
+    public int apply(List<DeliveryState> updates, Collection<Long> completedOrderIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<StatusChange> changes = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            Map<String, Object>[] params = updates.stream().map(update -> {
+                Map<String, Object> row = new HashMap<>();
+                row.put("status", update.status());
+                row.put("shipDate", toTimestamp(update.shipDate()));
+                row.put("deliveredDate", toTimestamp(update.deliveredDate()));
+                row.put("trackedAt", toTimestamp(update.trackedAt()));
+                row.put("now", now);
+                row.put("deliveryId", update.deliveryId());
+                return row;
+            }).toArray(Map[]::new);
+            jdbcTemplate.batchUpdate(UPDATE_DELIVERY, params);
+            updates.forEach(update -> changes.add(
+                    StatusChange.delivery(update.deliveryId(), update.orderId(), StatusCodeType.fromCode(update.status()))));
+        }
+        outboxWriter.append(changes);
+        return completedOrderIds.isEmpty() ? 0 : completeOrders(completedOrderIds);
+    }
+
+    /**
+     * 배송이 모두 끝난 주문을 전이표에 따라 DELIVERY_COMPLETED 로 바꾼다. 배송 중인 주문만 바뀌고 취소/반품된 주문은 그대로 둔다.
+     */
+    private int completeOrders(Collection<Long> orderIds) {
+        Map<String, Object> params = Map.of(
+                "orderIds", orderIds,
+                "completedCode", StatusCodeType.DELIVERY_COMPLETED.getCode());
+        List<Long> delivered = jdbcTemplate.queryForList(SELECT_DELIVERED_ORDERS, params, Long.class);
+        if (delivered.isEmpty()) {
+            return 0;
+        }
+        return orderStatusStore.transition(delivered, OrderLifecycle.sourcesOf(StatusCodeType.DELIVERY_COMPLETED),
+                StatusCodeType.DELIVERY_COMPLETED).size();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+}
@@ -0,0 +1,7 @@
+package com.objects.marketbridge.delivery;
+
+/**
+ * 로켓배송(isOwn) 상품의 stock 행. 옵션이 없는 상품은 productOptionId 가 null 이다.
+ */
+public record PromiseStockRow(Long productId, Long warehouseId, Long productOptionId, boolean inStock) {
+}
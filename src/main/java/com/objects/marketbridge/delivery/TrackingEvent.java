@@ -0,0 +1,11 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 택배사가 보내는 배송 추적 이벤트 한 건
+ */
+public record TrackingEvent(String trackingNo, StatusCodeType status, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,139 @@
+package com.objects.marketbridge.delivery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 추적 파일을 한 줄씩 읽어 {@link TrackingEvent} 로 바꾼다. 파일 전체를 메모리에 올리지 않는다.
+ * 읽을 수 없는 줄은 건너뛰고 {@link #rejected()} 로 센다.
+ */
+public class TrackingEventReader implements Iterator<TrackingEvent> {
+
+    private static final DateTimeFormatter OCCURRED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss][.SSS]");
+
+    private final BufferedReader reader;
+    private final TrackingFormat format;
+    private final ObjectMapper objectMapper;
+
+    private TrackingEvent next;
+    private long lineNumber;
+    private long rejected;
+
+    public TrackingEventReader(BufferedReader reader, TrackingFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == TrackingFormat.CSV && line.toLowerCase().startsWith("tracking"))) {
+                continue;
+            }
+            next = parse(line);
+            if (next == null) {
+                rejected++;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public TrackingEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TrackingEvent event = next;
+        next = null;
+        return event;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    private TrackingEvent parse(String line) {
+        try {
+            return format == TrackingFormat.CSV ? parseCsv(line) : parseJson(line);
+        } catch (DateTimeParseException | JsonProcessingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private TrackingEvent parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 3) {
+            return null;
+        }
+        return event(unquote(columns[0]), unquote(columns[1]), unquote(columns[2]));
+    }
+
+    private TrackingEvent parseJson(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        return event(text(node, "trackingNo"), text(node, "status"), text(node, "occurredAt"));
+    }
+
+    private static TrackingEvent event(String trackingNo, String status, String occurredAt) {
+        StatusCodeType statusCode = status(status);
+        if (trackingNo == null || trackingNo.isBlank() || statusCode == null || occurredAt == null) {
+            return null;
+        }
+        return new TrackingEvent(trackingNo.trim(), statusCode, LocalDateTime.parse(occurredAt.trim(), OCCURRED_AT));
+    }
+
+    /**
+     * "DL04" 같은 코드나 "DELIVERY_COMPLETED" 같은 이름을 받는다. 배송 상태가 아니면 null.
+     */
+    private static StatusCodeType status(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        StatusCodeType status = StatusCodeType.fromCode(trimmed);
+        if (status == null) {
+            try {
+                status = StatusCodeType.valueOf(trimmed);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return status.getCode().startsWith("DL") ? status : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        return trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")
+                ? trimmed.substring(1, trimmed.length() - 1)
+                : trimmed;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.objects.marketbridge.delivery;
+
+public enum TrackingFormat {
+    // tracking_no,status,occurred_at (첫 줄은 헤더일 수 있다)
+    CSV,
+    // {"trackingNo": "...", "status": "...", "occurredAt": "..."} 한 줄에 하나
+    JSONL
+}
@@ -0,0 +1,22 @@
+package com.objects.marketbridge.delivery;
+
+import java.time.Duration;
+
+/**
+ * 추적 파일 한 개를 반영한 결과.
+ *
+ * @param read            읽은 이벤트 수 (rejected 제외)
+ * @param applied         배송 상태를 바꾼 이벤트 수
+ * @param unchanged       바뀌는 것이 없어 버린 이벤트 수
+ * @param unknown         송장번호에 해당하는 배송이 없는 이벤트 수
+ * @param rejected        형식이 잘못된 줄 수
+ * @param completedOrders 배송완료로 바뀐 주문 수
+ */
+public record TrackingIngestionReport(long read, long applied, long unchanged, long unknown, long rejected,
+                                      long completedOrders, Duration elapsed) {
+
+    public double eventsPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? read : read / seconds;
+    }
+}
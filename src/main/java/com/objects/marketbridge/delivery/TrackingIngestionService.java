@@ -0,0 +1,161 @@
+package com.objects.marketbridge.delivery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.objects.marketbridge.domain.StatusCodeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 택배사 추적 파일을 Delivery 에 반영한다.
+ * <p>
+ * 파일을 batchSize 건씩 끊어 읽고, 묶음마다 송장번호로 배송을 한 번에 조회해서 이벤트를 순서대로 적용한다.
+ * 상태/날짜가 그대로인 이벤트, 배송완료 뒤에 온 이전 단계 이벤트, 마지막으로 반영한 이벤트보다 먼저 일어난 이벤트는 버리며,
+ * 실제로 바뀐 배송만 배치 update 한다. 배송 중인 주문 중 모든 배송이 완료된 주문은 DELIVERY_COMPLETED 로 바꾼다.
+ * 메모리에는 한 묶음만 둔다.
+ */
+@Slf4j
+@Service
+public class TrackingIngestionService {
+
+    private static final String COMPLETED = StatusCodeType.DELIVERY_COMPLETED.getCode();
+
+    private final TrackingStore trackingStore;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public TrackingIngestionService(TrackingStore trackingStore,
+                                    ObjectMapper objectMapper,
+                                    @Value("${marketbridge.delivery.tracking-batch-size:1000}") int batchSize) {
+        this.trackingStore = trackingStore;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public TrackingIngestionReport ingest(Path file, TrackingFormat format) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return ingest(reader, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public TrackingIngestionReport ingest(BufferedReader reader, TrackingFormat format) {
+        long start = System.nanoTime();
+        TrackingEventReader events = new TrackingEventReader(reader, format, objectMapper);
+        Counts counts = new Counts();
+        List<TrackingEvent> batch = new ArrayList<>(batchSize);
+        while (events.hasNext()) {
+            batch.add(events.next());
+            if (batch.size() == batchSize) {
+                apply(batch, counts);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            apply(batch, counts);
+        }
+        TrackingIngestionReport report = new TrackingIngestionReport(counts.read, counts.applied, counts.unchanged, counts.unknown,
+                events.rejected(), counts.completedOrders, Duration.ofNanos(System.nanoTime() - start));
+        log.info("tracking ingested. read={}, applied={}, unchanged={}, unknown={}, rejected={}, completedOrders={}, {} events/s",
+                report.read(), report.applied(), report.unchanged(), report.unknown(), report.rejected(),
+                report.completedOrders(), String.format("%.0f", report.eventsPerSecond()));
+        return report;
+    }
+
+    private void apply(List<TrackingEvent> batch, Counts counts) {
+        Set<String> trackingNos = new LinkedHashSet<>();
+        batch.forEach(event -> trackingNos.add(event.trackingNo()));
+        Map<String, List<DeliveryState>> byTrackingNo = new HashMap<>();
+        for (DeliveryState state : trackingStore.findByTrackingNos(trackingNos)) {
+            byTrackingNo.computeIfAbsent(state.trackingNo(), k -> new ArrayList<>()).add(state);
+        }
+
+        // 같은 배송에 이벤트가 여러 번 오면 마지막 상태만 쓴다
+        Map<Long, DeliveryState> changed = new LinkedHashMap<>();
+        Set<Long> completedOrderIds = new LinkedHashSet<>();
+        for (TrackingEvent event : batch) {
+            counts.read++;
+            List<DeliveryState> states = byTrackingNo.get(event.trackingNo());
+            if (states == null) {
+                counts.unknown++;
+                continue;
+            }
+            boolean appliedAny = false;
+            for (int i = 0; i < states.size(); i++) {
+                DeliveryState current = states.get(i);
+                DeliveryState next = transition(current, event);
+                if (next.equals(current)) {
+                    continue;
+                }
+                states.set(i, next);
+                changed.put(next.deliveryId(), next);
+                if (COMPLETED.equals(next.status()) && next.orderId() != null) {
+                    completedOrderIds.add(next.orderId());
+                }
+                appliedAny = true;
+            }
+            if (appliedAny) {
+                counts.applied++;
+            } else {
+                counts.unchanged++;
+            }
+        }
+        if (!changed.isEmpty()) {
+            counts.completedOrders += trackingStore.apply(List.copyOf(changed.values()), completedOrderIds);
+        }
+    }
+
+    /**
+     * 이벤트를 적용한 다음 상태. 바뀌는 것이 없으면 current 를 그대로 돌려준다.
+     */
+    static DeliveryState transition(DeliveryState current, TrackingEvent event) {
+        if (COMPLETED.equals(current.status()) && event.status() != StatusCodeType.DELIVERY_COMPLETED) {
+            return current;
+        }
+        // 택배사 파일은 순서가 뒤섞여 올 수 있다. 늦게 도착한 옛 이벤트로 상태를 되돌리지 않는다
+        if (current.trackedAt() != null && event.occurredAt().isBefore(current.trackedAt())) {
+            return current;
+        }
+        String status = event.status().getCode();
+        LocalDateTime shipDate = current.shipDate();
+        LocalDateTime deliveredDate = current.deliveredDate();
+        if (shipDate == null && (event.status() == StatusCodeType.DELIVERY_ING || event.status() == StatusCodeType.DELIVERY_COMPLETED)) {
+            shipDate = event.occurredAt();
+        }
+        if (deliveredDate == null && event.status() == StatusCodeType.DELIVERY_COMPLETED) {
+            deliveredDate = event.occurredAt();
+        }
+        if (Objects.equals(status, current.status()) && Objects.equals(shipDate, current.shipDate())
+                && Objects.equals(deliveredDate, current.deliveredDate())) {
+            return current;
+        }
+        return new DeliveryState(current.deliveryId(), current.trackingNo(), current.orderId(), status, shipDate, deliveredDate,
+                event.occurredAt());
+    }
+
+    private static final class Counts {
+        private long read;
+        private long applied;
+        private long unchanged;
+        private long unknown;
+        private long completedOrders;
+    }
+}
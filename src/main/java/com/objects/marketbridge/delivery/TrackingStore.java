@@ -0,0 +1,21 @@
+package com.objects.marketbridge.delivery;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 배송 추적 반영이 사용하는 delivery / prod_order 테이블 접근 포트
+ */
+public interface TrackingStore {
+
+    /**
+     * trackingNo 로 배송을 찾는다. 한 송장에 배송이 여러 건일 수 있다.
+     */
+    List<DeliveryState> findByTrackingNos(Collection<String> trackingNos);
+
+    /**
+     * 배송 상태를 배치로 바꾸고, completedOrderIds 중 배송 중이면서 모든 주문 상품의 배송이 완료된 주문을 DELIVERY_COMPLETED 로 바꾼다.
+     * 한 트랜잭션으로 처리하며, 상태가 바뀐 주문 수를 돌려준다.
+     */
+    int apply(List<DeliveryState> updates, Collection<Long> completedOrderIds);
+}
@@ -0,0 +1,4 @@
+package com.objects.marketbridge.delivery;
+
+public record WarehouseLocation(Long warehouseId, String zipcode) {
+}
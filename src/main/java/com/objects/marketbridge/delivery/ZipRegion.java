@@ -0,0 +1,66 @@
+package com.objects.marketbridge.delivery;
+
+/**
+ * 우편번호(5자리) 앞 두 자리로 나눈 배송 권역. 권역 사이 거리는 추가 배송일로 잰다.
+ */
+public enum ZipRegion {
+
+    CAPITAL(1, 23),      // 서울 01-09, 경기 10-20, 인천 21-23
+    GANGWON(24, 26),
+    CHUNGCHEONG(27, 35), // 충북, 세종, 충남, 대전
+    YEONGNAM(36, 53),    // 경북, 대구, 울산, 부산, 경남
+    HONAM(54, 62),       // 전북, 전남, 광주
+    JEJU(63, 63);
+
+    public static final int PREFIXES = 100;
+
+    private static final ZipRegion[] BY_PREFIX = new ZipRegion[PREFIXES];
+
+    static {
+        for (ZipRegion region : values()) {
+            for (int prefix = region.from; prefix <= region.to; prefix++) {
+                BY_PREFIX[prefix] = region;
+            }
+        }
+    }
+
+    private final int from;
+    private final int to;
+
+    ZipRegion(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 우편번호 앞 두 자리. 숫자가 아니거나 짧으면 -1
+     */
+    public static int prefix(String zipcode) {
+        if (zipcode == null || zipcode.length() < 2) {
+            return -1;
+        }
+        int tens = zipcode.charAt(0) - '0';
+        int ones = zipcode.charAt(1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    /**
+     * 앞 두 자리의 권역. 쓰지 않는 번호대면 null
+     */
+    public static ZipRegion ofPrefix(int prefix) {
+        return prefix >= 0 && prefix < PREFIXES ? BY_PREFIX[prefix] : null;
+    }
+
+    /**
+     * 이 권역의 창고에서 to 권역까지 더 걸리는 날 수. 같은 권역은 0, 제주를 오가면 2, 그 밖의 육지 권역은 1.
+     */
+    public int transitDays(ZipRegion to) {
+        if (this == to) {
+            return 0;
+        }
+        return this == JEJU || to == JEJU ? 2 : 1;
+    }
+}
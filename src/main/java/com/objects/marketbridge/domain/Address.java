@@ -1,20 +1,23 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.Date;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Address extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "address_id")
     private Long id;
 
@@ -0,0 +1,31 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테이블별 보관 진행 위치. (lastDeletedAt, lastId) 까지 옮겼다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchiveCheckpoint {
+
+    @Id
+    @Column(name = "source_table")
+    private String sourceTable;
+
+    private LocalDateTime lastDeletedAt;
+
+    private Long lastId;
+
+    private Long archivedCount;
+
+    private LocalDateTime updatedAt;
+}
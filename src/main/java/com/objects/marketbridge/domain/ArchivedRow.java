@@ -0,0 +1,38 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지나 원본 테이블에서 옮겨진 soft delete 행. 원본 행 전체를 JSON 으로 담는다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_archived_row_source", columnList = "source_table, source_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedRow {
+
+    @Id
+    @Column(name = "archived_row_id")
+    private Long id;
+
+    private String sourceTable;
+
+    private Long sourceId;
+
+    private LocalDateTime deletedAt;
+
+    @Lob
+    private String payload;
+
+    private LocalDateTime archivedAt;
+}
@@ -1,13 +1,39 @@
 package com.objects.marketbridge.domain;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.Date;
 
+@Getter
 @MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
+
+    /**
+     * 모든 엔티티에 {@code @SQLRestriction} 으로 거는 조건. soft delete 된 행은 JPA 조회에서 빠진다.
+     * 지운 행은 보관 기간이 지나면 {@code SoftDeleteArchiver} 가 보관 테이블로 옮긴다.
+     */
+    public static final String NOT_DELETED = "deleted_at is null";
+
+    @CreatedDate
+    @Column(updatable = false)
     private LocalDateTime createdAt;
+    @LastModifiedDate
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+
+    public void delete() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
 }
@@ -1,18 +1,21 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Board extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "board_id")
     private Long id;
 
@@ -1,21 +1,23 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Category extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "category_id")
     private Long id;
     // TODO
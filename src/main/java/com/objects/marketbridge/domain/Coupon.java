@@ -1,25 +1,27 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.Date;
 
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Coupon extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "coupon_id")
     private Long id;
 
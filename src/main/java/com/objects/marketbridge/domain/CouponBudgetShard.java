@@ -0,0 +1,39 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 판매자 쿠폰 예산(CouponBudget)을 나눠 담은 행.
+ * <p>
+ * 주문마다 임의의 shard 하나만 조건부로 차감해서 한 판매자의 주문들이 같은 행을 기다리지 않게 한다.
+ * shard 합계가 남은 예산이고, CouponBudget.price 에는 주기적으로 합친 값을 기록한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_coupon_budget_shard", columnNames = {"user_id", "shard_no"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponBudgetShard {
+
+    @Id
+    @Column(name = "coupon_budget_shard_id")
+    private Long id;
+
+    private Long userId;
+
+    private int shardNo;
+
+    private long remaining;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
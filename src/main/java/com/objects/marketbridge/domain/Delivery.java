@@ -1,20 +1,27 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(indexes = {
+        @Index(name = "idx_delivery_tracking_no", columnList = "tracking_no"),
+        @Index(name = "idx_delivery_order_detail", columnList = "order_detail_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Delivery extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "delivery_id")
     private Long id;
 
@@ -32,12 +39,14 @@ public class Delivery extends BaseEntity {
 
     private String trackingNo;
 
-    private String status;
+    private String status; // StatusCodeType 코드 (DL01, DL03 ...)
 
     private LocalDateTime shipDate;
 
     private LocalDateTime deliveredDate;
 
+    private LocalDateTime trackedAt; // 마지막으로 반영한 추적 이벤트의 발생 시각
+
     @Builder
     private Delivery(DeliveryType deliveryType, Long sellerId, Long addressId, Long orderDetailId, String carrier, String trackingNo, String status, LocalDateTime shipDate, LocalDateTime deliveredDate) {
         this.deliveryType = deliveryType;
@@ -1,30 +1,38 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class EstimatedTime extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "estimated_time_id")
     private Long id;
 
+    // TODO
+    // 창고별 마감 시각. null 이면 창고별 설정이 없을 때 쓰는 기본값
+    private Long warehouseId;
+
+    // 주문 마감 시각 (이 시각 전 주문은 addDay 일 뒤 도착)
     private Integer hour;
 
     private Integer addDay;
 
     @Builder
-    private EstimatedTime(Integer hour, Integer addDay) {
+    private EstimatedTime(Long warehouseId, Integer hour, Integer addDay) {
+        this.warehouseId = warehouseId;
         this.hour = hour;
         this.addDay = addDay;
     }
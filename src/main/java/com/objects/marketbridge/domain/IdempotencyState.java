@@ -0,0 +1,13 @@
+package com.objects.marketbridge.domain;
+
+/**
+ * 멱등 처리 기록의 상태
+ */
+public enum IdempotencyState {
+    // 처리 중. 같은 키의 다른 요청은 기다리지 않고 처리 중 응답을 받는다.
+    IN_PROGRESS,
+    // PG 승인까지 받았고 결제 상태 반영 전. 처리 중과 같이 lease 로 선점하며, 넘겨받은 요청은 PG 를 다시 부르지 않는다.
+    CHARGED,
+    // 처리 끝. 저장된 응답을 그대로 돌려준다.
+    COMPLETED
+}
@@ -0,0 +1,47 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 화면용 비정규화 조회 모델. 주문 한 건이 한 행이며, 주문 상품/배송 정보는 {@link OrderHistoryItem} 에 담는다.
+ * 원본 테이블에서 {@code OrderHistoryProjector} 가 만들기 때문에 직접 수정하지 않는다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_order_history_user", columnList = "user_id, ordered_at, order_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderHistory {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    private Long userId;
+
+    private LocalDateTime orderedAt;
+
+    @Convert(converter = StatusCodeTypeConverter.class)
+    private StatusCodeType statusCode;
+
+    private Long totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    private PayMethod payMethod;
+
+    // 원본 행들의 updated_at 중 가장 늦은 값
+    private LocalDateTime sourceUpdatedAt;
+
+    private LocalDateTime projectedAt;
+}
@@ -0,0 +1,46 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 목록 조회 모델의 주문 상품 한 줄. 주문 상품 한 건이 한 행이다.
+ * 상품명/썸네일은 상품이 바뀌면 product_id 인덱스로 한 번에 고쳐 쓰고, 나머지는 {@code OrderHistoryProjector} 가 주문 단위로 다시 만든다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_order_history_item_order", columnList = "order_id"),
+        @Index(name = "idx_order_history_item_product", columnList = "product_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderHistoryItem {
+
+    @Id
+    @Column(name = "order_detail_id")
+    private Long orderDetailId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    private String productName;
+
+    private String thumbImg;
+
+    private Long price;
+
+    private String deliveryStatus;
+
+    private String carrier;
+
+    private String trackingNo;
+}
@@ -0,0 +1,95 @@
+package com.objects.marketbridge.domain;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.objects.marketbridge.domain.StatusCodeType.*;
+
+/**
+ * 주문(prod_order.status_code) 상태 전이표.
+ * <p>
+ * 기동 시 상태별로 갈 수 있는 상태를 long 비트마스크(상태 ordinal 자리)로 펼쳐 두어서
+ * {@link #canTransition} 은 배열 조회와 비트 연산만 한다.
+ * 대량 전이의 WHERE 절에 쓸 "이 상태로 올 수 있는 상태" 집합도 미리 만들어 둔다.
+ */
+public final class OrderLifecycle {
+
+    private static final Map<StatusCodeType, Set<StatusCodeType>> TRANSITIONS = new EnumMap<>(StatusCodeType.class);
+
+    static {
+        allow(ORDER_INIT, ORDER_RECEIVED, PAYMENT_PENDING, PAYMENT_COMPLETED, PAYMENT_FAILURE, ORDER_CANCEL);
+        allow(ORDER_RECEIVED, PAYMENT_PENDING, PAYMENT_COMPLETED, PAYMENT_FAILURE, ORDER_CANCEL);
+        allow(PAYMENT_PENDING, PAYMENT_COMPLETED, PAYMENT_FAILURE, ORDER_CANCEL);
+        allow(PAYMENT_FAILURE, PAYMENT_PENDING, ORDER_CANCEL);
+        allow(PAYMENT_COMPLETED, RELEASE_PENDING, PAYMENT_CANCEL, ORDER_CANCEL);
+        allow(RELEASE_PENDING, RELEASE_COMPLETED, PAYMENT_CANCEL, ORDER_CANCEL);
+        allow(RELEASE_COMPLETED, DELIVERY_PENDING, DELIVERY_ING);
+        allow(DELIVERY_PENDING, DELIVERY_ING, DELIVERY_DELAY);
+        allow(DELIVERY_ING, DELIVERY_COMPLETED, DELIVERY_DELAY);
+        allow(DELIVERY_DELAY, DELIVERY_ING, DELIVERY_COMPLETED);
+        allow(DELIVERY_COMPLETED, RETURN_INIT);
+        // 반품: 접수 → 회수 → 검수 → 과실 판정 → 완료
+        allow(RETURN_INIT, RECALL_ING, RETURN_CANCEL);
+        allow(RETURN_CANCEL, RETURN_INIT);
+        allow(RECALL_ING, RECALL_COMPLETED);
+        allow(RECALL_COMPLETED, INSPECTION_ING);
+        allow(INSPECTION_ING, INSPECTION_COMPLETED);
+        allow(INSPECTION_COMPLETED, SELLER_FAULT, CUSTOMER_FAULT, PRODUCT_DISPOSAL, RETURN_COMPLETED);
+        allow(SELLER_FAULT, PRODUCT_DISPOSAL, RETURN_COMPLETED);
+        allow(CUSTOMER_FAULT, PRODUCT_DISPOSAL, RETURN_COMPLETED);
+        allow(PRODUCT_DISPOSAL, RETURN_COMPLETED);
+    }
+
+    // 전이표는 상태 수가 64 이하라고 가정하고 long 하나에 담는다
+    private static final long[] TARGETS = new long[StatusCodeType.values().length];
+    private static final Map<StatusCodeType, Set<StatusCodeType>> SOURCES = new EnumMap<>(StatusCodeType.class);
+
+    static {
+        if (StatusCodeType.values().length > Long.SIZE) {
+            throw new IllegalStateException("상태가 64개를 넘으면 전이표를 long 하나에 담을 수 없습니다.");
+        }
+        for (StatusCodeType to : StatusCodeType.values()) {
+            SOURCES.put(to, EnumSet.noneOf(StatusCodeType.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> {
+            for (StatusCodeType to : targets) {
+                TARGETS[from.ordinal()] |= 1L << to.ordinal();
+                SOURCES.get(to).add(from);
+            }
+        });
+        SOURCES.replaceAll((to, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    private OrderLifecycle() {
+    }
+
+    private static void allow(StatusCodeType from, StatusCodeType... targets) {
+        TRANSITIONS.computeIfAbsent(from, k -> EnumSet.noneOf(StatusCodeType.class)).addAll(List.of(targets));
+    }
+
+    public static boolean canTransition(StatusCodeType from, StatusCodeType to) {
+        return (TARGETS[from.ordinal()] & (1L << to.ordinal())) != 0;
+    }
+
+    /**
+     * to 로 바로 올 수 있는 상태들. 어디서도 올 수 없으면 빈 집합.
+     */
+    public static Set<StatusCodeType> sourcesOf(StatusCodeType to) {
+        return SOURCES.get(to);
+    }
+
+    public static Set<StatusCodeType> targetsOf(StatusCodeType from) {
+        return Collections.unmodifiableSet(TRANSITIONS.getOrDefault(from, EnumSet.noneOf(StatusCodeType.class)));
+    }
+
+    /**
+     * 더 갈 곳이 없는 상태
+     */
+    public static boolean isTerminal(StatusCodeType status) {
+        return TARGETS[status.ordinal()] == 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문/결제/배송 상태 변경 이벤트의 트랜잭션 아웃박스.
+ * <p>
+ * 상태를 바꾸는 트랜잭션 안에서 함께 insert 하고, 릴레이가 묶음으로 가져가 구독자에게 전달한 뒤 published_at 을 채운다.
+ * 릴레이는 claimed_by / lease_until 로 행을 선점하며, 선점이 만료되면 다른 릴레이가 다시 가져갈 수 있다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_outbox_event_pending", columnList = "published_at, available_at, outbox_event_id"),
+        @Index(name = "idx_outbox_event_aggregate", columnList = "aggregate_id, aggregate_type, published_at, outbox_event_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    // 같은 노드에서 발급한 id 는 시간 순으로 증가하므로 집합체별 전달 순서로 쓴다
+    @Id
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    // ORDER / PAYMENT / DELIVERY
+    @Column(length = 20)
+    private String aggregateType;
+
+    // 주문·배송은 id, 결제는 receiptId
+    @Column(length = 100)
+    private String aggregateId;
+
+    private Long orderId;
+
+    @Convert(converter = StatusCodeTypeConverter.class)
+    private StatusCodeType statusCode;
+
+    private LocalDateTime createdAt;
+
+    // 실패한 이벤트는 이 시각까지 다시 가져가지 않는다
+    private LocalDateTime availableAt;
+
+    @Column(length = 100)
+    private String claimedBy;
+
+    private LocalDateTime leaseUntil;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime publishedAt;
+}
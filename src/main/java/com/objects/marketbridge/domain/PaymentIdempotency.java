@@ -0,0 +1,51 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 생성/확인 요청의 멱등 처리 기록. 키는 "작업:receiptId" 이며, 먼저 insert 한 요청만 실제로 처리한다.
+ * 처리가 끝나면 응답을 JSON 으로 남겨 두고, 같은 키로 다시 들어온 요청에 그대로 돌려준다.
+ * PG 승인을 받은 뒤 처리가 끝나기 전에는 승인 응답을 response 에 둔다(CHARGED). 끝난 기록은 보존 기간이 지나면 지운다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_payment_idempotency_receipt", columnList = "receipt_id"),
+        @Index(name = "idx_payment_idempotency_state", columnList = "state, updated_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentIdempotency {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;
+
+    private String operation;
+
+    private String receiptId;
+
+    // 같은 키로 다른 내용의 요청이 들어왔는지 가리는 요청 해시
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    private IdempotencyState state;
+
+    @Lob
+    private String response;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
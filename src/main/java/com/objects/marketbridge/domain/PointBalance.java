@@ -0,0 +1,40 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 포인트 잔액 스냅샷. (lastCreatedAt, lastPointId) 까지의 point 행을 반영한 잔액이다.
+ */
+@Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PointBalance extends BaseEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private Long balance;
+
+    private LocalDateTime lastCreatedAt;
+
+    private Long lastPointId;
+
+    @Builder
+    private PointBalance(Long userId, Long balance, LocalDateTime lastCreatedAt, Long lastPointId) {
+        this.userId = userId;
+        this.balance = balance;
+        this.lastCreatedAt = lastCreatedAt;
+        this.lastPointId = lastPointId;
+    }
+}
@@ -1,21 +1,29 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(indexes = {
+        @Index(name = "idx_prod_option_product", columnList = "product_id"),
+        @Index(name = "idx_prod_option_updated_at", columnList = "updated_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ProdOption extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "prod_option_id")
     private Long id;
 
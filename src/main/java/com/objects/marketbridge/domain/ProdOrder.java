@@ -1,23 +1,33 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(indexes = {
+        @Index(name = "idx_prod_order_user_status", columnList = "user_id, status_code"),
+        @Index(name = "idx_prod_order_user_created", columnList = "user_id, deleted_at, created_at, prod_order_id"),
+        @Index(name = "idx_prod_order_deleted", columnList = "deleted_at, prod_order_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ProdOrder extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "prod_order_id")
     private Long id;
 
@@ -26,7 +36,8 @@ public class ProdOrder extends BaseEntity {
     // TODO
     private Long addressId;
 
-    private String statusCode; // 00, DELIVERED, CANCEL, RETURN, EXCHANGE
+    @Convert(converter = StatusCodeTypeConverter.class)
+    private StatusCodeType statusCode;
 
     private Long totalPrice;
 
@@ -36,8 +47,11 @@ public class ProdOrder extends BaseEntity {
 
     private LocalDateTime deliveredDate;
 
+    // 마지막 대량 상태 전이 호출의 식별자. 그 UPDATE 로 바뀐 행을 다시 고를 때만 쓴다
+    private Long transitionToken;
+
     @Builder
-    private ProdOrder(Long userId, Long addressId, String statusCode, Long totalPrice, Integer pointRate, Integer savedPoint, LocalDateTime deliveredDate) {
+    private ProdOrder(Long userId, Long addressId, StatusCodeType statusCode, Long totalPrice, Integer pointRate, Integer savedPoint, LocalDateTime deliveredDate) {
         this.userId = userId;
         this.addressId = addressId;
         this.statusCode = statusCode;
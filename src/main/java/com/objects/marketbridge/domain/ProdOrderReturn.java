@@ -1,33 +1,37 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ProdOrderReturn extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "prod_order_return_id")
     private Long id;
 
     // TODO
     private Long orderId;
 
-    private String statusCode; // 00
+    @Convert(converter = StatusCodeTypeConverter.class)
+    private StatusCodeType statusCode;
 
     private String reason;
 
     @Builder
-    private ProdOrderReturn(Long orderId, String statusCode, String reason) {
+    private ProdOrderReturn(Long orderId, StatusCodeType statusCode, String reason) {
         this.orderId = orderId;
         this.statusCode = statusCode;
         this.reason = reason;
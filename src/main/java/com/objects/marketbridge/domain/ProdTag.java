@@ -1,22 +1,30 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(indexes = {
+        @Index(name = "idx_prod_tag_product", columnList = "product_id"),
+        @Index(name = "idx_prod_tag_updated_at", columnList = "updated_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ProdTag extends BaseEntity {
 
     @Id
-    @GeneratedValue
-    @Column(name = "tag_id")
+    @SnowflakeId
+    @Column(name = "prod_tag_id")
     private Long id;
     // TODO
     private Long tagId;
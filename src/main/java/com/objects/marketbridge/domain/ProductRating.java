@@ -0,0 +1,31 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
+
+/**
+ * 상품별 리뷰 별점 집계. 삭제되지 않은 리뷰의 별점별 개수를 가진다.
+ */
+@Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductRating extends BaseEntity {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    private Long reviewCount;
+
+    private Long rating1;
+    private Long rating2;
+    private Long rating3;
+    private Long rating4;
+    private Long rating5;
+}
@@ -1,21 +1,29 @@
 package com.objects.marketbridge.domain;
 
+import com.objects.marketbridge.common.id.SnowflakeId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@SQLRestriction(BaseEntity.NOT_DELETED)
+@Table(indexes = {
+        @Index(name = "idx_review_product_created", columnList = "product_id, deleted_at, created_at, review_id"),
+        @Index(name = "idx_review_deleted", columnList = "deleted_at, review_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Review extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @SnowflakeId
     @Column(name = "review_id")
     private Long id;
 
@@ -35,4 +43,9 @@ public class Review extends BaseEntity {
         this.content = content;
         this.rating = rating;
     }
+
+    public void update(String content, Integer rating) {
+        this.content = content;
+        this.rating = rating;
+    }
 }
@@ -3,6 +3,11 @@ package com.objects.marketbridge.domain;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Getter
 @RequiredArgsConstructor
 public enum StatusCodeType {
@@ -19,39 +24,65 @@ public enum StatusCodeType {
      * FAULT        08
      * DISPOSAL     09
      */
-    ORDER_INIT("주문생성", "OR00"),
-    ORDER_RECEIVED("주문접수", "OR01"),
-    ORDER_CANCEL("주문취소", "OR02"),
+    ORDER_INIT("주문생성", "OR00", 100),
+    ORDER_RECEIVED("주문접수", "OR01", 101),
+    ORDER_CANCEL("주문취소", "OR02", 102),
 
-    PAYMENT_PENDING("결제대기", "PM01"),
-    PAYMENT_COMPLETED("결제완료", "PM04"),
-    PAYMENT_FAILURE("결제실패","PM07"),
-    PAYMENT_CANCEL("결제취소","PM05"),
+    PAYMENT_PENDING("결제대기", "PM01", 201),
+    PAYMENT_COMPLETED("결제완료", "PM04", 204),
+    PAYMENT_FAILURE("결제실패", "PM07", 207),
+    PAYMENT_CANCEL("결제취소", "PM05", 205),
 
-    DELIVERY_PENDING("배송대기","DL01"),
-    DELIVERY_ING("배송중","DL03"),
-    DELIVERY_COMPLETED("배송완료","DL04"),
-    DELIVERY_DELAY("배송지연","DL06"),
+    DELIVERY_PENDING("배송대기", "DL01", 301),
+    DELIVERY_ING("배송중", "DL03", 303),
+    DELIVERY_COMPLETED("배송완료", "DL04", 304),
+    DELIVERY_DELAY("배송지연", "DL06", 306),
 
-    RELEASE_PENDING("출고대기","RE01"),
-    RELEASE_COMPLETED("출고완료","RE04"),
+    RELEASE_PENDING("출고대기", "RE01", 401),
+    RELEASE_COMPLETED("출고완료", "RE04", 404),
 
-    RETURN_INIT("반품접수","RT00"),
-    RETURN_CANCEL("반품취소","RT05"),
-    RETURN_COMPLETED("반품완료","RT04"),
+    RETURN_INIT("반품접수", "RT00", 500),
+    RETURN_CANCEL("반품취소", "RT05", 505),
+    RETURN_COMPLETED("반품완료", "RT04", 504),
 
-    RECALL_ING("회수중","RC03"),
-    RECALL_COMPLETED("회수완료", "RC04"),
+    RECALL_ING("회수중", "RC03", 603),
+    RECALL_COMPLETED("회수완료", "RC04", 604),
 
-    INSPECTION_ING("검수중", "IP03"),
-    INSPECTION_COMPLETED("검수완료", "IP04"),
+    INSPECTION_ING("검수중", "IP03", 703),
+    INSPECTION_COMPLETED("검수완료", "IP04", 704),
 
-    SELLER_FAULT("판매자과실", "SL08"),
+    SELLER_FAULT("판매자과실", "SL08", 808),
 
-    PRODUCT_DISPOSAL("제품폐기", "PR09"),
+    PRODUCT_DISPOSAL("제품폐기", "PR09", 909),
 
-    CUSTOMER_FAULT("고객과실", "CS08");
+    CUSTOMER_FAULT("고객과실", "CS08", 1008);
 
     private final String text;
     private final String code;
+    // DB 저장용 정수 값 (코드 접두어 순번 * 100 + 코드 숫자). 한 번 정하면 바꾸지 않는다.
+    private final int value;
+
+    private static final Map<String, StatusCodeType> BY_CODE =
+            Arrays.stream(values()).collect(Collectors.toUnmodifiableMap(StatusCodeType::getCode, Function.identity()));
+    private static final StatusCodeType[] BY_VALUE = new StatusCodeType[Arrays.stream(values()).mapToInt(StatusCodeType::getValue).max().orElse(0) + 1];
+
+    static {
+        for (StatusCodeType type : values()) {
+            BY_VALUE[type.value] = type;
+        }
+    }
+
+    /**
+     * "OR01" 같은 코드로 찾는다. 없는 코드면 null.
+     */
+    public static StatusCodeType fromCode(String code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+
+    /**
+     * DB 정수 값으로 찾는다. 없는 값이면 null.
+     */
+    public static StatusCodeType fromValue(int value) {
+        return value >= 0 && value < BY_VALUE.length ? BY_VALUE[value] : null;
+    }
 }
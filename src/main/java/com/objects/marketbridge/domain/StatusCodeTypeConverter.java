@@ -0,0 +1,28 @@
+package com.objects.marketbridge.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * StatusCodeType 을 varchar 대신 smallint 로 저장한다.
+ */
+@Converter
+public class StatusCodeTypeConverter implements AttributeConverter<StatusCodeType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(StatusCodeType attribute) {
+        return attribute == null ? null : (short) attribute.getValue();
+    }
+
+    @Override
+    public StatusCodeType convertToEntityAttribute(Short dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        StatusCodeType type = StatusCodeType.fromValue(dbData);
+        if (type == null) {
+            throw new IllegalArgumentException("알 수 없는 상태 값입니다. value=" + dbData);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,70 @@
+package com.objects.marketbridge.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+/**
+ * 로컬 디스크의 상품 이미지를 보낸다.
+ * <p>
+ * 큰 본문은 Tomcat sendfile 로 넘겨 커널이 파일에서 소켓으로 바로 보내게 하고(FileChannel.transferTo),
+ * 썸네일처럼 작은 본문은 열어 둔 FileChannel 에서 응답 스트림으로 보낸다.
+ */
+@RestController
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageService imageService;
+    private final long sendfileThreshold;
+
+    public ImageController(ImageService imageService,
+                           @Value("${marketbridge.image.sendfile-threshold:49152}") long sendfileThreshold) {
+        this.imageService = imageService;
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    @RequestMapping(value = "/images/{imageId}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void image(@PathVariable("imageId") Long imageId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (ImageResponse image = imageService.open(imageId,
+                request.getHeader("If-None-Match"), request.getHeader("Range"), request.getHeader("If-Range"))) {
+            response.setStatus(image.status());
+            if (!image.found()) {
+                return;
+            }
+            response.setHeader("ETag", image.etag());
+            response.setHeader("Cache-Control", image.cacheControl());
+            response.setHeader("Accept-Ranges", "bytes");
+            response.setDateHeader("Last-Modified", image.lastModified());
+            if (image.contentRange() != null) {
+                response.setHeader("Content-Range", image.contentRange());
+            }
+            if (!image.hasBody()) {
+                return;
+            }
+            response.setContentType(image.contentType());
+            response.setContentLengthLong(image.length());
+            if ("HEAD".equals(request.getMethod()) || image.length() == 0) {
+                return;
+            }
+            if (image.length() >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat 이 응답을 마친 뒤 파일을 직접 연다
+                request.setAttribute(SENDFILE_FILENAME, image.path().toString());
+                request.setAttribute(SENDFILE_START, image.start());
+                request.setAttribute(SENDFILE_END, image.start() + image.length());
+                return;
+            }
+            image.transferTo(Channels.newChannel(response.getOutputStream()));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.objects.marketbridge.image;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 열어 둔 이미지 파일 하나.
+ * <p>
+ * 캐시와 요청이 참조 수를 나눠 가지며, 캐시에서 밀려나도 보내는 중인 요청이 놓을 때까지 채널을 닫지 않는다.
+ * FileChannel 의 위치를 바꾸지 않는 transferTo(position, ...) 만 쓰므로 여러 요청이 함께 읽어도 된다.
+ */
+final class ImageFile {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long lastModified;
+    private final String etag;
+    private final String contentType;
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    private volatile long checkedAt;
+
+    private ImageFile(Path path, FileChannel channel, long size, long lastModified, long checkedAt) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.lastModified = lastModified;
+        // nginx 와 같은 방식. 수정 시각(ms)과 크기가 같으면 같은 바이트로 본다
+        this.etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+        this.contentType = contentType(path);
+        this.checkedAt = checkedAt;
+    }
+
+    /**
+     * 파일을 연다. 캐시가 참조 하나를 가진 상태로 돌려준다.
+     */
+    static ImageFile open(Path path, long now) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new ImageFile(path, channel, attributes.size(), attributes.lastModifiedTime().toMillis(), now);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return 이미 닫힌 파일이면 false
+     */
+    boolean acquire() {
+        while (true) {
+            int current = refs.get();
+            if (current == 0) {
+                return false;
+            }
+            if (refs.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        if (refs.decrementAndGet() == 0) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 읽기 전용 채널이라 닫다가 잃을 것이 없다
+            }
+        }
+    }
+
+    /**
+     * 마지막 확인 후 interval 이 지났으면 디스크의 수정 시각과 크기를 다시 본다.
+     *
+     * @return 파일이 바뀌었거나 없어졌으면 false
+     */
+    boolean unchanged(long now, long intervalNanos) {
+        if (now - checkedAt < intervalNanos) {
+            return true;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.size() != size || attributes.lastModifiedTime().toMillis() != lastModified) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        checkedAt = now;
+        return true;
+    }
+
+    /**
+     * [position, position + count) 를 target 으로 보낸다. 소켓 채널이면 커널이 페이지 캐시에서 바로 보낸다.
+     */
+    long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        long sent = 0;
+        while (sent < count) {
+            long n = channel.transferTo(position + sent, count - sent, target);
+            if (n <= 0) {
+                throw new EOFException("이미지 파일이 보내는 중에 줄었습니다. path=" + path);
+            }
+            sent += n;
+        }
+        return sent;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    String etag() {
+        return etag;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    private static String contentType(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            case "avif" -> "image/avif";
+            case "svg" -> "image/svg+xml";
+            default -> "application/octet-stream";
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.objects.marketbridge.image;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * imageId 별로 열어 둔 파일을 LRU 로 보관한다.
+ * <p>
+ * 목록 화면처럼 같은 썸네일이 계속 나가면 DB 조회와 open/stat 없이 바로 보낸다.
+ * 파일은 Image.url 의 경로 부분을 root-dir 아래에서 찾으며, root-dir 밖으로 나가는 경로는 없는 이미지로 본다.
+ * 파일을 바꾸면 revalidate-interval 안에 새 파일을 연다.
+ */
+@Component
+public class ImageFileCache {
+
+    private final ImageStore imageStore;
+    private final Path root;
+    private final int maxOpenFiles;
+    private final long revalidateNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, ImageFile> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ImageFileCache(ImageStore imageStore,
+                          @Value("${marketbridge.image.root-dir:./images}") String rootDir,
+                          @Value("${marketbridge.image.open-file-cache-size:1024}") int maxOpenFiles,
+                          @Value("${marketbridge.image.revalidate-interval:10s}") Duration revalidateInterval) {
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("열어 둘 이미지 파일 수는 1 이상이어야 합니다. maxOpenFiles=" + maxOpenFiles);
+        }
+        this.imageStore = imageStore;
+        this.root = Path.of(rootDir).toAbsolutePath().normalize();
+        this.maxOpenFiles = maxOpenFiles;
+        this.revalidateNanos = revalidateInterval.toNanos();
+    }
+
+    /**
+     * 이미지 파일의 참조를 하나 얻는다. 다 쓰면 반드시 {@link ImageFile#release()} 해야 한다.
+     *
+     * @return 이미지가 없거나 파일이 없으면 빈 값
+     */
+    Optional<ImageFile> acquire(Long imageId) throws IOException {
+        ImageFile cached = acquireCached(imageId);
+        long now = System.nanoTime();
+        if (cached != null) {
+            if (cached.unchanged(now, revalidateNanos)) {
+                return Optional.of(cached);
+            }
+            evict(imageId, cached);
+            cached.release();
+        }
+
+        Optional<Path> path = imageStore.findUrl(imageId).map(this::resolve);
+        if (path.isEmpty() || !Files.isRegularFile(path.get())) {
+            return Optional.empty();
+        }
+        ImageFile opened;
+        try {
+            opened = ImageFile.open(path.get(), now);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        opened.acquire();
+        put(imageId, opened);
+        return Optional.of(opened);
+    }
+
+    public int openFiles() {
+        lock.lock();
+        try {
+            return files.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        List<ImageFile> closing;
+        lock.lock();
+        try {
+            closing = new ArrayList<>(files.values());
+            files.clear();
+        } finally {
+            lock.unlock();
+        }
+        closing.forEach(ImageFile::release);
+    }
+
+    /**
+     * Image.url 을 root 아래 경로로 바꾼다. http(s) URL 이면 경로 부분만 쓴다.
+     *
+     * @return root 밖이거나 읽을 수 없는 url 이면 null
+     */
+    Path resolve(String url) {
+        try {
+            String path = url.contains("://") ? URI.create(url).getPath() : url;
+            while (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            Path resolved = root.resolve(path).normalize();
+            return resolved.startsWith(root) && !resolved.equals(root) ? resolved : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ImageFile acquireCached(Long imageId) {
+        lock.lock();
+        try {
+            ImageFile file = files.get(imageId);
+            return file != null && file.acquire() ? file : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Long imageId, ImageFile opened) {
+        List<ImageFile> released = new ArrayList<>();
+        lock.lock();
+        try {
+            ImageFile previous = files.put(imageId, opened);
+            if (previous != null) {
+                released.add(previous);
+            }
+            Iterator<Map.Entry<Long, ImageFile>> eldest = files.entrySet().iterator();
+            while (files.size() > maxOpenFiles && eldest.hasNext()) {
+                released.add(eldest.next().getValue());
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 채널은 락 밖에서 닫는다
+        released.forEach(ImageFile::release);
+    }
+
+    private void evict(Long imageId, ImageFile stale) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = files.remove(imageId, stale);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            stale.release();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.objects.marketbridge.image;
+
+/**
+ * Range 요청 한 구간. 여러 구간(multipart/byteranges)은 지원하지 않고 전체를 보낸다.
+ */
+record ImageRange(long start, long length) {
+
+    static final ImageRange UNSATISFIABLE = new ImageRange(-1, 0);
+
+    /**
+     * "bytes=a-b", "bytes=a-", "bytes=-n" 을 읽는다.
+     *
+     * @return 헤더가 없거나, 형식이 틀리거나, 여러 구간이면 null (전체를 보낸다). 파일 밖의 구간이면 {@link #UNSATISFIABLE}
+     */
+    static ImageRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                long length = Math.min(suffix, size);
+                return new ImageRange(size - length, length);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new ImageRange(start, Math.min(end, size - 1) - start + 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
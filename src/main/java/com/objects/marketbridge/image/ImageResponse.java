@@ -0,0 +1,101 @@
+package com.objects.marketbridge.image;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * 이미지 요청 하나에 보낼 상태와 헤더, 본문 구간.
+ * 본문이 있는 응답은 파일 참조를 들고 있으므로 보낸 뒤 {@link #close()} 해야 한다.
+ */
+public final class ImageResponse implements AutoCloseable {
+
+    private final int status;
+    private final ImageFile file;
+    private final String cacheControl;
+    private final long start;
+    private final long length;
+
+    ImageResponse(int status, ImageFile file, String cacheControl, long start, long length) {
+        this.status = status;
+        this.file = file;
+        this.cacheControl = cacheControl;
+        this.start = start;
+        this.length = length;
+    }
+
+    static ImageResponse notFound() {
+        return new ImageResponse(404, null, null, 0, 0);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public boolean found() {
+        return file != null;
+    }
+
+    /**
+     * 200 / 206 이면 true. 304 와 416 은 본문이 없다.
+     */
+    public boolean hasBody() {
+        return status == 200 || status == 206;
+    }
+
+    public String etag() {
+        return file.etag();
+    }
+
+    public long lastModified() {
+        return file.lastModified();
+    }
+
+    public String contentType() {
+        return file.contentType();
+    }
+
+    public String cacheControl() {
+        return cacheControl;
+    }
+
+    public long size() {
+        return file.size();
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * 206 이면 "bytes a-b/size", 416 이면 전체 크기만 알려 주는 값, 그 밖에는 null
+     */
+    public String contentRange() {
+        if (status == 206) {
+            return "bytes " + start + "-" + (start + length - 1) + "/" + file.size();
+        }
+        if (status == 416) {
+            return "bytes */" + file.size();
+        }
+        return null;
+    }
+
+    public Path path() {
+        return file.path();
+    }
+
+    public long transferTo(WritableByteChannel target) throws IOException {
+        return file.transferTo(start, length, target);
+    }
+
+    @Override
+    public void close() {
+        if (file != null) {
+            file.release();
+        }
+    }
+}
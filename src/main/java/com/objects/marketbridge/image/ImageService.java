@@ -0,0 +1,61 @@
+package com.objects.marketbridge.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 로컬 디스크 이미지 응답을 정한다.
+ * <p>
+ * If-None-Match 가 ETag 와 같으면 304, If-Range 가 ETag 와 같거나 없을 때만 Range 를 따른다.
+ * 본문은 {@link ImageFileCache} 가 열어 둔 FileChannel 에서 바로 보내므로 힙에 이미지를 올리지 않는다.
+ */
+@Service
+public class ImageService {
+
+    private final ImageFileCache imageFileCache;
+    private final String cacheControl;
+
+    public ImageService(ImageFileCache imageFileCache,
+                        @Value("${marketbridge.image.max-age:1d}") Duration maxAge) {
+        this.imageFileCache = imageFileCache;
+        this.cacheControl = "public, max-age=" + maxAge.toSeconds();
+    }
+
+    public ImageResponse open(Long imageId, String ifNoneMatch, String range, String ifRange) throws IOException {
+        Optional<ImageFile> acquired = imageFileCache.acquire(imageId);
+        if (acquired.isEmpty()) {
+            return ImageResponse.notFound();
+        }
+        ImageFile file = acquired.get();
+        if (ifNoneMatch != null && matches(ifNoneMatch, file.etag())) {
+            return new ImageResponse(304, file, cacheControl, 0, 0);
+        }
+        // If-Range 가 날짜이거나 다른 ETag 면 바뀐 파일일 수 있으므로 전체를 보낸다
+        ImageRange requested = ifRange == null || ifRange.trim().equals(file.etag())
+                ? ImageRange.parse(range, file.size()) : null;
+        if (requested == null) {
+            return new ImageResponse(200, file, cacheControl, 0, file.size());
+        }
+        if (requested == ImageRange.UNSATISFIABLE) {
+            return new ImageResponse(416, file, cacheControl, 0, 0);
+        }
+        return new ImageResponse(206, file, cacheControl, requested.start(), requested.length());
+    }
+
+    /**
+     * If-None-Match 는 약한 비교를 한다 (W/ 를 떼고 비교).
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.startsWith("W/") && tag.substring(2).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
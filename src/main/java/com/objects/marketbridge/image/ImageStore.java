@@ -0,0 +1,11 @@
+package com.objects.marketbridge.image;
+
+import java.util.Optional;
+
+/**
+ * 이미지 서빙이 사용하는 image 테이블 접근 포트
+ */
+public interface ImageStore {
+
+    Optional<String> findUrl(Long imageId);
+}
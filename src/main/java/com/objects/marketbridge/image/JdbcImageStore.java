@@ -0,0 +1,22 @@
+package com.objects.marketbridge.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcImageStore implements ImageStore {
+
+    private static final String SELECT_URL =
+            "select url from image where image_id = ? and deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<String> findUrl(Long imageId) {
+        return jdbcTemplate.queryForList(SELECT_URL, String.class, imageId).stream().findFirst();
+    }
+}
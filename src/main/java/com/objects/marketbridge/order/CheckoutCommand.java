@@ -0,0 +1,52 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class CheckoutCommand {
+
+    private final Long userId;
+    private final Long addressId;
+    private final List<CheckoutLine> lines;
+
+    private final PayMethod payMethod;
+    private final String receiptId;
+    private final String payNum;
+    private final String pg;
+    private final StatusCodeType paymentStatus;
+
+    // 사용할 쿠폰 (없으면 null)
+    private final Long customerCouponId;
+    // 사용할 포인트
+    private final int usedPoint;
+    // 적립율
+    private final Integer pointRate;
+
+    @Builder
+    private CheckoutCommand(Long userId, Long addressId, List<CheckoutLine> lines, PayMethod payMethod, String receiptId, String payNum, String pg, StatusCodeType paymentStatus, Long customerCouponId, int usedPoint, Integer pointRate) {
+        this.userId = userId;
+        this.addressId = addressId;
+        this.lines = lines == null ? List.of() : List.copyOf(lines);
+        this.payMethod = payMethod;
+        this.receiptId = receiptId;
+        this.payNum = payNum;
+        this.pg = pg;
+        this.paymentStatus = paymentStatus == null ? StatusCodeType.PAYMENT_COMPLETED : paymentStatus;
+        this.customerCouponId = customerCouponId;
+        this.usedPoint = usedPoint;
+        this.pointRate = pointRate == null ? 0 : pointRate;
+    }
+
+    public long totalPrice() {
+        return lines.stream().mapToLong(CheckoutLine::price).sum();
+    }
+
+    public int savedPoint() {
+        return (int) (totalPrice() * pointRate / 100);
+    }
+}
@@ -0,0 +1,7 @@
+package com.objects.marketbridge.order;
+
+/**
+ * 주문 상품 한 줄. price 는 수량과 할인이 반영된 최종 금액이다.
+ */
+public record CheckoutLine(Long productId, Long price) {
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.order;
+
+/**
+ * 주문 한 건의 저장 결과. 실패하면 orderId 는 발급되었지만 저장되지 않은 번호이다.
+ */
+public record CheckoutResult(Long orderId, boolean success, String failureReason) {
+
+    public static CheckoutResult success(Long orderId) {
+        return new CheckoutResult(orderId, true, null);
+    }
+
+    public static CheckoutResult failure(Long orderId, String failureReason) {
+        return new CheckoutResult(orderId, false, failureReason);
+    }
+}
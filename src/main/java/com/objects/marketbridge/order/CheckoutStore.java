@@ -0,0 +1,17 @@
+package com.objects.marketbridge.order;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 주문 묶음을 한 트랜잭션으로 저장하는 포트
+ */
+public interface CheckoutStore {
+
+    /**
+     * ProdOrder, ProdOrderDetail, Payment, Point 를 엔티티 종류별 배치 insert 로 저장하고 쿠폰을 사용 처리한다.
+     * 이미 사용된 쿠폰이 걸린 주문은 저장하지 않고 그 주문 번호를 돌려준다.
+     * 예외가 발생하면 묶음 전체가 롤백된다.
+     */
+    Set<Long> saveAll(List<PlacedOrder> orders);
+}
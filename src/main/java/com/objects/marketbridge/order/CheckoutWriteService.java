@@ -0,0 +1,179 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.point.PointEntry;
+import com.objects.marketbridge.point.PointLedgerService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시에 들어온 주문을 짧은 시간 창 안에서 모아 한 트랜잭션으로 저장하는 group commit 파이프라인.
+ * <p>
+ * 묶음 저장이 예외로 실패하면 주문을 한 건씩 다시 저장해서, 문제가 있는 주문만 실패로 돌려준다.
+ * 사용 포인트는 대기열에 넣기 전에 {@link PointLedgerService#hold} 로 잔액만 잡아 두고, point 행은 주문과 같은 트랜잭션으로 insert 한다.
+ * 커밋되면 confirm, 주문이 실패하면 release 한다.
+ */
+@Slf4j
+@Service
+public class CheckoutWriteService {
+
+    private final CheckoutStore checkoutStore;
+    private final PointLedgerService pointLedger;
+    private final IdGenerator idGenerator;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+
+    private final BlockingQueue<PendingCheckout> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public CheckoutWriteService(CheckoutStore checkoutStore,
+                                PointLedgerService pointLedger,
+                                IdGenerator idGenerator,
+                                @Value("${marketbridge.checkout.batch-window:5ms}") Duration batchWindow,
+                                @Value("${marketbridge.checkout.max-batch-size:100}") int maxBatchSize,
+                                @Value("${marketbridge.checkout.queue-capacity:10000}") int queueCapacity,
+                                @Value("${marketbridge.checkout.writer-threads:2}") int writerThreads) {
+        this.checkoutStore = checkoutStore;
+        this.pointLedger = pointLedger;
+        this.idGenerator = idGenerator;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = new Thread(this::writeLoop, "checkout-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * 주문을 저장 대기열에 넣는다. 대기열이 가득 차면 바로 실패를 돌려준다.
+     */
+    public CompletableFuture<CheckoutResult> submit(CheckoutCommand command) {
+        if (command.getUserId() == null || command.getLines().isEmpty()) {
+            throw new IllegalArgumentException("주문자와 주문 상품은 필수입니다.");
+        }
+        Long orderId = idGenerator.nextId();
+        if (!running) {
+            return CompletableFuture.completedFuture(CheckoutResult.failure(orderId, "주문이 몰려 처리할 수 없습니다."));
+        }
+        PointEntry pointHold = null;
+        if (command.getUsedPoint() > 0) {
+            Optional<PointEntry> held = pointLedger.hold(command.getUserId(), command.getUsedPoint(), orderId, "주문 사용");
+            if (held.isEmpty()) {
+                return CompletableFuture.completedFuture(CheckoutResult.failure(orderId, "포인트가 부족합니다."));
+            }
+            pointHold = held.get();
+        }
+        PendingCheckout pending = new PendingCheckout(new PlacedOrder(orderId, command, pointHold));
+        if (!queue.offer(pending)) {
+            fail(pending, "주문이 몰려 처리할 수 없습니다.");
+        }
+        return pending.result;
+    }
+
+    public CheckoutResult place(CheckoutCommand command) {
+        return submit(command).join();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingCheckout> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCheckout first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingCheckout next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("checkout writer failed", e);
+                batch.stream().filter(pending -> !pending.result.isDone()).forEach(pending -> fail(pending, "주문 저장에 실패했습니다."));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingCheckout> batch) {
+        try {
+            complete(batch, checkoutStore.saveAll(batch.stream().map(pending -> pending.order).toList()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("checkout failed. orderId={}", batch.get(0).order.orderId(), e);
+                fail(batch.get(0), "주문 저장에 실패했습니다.");
+                return;
+            }
+            log.warn("checkout batch of {} failed, retrying one by one", batch.size(), e);
+            for (PendingCheckout pending : batch) {
+                write(List.of(pending));
+            }
+        }
+    }
+
+    private void complete(List<PendingCheckout> batch, Set<Long> rejected) {
+        for (PendingCheckout pending : batch) {
+            Long orderId = pending.order.orderId();
+            if (rejected.contains(orderId)) {
+                fail(pending, "이미 사용된 쿠폰입니다.");
+            } else {
+                if (pending.order.pointHold() != null) {
+                    pointLedger.confirm(pending.order.pointHold());
+                }
+                pending.result.complete(CheckoutResult.success(orderId));
+            }
+        }
+    }
+
+    private void fail(PendingCheckout pending, String reason) {
+        PlacedOrder order = pending.order;
+        if (order.pointHold() != null) {
+            pointLedger.release(order.pointHold());
+        }
+        pending.result.complete(CheckoutResult.failure(order.orderId(), reason));
+    }
+
+    private static final class PendingCheckout {
+
+        private final PlacedOrder order;
+        private final CompletableFuture<CheckoutResult> result = new CompletableFuture<>();
+
+        private PendingCheckout(PlacedOrder order) {
+            this.order = order;
+        }
+    }
+}
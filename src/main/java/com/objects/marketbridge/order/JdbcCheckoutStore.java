@@ -0,0 +1,142 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.coupon.CustomerCouponChangedEvent;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import com.objects.marketbridge.outbox.StatusChange;
+import com.objects.marketbridge.point.PointStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcCheckoutStore implements CheckoutStore {
+
+    private static final String USE_COUPON =
+            "update customer_coupon set is_used = true, used_date = ?, updated_at = ? " +
+            "where customer_coupon_id = ? and user_id = ? and is_used = false";
+    private static final String INSERT_ORDER =
+            "insert into prod_order (prod_order_id, user_id, address_id, status_code, total_price, point_rate, saved_point, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_DETAIL =
+            "insert into prod_order_detail (prod_order_detail_id, order_id, product_id, price, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PAYMENT =
+            "insert into payment (payment_id, order_id, receipt_id, pay_method, pay_num, pg, status, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+    private final OutboxWriter outboxWriter;
+    private final PointStore pointStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public Set<Long> saveAll(List<PlacedOrder> orders) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<Long> rejected = useCoupons(orders, now);
+        List<PlacedOrder> accepted = orders.stream()
+                .filter(order -> !rejected.contains(order.orderId()))
+                .toList();
+        if (accepted.isEmpty()) {
+            return rejected;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, accepted, accepted.size(), (ps, order) -> {
+            CheckoutCommand command = order.command();
+            ps.setLong(1, order.orderId());
+            ps.setLong(2, command.getUserId());
+            ps.setObject(3, command.getAddressId(), Types.BIGINT);
+            ps.setShort(4, (short) orderStatus(command).getValue());
+            ps.setLong(5, command.totalPrice());
+            ps.setInt(6, command.getPointRate());
+            ps.setInt(7, command.savedPoint());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+
+        List<Object[]> details = new ArrayList<>();
+        for (PlacedOrder order : accepted) {
+            for (CheckoutLine line : order.command().getLines()) {
+                details.add(new Object[]{idGenerator.nextId(), order.orderId(), line.productId(), line.price(), now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_DETAIL, details);
+
+        List<Object[]> payments = new ArrayList<>(accepted.size());
+        for (PlacedOrder order : accepted) {
+            CheckoutCommand command = order.command();
+            payments.add(new Object[]{idGenerator.nextId(), order.orderId(), command.getReceiptId(),
+                    command.getPayMethod() == null ? null : command.getPayMethod().name(),
+                    command.getPayNum(), command.getPg(), command.getPaymentStatus().name(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, payments);
+
+        // 포인트 사용 행도 주문과 같은 트랜잭션에 넣어서, 주문 없이 포인트만 빠지는 일이 없게 한다
+        pointStore.appendAll(accepted.stream()
+                .map(PlacedOrder::pointHold)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<StatusChange> changes = new ArrayList<>(accepted.size() * 2);
+        for (PlacedOrder order : accepted) {
+            CheckoutCommand command = order.command();
+            changes.add(StatusChange.order(order.orderId(), orderStatus(command)));
+            // 결제 집합체는 receiptId 로 구분한다(JdbcPaymentStore 와 같은 키). 영수증이 없는 결제는 이어질 결제 이벤트가 없어 남기지 않는다
+            if (command.getReceiptId() != null) {
+                changes.add(StatusChange.payment(command.getReceiptId(), order.orderId(), command.getPaymentStatus()));
+            }
+        }
+        outboxWriter.append(changes);
+        return rejected;
+    }
+
+    private static StatusCodeType orderStatus(CheckoutCommand command) {
+        return command.getPaymentStatus() == StatusCodeType.PAYMENT_COMPLETED
+                ? StatusCodeType.PAYMENT_COMPLETED : StatusCodeType.ORDER_INIT;
+    }
+
+    private Set<Long> useCoupons(List<PlacedOrder> orders, Timestamp now) {
+        List<PlacedOrder> withCoupon = orders.stream()
+                .filter(order -> order.command().getCustomerCouponId() != null)
+                .toList();
+        Set<Long> rejected = new HashSet<>();
+        if (withCoupon.isEmpty()) {
+            return rejected;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(USE_COUPON, withCoupon, withCoupon.size(), (ps, order) -> {
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setLong(3, order.command().getCustomerCouponId());
+            ps.setLong(4, order.command().getUserId());
+        });
+        // 드라이버가 건별 결과를 주지 않으면(SUCCESS_NO_INFO = -2) 성공으로 본다
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < withCoupon.size(); i++) {
+            if (counts[0][i] == 0) {
+                rejected.add(withCoupon.get(i).orderId());
+            } else {
+                userIds.add(withCoupon.get(i).command().getUserId());
+            }
+        }
+        // 최적 쿠폰 색인은 커밋 뒤에 버린다
+        if (!userIds.isEmpty()) {
+            eventPublisher.publishEvent(new CustomerCouponChangedEvent(userIds));
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,253 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.common.page.PageCursor;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcOrderHistoryStore implements OrderHistoryStore {
+
+    private static final String CHANGED_ORDER_IDS =
+            "select prod_order_id from prod_order where updated_at > :since " +
+            "union select order_id from prod_order_detail where updated_at > :since " +
+            "union select order_id from payment where updated_at > :since " +
+            "union select d.order_id from delivery dl join prod_order_detail d on d.prod_order_detail_id = dl.order_detail_id " +
+            "where dl.updated_at > :since";
+    private static final String UPDATE_PRODUCTS =
+            "update order_history_item set " +
+            "product_name = (select p.name from product p where p.product_id = order_history_item.product_id), " +
+            "thumb_img = (select p.thumb_img from product p where p.product_id = order_history_item.product_id) " +
+            "where product_id in (:productIds)";
+    private static final String SELECT_SOURCES =
+            "select o.prod_order_id, o.user_id, o.created_at, o.status_code, o.total_price, o.updated_at as order_updated_at, " +
+            "d.prod_order_detail_id, d.product_id, d.price, d.updated_at as detail_updated_at, " +
+            "p.name as product_name, p.thumb_img, p.updated_at as product_updated_at, " +
+            "dl.status as delivery_status, dl.carrier, dl.tracking_no, dl.updated_at as delivery_updated_at, " +
+            "pm.pay_method, pm.updated_at as payment_updated_at " +
+            "from prod_order o " +
+            "left join prod_order_detail d on d.order_id = o.prod_order_id and d.deleted_at is null " +
+            "left join product p on p.product_id = d.product_id " +
+            "left join delivery dl on dl.delivery_id = (select max(x.delivery_id) from delivery x where x.order_detail_id = d.prod_order_detail_id) " +
+            "left join payment pm on pm.payment_id = (select max(y.payment_id) from payment y where y.order_id = o.prod_order_id) " +
+            "where o.prod_order_id in (:orderIds) and o.deleted_at is null " +
+            "order by o.prod_order_id, d.prod_order_detail_id";
+    private static final String DELETE_BY_ORDER_IDS = "delete from order_history where order_id in (:orderIds)";
+    private static final String DELETE_ITEMS_BY_ORDER_IDS = "delete from order_history_item where order_id in (:orderIds)";
+    private static final String INSERT =
+            "insert into order_history (order_id, user_id, ordered_at, status_code, total_price, pay_method, source_updated_at, projected_at) " +
+            "values (:orderId, :userId, :orderedAt, :statusCode, :totalPrice, :payMethod, :sourceUpdatedAt, :projectedAt)";
+    private static final String INSERT_ITEM =
+            "insert into order_history_item (order_detail_id, order_id, product_id, product_name, thumb_img, price, delivery_status, carrier, tracking_no) " +
+            "values (:orderDetailId, :orderId, :productId, :productName, :thumbImg, :price, :deliveryStatus, :carrier, :trackingNo)";
+    private static final String LATEST_SOURCE_UPDATED_AT = "select max(source_updated_at) from order_history";
+    private static final String SELECT_BY_USER =
+            "select order_id, ordered_at, status_code, total_price, pay_method from order_history where user_id = :userId ";
+    private static final String SELECT_ITEMS_BY_ORDER_IDS =
+            "select order_detail_id, order_id, product_id, product_name, thumb_img, price, delivery_status, carrier, tracking_no " +
+            "from order_history_item where order_id in (:orderIds) order by order_id, order_detail_id";
+    private static final String AFTER_DESC =
+            "and (ordered_at < :orderedAt or (ordered_at = :orderedAt and order_id < :orderId)) ";
+    private static final String AFTER_ASC =
+            "and (ordered_at > :orderedAt or (ordered_at = :orderedAt and order_id > :orderId)) ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findChangedOrderIds(LocalDateTime since) {
+        return jdbcTemplate.queryForList(CHANGED_ORDER_IDS, Map.of("since", Timestamp.valueOf(since)), Long.class);
+    }
+
+    @Override
+    public int updateProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(UPDATE_PRODUCTS, Map.of("productIds", productIds));
+    }
+
+    @Override
+    public List<ProjectedOrder> project(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderBuilder> orders = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_SOURCES, Map.of("orderIds", orderIds), rs -> {
+            orders.computeIfAbsent(rs.getLong("prod_order_id"), orderId -> new OrderBuilder(orderId)).add(rs);
+        });
+        return orders.values().stream().map(OrderBuilder::build).toList();
+    }
+
+    @Override
+    @Transactional
+    public void replace(Collection<Long> orderIds, List<ProjectedOrder> projected, LocalDateTime projectedAt) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_ITEMS_BY_ORDER_IDS, Map.of("orderIds", orderIds));
+        jdbcTemplate.update(DELETE_BY_ORDER_IDS, Map.of("orderIds", orderIds));
+        if (projected.isEmpty()) {
+            return;
+        }
+        Timestamp projectedTimestamp = Timestamp.valueOf(projectedAt);
+        List<Map<String, Object>> rows = new ArrayList<>(projected.size());
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (ProjectedOrder order : projected) {
+            OrderHistoryView view = order.view();
+            Map<String, Object> row = new HashMap<>();
+            row.put("orderId", view.orderId());
+            row.put("userId", order.userId());
+            row.put("orderedAt", view.orderedAt() == null ? null : Timestamp.valueOf(view.orderedAt()));
+            row.put("statusCode", view.statusCode() == null ? null : (short) view.statusCode().getValue());
+            row.put("totalPrice", view.totalPrice());
+            row.put("payMethod", view.payMethod() == null ? null : view.payMethod().name());
+            row.put("sourceUpdatedAt", order.sourceUpdatedAt() == null ? null : Timestamp.valueOf(order.sourceUpdatedAt()));
+            row.put("projectedAt", projectedTimestamp);
+            rows.add(row);
+            for (OrderHistoryLine line : view.lines()) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("orderDetailId", line.orderDetailId());
+                item.put("orderId", view.orderId());
+                item.put("productId", line.productId());
+                item.put("productName", line.productName());
+                item.put("thumbImg", line.thumbImg());
+                item.put("price", line.price());
+                item.put("deliveryStatus", line.deliveryStatus());
+                item.put("carrier", line.carrier());
+                item.put("trackingNo", line.trackingNo());
+                items.add(item);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows.toArray(Map[]::new));
+        if (!items.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, items.toArray(Map[]::new));
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLatestSourceUpdatedAt() {
+        Timestamp latest = jdbcTemplate.getJdbcTemplate().queryForObject(LATEST_SOURCE_UPDATED_AT, Timestamp.class);
+        return Optional.ofNullable(latest).map(Timestamp::toLocalDateTime);
+    }
+
+    @Override
+    public List<OrderHistoryView> findByUserId(Long userId, CursorPageRequest request, int limit) {
+        boolean ascending = request.direction().isAscending();
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("limit", limit);
+        StringBuilder sql = new StringBuilder(SELECT_BY_USER);
+        if (!request.isFirst()) {
+            PageCursor cursor = PageCursor.decode(request.cursor());
+            params.put("orderedAt", Timestamp.valueOf(cursor.createdAt()));
+            params.put("orderId", cursor.id());
+            sql.append(ascending ? AFTER_ASC : AFTER_DESC);
+        }
+        sql.append(ascending ? "order by ordered_at, order_id " : "order by ordered_at desc, order_id desc ");
+        sql.append("limit :limit");
+        List<OrderHistoryView> orders = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new OrderHistoryView(
+                rs.getLong("order_id"),
+                toLocalDateTime(rs.getTimestamp("ordered_at")),
+                statusCode(rs),
+                rs.getObject("total_price", Long.class),
+                payMethod(rs.getString("pay_method")),
+                List.of()));
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, List<OrderHistoryLine>> lines = findLines(orders.stream().map(OrderHistoryView::orderId).toList());
+        return orders.stream()
+                .map(view -> new OrderHistoryView(view.orderId(), view.orderedAt(), view.statusCode(), view.totalPrice(), view.payMethod(),
+                        lines.getOrDefault(view.orderId(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<OrderHistoryLine>> findLines(List<Long> orderIds) {
+        Map<Long, List<OrderHistoryLine>> lines = new HashMap<>();
+        jdbcTemplate.query(SELECT_ITEMS_BY_ORDER_IDS, Map.of("orderIds", orderIds), rs -> {
+            lines.computeIfAbsent(rs.getLong("order_id"), orderId -> new ArrayList<>()).add(new OrderHistoryLine(
+                    rs.getLong("order_detail_id"), rs.getObject("product_id", Long.class), rs.getString("product_name"),
+                    rs.getString("thumb_img"), rs.getObject("price", Long.class),
+                    rs.getString("delivery_status"), rs.getString("carrier"), rs.getString("tracking_no")));
+        });
+        return lines;
+    }
+
+    private static StatusCodeType statusCode(ResultSet rs) throws SQLException {
+        int value = rs.getInt("status_code");
+        return rs.wasNull() ? null : StatusCodeType.fromValue(value);
+    }
+
+    private static PayMethod payMethod(String name) {
+        return name == null ? null : PayMethod.valueOf(name);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    /**
+     * (주문, 주문 상품) 행을 주문 하나로 모은다.
+     */
+    private static final class OrderBuilder {
+
+        private final Long orderId;
+        private final List<OrderHistoryLine> lines = new ArrayList<>();
+        private Long userId;
+        private LocalDateTime orderedAt;
+        private StatusCodeType statusCode;
+        private Long totalPrice;
+        private PayMethod payMethod;
+        private LocalDateTime sourceUpdatedAt;
+
+        private OrderBuilder(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            if (userId == null) {
+                userId = rs.getLong("user_id");
+                orderedAt = toLocalDateTime(rs.getTimestamp("created_at"));
+                statusCode = statusCode(rs);
+                totalPrice = rs.getObject("total_price", Long.class);
+                payMethod = payMethod(rs.getString("pay_method"));
+                sourceUpdatedAt = latest(toLocalDateTime(rs.getTimestamp("order_updated_at")), toLocalDateTime(rs.getTimestamp("payment_updated_at")));
+            }
+            Long detailId = rs.getObject("prod_order_detail_id", Long.class);
+            if (detailId == null) {
+                return;
+            }
+            lines.add(new OrderHistoryLine(detailId, rs.getObject("product_id", Long.class), rs.getString("product_name"),
+                    rs.getString("thumb_img"), rs.getObject("price", Long.class),
+                    rs.getString("delivery_status"), rs.getString("carrier"), rs.getString("tracking_no")));
+            for (String column : new String[]{"detail_updated_at", "product_updated_at", "delivery_updated_at"}) {
+                sourceUpdatedAt = latest(sourceUpdatedAt, toLocalDateTime(rs.getTimestamp(column)));
+            }
+        }
+
+        ProjectedOrder build() {
+            return new ProjectedOrder(userId, new OrderHistoryView(orderId, orderedAt, statusCode, totalPrice, payMethod, List.copyOf(lines)), sourceUpdatedAt);
+        }
+    }
+}
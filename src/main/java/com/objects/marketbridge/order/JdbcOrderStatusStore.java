@@ -0,0 +1,53 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import com.objects.marketbridge.outbox.StatusChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcOrderStatusStore implements OrderStatusStore {
+
+    private static final String TRANSITION =
+            "update prod_order set status_code = :to, updated_at = :now, transition_token = :token " +
+            "where prod_order_id in (:orderIds) and status_code in (:from) and deleted_at is null";
+    // 호출마다 새로 받은 token 을 같은 UPDATE 에서 찍으므로, 같은 트랜잭션에서 token 으로 이번에 바꾼 행만 고른다
+    private static final String SELECT_TRANSITIONED =
+            "select prod_order_id from prod_order where prod_order_id in (:orderIds) and transition_token = :token";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxWriter outboxWriter;
+    private final IdGenerator idGenerator;
+
+    @Override
+    @Transactional
+    public List<Long> transition(Collection<Long> orderIds, Collection<StatusCodeType> from, StatusCodeType to) {
+        if (orderIds.isEmpty() || from.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("orderIds", orderIds);
+        params.put("from", from.stream().map(status -> (short) status.getValue()).toList());
+        params.put("to", (short) to.getValue());
+        params.put("now", Timestamp.valueOf(LocalDateTime.now()));
+        params.put("token", idGenerator.nextId());
+        if (jdbcTemplate.update(TRANSITION, params) == 0) {
+            return List.of();
+        }
+        List<Long> transitioned = jdbcTemplate.queryForList(SELECT_TRANSITIONED, params, Long.class);
+        outboxWriter.append(transitioned.stream().map(orderId -> StatusChange.order(orderId, to)).toList());
+        return transitioned;
+    }
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.order;
+
+import java.time.Duration;
+
+/**
+ * 원본 변경이 주문 목록에 반영되기까지 걸린 시간.
+ *
+ * @param projectedOrders 지금까지 반영한 주문 수
+ * @param last            마지막으로 반영한 묶음에서 가장 늦게 반영된 주문의 지연
+ * @param max             지금까지의 최대 지연
+ * @param average         평균 지연
+ * @param sincePoll       마지막 폴링 이후 지난 시간 (폴링이 멈췄는지 확인용)
+ */
+public record OrderHistoryLag(long projectedOrders, Duration last, Duration max, Duration average, Duration sincePoll) {
+}
@@ -0,0 +1,8 @@
+package com.objects.marketbridge.order;
+
+/**
+ * 주문 목록의 주문 상품 한 줄. 배송 정보는 가장 최근 배송 기준이며 없으면 null 이다.
+ */
+public record OrderHistoryLine(Long orderDetailId, Long productId, String productName, String thumbImg, Long price,
+                               String deliveryStatus, String carrier, String trackingNo) {
+}
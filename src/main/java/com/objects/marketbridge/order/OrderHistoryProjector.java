@@ -0,0 +1,154 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.product.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 원본 테이블의 변경을 주문 목록 조회 모델(order_history)에 반영한다.
+ * <p>
+ * {@code ProductChangePoller} 와 같이 updated_at 을 overlap 만큼 겹쳐 폴링하고, 바뀐 주문은 원본에서 통째로 다시 만든다.
+ * 상품명/썸네일 변경은 {@link ProductChangedEvent} 로 받아 주문을 다시 만들지 않고 그 상품의 줄만 product_id 로 한 번에 고친다.
+ * 다시 만드는 작업은 멱등이라 같은 주문을 여러 번 반영해도 된다.
+ * 원본 변경부터 반영까지 걸린 시간은 {@link #lag()} 로 볼 수 있다. last 는 직전 폴링에서 반영한 주문 기준이라 반영할 주문이 없으면 0 이다.
+ * 반영은 한 번에 하나씩만 하며, JDBC 호출 중에 가상 스레드의 캐리어를 붙잡지 않도록 synchronized 대신 락을 쓴다.
+ */
+@Slf4j
+@Component
+public class OrderHistoryProjector {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderHistoryStore orderHistoryStore;
+    private final Duration overlap;
+    private final Duration lagWarnThreshold;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LocalDateTime watermark;
+    private LocalDateTime lastPolledAt;
+
+    private long projectedOrders;
+    private long totalLagMillis;
+    private Duration lastLag = Duration.ZERO;
+    private Duration maxLag = Duration.ZERO;
+
+    @Autowired
+    public OrderHistoryProjector(OrderHistoryStore orderHistoryStore,
+                                 @Value("${marketbridge.order-history.poll-overlap:5s}") Duration overlap,
+                                 @Value("${marketbridge.order-history.lag-warn-threshold:30s}") Duration lagWarnThreshold) {
+        this(orderHistoryStore, overlap, lagWarnThreshold, Clock.systemDefaultZone());
+    }
+
+    OrderHistoryProjector(OrderHistoryStore orderHistoryStore, Duration overlap, Duration lagWarnThreshold, Clock clock) {
+        this.orderHistoryStore = orderHistoryStore;
+        this.overlap = overlap;
+        this.lagWarnThreshold = lagWarnThreshold;
+        this.clock = clock;
+        this.lastPolledAt = LocalDateTime.now(clock);
+    }
+
+    /**
+     * 직전 폴링 이후 바뀐 주문을 다시 만든다. 처음에는 조회 모델에 반영된 마지막 시각부터 따라잡는다.
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.order-history.poll-interval:1000}")
+    public int poll() {
+        lock.lock();
+        try {
+            LocalDateTime pollStartedAt = LocalDateTime.now(clock);
+            if (watermark == null) {
+                watermark = orderHistoryStore.findLatestSourceUpdatedAt().orElse(BEGINNING);
+            }
+            lastLag = Duration.ZERO;
+            int projected = project(orderHistoryStore.findChangedOrderIds(watermark.minus(overlap)));
+            watermark = pollStartedAt;
+            lastPolledAt = pollStartedAt;
+            if (lastLag.compareTo(lagWarnThreshold) > 0) {
+                log.warn("order history is lagging. lag={}", lastLag);
+            }
+            return projected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 인기 상품이면 들어간 주문이 매우 많으므로 주문 단위로 다시 만들지 않는다.
+     * 주문을 다시 만드는 중에 끼어들어 옛 상품명으로 덮이지 않도록 같은 락 안에서 고친다.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            orderHistoryStore.updateProducts(event.productIds());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 주문들을 원본에서 다시 만든다. 없거나 삭제된 주문은 조회 모델에서 지운다.
+     */
+    public int project(Collection<Long> orderIds) {
+        List<Long> ids = orderIds.stream().distinct().toList();
+        lock.lock();
+        try {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                List<ProjectedOrder> projected = orderHistoryStore.project(chunk);
+                LocalDateTime projectedAt = LocalDateTime.now(clock);
+                orderHistoryStore.replace(chunk, projected, projectedAt);
+                recordLag(projected, projectedAt);
+            }
+            return ids.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public OrderHistoryLag lag() {
+        lock.lock();
+        try {
+            Duration average = projectedOrders == 0 ? Duration.ZERO : Duration.ofMillis(totalLagMillis / projectedOrders);
+            return new OrderHistoryLag(projectedOrders, lastLag, maxLag, average, Duration.between(lastPolledAt, LocalDateTime.now(clock)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLag(List<ProjectedOrder> projected, LocalDateTime projectedAt) {
+        Duration batchLag = null;
+        for (ProjectedOrder order : projected) {
+            if (order.sourceUpdatedAt() == null) {
+                continue;
+            }
+            Duration lag = Duration.between(order.sourceUpdatedAt(), projectedAt);
+            if (lag.isNegative()) {
+                lag = Duration.ZERO;
+            }
+            projectedOrders++;
+            totalLagMillis += lag.toMillis();
+            if (batchLag == null || lag.compareTo(batchLag) > 0) {
+                batchLag = lag;
+            }
+        }
+        if (batchLag != null) {
+            lastLag = batchLag;
+            if (batchLag.compareTo(maxLag) > 0) {
+                maxLag = batchLag;
+            }
+        }
+    }
+}
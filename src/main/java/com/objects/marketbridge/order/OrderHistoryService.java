@@ -0,0 +1,30 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.common.page.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 내 주문 목록. order_history 를 (user_id, ordered_at, order_id) 인덱스로 읽고, 주문 상품 줄은 order_history_item 을 order_id 인덱스로 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    private final OrderHistoryStore orderHistoryStore;
+
+    public CursorPage<OrderHistoryView> findPage(Long userId, CursorPageRequest request) {
+        // 한 건 더 읽어서 다음 페이지가 있는지 본다
+        List<OrderHistoryView> rows = orderHistoryStore.findByUserId(userId, request, request.size() + 1);
+        if (rows.size() <= request.size()) {
+            return new CursorPage<>(rows, null);
+        }
+        List<OrderHistoryView> content = rows.subList(0, request.size());
+        OrderHistoryView last = content.get(content.size() - 1);
+        return new CursorPage<>(List.copyOf(content), new PageCursor(last.orderedAt(), last.orderId(), request.direction()).encode());
+    }
+}
@@ -0,0 +1,44 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.page.CursorPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 주문 목록 조회 모델(order_history)과 그 원본 테이블 접근 포트
+ */
+public interface OrderHistoryStore {
+
+    /**
+     * since 이후 prod_order / prod_order_detail / payment / delivery 가 바뀐 주문 id
+     */
+    List<Long> findChangedOrderIds(LocalDateTime since);
+
+    /**
+     * 조회 모델의 주문 상품 줄에 product 의 상품명/썸네일을 다시 채운다. 주문은 다시 만들지 않는다.
+     *
+     * @return 고친 줄 수
+     */
+    int updateProducts(Collection<Long> productIds);
+
+    /**
+     * 원본 테이블에서 주문 목록 행을 만든다. 없거나 삭제된 주문은 결과에서 빠진다.
+     */
+    List<ProjectedOrder> project(Collection<Long> orderIds);
+
+    /**
+     * orderIds 의 기존 행을 지우고 projected 로 바꾼다.
+     */
+    void replace(Collection<Long> orderIds, List<ProjectedOrder> projected, LocalDateTime projectedAt);
+
+    Optional<LocalDateTime> findLatestSourceUpdatedAt();
+
+    /**
+     * 사용자의 주문 목록을 (ordered_at, order_id) 순으로 limit 건 읽는다. cursor 가 있으면 그 다음부터.
+     * 주문 상품 줄은 읽은 주문들의 order_id 로 한 번 더 읽어 붙인다.
+     */
+    List<OrderHistoryView> findByUserId(Long userId, CursorPageRequest request, int limit);
+}
@@ -0,0 +1,11 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderHistoryView(Long orderId, LocalDateTime orderedAt, StatusCodeType statusCode, Long totalPrice,
+                               PayMethod payMethod, List<OrderHistoryLine> lines) {
+}
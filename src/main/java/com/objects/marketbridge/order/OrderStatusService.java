@@ -0,0 +1,63 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.OrderLifecycle;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 주문 상태를 {@link OrderLifecycle} 전이표에 맞춰 대량으로 바꾼다.
+ * <p>
+ * 주문을 잠그거나 먼저 읽지 않고, 허용된 이전 상태를 WHERE 에 건 조건부 UPDATE 로 chunk-size 개씩 한 번에 바꾼다.
+ * 동시에 다른 전이가 먼저 반영돼 이전 상태가 맞지 않게 된 주문은 UPDATE 에 걸리지 않고 rejected 로 돌아간다.
+ */
+@Service
+public class OrderStatusService {
+
+    private final OrderStatusStore orderStatusStore;
+    private final int chunkSize;
+
+    public OrderStatusService(OrderStatusStore orderStatusStore,
+                              @Value("${marketbridge.order.transition-chunk-size:2000}") int chunkSize) {
+        this.orderStatusStore = orderStatusStore;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 지금 상태에서 to 로 갈 수 있는 주문만 바꾼다.
+     */
+    public OrderTransitionResult transition(Collection<Long> orderIds, StatusCodeType to) {
+        Set<StatusCodeType> sources = OrderLifecycle.sourcesOf(to);
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("어떤 상태에서도 바꿀 수 없는 상태입니다. to=" + to);
+        }
+        return transition(orderIds, sources, to);
+    }
+
+    /**
+     * 지금 상태가 from 인 주문만 to 로 바꾼다.
+     */
+    public OrderTransitionResult transition(Collection<Long> orderIds, StatusCodeType from, StatusCodeType to) {
+        if (!OrderLifecycle.canTransition(from, to)) {
+            throw new IllegalArgumentException("바꿀 수 없는 상태 전이입니다. from=" + from + ", to=" + to);
+        }
+        return transition(orderIds, Set.of(from), to);
+    }
+
+    private OrderTransitionResult transition(Collection<Long> orderIds, Set<StatusCodeType> from, StatusCodeType to) {
+        List<Long> ids = orderIds.stream().distinct().toList();
+        List<Long> transitioned = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            transitioned.addAll(orderStatusStore.transition(ids.subList(start, Math.min(start + chunkSize, ids.size())), from, to));
+        }
+        Set<Long> done = new HashSet<>(transitioned);
+        List<Long> rejected = ids.stream().filter(id -> !done.contains(id)).toList();
+        return new OrderTransitionResult(to, transitioned, rejected);
+    }
+}
@@ -0,0 +1,17 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderStatusStore {
+
+    /**
+     * orderIds 중 지금 상태가 from 에 들어 있는 주문만 to 로 바꾸고, 바뀐 주문 id 를 돌려준다.
+     * 행을 미리 잠그거나 읽지 않고 이전 상태를 WHERE 에 건 UPDATE 한 번으로 바꾸므로, 동시에 다른 전이가 먼저 반영된 주문은 바뀌지 않는다.
+     * 바뀐 주문은 그 UPDATE 에서 찍은 호출별 token 으로 고른다.
+     * 호출한 쪽 트랜잭션에 함께 묶이며, 바뀐 주문마다 아웃박스에 상태 변경을 남긴다.
+     */
+    List<Long> transition(Collection<Long> orderIds, Collection<StatusCodeType> from, StatusCodeType to);
+}
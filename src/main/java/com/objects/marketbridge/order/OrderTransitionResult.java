@@ -0,0 +1,14 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.util.List;
+
+/**
+ * 대량 상태 전이 결과.
+ *
+ * @param transitioned 바뀐 주문
+ * @param rejected     없거나, 삭제됐거나, 지금 상태에서 to 로 갈 수 없어 그대로 둔 주문
+ */
+public record OrderTransitionResult(StatusCodeType to, List<Long> transitioned, List<Long> rejected) {
+}
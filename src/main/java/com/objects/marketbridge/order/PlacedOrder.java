@@ -0,0 +1,11 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.point.PointEntry;
+
+/**
+ * 식별자가 미리 발급된 저장 대기 주문
+ *
+ * @param pointHold 주문과 함께 insert 할 포인트 사용 행. 포인트를 쓰지 않으면 null
+ */
+public record PlacedOrder(Long orderId, CheckoutCommand command, PointEntry pointHold) {
+}
@@ -0,0 +1,9 @@
+package com.objects.marketbridge.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 원본 테이블에서 만든 주문 목록 행. sourceUpdatedAt 은 이 행을 이루는 원본 updated_at 중 가장 늦은 값.
+ */
+public record ProjectedOrder(Long userId, OrderHistoryView view, LocalDateTime sourceUpdatedAt) {
+}
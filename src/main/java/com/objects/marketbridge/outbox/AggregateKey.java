@@ -0,0 +1,4 @@
+package com.objects.marketbridge.outbox;
+
+public record AggregateKey(AggregateType type, String id) {
+}
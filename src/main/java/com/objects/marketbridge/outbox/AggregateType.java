@@ -0,0 +1,10 @@
+package com.objects.marketbridge.outbox;
+
+/**
+ * 아웃박스 이벤트가 가리키는 집합체 종류. 전달 순서는 (종류, id) 단위로 지킨다.
+ */
+public enum AggregateType {
+    ORDER,
+    PAYMENT,
+    DELIVERY
+}
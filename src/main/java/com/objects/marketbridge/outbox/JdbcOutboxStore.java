@@ -0,0 +1,154 @@
+package com.objects.marketbridge.outbox;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.domain.StatusCodeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcOutboxStore implements OutboxStore {
+
+    private static final String INSERT =
+            "insert into outbox_event (outbox_event_id, aggregate_type, aggregate_id, order_id, status_code, created_at, available_at, attempts) " +
+            "values (:id, :aggregateType, :aggregateId, :orderId, :statusCode, :now, :now, 0)";
+    private static final String SELECT_CLAIMABLE =
+            "select outbox_event_id from outbox_event " +
+            "where published_at is null and available_at <= :now and (lease_until is null or lease_until < :now) " +
+            "order by outbox_event_id limit :limit for update skip locked";
+    private static final String CLAIM =
+            "update outbox_event set claimed_by = :relayId, lease_until = :leaseUntil where outbox_event_id in (:ids)";
+    private static final String SELECT_BY_IDS =
+            "select outbox_event_id, aggregate_type, aggregate_id, order_id, status_code, created_at, attempts from outbox_event " +
+            "where outbox_event_id in (:ids) order by outbox_event_id";
+    private static final String SELECT_FIRST_PENDING =
+            "select aggregate_type, aggregate_id, min(outbox_event_id) as first_id from outbox_event " +
+            "where aggregate_id in (:aggregateIds) and published_at is null and (claimed_by is null or claimed_by <> :relayId) " +
+            "group by aggregate_type, aggregate_id";
+    private static final String PUBLISH =
+            "update outbox_event set published_at = :now, claimed_by = null, lease_until = null where outbox_event_id in (:ids)";
+    private static final String RELEASE =
+            "update outbox_event set claimed_by = null, lease_until = null where outbox_event_id in (:ids) and published_at is null";
+    private static final String FAIL =
+            "update outbox_event set attempts = attempts + 1, last_error = :error, available_at = :retryAt, claimed_by = null, lease_until = null " +
+            "where outbox_event_id = :id";
+    private static final String COUNT_PENDING =
+            "select count(*) from outbox_event where published_at is null";
+    private static final String OLDEST_PENDING =
+            "select min(created_at) from outbox_event where published_at is null";
+    private static final String SELECT_PURGEABLE =
+            "select outbox_event_id from outbox_event where published_at < :cutoff order by outbox_event_id limit :limit";
+    private static final String DELETE =
+            "delete from outbox_event where outbox_event_id in (:ids)";
+
+    private static final int ERROR_LENGTH = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public void append(Collection<StatusChange> changes, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Map<String, Object>[] params = changes.stream().map(change -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", idGenerator.nextId());
+            row.put("aggregateType", change.aggregateType().name());
+            row.put("aggregateId", change.aggregateId());
+            row.put("orderId", change.orderId());
+            row.put("statusCode", change.status() == null ? null : (short) change.status().getValue());
+            row.put("now", timestamp);
+            return row;
+        }).toArray(Map[]::new);
+        jdbcTemplate.batchUpdate(INSERT, params);
+    }
+
+    @Override
+    @Transactional
+    public List<StatusChangedEvent> claim(String relayId, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CLAIMABLE,
+                Map.of("now", Timestamp.valueOf(now), "limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.update(CLAIM, Map.of("relayId", relayId, "leaseUntil", Timestamp.valueOf(leaseUntil), "ids", ids));
+        return jdbcTemplate.query(SELECT_BY_IDS, Map.of("ids", ids), (rs, rowNum) -> {
+            short statusCode = rs.getShort("status_code");
+            StatusCodeType status = rs.wasNull() ? null : StatusCodeType.fromValue(statusCode);
+            return new StatusChangedEvent(
+                    rs.getLong("outbox_event_id"),
+                    AggregateType.valueOf(rs.getString("aggregate_type")),
+                    rs.getString("aggregate_id"),
+                    rs.getObject("order_id", Long.class),
+                    status,
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getInt("attempts"));
+        });
+    }
+
+    @Override
+    public Map<AggregateKey, Long> findFirstPendingNotClaimedBy(String relayId, Collection<AggregateKey> aggregates) {
+        if (aggregates.isEmpty()) {
+            return Map.of();
+        }
+        List<String> aggregateIds = aggregates.stream().map(AggregateKey::id).distinct().toList();
+        Map<AggregateKey, Long> first = new HashMap<>();
+        jdbcTemplate.query(SELECT_FIRST_PENDING, Map.of("relayId", relayId, "aggregateIds", aggregateIds), rs -> {
+            AggregateKey key = new AggregateKey(AggregateType.valueOf(rs.getString("aggregate_type")), rs.getString("aggregate_id"));
+            if (aggregates.contains(key)) {
+                first.put(key, rs.getLong("first_id"));
+            }
+        });
+        return first;
+    }
+
+    @Override
+    public void markPublished(Collection<Long> eventIds, LocalDateTime now) {
+        if (!eventIds.isEmpty()) {
+            jdbcTemplate.update(PUBLISH, Map.of("now", Timestamp.valueOf(now), "ids", eventIds));
+        }
+    }
+
+    @Override
+    public void release(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            jdbcTemplate.update(RELEASE, Map.of("ids", eventIds));
+        }
+    }
+
+    @Override
+    public void fail(long eventId, String error, LocalDateTime retryAt) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", eventId);
+        params.put("error", error == null || error.length() <= ERROR_LENGTH ? error : error.substring(0, ERROR_LENGTH));
+        params.put("retryAt", Timestamp.valueOf(retryAt));
+        jdbcTemplate.update(FAIL, params);
+    }
+
+    @Override
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING, Map.of(), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_PENDING, Map.of(), Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    @Override
+    public int deletePublishedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_PURGEABLE, Map.of("cutoff", Timestamp.valueOf(cutoff), "limit", limit), Long.class);
+        return ids.isEmpty() ? 0 : jdbcTemplate.update(DELETE, Map.of("ids", ids));
+    }
+}
@@ -0,0 +1,18 @@
+package com.objects.marketbridge.outbox;
+
+import java.time.Duration;
+
+/**
+ * 아웃박스 적체와 발행 지연.
+ *
+ * @param pending           아직 발행되지 않은 이벤트 수
+ * @param oldestPendingAge  가장 오래 기다린 미발행 이벤트의 대기 시간
+ * @param published         이 릴레이가 지금까지 발행한 이벤트 수
+ * @param failures          구독자 실패 횟수
+ * @param last              직전 폴링의 마지막 묶음에서 가장 늦게 발행된 이벤트의 지연 (생성 → 발행). 발행한 이벤트가 없으면 0
+ * @param max               지금까지의 최대 지연
+ * @param average           평균 지연
+ */
+public record OutboxLag(long pending, Duration oldestPendingAge, long published, long failures,
+                        Duration last, Duration max, Duration average) {
+}
@@ -0,0 +1,215 @@
+package com.objects.marketbridge.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 아웃박스에 쌓인 상태 변경 이벤트를 묶음으로 가져가 {@link OutboxSubscriber} 에게 전달한다.
+ * <p>
+ * 여러 인스턴스가 동시에 돌아도 되도록 행을 SKIP LOCKED 로 선점하고, 선점은 lease 가 지나면 풀린다.
+ * 같은 집합체의 이벤트는 id 순으로만 전달한다. 앞선 이벤트가 다른 릴레이에 선점돼 있거나 재시도를 기다리는 중이면
+ * 뒤 이벤트는 선점을 풀어 두고 다음 폴링에서 다시 본다. 구독자가 실패하면 그 이벤트는 지수 백오프 뒤에 다시 전달한다.
+ * 전달은 최소 한 번이므로 구독자는 {@link StatusChangedEvent#eventId()} 로 중복을 걸러야 한다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxStore outboxStore;
+    private final List<OutboxSubscriber> subscribers;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+    private final Duration lagWarnThreshold;
+    private final Clock clock;
+    private final String relayId = "relay-" + UUID.randomUUID();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long published;
+    private long failures;
+    private long totalLagMillis;
+    private Duration lastLag = Duration.ZERO;
+    private Duration maxLag = Duration.ZERO;
+
+    @Autowired
+    public OutboxRelay(OutboxStore outboxStore,
+                       List<OutboxSubscriber> subscribers,
+                       @Value("${marketbridge.outbox.batch-size:500}") int batchSize,
+                       @Value("${marketbridge.outbox.lease:30s}") Duration lease,
+                       @Value("${marketbridge.outbox.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${marketbridge.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff,
+                       @Value("${marketbridge.outbox.retention:7d}") Duration retention,
+                       @Value("${marketbridge.outbox.lag-warn-threshold:30s}") Duration lagWarnThreshold) {
+        this(outboxStore, subscribers, batchSize, lease, retryBackoff, maxRetryBackoff, retention, lagWarnThreshold, Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(OutboxStore outboxStore, List<OutboxSubscriber> subscribers, int batchSize, Duration lease,
+                Duration retryBackoff, Duration maxRetryBackoff, Duration retention, Duration lagWarnThreshold, Clock clock) {
+        this.outboxStore = outboxStore;
+        this.subscribers = List.copyOf(subscribers);
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+        this.lagWarnThreshold = lagWarnThreshold;
+        this.clock = clock;
+    }
+
+    /**
+     * 가져갈 이벤트가 없거나 한 묶음을 다 발행하지 못할 때까지 묶음 단위로 전달한다.
+     *
+     * @return 이번에 발행한 이벤트 수
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.outbox.poll-interval:500}")
+    public int relay() {
+        lock.lock();
+        try {
+            lastLag = Duration.ZERO;
+            int total = 0;
+            while (true) {
+                int[] result = relayBatch();
+                total += result[1];
+                // 선점한 것보다 적게 발행했으면 막힌 집합체가 있다는 뜻이라 같은 묶음을 다시 돌지 않는다
+                if (result[0] < batchSize || result[1] < result[0]) {
+                    break;
+                }
+            }
+            if (lastLag.compareTo(lagWarnThreshold) > 0) {
+                log.warn("outbox relay is lagging. lag={}", lastLag);
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 발행 완료 이벤트를 지운다.
+     */
+    @Scheduled(cron = "${marketbridge.outbox.purge-cron:0 15 4 * * *}")
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = outboxStore.deletePublishedBefore(cutoff, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+        return purged;
+    }
+
+    public OutboxLag lag() {
+        long pending = outboxStore.countPending();
+        LocalDateTime now = LocalDateTime.now(clock);
+        Duration oldestPendingAge = outboxStore.findOldestPendingCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, now))
+                .filter(age -> !age.isNegative())
+                .orElse(Duration.ZERO);
+        lock.lock();
+        try {
+            Duration average = published == 0 ? Duration.ZERO : Duration.ofMillis(totalLagMillis / published);
+            return new OutboxLag(pending, oldestPendingAge, published, failures, lastLag, maxLag, average);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {선점한 수, 발행한 수}
+     */
+    private int[] relayBatch() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<StatusChangedEvent> claimed = outboxStore.claim(relayId, batchSize, now, now.plus(lease));
+        if (claimed.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        Map<AggregateKey, List<StatusChangedEvent>> byAggregate = new LinkedHashMap<>();
+        claimed.forEach(event -> byAggregate.computeIfAbsent(event.aggregate(), k -> new ArrayList<>()).add(event));
+        Map<AggregateKey, Long> blockers = outboxStore.findFirstPendingNotClaimedBy(relayId, byAggregate.keySet());
+
+        List<Long> delivered = new ArrayList<>(claimed.size());
+        List<Long> held = new ArrayList<>();
+        List<StatusChangedEvent> deliveredEvents = new ArrayList<>(claimed.size());
+        byAggregate.forEach((aggregate, events) -> {
+            Long blocker = blockers.get(aggregate);
+            boolean blocked = false;
+            for (StatusChangedEvent event : events) {
+                if (blocked || (blocker != null && blocker < event.eventId())) {
+                    held.add(event.eventId());
+                    continue;
+                }
+                if (dispatch(event, now)) {
+                    delivered.add(event.eventId());
+                    deliveredEvents.add(event);
+                } else {
+                    blocked = true;
+                }
+            }
+        });
+        LocalDateTime publishedAt = LocalDateTime.now(clock);
+        outboxStore.markPublished(delivered, publishedAt);
+        outboxStore.release(held);
+        recordLag(deliveredEvents, publishedAt);
+        return new int[]{claimed.size(), delivered.size()};
+    }
+
+    private boolean dispatch(StatusChangedEvent event, LocalDateTime now) {
+        try {
+            for (OutboxSubscriber subscriber : subscribers) {
+                if (subscriber.supports(event.aggregateType())) {
+                    subscriber.onStatusChanged(event);
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            failures++;
+            LocalDateTime retryAt = now.plus(backoff(event.attempts()));
+            log.warn("outbox event delivery failed. eventId={}, aggregate={}, attempts={}, retryAt={}",
+                    event.eventId(), event.aggregate(), event.attempts() + 1, retryAt, e);
+            outboxStore.fail(event.eventId(), e.toString(), retryAt);
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private void recordLag(List<StatusChangedEvent> events, LocalDateTime publishedAt) {
+        Duration batchLag = null;
+        for (StatusChangedEvent event : events) {
+            Duration lag = Duration.between(event.occurredAt(), publishedAt);
+            if (lag.isNegative()) {
+                lag = Duration.ZERO;
+            }
+            published++;
+            totalLagMillis += lag.toMillis();
+            if (batchLag == null || lag.compareTo(batchLag) > 0) {
+                batchLag = lag;
+            }
+        }
+        if (batchLag != null) {
+            lastLag = batchLag;
+            if (batchLag.compareTo(maxLag) > 0) {
+                maxLag = batchLag;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.objects.marketbridge.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface OutboxStore {
+
+    void append(Collection<StatusChange> changes, LocalDateTime now);
+
+    /**
+     * 발행되지 않았고 다른 릴레이가 선점하지 않은 이벤트를 id 순으로 limit 개까지 선점한다.
+     * 동시에 도는 릴레이끼리는 잠긴 행을 건너뛴다 (SKIP LOCKED).
+     */
+    List<StatusChangedEvent> claim(String relayId, int limit, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * 집합체별로 relayId 가 선점하지 않은 미발행 이벤트 중 가장 앞선 id.
+     * 이보다 뒤의 이벤트는 앞 이벤트가 발행될 때까지 전달하지 않는다.
+     */
+    Map<AggregateKey, Long> findFirstPendingNotClaimedBy(String relayId, Collection<AggregateKey> aggregates);
+
+    void markPublished(Collection<Long> eventIds, LocalDateTime now);
+
+    /**
+     * 선점을 풀어 다음 폴링에서 다시 가져가게 한다.
+     */
+    void release(Collection<Long> eventIds);
+
+    void fail(long eventId, String error, LocalDateTime retryAt);
+
+    long countPending();
+
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+    int deletePublishedBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,16 @@
+package com.objects.marketbridge.outbox;
+
+/**
+ * 아웃박스 이벤트를 받는 프로세스 내 구독자. 빈으로 등록하면 {@link OutboxRelay} 가 찾아서 전달한다.
+ * <p>
+ * 전달은 최소 한 번(at-least-once)이고 집합체별로 발생 순서를 지킨다.
+ * 예외를 던지면 그 이벤트와 같은 집합체의 뒤 이벤트는 잠시 뒤에 다시 전달된다.
+ */
+public interface OutboxSubscriber {
+
+    void onStatusChanged(StatusChangedEvent event);
+
+    default boolean supports(AggregateType aggregateType) {
+        return true;
+    }
+}
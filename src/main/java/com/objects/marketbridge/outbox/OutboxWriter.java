@@ -0,0 +1,32 @@
+package com.objects.marketbridge.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 상태 변경과 같은 트랜잭션에서 아웃박스 행을 쓴다. 트랜잭션 밖에서 부르면 예외가 난다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxStore outboxStore;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(StatusChange change) {
+        append(List.of(change));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<StatusChange> changes) {
+        if (!changes.isEmpty()) {
+            outboxStore.append(changes, LocalDateTime.now());
+        }
+    }
+}
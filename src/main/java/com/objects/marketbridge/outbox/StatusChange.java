@@ -0,0 +1,24 @@
+package com.objects.marketbridge.outbox;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+/**
+ * 아웃박스에 남길 상태 변경 한 건.
+ *
+ * @param aggregateId 주문·배송은 id, 결제는 receiptId
+ * @param orderId     구독자가 주문 단위로 묶어 볼 수 있도록 함께 남기는 주문 id (모르면 null)
+ */
+public record StatusChange(AggregateType aggregateType, String aggregateId, Long orderId, StatusCodeType status) {
+
+    public static StatusChange order(Long orderId, StatusCodeType status) {
+        return new StatusChange(AggregateType.ORDER, String.valueOf(orderId), orderId, status);
+    }
+
+    public static StatusChange payment(String receiptId, Long orderId, StatusCodeType status) {
+        return new StatusChange(AggregateType.PAYMENT, receiptId, orderId, status);
+    }
+
+    public static StatusChange delivery(Long deliveryId, Long orderId, StatusCodeType status) {
+        return new StatusChange(AggregateType.DELIVERY, String.valueOf(deliveryId), orderId, status);
+    }
+}
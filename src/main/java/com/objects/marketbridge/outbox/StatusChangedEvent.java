@@ -0,0 +1,19 @@
+package com.objects.marketbridge.outbox;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구독자에게 전달되는 상태 변경 이벤트.
+ *
+ * @param eventId  아웃박스 id. 같은 이벤트가 다시 전달될 수 있으므로 구독자는 이 값으로 중복을 거른다.
+ * @param attempts 앞서 전달에 실패한 횟수
+ */
+public record StatusChangedEvent(long eventId, AggregateType aggregateType, String aggregateId, Long orderId,
+                                 StatusCodeType status, LocalDateTime occurredAt, int attempts) {
+
+    public AggregateKey aggregate() {
+        return new AggregateKey(aggregateType, aggregateId);
+    }
+}
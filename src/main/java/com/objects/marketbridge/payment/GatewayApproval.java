@@ -0,0 +1,7 @@
+package com.objects.marketbridge.payment;
+
+/**
+ * PG 승인 응답
+ */
+public record GatewayApproval(String approvalNo, boolean approved, String message) {
+}
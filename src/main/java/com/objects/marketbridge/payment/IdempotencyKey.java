@@ -0,0 +1,25 @@
+package com.objects.marketbridge.payment;
+
+/**
+ * 멱등 처리 키. 같은 receiptId 라도 작업과 구분자(콜백 상태 등)가 다르면 다른 요청이다.
+ */
+public record IdempotencyKey(PaymentOperation operation, String receiptId, String qualifier) {
+
+    public IdempotencyKey {
+        if (receiptId == null || receiptId.isBlank()) {
+            throw new IllegalArgumentException("receiptId 는 필수입니다.");
+        }
+    }
+
+    public static IdempotencyKey of(PaymentOperation operation, String receiptId) {
+        return new IdempotencyKey(operation, receiptId, null);
+    }
+
+    public static IdempotencyKey of(PaymentOperation operation, String receiptId, String qualifier) {
+        return new IdempotencyKey(operation, receiptId, qualifier);
+    }
+
+    public String value() {
+        return qualifier == null ? operation + ":" + receiptId : operation + ":" + receiptId + ":" + qualifier;
+    }
+}
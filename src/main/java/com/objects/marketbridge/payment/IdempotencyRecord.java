@@ -0,0 +1,11 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.IdempotencyState;
+
+import java.time.LocalDateTime;
+
+/**
+ * payment_idempotency 행. response 는 처리가 끝난 뒤에만 있다.
+ */
+public record IdempotencyRecord(String key, String requestHash, IdempotencyState state, String response, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,40 @@
+package com.objects.marketbridge.payment;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 결제 멱등 처리 기록(payment_idempotency) 접근 포트
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 처리 중 기록을 insert 한다. 같은 키가 이미 있으면 false.
+     */
+    boolean claim(IdempotencyKey key, String requestHash, LocalDateTime now);
+
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * updatedAt 이후로 갱신되지 않은 처리 중(CHARGED 포함) 기록을 넘겨받는다. 다른 요청이 먼저 넘겨받았으면 false.
+     */
+    boolean takeOver(String key, LocalDateTime updatedAt, String requestHash, LocalDateTime now);
+
+    /**
+     * 처리 중 기록에 PG 승인 응답을 남긴다.
+     */
+    void charge(String key, String approval, LocalDateTime now);
+
+    void complete(String key, String response, LocalDateTime now);
+
+    /**
+     * 처리하다 실패한 기록을 지워서 재시도가 다시 처리하게 한다.
+     * CHARGED 기록은 지우지 않고 lease 만 끝내서, 재시도가 승인 응답을 넘겨받아 마무리하게 한다.
+     */
+    void release(String key);
+
+    /**
+     * cutoff 전에 끝난 기록을 limit 건까지 지운다.
+     */
+    int deleteCompletedBefore(LocalDateTime cutoff, int limit);
+}
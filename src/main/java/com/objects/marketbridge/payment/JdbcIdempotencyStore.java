@@ -0,0 +1,101 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.IdempotencyState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    // lease 를 끝낸 CHARGED 기록의 updated_at
+    private static final Timestamp EXPIRED = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    private static final String INSERT =
+            "insert into payment_idempotency (idempotency_key, operation, receipt_id, request_hash, state, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT =
+            "select idempotency_key, request_hash, state, response, updated_at from payment_idempotency where idempotency_key = ?";
+    private static final String TAKE_OVER =
+            "update payment_idempotency set request_hash = ?, updated_at = ? " +
+            "where idempotency_key = ? and state in (?, ?) and updated_at = ?";
+    private static final String CHARGE =
+            "update payment_idempotency set state = ?, response = ?, updated_at = ? where idempotency_key = ? and state = ?";
+    private static final String COMPLETE =
+            "update payment_idempotency set state = ?, response = ?, updated_at = ? where idempotency_key = ?";
+    private static final String DELETE =
+            "delete from payment_idempotency where idempotency_key = ? and state = ?";
+    private static final String EXPIRE_LEASE =
+            "update payment_idempotency set updated_at = ? where idempotency_key = ? and state = ?";
+    private static final String SELECT_PURGEABLE =
+            "select idempotency_key from payment_idempotency where state = :state and updated_at < :cutoff " +
+            "order by updated_at limit :limit";
+    private static final String DELETE_KEYS =
+            "delete from payment_idempotency where idempotency_key in (:keys)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public boolean claim(IdempotencyKey key, String requestHash, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        try {
+            jdbcTemplate.update(INSERT, key.value(), key.operation().name(), key.receiptId(), requestHash,
+                    IdempotencyState.IN_PROGRESS.name(), timestamp, timestamp);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query(SELECT, (rs, rowNum) -> new IdempotencyRecord(
+                        rs.getString("idempotency_key"),
+                        rs.getString("request_hash"),
+                        IdempotencyState.valueOf(rs.getString("state")),
+                        rs.getString("response"),
+                        rs.getTimestamp("updated_at").toLocalDateTime()), key)
+                .stream().findFirst();
+    }
+
+    @Override
+    public boolean takeOver(String key, LocalDateTime updatedAt, String requestHash, LocalDateTime now) {
+        return jdbcTemplate.update(TAKE_OVER, requestHash, Timestamp.valueOf(now), key,
+                IdempotencyState.IN_PROGRESS.name(), IdempotencyState.CHARGED.name(), Timestamp.valueOf(updatedAt)) == 1;
+    }
+
+    @Override
+    public void charge(String key, String approval, LocalDateTime now) {
+        jdbcTemplate.update(CHARGE, IdempotencyState.CHARGED.name(), approval, Timestamp.valueOf(now), key,
+                IdempotencyState.IN_PROGRESS.name());
+    }
+
+    @Override
+    public void complete(String key, String response, LocalDateTime now) {
+        jdbcTemplate.update(COMPLETE, IdempotencyState.COMPLETED.name(), response, Timestamp.valueOf(now), key);
+    }
+
+    @Override
+    public void release(String key) {
+        if (jdbcTemplate.update(DELETE, key, IdempotencyState.IN_PROGRESS.name()) == 0) {
+            jdbcTemplate.update(EXPIRE_LEASE, EXPIRED, key, IdempotencyState.CHARGED.name());
+        }
+    }
+
+    @Override
+    public int deleteCompletedBefore(LocalDateTime cutoff, int limit) {
+        List<String> keys = namedJdbcTemplate.queryForList(SELECT_PURGEABLE, Map.of(
+                "state", IdempotencyState.COMPLETED.name(), "cutoff", Timestamp.valueOf(cutoff), "limit", limit), String.class);
+        return keys.isEmpty() ? 0 : namedJdbcTemplate.update(DELETE_KEYS, Map.of("keys", keys));
+    }
+}
@@ -0,0 +1,84 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import com.objects.marketbridge.outbox.StatusChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcPaymentStore implements PaymentStore {
+
+    private static final String SELECT =
+            "select order_id, receipt_id, pay_method, pay_num, pg, status from payment " +
+            "where receipt_id = :receiptId and deleted_at is null";
+    private static final String INSERT =
+            "insert into payment (payment_id, order_id, receipt_id, pay_method, pay_num, pg, status, created_at, updated_at) " +
+            "values (:paymentId, :orderId, :receiptId, :payMethod, :payNum, :pg, :status, :now, :now)";
+    private static final String TRANSITION =
+            "update payment set status = :to, updated_at = :now " +
+            "where receipt_id = :receiptId and status in (:from) and deleted_at is null";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+    private final OutboxWriter outboxWriter;
+
+    @Override
+    public Optional<PaymentRow> findByReceiptId(String receiptId) {
+        return jdbcTemplate.query(SELECT, Map.of("receiptId", receiptId), (rs, rowNum) -> new PaymentRow(
+                        rs.getString("receipt_id"),
+                        rs.getObject("order_id", Long.class),
+                        rs.getString("pay_method") == null ? null : PayMethod.valueOf(rs.getString("pay_method")),
+                        rs.getString("pay_num"),
+                        rs.getString("pg"),
+                        StatusCodeType.valueOf(rs.getString("status"))))
+                .stream().findFirst();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void insert(PaymentRow payment) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("paymentId", idGenerator.nextId());
+        params.put("orderId", payment.orderId());
+        params.put("receiptId", payment.receiptId());
+        params.put("payMethod", payment.payMethod() == null ? null : payment.payMethod().name());
+        params.put("payNum", payment.payNum());
+        params.put("pg", payment.pg());
+        params.put("status", payment.status().name());
+        params.put("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(INSERT, params);
+        outboxWriter.append(StatusChange.payment(payment.receiptId(), payment.orderId(), payment.status()));
+    }
+
+    @Override
+    @Transactional
+    public boolean transition(String receiptId, Collection<StatusCodeType> from, StatusCodeType to) {
+        if (from.isEmpty()) {
+            return false;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("receiptId", receiptId);
+        params.put("from", from.stream().map(StatusCodeType::name).toList());
+        params.put("to", to.name());
+        params.put("now", Timestamp.valueOf(LocalDateTime.now()));
+        if (jdbcTemplate.update(TRANSITION, params) != 1) {
+            return false;
+        }
+        outboxWriter.append(StatusChange.payment(receiptId, null, to));
+        return true;
+    }
+}
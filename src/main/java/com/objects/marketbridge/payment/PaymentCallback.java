@@ -0,0 +1,13 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+/**
+ * PG 가 보내는 결제 상태 알림. 같은 알림이 여러 번, 순서가 뒤바뀌어 올 수 있다.
+ */
+public record PaymentCallback(String receiptId, Long orderId, StatusCodeType status, String approvalNo) {
+
+    public String requestHash() {
+        return PaymentHashes.sha256(orderId + "|" + status + "|" + approvalNo);
+    }
+}
@@ -0,0 +1,16 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.PayMethod;
+
+/**
+ * 결제 생성 요청. 같은 receiptId 로 다시 보내면 처음 응답을 그대로 받는다.
+ */
+public record PaymentCommand(String receiptId, Long orderId, long amount, PayMethod payMethod, String payNum, String pg) {
+
+    /**
+     * 같은 receiptId 로 내용이 다른 요청이 들어왔는지 가리는 값
+     */
+    public String requestHash() {
+        return PaymentHashes.sha256(orderId + "|" + amount + "|" + payMethod + "|" + payNum + "|" + pg);
+    }
+}
@@ -0,0 +1,14 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.PayMethod;
+
+/**
+ * 결제 대행사(PG) 승인 요청 포트. receiptId 를 PG 쪽 멱등 키로 넘긴다.
+ */
+public interface PaymentGateway {
+
+    /**
+     * 승인을 요청한다. 응답을 받지 못하면 예외가 나며, 이때 PG 에서는 승인이 됐을 수도 있다.
+     */
+    GatewayApproval approve(String receiptId, long amount, PayMethod payMethod, String payNum);
+}
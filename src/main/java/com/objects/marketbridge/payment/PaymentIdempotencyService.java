@@ -0,0 +1,175 @@
+package com.objects.marketbridge.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.objects.marketbridge.domain.IdempotencyState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 결제 요청을 키당 한 번만 처리하고, 중복 요청에는 저장해 둔 응답을 돌려준다.
+ * <p>
+ * 최근에 끝난 응답은 노드 로컬 LRU 에 두어 재시도/중복 콜백이 DB 를 조회하지 않게 한다.
+ * 캐시에 없으면 payment_idempotency 에 처리 중 기록을 insert 해서 먼저 넣은 요청만 처리하고,
+ * 나머지는 저장된 응답을 받거나 처리 중 응답을 받는다. 처리가 예외로 끝나면 기록을 지워 재시도가 다시 처리하게 하며,
+ * lease 보다 오래 처리 중인 기록은 죽은 요청으로 보고 넘겨받는다.
+ * <p>
+ * PG 승인을 받으면 {@link #charged} 로 승인 응답을 남긴다. 그 뒤에 실패하거나 죽은 요청을 넘겨받은 요청은
+ * PG 를 다시 부르지 않고 남겨 둔 승인으로 마무리한다. 승인 응답을 남기기 전에 죽었거나 응답을 받지 못한 요청의 재처리는
+ * PG 를 다시 부르며, 이때 이중 청구를 막는 것은 PG 쪽 멱등 키(receiptId)다.
+ * 끝난 기록은 retention 이 지나면 지운다. 그 뒤에 온 재시도는 결제 행의 상태로 걸러진다.
+ */
+@Slf4j
+@Service
+public class PaymentIdempotencyService {
+
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    private static final int PURGE_BATCH_SIZE = 1_000;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+    private final Duration retention;
+    private final Clock clock;
+    private final Cache<String, IdempotencyRecord> recent;
+
+    @Autowired
+    public PaymentIdempotencyService(IdempotencyStore idempotencyStore,
+                                     ObjectMapper objectMapper,
+                                     @Value("${marketbridge.payment.idempotency-cache-size:100000}") long cacheSize,
+                                     @Value("${marketbridge.payment.idempotency-cache-ttl:10m}") Duration cacheTtl,
+                                     @Value("${marketbridge.payment.idempotency-lease:30s}") Duration lease,
+                                     @Value("${marketbridge.payment.idempotency-retention:7d}") Duration retention) {
+        this(idempotencyStore, objectMapper, cacheSize, cacheTtl, lease, retention, Clock.systemDefaultZone());
+    }
+
+    PaymentIdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper, long cacheSize, Duration cacheTtl,
+                              Duration lease, Duration retention, Clock clock) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.retention = retention;
+        this.clock = clock;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public PaymentResult execute(IdempotencyKey key, String requestHash, Supplier<PaymentResult> action) {
+        return execute(key, requestHash, charged -> action.get());
+    }
+
+    /**
+     * action 은 앞선 요청이 남긴 PG 승인 응답을 받는다. 처음 처리하거나 승인 전에 끝난 요청을 넘겨받았으면 빈 값이다.
+     */
+    public PaymentResult execute(IdempotencyKey key, String requestHash, Function<Optional<GatewayApproval>, PaymentResult> action) {
+        IdempotencyRecord cached = recent.getIfPresent(key.value());
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            if (idempotencyStore.claim(key, requestHash, now)) {
+                return process(key, requestHash, action, Optional.empty());
+            }
+            Optional<IdempotencyRecord> existing = idempotencyStore.find(key.value());
+            if (existing.isEmpty()) {
+                // 앞선 요청이 실패해서 기록을 지웠다. 다시 선점해 본다.
+                continue;
+            }
+            IdempotencyRecord record = existing.get();
+            if (record.state() == IdempotencyState.COMPLETED) {
+                recent.put(key.value(), record);
+                return replay(record, requestHash);
+            }
+            if (record.updatedAt().isAfter(now.minus(lease))
+                    || !idempotencyStore.takeOver(key.value(), record.updatedAt(), requestHash, now)) {
+                return PaymentResult.inProgress(key.receiptId());
+            }
+            log.warn("stale payment idempotency claim taken over. key={}, state={}, claimedAt={}", key.value(), record.state(), record.updatedAt());
+            return process(key, requestHash, action, charged(record));
+        }
+        return PaymentResult.inProgress(key.receiptId());
+    }
+
+    /**
+     * 선점한 키에 PG 승인 응답을 남긴다. 이 요청이 실패해도 재처리는 PG 를 다시 부르지 않는다.
+     */
+    public void charged(IdempotencyKey key, GatewayApproval approval) {
+        idempotencyStore.charge(key.value(), write(approval), LocalDateTime.now(clock));
+    }
+
+    /**
+     * 보존 기간이 지난 끝난 기록을 지운다.
+     */
+    @Scheduled(cron = "${marketbridge.payment.idempotency-purge-cron:0 45 4 * * *}")
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = idempotencyStore.deleteCompletedBefore(cutoff, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return purged;
+    }
+
+    private PaymentResult process(IdempotencyKey key, String requestHash, Function<Optional<GatewayApproval>, PaymentResult> action,
+                                  Optional<GatewayApproval> charged) {
+        PaymentResult result;
+        try {
+            result = action.apply(charged);
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key.value());
+            throw e;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        String response = write(result);
+        idempotencyStore.complete(key.value(), response, now);
+        recent.put(key.value(), new IdempotencyRecord(key.value(), requestHash, IdempotencyState.COMPLETED, response, now));
+        return result;
+    }
+
+    private PaymentResult replay(IdempotencyRecord record, String requestHash) {
+        if (!record.requestHash().equals(requestHash)) {
+            throw new IllegalStateException("같은 결제 키로 내용이 다른 요청이 들어왔습니다. key=" + record.key());
+        }
+        try {
+            return objectMapper.readValue(record.response(), PaymentResult.class).replayed();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 결제 응답을 읽지 못했습니다. key=" + record.key(), e);
+        }
+    }
+
+    private Optional<GatewayApproval> charged(IdempotencyRecord record) {
+        if (record.state() != IdempotencyState.CHARGED) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(record.response(), GatewayApproval.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 PG 승인 응답을 읽지 못했습니다. key=" + record.key(), e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
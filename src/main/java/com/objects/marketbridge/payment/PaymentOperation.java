@@ -0,0 +1,11 @@
+package com.objects.marketbridge.payment;
+
+/**
+ * 멱등 처리 대상 결제 작업
+ */
+public enum PaymentOperation {
+    // 결제 생성 (클라이언트 요청, 재시도)
+    CREATE,
+    // 결제 확인 (PG 콜백, 중복/역순 도착)
+    CONFIRM
+}
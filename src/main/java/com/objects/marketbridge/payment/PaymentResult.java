@@ -0,0 +1,30 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+/**
+ * 결제 생성/확인 응답. 처음 처리한 응답이 멱등 기록에 저장되고, 중복 요청에는 outcome 만 REPLAYED 로 바꿔 돌려준다.
+ */
+public record PaymentResult(String receiptId, Long orderId, StatusCodeType status, String message, Outcome outcome) {
+
+    public enum Outcome {
+        // 이번 요청이 처리했다
+        PROCESSED,
+        // 앞서 처리한 응답을 다시 돌려준다
+        REPLAYED,
+        // 같은 요청을 다른 곳에서 처리하고 있다. 잠시 뒤 다시 보내야 한다.
+        IN_PROGRESS
+    }
+
+    static PaymentResult of(PaymentRow payment, String message) {
+        return new PaymentResult(payment.receiptId(), payment.orderId(), payment.status(), message, Outcome.PROCESSED);
+    }
+
+    static PaymentResult inProgress(String receiptId) {
+        return new PaymentResult(receiptId, null, null, "처리 중인 결제입니다.", Outcome.IN_PROGRESS);
+    }
+
+    PaymentResult replayed() {
+        return new PaymentResult(receiptId, orderId, status, message, Outcome.REPLAYED);
+    }
+}
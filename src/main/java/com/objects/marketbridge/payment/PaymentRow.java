@@ -0,0 +1,10 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+
+/**
+ * payment 행. 콜백이 먼저 와서 만든 행은 결제 수단 정보가 비어 있다.
+ */
+public record PaymentRow(String receiptId, Long orderId, PayMethod payMethod, String payNum, String pg, StatusCodeType status) {
+}
@@ -0,0 +1,102 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 결제 생성과 PG 콜백 처리. 둘 다 {@link PaymentIdempotencyService} 를 거쳐 receiptId 당 한 번만 처리된다.
+ * <p>
+ * 콜백은 결제 생성보다 먼저 오거나 순서가 뒤바뀌어 올 수 있어서, 상태는 정해진 앞 단계에서만 바꾼다.
+ * 결제완료/결제실패 뒤에 도착한 결제대기 콜백은 무시하고, 콜백으로 이미 결론이 난 결제는 다시 청구하지 않는다.
+ * PG 승인을 받으면 결제 상태를 바꾸기 전에 멱등 기록에 남겨서, 그 뒤에 실패한 요청의 재처리가 PG 를 다시 부르지 않게 한다.
+ * PG 응답을 받지 못한 요청의 재처리는 PG 를 다시 부르므로, 이중 청구는 PG 가 receiptId 를 멱등 키로 걸러 준다는 데 기댄다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentService {
+
+    // 상태별로 바뀌기 전에 있을 수 있는 상태
+    private static final Map<StatusCodeType, Set<StatusCodeType>> PREVIOUS = new EnumMap<>(Map.of(
+            StatusCodeType.PAYMENT_PENDING, EnumSet.noneOf(StatusCodeType.class),
+            StatusCodeType.PAYMENT_COMPLETED, EnumSet.of(StatusCodeType.PAYMENT_PENDING),
+            StatusCodeType.PAYMENT_FAILURE, EnumSet.of(StatusCodeType.PAYMENT_PENDING),
+            StatusCodeType.PAYMENT_CANCEL, EnumSet.of(StatusCodeType.PAYMENT_PENDING, StatusCodeType.PAYMENT_COMPLETED)));
+
+    private final PaymentStore paymentStore;
+    private final PaymentGateway paymentGateway;
+    private final PaymentIdempotencyService idempotencyService;
+
+    public PaymentResult create(PaymentCommand command) {
+        if (command.orderId() == null || command.payMethod() == null) {
+            throw new IllegalArgumentException("주문과 결제 수단은 필수입니다.");
+        }
+        IdempotencyKey key = IdempotencyKey.of(PaymentOperation.CREATE, command.receiptId());
+        return idempotencyService.execute(key, command.requestHash(), charged -> doCreate(command, key, charged));
+    }
+
+    public PaymentResult confirm(PaymentCallback callback) {
+        if (!PREVIOUS.containsKey(callback.status())) {
+            throw new IllegalArgumentException("결제 상태가 아닙니다. status=" + callback.status());
+        }
+        return idempotencyService.execute(IdempotencyKey.of(PaymentOperation.CONFIRM, callback.receiptId(), callback.status().getCode()),
+                callback.requestHash(), () -> doConfirm(callback));
+    }
+
+    private PaymentResult doCreate(PaymentCommand command, IdempotencyKey key, Optional<GatewayApproval> charged) {
+        insertIfAbsent(new PaymentRow(command.receiptId(), command.orderId(), command.payMethod(),
+                command.payNum(), command.pg(), StatusCodeType.PAYMENT_PENDING));
+        PaymentRow current = find(command.receiptId());
+        if (current.status() != StatusCodeType.PAYMENT_PENDING) {
+            return PaymentResult.of(current, "이미 처리된 결제입니다.");
+        }
+        GatewayApproval approval = charged.orElseGet(() -> approve(command, key));
+        transition(command.receiptId(), approval.approved() ? StatusCodeType.PAYMENT_COMPLETED : StatusCodeType.PAYMENT_FAILURE);
+        return PaymentResult.of(find(command.receiptId()), approval.message());
+    }
+
+    private PaymentResult doConfirm(PaymentCallback callback) {
+        boolean inserted = insertIfAbsent(new PaymentRow(callback.receiptId(), callback.orderId(), null, null, null,
+                callback.status()));
+        if (!inserted) {
+            transition(callback.receiptId(), callback.status());
+        }
+        return PaymentResult.of(find(callback.receiptId()), null);
+    }
+
+    private GatewayApproval approve(PaymentCommand command, IdempotencyKey key) {
+        GatewayApproval approval = paymentGateway.approve(command.receiptId(), command.amount(), command.payMethod(), command.payNum());
+        if (approval.approved()) {
+            idempotencyService.charged(key, approval);
+        }
+        return approval;
+    }
+
+    /**
+     * @return 같은 receiptId 의 결제가 이미 있으면 false
+     */
+    private boolean insertIfAbsent(PaymentRow payment) {
+        try {
+            paymentStore.insert(payment);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void transition(String receiptId, StatusCodeType to) {
+        paymentStore.transition(receiptId, PREVIOUS.get(to), to);
+    }
+
+    private PaymentRow find(String receiptId) {
+        return paymentStore.findByReceiptId(receiptId)
+                .orElseThrow(() -> new IllegalStateException("결제가 없습니다. receiptId=" + receiptId));
+    }
+}
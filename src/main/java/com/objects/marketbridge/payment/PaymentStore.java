@@ -0,0 +1,25 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 결제 처리에서 쓰는 payment 테이블 접근 포트. receipt_id 는 unique 이다.
+ */
+public interface PaymentStore {
+
+    Optional<PaymentRow> findByReceiptId(String receiptId);
+
+    /**
+     * 같은 receiptId 의 결제가 이미 있으면 DuplicateKeyException 이 난다.
+     * 중복 키 오류는 PostgreSQL 에서 트랜잭션을 깨므로, 부르는 쪽 트랜잭션과 따로 새 트랜잭션에서 넣는다.
+     */
+    void insert(PaymentRow payment);
+
+    /**
+     * 현재 상태가 from 중 하나일 때만 to 로 바꾼다.
+     */
+    boolean transition(String receiptId, Collection<StatusCodeType> from, StatusCodeType to);
+}
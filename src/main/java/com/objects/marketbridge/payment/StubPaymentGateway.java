@@ -0,0 +1,119 @@
+package com.objects.marketbridge.payment;
+
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실제 PG 연동 전까지 쓰는 로컬 PG 스텁.
+ * <p>
+ * receiptId 당 한 번만 청구하고, 같은 receiptId 로 다시 오면 처음 승인 결과를 돌려준다.
+ * 설정한 비율로 청구한 뒤 응답을 잃어버려(예외) 클라이언트 재시도를 만들고,
+ * 청구할 때마다 결제대기/결제완료 콜백을 쌓아 두되 설정한 비율로 중복시킨다.
+ * {@link #drainCallbacks()} 는 쌓인 콜백을 섞어서 꺼내므로 역순 도착도 재현된다.
+ */
+@Component
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final double lostResponseRate;
+    private final double duplicateCallbackRate;
+    private final Random random;
+
+    private final Map<String, GatewayApproval> approvals = new ConcurrentHashMap<>();
+    private final Map<String, Long> orderIds = new ConcurrentHashMap<>();
+    private final List<PaymentCallback> callbacks = new ArrayList<>();
+    private final AtomicLong approveCalls = new AtomicLong();
+    private final AtomicLong approvalSequence = new AtomicLong();
+
+    @Autowired
+    public StubPaymentGateway(@Value("${marketbridge.payment.stub.lost-response-rate:0}") double lostResponseRate,
+                              @Value("${marketbridge.payment.stub.duplicate-callback-rate:0}") double duplicateCallbackRate) {
+        this(lostResponseRate, duplicateCallbackRate, new Random());
+    }
+
+    StubPaymentGateway(double lostResponseRate, double duplicateCallbackRate, Random random) {
+        this.lostResponseRate = lostResponseRate;
+        this.duplicateCallbackRate = duplicateCallbackRate;
+        this.random = random;
+    }
+
+    /**
+     * 콜백에 실어 보낼 주문 번호를 알려 둔다. 실제 PG 는 결제 요청 때 받은 값을 돌려준다.
+     */
+    public void registerOrder(String receiptId, Long orderId) {
+        orderIds.put(receiptId, orderId);
+    }
+
+    @Override
+    public GatewayApproval approve(String receiptId, long amount, PayMethod payMethod, String payNum) {
+        approveCalls.incrementAndGet();
+        GatewayApproval approval = approvals.computeIfAbsent(receiptId, key -> {
+            GatewayApproval charged = new GatewayApproval("APV-" + approvalSequence.incrementAndGet(), amount > 0,
+                    amount > 0 ? "승인" : "결제 금액이 잘못되었습니다.");
+            enqueueCallbacks(receiptId, charged);
+            return charged;
+        });
+        if (nextDouble() < lostResponseRate) {
+            throw new IllegalStateException("PG 응답을 받지 못했습니다. receiptId=" + receiptId);
+        }
+        return approval;
+    }
+
+    /**
+     * 쌓인 콜백을 섞어서 모두 꺼낸다.
+     */
+    public List<PaymentCallback> drainCallbacks() {
+        synchronized (callbacks) {
+            List<PaymentCallback> drained = new ArrayList<>(callbacks);
+            callbacks.clear();
+            synchronized (random) {
+                Collections.shuffle(drained, random);
+            }
+            return drained;
+        }
+    }
+
+    /**
+     * 실제로 청구한 receiptId 수
+     */
+    public int chargedCount() {
+        return approvals.size();
+    }
+
+    /**
+     * 승인 요청을 받은 횟수 (중복 포함)
+     */
+    public long approveCalls() {
+        return approveCalls.get();
+    }
+
+    private void enqueueCallbacks(String receiptId, GatewayApproval approval) {
+        Long orderId = orderIds.get(receiptId);
+        StatusCodeType result = approval.approved() ? StatusCodeType.PAYMENT_COMPLETED : StatusCodeType.PAYMENT_FAILURE;
+        List<PaymentCallback> created = new ArrayList<>();
+        created.add(new PaymentCallback(receiptId, orderId, StatusCodeType.PAYMENT_PENDING, null));
+        created.add(new PaymentCallback(receiptId, orderId, result, approval.approvalNo()));
+        if (nextDouble() < duplicateCallbackRate) {
+            created.add(new PaymentCallback(receiptId, orderId, result, approval.approvalNo()));
+        }
+        synchronized (callbacks) {
+            callbacks.addAll(created);
+        }
+    }
+
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+}
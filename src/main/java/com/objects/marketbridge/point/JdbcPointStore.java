@@ -0,0 +1,123 @@
+package com.objects.marketbridge.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcPointStore implements PointStore {
+
+    private static final String SELECT_SNAPSHOT =
+            "select balance, last_created_at, last_point_id from point_balance where user_id = ?";
+    // Snowflake id 는 노드마다 따로 늘어나므로 (created_at, point_id) 순서로 이어 읽는다
+    private static final String SELECT_ENTRIES_AFTER =
+            "select point_id, order_id, in_point, out_point, balance, comments, created_at from point " +
+            "where user_id = ? and (created_at > ? or (created_at = ? and point_id > ?)) order by created_at, point_id";
+    private static final String INSERT_ENTRY =
+            "insert into point (point_id, user_id, order_id, in_point, out_point, balance, comments, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SNAPSHOT =
+            "update point_balance set balance = ?, last_created_at = ?, last_point_id = ?, updated_at = ? " +
+            "where user_id = ? and (last_created_at < ? or (last_created_at = ? and last_point_id <= ?))";
+    private static final String INSERT_SNAPSHOT =
+            "insert into point_balance (user_id, balance, last_created_at, last_point_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<PointSnapshot> findSnapshot(Long userId) {
+        return jdbcTemplate.query(SELECT_SNAPSHOT,
+                        (rs, rowNum) -> new PointSnapshot(userId, rs.getLong("balance"),
+                                rs.getTimestamp("last_created_at").toLocalDateTime(), rs.getLong("last_point_id")), userId)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<PointEntry> findEntriesAfter(Long userId, LocalDateTime afterCreatedAt, long afterPointId) {
+        Timestamp after = Timestamp.valueOf(afterCreatedAt);
+        return jdbcTemplate.query(SELECT_ENTRIES_AFTER, (rs, rowNum) -> new PointEntry(
+                rs.getLong("point_id"), userId, rs.getObject("order_id", Long.class),
+                rs.getInt("in_point"), rs.getInt("out_point"), rs.getLong("balance"), rs.getString("comments"),
+                rs.getTimestamp("created_at").toLocalDateTime()),
+                userId, after, after, afterPointId);
+    }
+
+    @Override
+    public void append(PointEntry entry) {
+        jdbcTemplate.update(INSERT_ENTRY, ps -> bindEntry(ps, entry));
+    }
+
+    @Override
+    public void appendAll(Collection<PointEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<PointEntry> list = List.copyOf(entries);
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, list, list.size(), JdbcPointStore::bindEntry);
+    }
+
+    /**
+     * 있는 행은 update, 없는 행은 insert 한다. 더 최신 스냅샷이 이미 있으면 덮어쓰지 않는다.
+     */
+    @Override
+    @Transactional
+    public void saveSnapshots(Collection<PointSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<PointSnapshot> list = List.copyOf(snapshots);
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SNAPSHOT, list, list.size(), (ps, snapshot) -> {
+            Timestamp lastCreatedAt = Timestamp.valueOf(snapshot.lastCreatedAt());
+            ps.setLong(1, snapshot.balance());
+            ps.setTimestamp(2, lastCreatedAt);
+            ps.setLong(3, snapshot.lastPointId());
+            ps.setTimestamp(4, now);
+            ps.setLong(5, snapshot.userId());
+            ps.setTimestamp(6, lastCreatedAt);
+            ps.setTimestamp(7, lastCreatedAt);
+            ps.setLong(8, snapshot.lastPointId());
+        });
+        List<PointSnapshot> missing = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            if (counts[0][i] == 0 && findSnapshot(list.get(i).userId()).isEmpty()) {
+                missing.add(list.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, missing, missing.size(), (ps, snapshot) -> {
+                ps.setLong(1, snapshot.userId());
+                ps.setLong(2, snapshot.balance());
+                ps.setTimestamp(3, Timestamp.valueOf(snapshot.lastCreatedAt()));
+                ps.setLong(4, snapshot.lastPointId());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            });
+        }
+    }
+
+    private static void bindEntry(PreparedStatement ps, PointEntry entry) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(entry.createdAt());
+        ps.setLong(1, entry.pointId());
+        ps.setLong(2, entry.userId());
+        ps.setObject(3, entry.orderId(), Types.BIGINT);
+        ps.setInt(4, entry.inPoint());
+        ps.setInt(5, entry.outPoint());
+        ps.setLong(6, entry.balance());
+        ps.setString(7, entry.comments());
+        ps.setTimestamp(8, createdAt);
+        ps.setTimestamp(9, createdAt);
+    }
+}
@@ -0,0 +1,22 @@
+package com.objects.marketbridge.point;
+
+import java.time.LocalDateTime;
+
+/**
+ * point 테이블의 한 행. balance 는 이 행을 반영한 뒤의 잔액이다.
+ */
+public record PointEntry(Long pointId, Long userId, Long orderId, int inPoint, int outPoint, long balance, String comments,
+                         LocalDateTime createdAt) {
+
+    public int amount() {
+        return inPoint - outPoint;
+    }
+
+    /**
+     * (createdAt, pointId) 순서로 other 보다 뒤인지. Snowflake id 는 노드마다 따로 늘어나므로 시각을 먼저 본다.
+     */
+    public boolean isAfter(LocalDateTime otherCreatedAt, long otherPointId) {
+        int byTime = createdAt.compareTo(otherCreatedAt);
+        return byTime > 0 || byTime == 0 && pointId > otherPointId;
+    }
+}
@@ -0,0 +1,259 @@
+package com.objects.marketbridge.point;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * append-only 포인트 원장.
+ * <p>
+ * 같은 사용자의 적립/사용은 사용자 id 로 고른 stripe 락 안에서 차례로 처리하므로 잔액 경쟁이 없다.
+ * 잔액은 메모리에 두고 바로 돌려주며, 처음 읽을 때만 point_balance 스냅샷 + 그 뒤 point 행으로 계산한다.
+ * 바뀐 잔액은 {@link #snapshot()} 에서 주기적으로 point_balance 에 기록한다.
+ * 적재된 사용자의 잔액은 이 서비스가 기준이므로, point 테이블은 이 서비스가 만든 행으로만 써야 한다.
+ * <p>
+ * 주문처럼 다른 행과 한 트랜잭션으로 묶어야 하면 {@link #hold} 로 잔액만 먼저 잡고,
+ * 호출한 쪽이 그 행을 자기 트랜잭션에서 insert 한 뒤 결과에 따라 {@link #confirm} 이나 {@link #release} 를 부른다.
+ */
+@Slf4j
+@Service
+public class PointLedgerService {
+
+    private final PointStore pointStore;
+    private final IdGenerator idGenerator;
+    private final ReentrantLock[] stripes;
+
+    private final Map<Long, UserBalance> balances = new ConcurrentHashMap<>();
+
+    public PointLedgerService(PointStore pointStore,
+                              IdGenerator idGenerator,
+                              @Value("${marketbridge.point.lock-stripes:1024}") int lockStripes) {
+        this.pointStore = pointStore;
+        this.idGenerator = idGenerator;
+        // 2의 거듭제곱으로 올려서 비트 마스크로 stripe 를 고른다
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public long balance(Long userId) {
+        UserBalance balance = balances.get(userId);
+        if (balance != null) {
+            return balance.available;
+        }
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            return load(userId).available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public PointEntry earn(Long userId, int amount, Long orderId, String comments) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("적립 포인트는 1 이상이어야 합니다. amount=" + amount);
+        }
+        return append(userId, amount, 0, orderId, comments).orElseThrow();
+    }
+
+    /**
+     * 잔액이 충분하면 포인트를 쓴다. 잔액이 모자라면 빈 값을 돌려준다.
+     */
+    public Optional<PointEntry> spend(Long userId, int amount, Long orderId, String comments) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("사용 포인트는 1 이상이어야 합니다. amount=" + amount);
+        }
+        return append(userId, 0, amount, orderId, comments);
+    }
+
+    /**
+     * 잔액이 충분하면 메모리의 쓸 수 있는 잔액만 먼저 차감하고 insert 할 point 행을 돌려준다. 이 메서드는 DB 에 쓰지 않는다.
+     * 행의 balance 는 지금까지 커밋된 잔액에서 뺀 값이다.
+     * 행을 커밋했으면 {@link #confirm}, 못 했으면 {@link #release} 를 반드시 불러야 한다.
+     */
+    public Optional<PointEntry> hold(Long userId, int amount, Long orderId, String comments) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("사용 포인트는 1 이상이어야 합니다. amount=" + amount);
+        }
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            UserBalance balance = load(userId);
+            if (balance.available < amount) {
+                return Optional.empty();
+            }
+            PointEntry entry = newEntry(userId, 0, amount, balance.committed - amount, orderId, comments);
+            balance.available -= amount;
+            balance.pending++;
+            return Optional.of(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * hold 한 행이 커밋되었다.
+     */
+    public void confirm(PointEntry held) {
+        ReentrantLock lock = stripe(held.userId());
+        lock.lock();
+        try {
+            UserBalance balance = balances.get(held.userId());
+            balance.pending--;
+            balance.committed += held.amount();
+            balance.advance(held);
+            balance.dirty = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * hold 한 행을 커밋하지 못했다. 차감한 잔액을 되돌린다.
+     */
+    public void release(PointEntry held) {
+        ReentrantLock lock = stripe(held.userId());
+        lock.lock();
+        try {
+            UserBalance balance = balances.get(held.userId());
+            balance.pending--;
+            balance.available -= held.amount();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 스냅샷 이후 바뀐 잔액을 point_balance 에 기록한다.
+     * 커밋 여부를 모르는 hold 가 남은 사용자는 다음 주기로 미룬다.
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.point.snapshot-interval:5000}")
+    public int snapshot() {
+        List<PointSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<Long, UserBalance> entry : balances.entrySet()) {
+            UserBalance balance = entry.getValue();
+            if (!balance.dirty) {
+                continue;
+            }
+            ReentrantLock lock = stripe(entry.getKey());
+            lock.lock();
+            try {
+                if (balance.pending > 0) {
+                    continue;
+                }
+                snapshots.add(new PointSnapshot(entry.getKey(), balance.committed, balance.lastCreatedAt, balance.lastPointId));
+                balance.dirty = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        try {
+            pointStore.saveSnapshots(snapshots);
+            return snapshots.size();
+        } catch (RuntimeException e) {
+            snapshots.forEach(snapshot -> balances.get(snapshot.userId()).dirty = true);
+            log.warn("point snapshot failed, {} users will be retried", snapshots.size(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private Optional<PointEntry> append(Long userId, int inPoint, int outPoint, Long orderId, String comments) {
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            UserBalance balance = load(userId);
+            if (balance.available + inPoint - outPoint < 0) {
+                return Optional.empty();
+            }
+            // 행의 balance 는 커밋된 잔액으로 쓴다. 아직 결과를 모르는 hold 차감은 넣지 않는다
+            PointEntry entry = newEntry(userId, inPoint, outPoint, balance.committed + inPoint - outPoint, orderId, comments);
+            pointStore.append(entry);
+            balance.committed = entry.balance();
+            balance.available += entry.amount();
+            balance.advance(entry);
+            balance.dirty = true;
+            return Optional.of(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // stripe 락을 잡은 상태에서 호출한다
+    private UserBalance load(Long userId) {
+        UserBalance cached = balances.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        PointSnapshot snapshot = pointStore.findSnapshot(userId).orElse(PointSnapshot.empty(userId));
+        UserBalance balance = new UserBalance(snapshot.balance(), snapshot.lastCreatedAt(), snapshot.lastPointId());
+        for (PointEntry entry : pointStore.findEntriesAfter(userId, snapshot.lastCreatedAt(), snapshot.lastPointId())) {
+            balance.committed += entry.amount();
+            balance.available += entry.amount();
+            balance.advance(entry);
+            balance.dirty = true;
+        }
+        balances.put(userId, balance);
+        return balance;
+    }
+
+    private PointEntry newEntry(Long userId, int inPoint, int outPoint, long next, Long orderId, String comments) {
+        // DB timestamp 정밀도에 맞춰 잘라야 메모리 커서와 DB 의 (created_at, point_id) 가 같다
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return new PointEntry(idGenerator.nextId(), userId, orderId, inPoint, outPoint, next, comments, createdAt);
+    }
+
+    private ReentrantLock stripe(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & (stripes.length - 1)];
+    }
+
+    static final class UserBalance {
+
+        // 커밋된 point 행의 합. point.balance 와 스냅샷에 쓴다
+        private long committed;
+        // committed 에서 결과를 기다리는 hold 를 뺀 값. 쓰기는 stripe 락 안에서만 하고, 읽기는 락 없이 한다
+        private volatile long available;
+        private LocalDateTime lastCreatedAt;
+        private long lastPointId;
+        private volatile boolean dirty;
+        // 커밋 결과를 기다리는 hold 수
+        private int pending;
+
+        UserBalance(long balance, LocalDateTime lastCreatedAt, long lastPointId) {
+            this.committed = balance;
+            this.available = balance;
+            this.lastCreatedAt = lastCreatedAt;
+            this.lastPointId = lastPointId;
+        }
+
+        void advance(PointEntry entry) {
+            if (entry.isAfter(lastCreatedAt, lastPointId)) {
+                lastCreatedAt = entry.createdAt();
+                lastPointId = entry.pointId();
+            }
+        }
+    }
+}
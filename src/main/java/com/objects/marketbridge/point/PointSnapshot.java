@@ -0,0 +1,15 @@
+package com.objects.marketbridge.point;
+
+import java.time.LocalDateTime;
+
+/**
+ * (lastCreatedAt, lastPointId) 까지 반영한 사용자 잔액. 아직 point 행이 없으면 {@link #EPOCH}, 0 이다.
+ */
+public record PointSnapshot(Long userId, long balance, LocalDateTime lastCreatedAt, long lastPointId) {
+
+    public static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static PointSnapshot empty(Long userId) {
+        return new PointSnapshot(userId, 0, EPOCH, 0);
+    }
+}
@@ -0,0 +1,28 @@
+package com.objects.marketbridge.point;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 포인트 원장이 사용하는 point / point_balance 테이블 접근 포트
+ */
+public interface PointStore {
+
+    Optional<PointSnapshot> findSnapshot(Long userId);
+
+    /**
+     * (afterCreatedAt, afterPointId) 보다 뒤에 쌓인 point 행 (created_at, point_id 순)
+     */
+    List<PointEntry> findEntriesAfter(Long userId, LocalDateTime afterCreatedAt, long afterPointId);
+
+    void append(PointEntry entry);
+
+    /**
+     * 여러 행을 한 번에 insert 한다. 호출한 쪽의 트랜잭션에 함께 묶인다.
+     */
+    void appendAll(Collection<PointEntry> entries);
+
+    void saveSnapshots(Collection<PointSnapshot> snapshots);
+}
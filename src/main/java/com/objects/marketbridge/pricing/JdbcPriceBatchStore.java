@@ -0,0 +1,80 @@
+package com.objects.marketbridge.pricing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엔티티를 만들지 않고 ResultSet 에서 바로 {@link PriceBatch} 배열에 채운다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcPriceBatchStore implements PriceBatchStore {
+
+    private static final String SELECT_PRODUCTS =
+            "select product_id, price, discount_rate, is_own from product " +
+            "where product_id in (:productIds) and deleted_at is null";
+    private static final String SELECT_MIN_OPTION_PRICES =
+            "select product_id, min(price) as min_price from prod_option " +
+            "where product_id in (:productIds) and price is not null and deleted_at is null group by product_id";
+    private static final String SELECT_COUPONS =
+            "select coupon_id, product_id, price, minimum_price from coupon " +
+            "where (product_id in (:productIds) or product_id is null) and deleted_at is null " +
+            "and (start_date is null or start_date <= :now) and (end_date is null or end_date > :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public PriceBatch load(Collection<Long> productIds, LocalDateTime now) {
+        List<Long> ids = productIds.stream().distinct().toList();
+        PriceBatch batch = new PriceBatch(ids.size());
+        if (ids.isEmpty()) {
+            return batch;
+        }
+        Map<String, Object> params = Map.of("productIds", ids, "now", Timestamp.valueOf(now));
+
+        // 요청 순서대로 자리를 잡아 두고 읽는 대로 그 자리의 원시 배열에 바로 쓴다. NULL 은 getInt 가 0 으로 준다
+        Map<Long, Integer> slots = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            slots.put(id, batch.reserveProduct(id));
+        }
+        jdbcTemplate.query(SELECT_PRODUCTS, params, rs -> {
+            Integer slot = slots.get(rs.getLong("product_id"));
+            if (slot != null) {
+                batch.setProduct(slot, rs.getInt("price"), rs.getInt("discount_rate"), rs.getBoolean("is_own"));
+            }
+        });
+        // 없거나 삭제된 상품의 자리를 뺀다
+        int[] index = batch.compact();
+
+        jdbcTemplate.query(SELECT_MIN_OPTION_PRICES, params, rs -> {
+            Integer slot = slots.get(rs.getLong("product_id"));
+            if (slot != null && index[slot] >= 0) {
+                batch.addOptionPrice(index[slot], rs.getInt("min_price"));
+            }
+        });
+        jdbcTemplate.query(SELECT_COUPONS, params, rs -> {
+            long couponId = rs.getLong("coupon_id");
+            long productId = rs.getLong("product_id");
+            boolean global = rs.wasNull();
+            int amount = rs.getInt("price");
+            int minimumPrice = rs.getInt("minimum_price");
+            if (global) {
+                batch.addGlobalCoupon(couponId, amount, minimumPrice);
+                return;
+            }
+            Integer slot = slots.get(productId);
+            if (slot != null && index[slot] >= 0) {
+                batch.addCoupon(index[slot], couponId, amount, minimumPrice);
+            }
+        });
+        return batch;
+    }
+}
@@ -0,0 +1,12 @@
+package com.objects.marketbridge.pricing;
+
+/**
+ * 상품 카드에 보여 줄 가격.
+ *
+ * @param listPrice  할인 전 가격 (옵션이 있으면 가장 싼 옵션 가격)
+ * @param salePrice  상품 할인율과 멤버십 할인을 적용한 가격
+ * @param finalPrice 쓸 수 있는 쿠폰 중 가장 많이 깎이는 쿠폰까지 적용한 가격
+ * @param couponId   적용한 쿠폰. 없으면 null
+ */
+public record ListingPrice(long productId, int listPrice, int salePrice, int finalPrice, Long couponId) {
+}
@@ -0,0 +1,39 @@
+package com.objects.marketbridge.pricing;
+
+import com.objects.marketbridge.domain.Membership;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 목록 화면과 피드 내보내기에서 쓰는 상품 카드 가격 조회
+ */
+@Service
+public class ListingPriceService {
+
+    private final PriceBatchStore priceBatchStore;
+    private final PriceEngine priceEngine;
+    private final Clock clock;
+
+    @Autowired
+    public ListingPriceService(PriceBatchStore priceBatchStore, PriceEngine priceEngine) {
+        this(priceBatchStore, priceEngine, Clock.systemDefaultZone());
+    }
+
+    ListingPriceService(PriceBatchStore priceBatchStore, PriceEngine priceEngine, Clock clock) {
+        this.priceBatchStore = priceBatchStore;
+        this.priceEngine = priceEngine;
+        this.clock = clock;
+    }
+
+    /**
+     * 결과는 productIds 순서를 따르며, 없거나 삭제된 상품은 빠진다.
+     */
+    public PriceBatchResult prices(Collection<Long> productIds, Membership membership) {
+        PriceBatch batch = priceBatchStore.load(productIds, LocalDateTime.now(clock));
+        return priceEngine.compute(batch, membership);
+    }
+}
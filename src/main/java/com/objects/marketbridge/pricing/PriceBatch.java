@@ -0,0 +1,274 @@
+package com.objects.marketbridge.pricing;
+
+import java.util.Arrays;
+
+/**
+ * 목록 화면 가격 계산 입력을 상품별 객체 대신 필드별 원시 배열로 담는다 (struct-of-arrays).
+ * <p>
+ * Integer 필드는 담을 때 한 번만 풀어서 null 을 0 으로 바꾼다. 원시 값을 받는 메서드는 이미 풀린 값을 그대로 담는다.
+ * 옵션은 최저가만 남긴다.
+ * 상품 쿠폰은 상품 번호와 함께 쌓아 두었다가 처음 계산할 때 상품별 구간(CSR)으로 정렬하고,
+ * 상품 구분 없이 쓰는 쿠폰은 따로 둔다.
+ */
+public final class PriceBatch {
+
+    static final int NO_OPTION = -1;
+
+    private int size;
+    private long[] productIds;
+    private int[] prices;
+    private int[] discountRates;
+    private int[] optionPrices;
+    private boolean[] own;
+    private boolean[] filled;
+
+    private int couponCount;
+    private int[] couponProducts;
+    private long[] couponIds;
+    private int[] couponAmounts;
+    private int[] couponMinimums;
+
+    private int globalCouponCount;
+    private long[] globalCouponIds = new long[4];
+    private int[] globalCouponAmounts = new int[4];
+    private int[] globalCouponMinimums = new int[4];
+
+    // 상품 i 의 쿠폰은 정렬된 쿠폰 배열의 [couponStart[i], couponStart[i + 1]) 구간
+    private int[] couponStart;
+
+    public PriceBatch(int expectedProducts) {
+        int capacity = Math.max(expectedProducts, 8);
+        productIds = new long[capacity];
+        prices = new int[capacity];
+        discountRates = new int[capacity];
+        optionPrices = new int[capacity];
+        own = new boolean[capacity];
+        filled = new boolean[capacity];
+        couponProducts = new int[capacity];
+        couponIds = new long[capacity];
+        couponAmounts = new int[capacity];
+        couponMinimums = new int[capacity];
+    }
+
+    /**
+     * @return 상품 번호 (0 부터). 옵션과 쿠폰을 붙일 때 쓴다.
+     */
+    public int addProduct(long productId, Integer price, Integer discountRate, boolean isOwn) {
+        int index = reserveProduct(productId);
+        setProduct(index, price == null ? 0 : price, discountRate == null ? 0 : discountRate, isOwn);
+        return index;
+    }
+
+    /**
+     * 상품 자리만 잡아 둔다. 순서 없이 읽는 곳에서 요청 순서를 지키려고 쓴다.
+     * 자리는 {@link #setProduct} 로 채우고, 옵션과 쿠폰을 붙이기 전에 {@link #compact()} 로 채우지 않은 자리를 뺀다.
+     *
+     * @return 자리 번호
+     */
+    public int reserveProduct(long productId) {
+        if (size == productIds.length) {
+            int capacity = size * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            discountRates = Arrays.copyOf(discountRates, capacity);
+            optionPrices = Arrays.copyOf(optionPrices, capacity);
+            own = Arrays.copyOf(own, capacity);
+            filled = Arrays.copyOf(filled, capacity);
+        }
+        int index = size++;
+        productIds[index] = productId;
+        optionPrices[index] = NO_OPTION;
+        couponStart = null;
+        return index;
+    }
+
+    public void setProduct(int index, int price, int discountRate, boolean isOwn) {
+        checkIndex(index);
+        prices[index] = price;
+        discountRates[index] = Math.max(0, Math.min(100, discountRate));
+        own[index] = isOwn;
+        filled[index] = true;
+    }
+
+    /**
+     * 채우지 않은 자리를 빼고 앞으로 당긴다. 남은 상품의 순서는 그대로다.
+     *
+     * @return 자리 번호별 새 상품 번호. 뺀 자리는 -1
+     */
+    public int[] compact() {
+        if (couponCount > 0) {
+            throw new IllegalStateException("쿠폰을 붙인 뒤에는 상품을 뺄 수 없습니다.");
+        }
+        int[] moved = new int[size];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filled[i]) {
+                moved[i] = -1;
+                continue;
+            }
+            productIds[kept] = productIds[i];
+            prices[kept] = prices[i];
+            discountRates[kept] = discountRates[i];
+            optionPrices[kept] = optionPrices[i];
+            own[kept] = own[i];
+            filled[kept] = true;
+            moved[i] = kept++;
+        }
+        size = kept;
+        couponStart = null;
+        return moved;
+    }
+
+    /**
+     * 옵션 가격을 더한다. 가격이 없는 옵션은 무시하고, 여러 번 부르면 가장 싼 값만 남는다.
+     */
+    public void addOptionPrice(int index, Integer price) {
+        checkIndex(index);
+        if (price != null) {
+            addOptionPrice(index, price.intValue());
+        }
+    }
+
+    public void addOptionPrice(int index, int price) {
+        checkIndex(index);
+        if (price >= 0 && (optionPrices[index] == NO_OPTION || price < optionPrices[index])) {
+            optionPrices[index] = price;
+        }
+    }
+
+    /**
+     * 상품 전용 쿠폰을 더한다. 지금 쓸 수 있는 쿠폰인지(기간)는 담는 쪽에서 거른다.
+     */
+    public void addCoupon(int index, long couponId, Integer amount, Integer minimumPrice) {
+        addCoupon(index, couponId, amount == null ? 0 : amount, minimumPrice == null ? 0 : minimumPrice);
+    }
+
+    public void addCoupon(int index, long couponId, int amount, int minimumPrice) {
+        checkIndex(index);
+        if (couponCount == couponIds.length) {
+            int capacity = Math.max(8, couponCount * 2);
+            couponProducts = Arrays.copyOf(couponProducts, capacity);
+            couponIds = Arrays.copyOf(couponIds, capacity);
+            couponAmounts = Arrays.copyOf(couponAmounts, capacity);
+            couponMinimums = Arrays.copyOf(couponMinimums, capacity);
+        }
+        couponProducts[couponCount] = index;
+        couponIds[couponCount] = couponId;
+        couponAmounts[couponCount] = amount;
+        couponMinimums[couponCount] = minimumPrice;
+        couponCount++;
+        couponStart = null;
+    }
+
+    /**
+     * 모든 상품에 쓸 수 있는 쿠폰(productId 가 없는 쿠폰)을 더한다.
+     */
+    public void addGlobalCoupon(long couponId, Integer amount, Integer minimumPrice) {
+        addGlobalCoupon(couponId, amount == null ? 0 : amount, minimumPrice == null ? 0 : minimumPrice);
+    }
+
+    public void addGlobalCoupon(long couponId, int amount, int minimumPrice) {
+        if (globalCouponCount == globalCouponIds.length) {
+            int capacity = globalCouponCount * 2;
+            globalCouponIds = Arrays.copyOf(globalCouponIds, capacity);
+            globalCouponAmounts = Arrays.copyOf(globalCouponAmounts, capacity);
+            globalCouponMinimums = Arrays.copyOf(globalCouponMinimums, capacity);
+        }
+        globalCouponIds[globalCouponCount] = couponId;
+        globalCouponAmounts[globalCouponCount] = amount;
+        globalCouponMinimums[globalCouponCount] = minimumPrice;
+        globalCouponCount++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long[] productIds() {
+        return productIds;
+    }
+
+    int[] prices() {
+        return prices;
+    }
+
+    int[] discountRates() {
+        return discountRates;
+    }
+
+    int[] optionPrices() {
+        return optionPrices;
+    }
+
+    boolean[] own() {
+        return own;
+    }
+
+    long[] couponIds() {
+        return couponIds;
+    }
+
+    int[] couponAmounts() {
+        return couponAmounts;
+    }
+
+    int[] couponMinimums() {
+        return couponMinimums;
+    }
+
+    int globalCouponCount() {
+        return globalCouponCount;
+    }
+
+    long[] globalCouponIds() {
+        return globalCouponIds;
+    }
+
+    int[] globalCouponAmounts() {
+        return globalCouponAmounts;
+    }
+
+    int[] globalCouponMinimums() {
+        return globalCouponMinimums;
+    }
+
+    /**
+     * 상품 쿠폰을 상품 번호 순으로 모으고 상품별 시작 위치를 돌려준다. 계산 전에 한 번만 정렬한다.
+     */
+    int[] couponStart() {
+        if (couponStart != null) {
+            return couponStart;
+        }
+        int[] start = new int[size + 1];
+        for (int c = 0; c < couponCount; c++) {
+            start[couponProducts[c] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] next = Arrays.copyOf(start, size);
+        long[] sortedIds = new long[couponCount];
+        int[] sortedAmounts = new int[couponCount];
+        int[] sortedMinimums = new int[couponCount];
+        int[] sortedProducts = new int[couponCount];
+        for (int c = 0; c < couponCount; c++) {
+            int to = next[couponProducts[c]]++;
+            sortedIds[to] = couponIds[c];
+            sortedAmounts[to] = couponAmounts[c];
+            sortedMinimums[to] = couponMinimums[c];
+            sortedProducts[to] = couponProducts[c];
+        }
+        couponIds = sortedIds;
+        couponAmounts = sortedAmounts;
+        couponMinimums = sortedMinimums;
+        couponProducts = sortedProducts;
+        couponStart = start;
+        return start;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("없는 상품 번호입니다. index=" + index);
+        }
+    }
+}
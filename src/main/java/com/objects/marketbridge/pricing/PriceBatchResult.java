@@ -0,0 +1,57 @@
+package com.objects.marketbridge.pricing;
+
+/**
+ * {@link PriceBatch} 와 같은 순서로 담긴 계산 결과. 쿠폰을 쓰지 않은 상품은 couponIds 가 0 이다.
+ */
+public final class PriceBatchResult {
+
+    private final long[] productIds;
+    private final int[] listPrices;
+    private final int[] salePrices;
+    private final int[] finalPrices;
+    private final long[] couponIds;
+    private final int size;
+
+    PriceBatchResult(long[] productIds, int size) {
+        this.productIds = productIds;
+        this.size = size;
+        this.listPrices = new int[size];
+        this.salePrices = new int[size];
+        this.finalPrices = new int[size];
+        this.couponIds = new long[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long productId(int index) {
+        return productIds[index];
+    }
+
+    public int finalPrice(int index) {
+        return finalPrices[index];
+    }
+
+    public ListingPrice get(int index) {
+        long couponId = couponIds[index];
+        return new ListingPrice(productIds[index], listPrices[index], salePrices[index], finalPrices[index],
+                couponId == 0 ? null : couponId);
+    }
+
+    int[] listPrices() {
+        return listPrices;
+    }
+
+    int[] salePrices() {
+        return salePrices;
+    }
+
+    int[] finalPrices() {
+        return finalPrices;
+    }
+
+    long[] couponIds() {
+        return couponIds;
+    }
+}
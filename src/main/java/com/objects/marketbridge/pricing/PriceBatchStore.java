@@ -0,0 +1,15 @@
+package com.objects.marketbridge.pricing;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 목록 가격 계산 입력을 product / prod_option / coupon 테이블에서 읽어 오는 포트
+ */
+public interface PriceBatchStore {
+
+    /**
+     * productIds 순서대로 상품을 담는다. 없거나 삭제된 상품은 빠진다. 쿠폰은 now 에 기간 안인 것만 담는다.
+     */
+    PriceBatch load(Collection<Long> productIds, LocalDateTime now);
+}
@@ -0,0 +1,100 @@
+package com.objects.marketbridge.pricing;
+
+import com.objects.marketbridge.domain.Membership;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.IntStream;
+
+/**
+ * 목록 화면 상품 카드의 최종 가격을 {@link PriceBatch} 단위로 계산한다.
+ * <p>
+ * 가격 규칙은 다음 순서로 적용한다.
+ * <ol>
+ *     <li>옵션이 있으면 가장 싼 옵션 가격, 없으면 상품 가격</li>
+ *     <li>상품 할인율 (원 단위 내림)</li>
+ *     <li>와우 회원이면 로켓배송(isOwn) 상품에 와우 할인율을 더 적용</li>
+ *     <li>상품 쿠폰과 전체 쿠폰 중 최소 주문 금액을 넘기고 가장 많이 깎이는 쿠폰 하나</li>
+ * </ol>
+ * 배열을 앞에서부터 한 번 훑는 단순한 반복이라 JIT 가 경계 검사를 걷어 내기 좋고, 상품 객체나 박싱이 없다.
+ * 상품 수가 parallel-threshold 를 넘으면 구간을 나눠 병렬 스트림으로 계산한다 (피드 내보내기 등).
+ */
+@Component
+public class PriceEngine {
+
+    private static final int CHUNK_SIZE = 4_096;
+
+    private final int wowDiscountRate;
+    private final int parallelThreshold;
+
+    public PriceEngine(@Value("${marketbridge.pricing.wow-discount-rate:5}") int wowDiscountRate,
+                       @Value("${marketbridge.pricing.parallel-threshold:20000}") int parallelThreshold) {
+        if (wowDiscountRate < 0 || wowDiscountRate > 100) {
+            throw new IllegalArgumentException("와우 할인율은 0~100 이어야 합니다. rate=" + wowDiscountRate);
+        }
+        this.wowDiscountRate = wowDiscountRate;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public PriceBatchResult compute(PriceBatch batch, Membership membership) {
+        int size = batch.size();
+        int[] couponStart = batch.couponStart();
+        PriceBatchResult result = new PriceBatchResult(batch.productIds(), size);
+        int memberRate = membership == Membership.WOW ? wowDiscountRate : 0;
+        if (size < parallelThreshold) {
+            computeRange(batch, couponStart, memberRate, result, 0, size);
+        } else {
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk ->
+                    computeRange(batch, couponStart, memberRate, result, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)));
+        }
+        return result;
+    }
+
+    private static void computeRange(PriceBatch batch, int[] couponStart, int memberRate, PriceBatchResult result, int from, int to) {
+        int[] prices = batch.prices();
+        int[] discountRates = batch.discountRates();
+        int[] optionPrices = batch.optionPrices();
+        boolean[] own = batch.own();
+        long[] couponIds = batch.couponIds();
+        int[] couponAmounts = batch.couponAmounts();
+        int[] couponMinimums = batch.couponMinimums();
+        int globalCount = batch.globalCouponCount();
+        long[] globalIds = batch.globalCouponIds();
+        int[] globalAmounts = batch.globalCouponAmounts();
+        int[] globalMinimums = batch.globalCouponMinimums();
+
+        int[] listPrices = result.listPrices();
+        int[] salePrices = result.salePrices();
+        int[] finalPrices = result.finalPrices();
+        long[] appliedCoupons = result.couponIds();
+
+        for (int i = from; i < to; i++) {
+            int listPrice = optionPrices[i] == PriceBatch.NO_OPTION ? prices[i] : optionPrices[i];
+            long sale = (long) listPrice * (100 - discountRates[i]) / 100;
+            if (own[i] && memberRate > 0) {
+                sale = sale * (100 - memberRate) / 100;
+            }
+
+            int bestAmount = 0;
+            long bestCoupon = 0;
+            for (int c = couponStart[i]; c < couponStart[i + 1]; c++) {
+                if (sale >= couponMinimums[c] && couponAmounts[c] > bestAmount) {
+                    bestAmount = couponAmounts[c];
+                    bestCoupon = couponIds[c];
+                }
+            }
+            for (int c = 0; c < globalCount; c++) {
+                if (sale >= globalMinimums[c] && globalAmounts[c] > bestAmount) {
+                    bestAmount = globalAmounts[c];
+                    bestCoupon = globalIds[c];
+                }
+            }
+
+            listPrices[i] = listPrice;
+            salePrices[i] = (int) sale;
+            finalPrices[i] = (int) Math.max(0, sale - bestAmount);
+            appliedCoupons[i] = bestCoupon;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.objects.marketbridge.product;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductChangeStore implements ProductChangeStore {
+
+    // 연결 테이블의 product_id 는 비어 있을 수 있다
+    private static final String CHANGED_PRODUCT_IDS =
+            "select product_id from product where updated_at > ? " +
+            "union select product_id from prod_option where updated_at > ? and product_id is not null " +
+            "union select product_id from product_image where updated_at > ? and product_id is not null " +
+            "union select product_id from prod_tag where updated_at > ? and product_id is not null " +
+            "union select pi.product_id from product_image pi join image i on i.image_id = pi.image_id " +
+            "where i.updated_at > ? and pi.product_id is not null " +
+            "union select pt.product_id from prod_tag pt join tag t on t.tag_id = pt.tag_id " +
+            "where t.updated_at > ? and pt.product_id is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findChangedProductIds(LocalDateTime since) {
+        Timestamp timestamp = Timestamp.valueOf(since);
+        return jdbcTemplate.queryForList(CHANGED_PRODUCT_IDS, Long.class, timestamp, timestamp, timestamp, timestamp, timestamp, timestamp);
+    }
+}
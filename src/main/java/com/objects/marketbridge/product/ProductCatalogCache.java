@@ -0,0 +1,76 @@
+package com.objects.marketbridge.product;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 조립된 상품 상세를 담는 노드 로컬 캐시.
+ * <p>
+ * Caffeine(W-TinyLFU) 으로 개수 기준 퇴출을 하고, 다른 노드에서 바뀐 상품은
+ * {@link ProductChangePoller} 가 updatedAt 을 폴링해서 보내는 {@link ProductChangedEvent} 로 지운다.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final LoadingCache<Long, ProductDetail> cache;
+
+    public ProductCatalogCache(ProductDetailLoader productDetailLoader,
+                               @Value("${marketbridge.product.cache-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(new CacheLoader<Long, ProductDetail>() {
+                    @Override
+                    public ProductDetail load(Long productId) {
+                        return productDetailLoader.loadAll(Set.of(productId)).get(productId);
+                    }
+
+                    @Override
+                    public Map<Long, ProductDetail> loadAll(Set<? extends Long> productIds) {
+                        return productDetailLoader.loadAll(Set.copyOf(productIds));
+                    }
+                });
+    }
+
+    public Optional<ProductDetail> get(Long productId) {
+        return Optional.ofNullable(cache.get(productId));
+    }
+
+    /**
+     * 목록 화면용. 캐시에 없는 상품만 한 번에 읽어 온다. 없는 상품은 결과에서 빠진다.
+     */
+    public Map<Long, ProductDetail> getAll(Collection<Long> productIds) {
+        return cache.getAll(productIds);
+    }
+
+    public void invalidate(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    public void invalidateAll(Collection<Long> productIds) {
+        cache.invalidateAll(productIds);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidateAll(event.productIds());
+    }
+
+    public CatalogCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new CatalogCacheStats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+
+    public record CatalogCacheStats(long size, long hitCount, long missCount, long evictionCount, double hitRate) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.objects.marketbridge.product;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 상세를 이루는 테이블의 updated_at 을 폴링해서 바뀐 상품을 {@link ProductChangedEvent} 로 알린다.
+ * <p>
+ * 늦게 커밋된 트랜잭션이나 노드 간 시계 차이를 놓치지 않도록 직전 폴링 시각보다 overlap 만큼 겹쳐서 읽는다.
+ * 따라서 overlap 안에 커밋된 변경은 늦어도 다음 폴링(poll-interval) 에 캐시에서 지워진다.
+ * 구독자는 같은 상품을 여러 번 받아도 문제가 없어야 한다.
+ * 폴링이 겹치지 않도록 락을 잡는데, 가상 스레드에서 JDBC 대기 중에 캐리어를 붙잡지 않도록 {@link ReentrantLock} 을 쓴다.
+ */
+@Slf4j
+@Component
+public class ProductChangePoller {
+
+    private final ProductChangeStore productChangeStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration overlap;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LocalDateTime watermark;
+
+    @Autowired
+    public ProductChangePoller(ProductChangeStore productChangeStore,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${marketbridge.product.change-poll-overlap:5s}") Duration overlap) {
+        this(productChangeStore, eventPublisher, overlap, Clock.systemDefaultZone());
+    }
+
+    ProductChangePoller(ProductChangeStore productChangeStore, ApplicationEventPublisher eventPublisher, Duration overlap, Clock clock) {
+        this.productChangeStore = productChangeStore;
+        this.eventPublisher = eventPublisher;
+        this.overlap = overlap;
+        this.clock = clock;
+        this.watermark = LocalDateTime.now(clock);
+    }
+
+    @Scheduled(fixedDelayString = "${marketbridge.product.change-poll-interval:1000}")
+    public int poll() {
+        lock.lock();
+        try {
+            LocalDateTime pollStartedAt = LocalDateTime.now(clock);
+            List<Long> changed = productChangeStore.findChangedProductIds(watermark.minus(overlap)).stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!changed.isEmpty()) {
+                eventPublisher.publishEvent(new ProductChangedEvent(changed));
+                log.debug("{} products changed", changed.size());
+            }
+            watermark = pollStartedAt;
+            return changed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    LocalDateTime watermark() {
+        return watermark;
+    }
+}
@@ -0,0 +1,15 @@
+package com.objects.marketbridge.product;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 상품 상세를 이루는 테이블의 변경을 찾는 포트
+ */
+public interface ProductChangeStore {
+
+    /**
+     * since 이후 상품 상세를 이루는 행이 바뀐 상품 id. 중복과 null 은 없다.
+     */
+    List<Long> findChangedProductIds(LocalDateTime since);
+}
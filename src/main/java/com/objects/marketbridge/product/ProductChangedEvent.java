@@ -0,0 +1,9 @@
+package com.objects.marketbridge.product;
+
+import java.util.List;
+
+/**
+ * 상품 상세를 이루는 데이터가 바뀐 상품 id 묶음. 캐시, 검색 색인 등이 구독한다.
+ */
+public record ProductChangedEvent(List<Long> productIds) {
+}
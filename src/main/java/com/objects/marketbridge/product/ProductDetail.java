@@ -0,0 +1,47 @@
+package com.objects.marketbridge.product;
+
+import com.objects.marketbridge.domain.ImageType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 상세 화면에 필요한 Product, ProdOption, Image, Tag 를 조립한 읽기 전용 모델
+ */
+@Getter
+public class ProductDetail {
+
+    private final Long productId;
+    private final Long categoryId;
+    private final String name;
+    private final Integer price;
+    private final Integer discountRate;
+    private final boolean isOwn;
+    private final boolean isSubs;
+    private final String thumbImg;
+    private final List<Option> options;
+    private final List<ProductImageView> images;
+    private final List<String> tags;
+
+    @Builder
+    private ProductDetail(Long productId, Long categoryId, String name, Integer price, Integer discountRate, boolean isOwn, boolean isSubs, String thumbImg, List<Option> options, List<ProductImageView> images, List<String> tags) {
+        this.productId = productId;
+        this.categoryId = categoryId;
+        this.name = name;
+        this.price = price;
+        this.discountRate = discountRate;
+        this.isOwn = isOwn;
+        this.isSubs = isSubs;
+        this.thumbImg = thumbImg;
+        this.options = options == null ? List.of() : List.copyOf(options);
+        this.images = images == null ? List.of() : List.copyOf(images);
+        this.tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    public record Option(Long optionId, Long optionCategoryId, String name, Integer price) {
+    }
+
+    public record ProductImageView(Long imageId, ImageType type, String url) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.objects.marketbridge.product;
+
+import com.objects.marketbridge.domain.Image;
+import com.objects.marketbridge.domain.ProdOption;
+import com.objects.marketbridge.domain.ProdTag;
+import com.objects.marketbridge.domain.Product;
+import com.objects.marketbridge.domain.ProductImage;
+import com.objects.marketbridge.domain.Tag;
+import com.objects.marketbridge.repository.ImageRepository;
+import com.objects.marketbridge.repository.ProdOptionRepository;
+import com.objects.marketbridge.repository.ProdTagRepository;
+import com.objects.marketbridge.repository.ProductImageRepository;
+import com.objects.marketbridge.repository.ProductRepository;
+import com.objects.marketbridge.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 묶음을 테이블당 쿼리 한 번씩으로 조립한다 (상품 수와 상관없이 6번).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDetailLoader {
+
+    private final ProductRepository productRepository;
+    private final ProdOptionRepository prodOptionRepository;
+    private final ProductImageRepository productImageRepository;
+    private final ImageRepository imageRepository;
+    private final ProdTagRepository prodTagRepository;
+    private final TagRepository tagRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProductDetail> loadAll(Collection<Long> productIds) {
+        List<Product> products = productRepository.findAllById(productIds);
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> ids = products.stream().map(Product::getId).collect(Collectors.toSet());
+
+        Map<Long, List<ProductDetail.Option>> options = prodOptionRepository.findAllByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ProdOption::getProductId,
+                        Collectors.mapping(option -> new ProductDetail.Option(option.getId(), option.getOptionCategoryId(), option.getName(), option.getPrice()),
+                                Collectors.toList())));
+
+        List<ProductImage> productImages = productImageRepository.findAllByProductIdIn(ids);
+        Map<Long, Image> images = imageRepository.findAllById(productImages.stream().map(ProductImage::getImageId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Image::getId, Function.identity()));
+
+        List<ProdTag> prodTags = prodTagRepository.findAllByProductIdIn(ids);
+        Map<Long, String> tagNames = tagRepository.findAllById(prodTags.stream().map(ProdTag::getTagId).collect(Collectors.toSet())).stream()
+                .filter(tag -> tag.getName() != null)
+                .collect(Collectors.toMap(Tag::getId, Tag::getName));
+
+        Map<Long, List<ProductDetail.ProductImageView>> imagesByProduct = new HashMap<>();
+        for (ProductImage productImage : productImages) {
+            Image image = images.get(productImage.getImageId());
+            if (image != null) {
+                imagesByProduct.computeIfAbsent(productImage.getProductId(), k -> new ArrayList<>())
+                        .add(new ProductDetail.ProductImageView(image.getId(), image.getType(), image.getUrl()));
+            }
+        }
+        Map<Long, List<String>> tagsByProduct = prodTags.stream()
+                .filter(prodTag -> tagNames.containsKey(prodTag.getTagId()))
+                .collect(Collectors.groupingBy(ProdTag::getProductId,
+                        Collectors.mapping(prodTag -> tagNames.get(prodTag.getTagId()), Collectors.toList())));
+
+        Map<Long, ProductDetail> details = new HashMap<>();
+        for (Product product : products) {
+            Long id = product.getId();
+            details.put(id, ProductDetail.builder()
+                    .productId(id)
+                    .categoryId(product.getCategoryId())
+                    .name(product.getName())
+                    .price(product.getPrice())
+                    .discountRate(product.getDiscountRate())
+                    .isOwn(product.isOwn())
+                    .isSubs(product.isSubs())
+                    .thumbImg(product.getThumbImg())
+                    .options(options.get(id))
+                    .images(imagesByProduct.get(id))
+                    .tags(tagsByProduct.get(id))
+                    .build());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,165 @@
+package com.objects.marketbridge.rating;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcRatingStore implements RatingStore {
+
+    private static final String SELECT_BY_PRODUCT_IDS =
+            "select product_id, rating1, rating2, rating3, rating4, rating5 from product_rating where product_id in (:productIds)";
+    private static final String ADD_COUNTS =
+            "update product_rating set review_count = review_count + ?, " +
+            "rating1 = rating1 + ?, rating2 = rating2 + ?, rating3 = rating3 + ?, rating4 = rating4 + ?, rating5 = rating5 + ?, " +
+            "updated_at = ? where product_id = ?";
+    private static final String SELECT_EXISTING =
+            "select product_id from product_rating where product_id in (:productIds)";
+    private static final String INSERT_EMPTY =
+            "insert into product_rating (product_id, review_count, rating1, rating2, rating3, rating4, rating5, created_at, updated_at) " +
+            "values (?, 0, 0, 0, 0, 0, 0, ?, ?)";
+    private static final String LOCK_CREATION =
+            "select product_id from product_rating where product_id = " + RatingStore.LOCK_ROW_ID + " for update";
+    private static final String INSERT_LOCK_ROW =
+            "insert into product_rating (product_id, review_count, rating1, rating2, rating3, rating4, rating5, created_at, updated_at) " +
+            "values (" + RatingStore.LOCK_ROW_ID + ", 0, 0, 0, 0, 0, 0, ?, ?)";
+    private static final String LOCK_ALL =
+            "select product_id from product_rating order by product_id for update";
+    private static final String AGGREGATE =
+            "select product_id, " +
+            "sum(case when rating = 1 then 1 else 0 end) as rating1, sum(case when rating = 2 then 1 else 0 end) as rating2, " +
+            "sum(case when rating = 3 then 1 else 0 end) as rating3, sum(case when rating = 4 then 1 else 0 end) as rating4, " +
+            "sum(case when rating = 5 then 1 else 0 end) as rating5 " +
+            "from review where deleted_at is null and product_id is not null and rating between 1 and 5 " +
+            "group by product_id order by product_id";
+    private static final String RESET =
+            "update product_rating set review_count = 0, rating1 = 0, rating2 = 0, rating3 = 0, rating4 = 0, rating5 = 0, updated_at = ?";
+    private static final String SET_COUNTS =
+            "update product_rating set review_count = ?, rating1 = ?, rating2 = ?, rating3 = ?, rating4 = ?, rating5 = ?, updated_at = ? " +
+            "where product_id = ?";
+    private static final String INSERT_COUNTS =
+            "insert into product_rating (product_id, review_count, rating1, rating2, rating3, rating4, rating5, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public List<RatingSummary> findAll(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query(SELECT_BY_PRODUCT_IDS, Map.of("productIds", productIds), (rs, rowNum) -> new RatingSummary(
+                rs.getLong("product_id"),
+                new long[]{rs.getLong("rating1"), rs.getLong("rating2"), rs.getLong("rating3"), rs.getLong("rating4"), rs.getLong("rating5")}));
+    }
+
+    @Override
+    public void createLockRow() {
+        if (!jdbcTemplate.queryForList(LOCK_CREATION, Long.class).isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.update(INSERT_LOCK_ROW, now, now);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버가 먼저 만들었다
+        }
+    }
+
+    @Override
+    @Transactional
+    public void createMissing(Collection<Long> productIds) {
+        Set<Long> missing = missing(productIds);
+        if (missing.isEmpty()) {
+            return;
+        }
+        // 행을 만드는 쪽은 모두 잠금 행을 먼저 잡으므로, 잡은 뒤 다시 보면 다른 요청이 만든 행까지 보이고 insert 가 겹치지 않는다
+        lockCreation();
+        missing = missing(missing);
+        if (missing.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EMPTY, missing.stream().map(productId -> new Object[]{productId, now, now}).toList());
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(Map<Long, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, long[]>> entries = List.copyOf(deltas.entrySet());
+        jdbcTemplate.batchUpdate(ADD_COUNTS, entries, entries.size(), (ps, entry) -> {
+            long[] delta = entry.getValue();
+            ps.setLong(1, delta[0] + delta[1] + delta[2] + delta[3] + delta[4]);
+            for (int i = 0; i < 5; i++) {
+                ps.setLong(i + 2, delta[i]);
+            }
+            ps.setTimestamp(7, now);
+            ps.setLong(8, entry.getKey());
+        });
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // 행을 새로 만들지 못하게 잠금 행을 잡고, 증감 반영이 잡는 행 잠금을 모두 잡는다.
+        // 잠근 뒤에 읽으므로 앞서 커밋된 리뷰는 모두 보이고, 뒤에 쓰는 리뷰는 이 반영 뒤에 더해진다
+        lockCreation();
+        jdbcTemplate.queryForList(LOCK_ALL, Long.class);
+        List<RatingSummary> summaries = jdbcTemplate.query(AGGREGATE, (rs, rowNum) -> new RatingSummary(
+                rs.getLong("product_id"),
+                new long[]{rs.getLong("rating1"), rs.getLong("rating2"), rs.getLong("rating3"), rs.getLong("rating4"), rs.getLong("rating5")}));
+        // 증감 반영이 미리 만들어 둔 행을 지우지 않도록 리뷰가 없어진 상품은 0 으로 둔다
+        jdbcTemplate.update(RESET, now);
+        int[][] counts = jdbcTemplate.batchUpdate(SET_COUNTS, summaries, summaries.size(), (ps, summary) -> {
+            ps.setLong(1, summary.reviewCount());
+            for (int rating = 1; rating <= 5; rating++) {
+                ps.setLong(rating + 1, summary.count(rating));
+            }
+            ps.setTimestamp(7, now);
+            ps.setLong(8, summary.productId());
+        });
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < summaries.size(); i++) {
+            if (counts[0][i] == 0) {
+                RatingSummary summary = summaries.get(i);
+                missing.add(new Object[]{summary.productId(), summary.reviewCount(), summary.count(1), summary.count(2),
+                        summary.count(3), summary.count(4), summary.count(5), now, now});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUNTS, missing);
+        }
+        return summaries.size();
+    }
+
+    private Set<Long> missing(Collection<Long> productIds) {
+        Set<Long> missing = new TreeSet<>(productIds);
+        missing.removeAll(namedJdbcTemplate.queryForList(SELECT_EXISTING, Map.of("productIds", productIds), Long.class));
+        return missing;
+    }
+
+    private void lockCreation() {
+        if (jdbcTemplate.queryForList(LOCK_CREATION, Long.class).isEmpty()) {
+            throw new IllegalStateException("별점 집계 잠금 행이 없습니다. product_id=" + RatingStore.LOCK_ROW_ID);
+        }
+    }
+}
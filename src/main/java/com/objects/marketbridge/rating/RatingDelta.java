@@ -0,0 +1,34 @@
+package com.objects.marketbridge.rating;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 productId 의 별점 rating 개수를 diff 만큼 바꾼다.
+ */
+public record RatingDelta(Long productId, int rating, int diff) {
+
+    /**
+     * 리뷰가 (beforeProductId, beforeRating) 에서 (afterProductId, afterRating) 으로 바뀔 때의 증감.
+     * 별점이 null 이거나 1-5 밖이면 집계에 없는 것으로 본다.
+     */
+    public static List<RatingDelta> between(Long beforeProductId, Integer beforeRating, Long afterProductId, Integer afterRating) {
+        boolean before = counted(beforeProductId, beforeRating);
+        boolean after = counted(afterProductId, afterRating);
+        if (before && after && beforeProductId.equals(afterProductId) && beforeRating.equals(afterRating)) {
+            return List.of();
+        }
+        List<RatingDelta> deltas = new ArrayList<>(2);
+        if (before) {
+            deltas.add(new RatingDelta(beforeProductId, beforeRating, -1));
+        }
+        if (after) {
+            deltas.add(new RatingDelta(afterProductId, afterRating, 1));
+        }
+        return deltas;
+    }
+
+    private static boolean counted(Long productId, Integer rating) {
+        return productId != null && rating != null && rating >= 1 && rating <= 5;
+    }
+}
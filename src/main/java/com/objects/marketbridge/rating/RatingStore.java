@@ -0,0 +1,41 @@
+package com.objects.marketbridge.rating;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * product_rating 테이블 접근 포트
+ */
+public interface RatingStore {
+
+    /**
+     * 행 생성과 rebuild 를 줄 세우는 잠금 행의 product_id. 상품 id 는 0 보다 크다.
+     */
+    long LOCK_ROW_ID = 0L;
+
+    List<RatingSummary> findAll(Collection<Long> productIds);
+
+    /**
+     * 잠금 행이 없으면 만든다. 트랜잭션 밖에서 시작할 때 한 번 부른다.
+     */
+    void createLockRow();
+
+    /**
+     * 행이 없는 상품의 행을 0 으로 부르는 쪽 트랜잭션에서 만든다. 만들 행이 있을 때만 잠금 행을 잡으므로
+     * 동시에 같은 행을 만들어도 중복 키가 나지 않는다.
+     */
+    void createMissing(Collection<Long> productIds);
+
+    /**
+     * 상품별 별점 개수 증감을 부르는 쪽 트랜잭션에서 반영한다. key 는 productId, 값은 별점 1-5 의 증감.
+     * 행은 {@link #createMissing} 으로 미리 만들어 두어야 하며, 행을 key 순서로 잠근다.
+     */
+    void applyDeltas(Map<Long, long[]> deltas);
+
+    /**
+     * review 테이블에서 전체 집계를 다시 만든다. 잠금 행과 증감 반영이 잡는 행 잠금을 먼저 모두 잡은 뒤 review 를 읽고,
+     * 행은 지우지 않고 제자리에서 고친다. 리뷰가 있는 상품 수를 돌려준다.
+     */
+    int rebuild();
+}
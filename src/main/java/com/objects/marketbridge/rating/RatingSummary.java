@@ -0,0 +1,60 @@
+package com.objects.marketbridge.rating;
+
+import java.util.Arrays;
+
+/**
+ * 상품 하나의 별점 요약. counts[i] 는 별점 i+1 인 리뷰 수.
+ */
+public record RatingSummary(Long productId, long[] counts) {
+
+    public RatingSummary {
+        if (counts.length != 5) {
+            throw new IllegalArgumentException("별점은 1-5 입니다.");
+        }
+        counts = counts.clone();
+    }
+
+    public static RatingSummary empty(Long productId) {
+        return new RatingSummary(productId, new long[5]);
+    }
+
+    public long count(int rating) {
+        return counts[rating - 1];
+    }
+
+    public long reviewCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * 평균 별점. 리뷰가 없으면 0.
+     */
+    public double average() {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i] * (i + 1);
+        }
+        long reviewCount = reviewCount();
+        return reviewCount == 0 ? 0 : (double) total / reviewCount;
+    }
+
+    @Override
+    public long[] counts() {
+        return counts.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RatingSummary other && productId.equals(other.productId) && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * productId.hashCode() + Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingSummary[productId=" + productId + ", counts=" + Arrays.toString(counts) + "]";
+    }
+}
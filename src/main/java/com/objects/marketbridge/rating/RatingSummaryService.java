@@ -0,0 +1,80 @@
+package com.objects.marketbridge.rating;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상품별 별점 집계.
+ * <p>
+ * 리뷰가 바뀌면 리뷰를 쓰는 트랜잭션 안에서 별점별 개수만 더하고 빼서 반영하므로 목록 화면에서 AVG 를 계산하지 않는다.
+ * 리뷰와 집계가 함께 커밋되므로, 직접 SQL 로 리뷰를 고친 경우를 위해 {@link #rebuild()} 로 전체를 다시 만든다.
+ * 증감과 rebuild 는 같은 product_rating 행 잠금을 잡아서 서로의 반영을 덮어쓰지 않는다.
+ * 새 행을 만드는 쪽과 rebuild 는 잠금 행({@link RatingStore#LOCK_ROW_ID})을 먼저 잡으므로, rebuild 중에는 새 행이 생기지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingSummaryService {
+
+    private final RatingStore ratingStore;
+
+    /**
+     * 상품 id 목록의 별점 요약을 한 번에 읽는다. 리뷰가 없는 상품은 빈 요약을 돌려주며, 순서는 입력 순서를 따른다.
+     */
+    public Map<Long, RatingSummary> findAll(Collection<Long> productIds) {
+        Map<Long, RatingSummary> found = new HashMap<>();
+        ratingStore.findAll(List.copyOf(new LinkedHashSet<>(productIds)))
+                .forEach(summary -> found.put(summary.productId(), summary));
+        Map<Long, RatingSummary> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            result.put(productId, found.getOrDefault(productId, RatingSummary.empty(productId)));
+        }
+        return result;
+    }
+
+    public RatingSummary find(Long productId) {
+        return findAll(List.of(productId)).get(productId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        ratingStore.createLockRow();
+    }
+
+    /**
+     * 리뷰를 쓰는 트랜잭션 안에서 불린다. 반영이 실패하면 리뷰 쓰기도 함께 실패한다.
+     */
+    @EventListener
+    public void onReviewRatingChanged(ReviewRatingChangedEvent event) {
+        // 행 잠금을 상품 id 순으로 잡도록 정렬해 둔다
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (RatingDelta delta : event.deltas()) {
+            deltas.computeIfAbsent(delta.productId(), k -> new long[5])[delta.rating() - 1] += delta.diff();
+        }
+        deltas.values().removeIf(counts -> counts[0] == 0 && counts[1] == 0 && counts[2] == 0 && counts[3] == 0 && counts[4] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        ratingStore.createMissing(deltas.keySet());
+        ratingStore.applyDeltas(deltas);
+    }
+
+    @Scheduled(cron = "${marketbridge.rating.rebuild-cron:0 30 4 * * *}")
+    public int rebuild() {
+        int rebuilt = ratingStore.rebuild();
+        log.info("rating summaries rebuilt. products={}", rebuilt);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.objects.marketbridge.rating;
+
+import java.util.List;
+
+public record ReviewRatingChangedEvent(List<RatingDelta> deltas) {
+}
@@ -0,0 +1,7 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+}
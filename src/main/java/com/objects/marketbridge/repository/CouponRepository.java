@@ -0,0 +1,7 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.Coupon;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CouponRepository extends JpaRepository<Coupon, Long> {
+}
@@ -0,0 +1,14 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.CustomerCoupon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CustomerCouponRepository extends JpaRepository<CustomerCoupon, Long> {
+
+    @Query("select cc.userId from CustomerCoupon cc where cc.couponId = :couponId")
+    List<Long> findUserIdsByCouponId(@Param("couponId") Long couponId);
+}
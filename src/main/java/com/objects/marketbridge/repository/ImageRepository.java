@@ -0,0 +1,7 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.Image;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImageRepository extends JpaRepository<Image, Long> {
+}
@@ -0,0 +1,12 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.ProdOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProdOptionRepository extends JpaRepository<ProdOption, Long> {
+
+    List<ProdOption> findAllByProductIdIn(Collection<Long> productIds);
+}
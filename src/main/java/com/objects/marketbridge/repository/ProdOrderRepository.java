@@ -0,0 +1,27 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.domain.ProdOrder;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProdOrderRepository extends JpaRepository<ProdOrder, Long> {
+
+    List<ProdOrder> findAllByUserIdAndStatusCodeIn(Long userId, Collection<StatusCodeType> statusCodes);
+
+    long countByUserIdAndStatusCode(Long userId, StatusCodeType statusCode);
+
+    Window<ProdOrder> findByUserId(Long userId, ScrollPosition position, Sort sort, Limit limit);
+
+    default CursorPage<ProdOrder> findPageByUserId(Long userId, CursorPageRequest request) {
+        return CursorPage.of(findByUserId(userId, request.position(), request.sort(), request.limit()), request);
+    }
+}
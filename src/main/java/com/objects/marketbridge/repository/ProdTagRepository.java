@@ -0,0 +1,12 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.ProdTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProdTagRepository extends JpaRepository<ProdTag, Long> {
+
+    List<ProdTag> findAllByProductIdIn(Collection<Long> productIds);
+}
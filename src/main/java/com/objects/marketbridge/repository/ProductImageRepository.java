@@ -0,0 +1,12 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+
+    List<ProductImage> findAllByProductIdIn(Collection<Long> productIds);
+}
@@ -0,0 +1,24 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.domain.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    List<Product> findAllByCategoryIdIn(Collection<Long> categoryIds);
+
+    Window<Product> findByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
+    default CursorPage<Product> findPageByCategoryId(Long categoryId, CursorPageRequest request) {
+        return CursorPage.of(findByCategoryId(categoryId, request.position(), request.sort(), request.limit()), request);
+    }
+}
@@ -0,0 +1,19 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.domain.Qna;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface QnaRepository extends JpaRepository<Qna, Long> {
+
+    Window<Qna> findByUserSellerId(Long userSellerId, ScrollPosition position, Sort sort, Limit limit);
+
+    default CursorPage<Qna> findPageBySeller(Long userSellerId, CursorPageRequest request) {
+        return CursorPage.of(findByUserSellerId(userSellerId, request.position(), request.sort(), request.limit()), request);
+    }
+}
@@ -0,0 +1,19 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.domain.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    Window<Review> findByProductId(Long productId, ScrollPosition position, Sort sort, Limit limit);
+
+    default CursorPage<Review> findPageByProductId(Long productId, CursorPageRequest request) {
+        return CursorPage.of(findByProductId(productId, request.position(), request.sort(), request.limit()), request);
+    }
+}
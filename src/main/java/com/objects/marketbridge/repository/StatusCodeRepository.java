@@ -0,0 +1,7 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.StatusCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StatusCodeRepository extends JpaRepository<StatusCode, Long> {
+}
@@ -0,0 +1,7 @@
+package com.objects.marketbridge.repository;
+
+import com.objects.marketbridge.domain.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+}
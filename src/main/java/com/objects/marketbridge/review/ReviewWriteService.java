@@ -0,0 +1,66 @@
+package com.objects.marketbridge.review;
+
+import com.objects.marketbridge.domain.Review;
+import com.objects.marketbridge.rating.RatingDelta;
+import com.objects.marketbridge.rating.ReviewRatingChangedEvent;
+import com.objects.marketbridge.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 리뷰 쓰기. 별점이 바뀌면 {@link ReviewRatingChangedEvent} 를 같은 트랜잭션 안에서 알려서
+ * 별점 집계가 리뷰와 함께 커밋되게 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewWriteService {
+
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Review create(Long orderId, Long productId, String content, Integer rating) {
+        Review review = reviewRepository.save(Review.builder()
+                .orderId(orderId)
+                .productId(productId)
+                .content(content)
+                .rating(rating)
+                .build());
+        publish(RatingDelta.between(null, null, productId, rating));
+        return review;
+    }
+
+    @Transactional
+    public Review update(Long reviewId, String content, Integer rating) {
+        Review review = find(reviewId);
+        Integer before = review.getRating();
+        review.update(content, rating);
+        publish(RatingDelta.between(review.getProductId(), before, review.getProductId(), rating));
+        return review;
+    }
+
+    /**
+     * 리뷰를 지운다 (soft delete). 지운 리뷰는 집계에서 빠진다.
+     */
+    @Transactional
+    public void delete(Long reviewId) {
+        Review review = find(reviewId);
+        review.delete();
+        publish(RatingDelta.between(review.getProductId(), review.getRating(), null, null));
+    }
+
+    private Review find(Long reviewId) {
+        return reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("리뷰가 없습니다. reviewId=" + reviewId));
+    }
+
+    private void publish(List<RatingDelta> deltas) {
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new ReviewRatingChangedEvent(deltas));
+        }
+    }
+}
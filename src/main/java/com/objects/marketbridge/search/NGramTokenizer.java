@@ -0,0 +1,72 @@
+package com.objects.marketbridge.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 글자 bigram 토크나이저.
+ * <p>
+ * 한글은 띄어쓰기 없이 붙여 쓰는 경우가 많아서("여름원피스"), 단어를 두 글자씩 잘라 색인하면
+ * 형태소 분석기 없이도 "원피스" 같은 부분 단어 검색이 된다. 한 글자 단어는 그대로 색인한다.
+ * 한 글자 검색어도 찾을 수 있게, 색인할 때는 {@link #characters} 로 두 글자 이상 단어의 글자도 함께 넣는다.
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        return split(text, false);
+    }
+
+    /**
+     * 두 글자 이상 단어를 한 글자씩 자른 토큰. 한 글자 단어는 {@link #tokenize} 가 이미 돌려주므로 빼고 준다.
+     */
+    public static List<String> characters(String text) {
+        return split(text, true);
+    }
+
+    private static List<String> split(String text, boolean characters) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (characters) {
+                    addCharacters(normalized, start, i, tokens);
+                } else {
+                    addWord(normalized, start, i, tokens);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addCharacters(String text, int from, int to, List<String> tokens) {
+        if (to - from == 1) {
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            tokens.add(text.substring(i, i + 1));
+        }
+    }
+
+    private static void addWord(String text, int from, int to, List<String> tokens) {
+        if (to - from == 1) {
+            tokens.add(text.substring(from, to));
+            return;
+        }
+        for (int i = from; i + 2 <= to; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.objects.marketbridge.search;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 문서 번호 오름차순 (문서 번호 차이, 빈도) 쌍을 varint 로 압축해 담는 색인 목록.
+ * 문서 번호는 항상 증가하는 순서로만 추가할 수 있다.
+ * 지움 표시된 문서도 압축 전까지 목록에 남으므로, 점수에 쓰는 문서 수는 {@link #liveCount()} 로 따로 센다.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[16];
+    private int length;
+    private int docCount;
+    private int liveCount;
+    private int lastDoc = -1;
+
+    void add(int docId, int freq) {
+        if (docId <= lastDoc) {
+            throw new IllegalArgumentException("문서 번호는 증가해야 합니다. docId=" + docId + ", lastDoc=" + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVInt(docId - lastDoc);
+        writeVInt(freq);
+        lastDoc = docId;
+        docCount++;
+        liveCount++;
+    }
+
+    /**
+     * 목록의 문서 하나가 지움 표시되었다.
+     */
+    void tombstone() {
+        liveCount--;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * keep 을 통과한 문서만 remap 한 번호로 옮긴 새 목록. remap 은 순서를 보존해야 한다.
+     */
+    PostingList compact(IntPredicate keep, IntUnaryOperator remap) {
+        PostingList compacted = new PostingList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (keep.test(cursor.doc)) {
+                compacted.add(remap.applyAsInt(cursor.doc), cursor.freq);
+            }
+        }
+        return compacted;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+        }
+    }
+
+    private void writeVInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    final class Cursor {
+
+        private int position;
+        private int remaining = docCount;
+        int doc = -1;
+        int freq;
+
+        boolean next() {
+            if (remaining == 0) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVInt();
+            freq = readVInt();
+            remaining--;
+            return true;
+        }
+
+        /**
+         * target 이상인 첫 문서로 이동한다.
+         */
+        boolean advance(int target) {
+            while (doc < target) {
+                if (!next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.objects.marketbridge.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품명과 태그로 만든 메모리 역색인.
+ * <p>
+ * 상품마다 증가하는 내부 문서 번호(int)를 붙이고, 토큰별로 압축된 {@link PostingList} 를 둔다.
+ * 상품이 바뀌면 기존 문서를 지움 표시하고 새 번호로 다시 추가하며,
+ * 지운 문서가 일정 비율을 넘으면 색인 목록을 다시 써서 공간을 회수한다.
+ * 점수는 BM25 이며, df 는 지운 문서를 뺀 토큰별 문서 수를 쓴다.
+ * 한 글자 검색어를 위해 글자 토큰도 색인하지만, 문서 길이에는 bigram 토큰만 센다.
+ */
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double COMPACT_RATIO = 0.3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByProduct = new HashMap<>();
+    private long[] productByDoc = new long[1024];
+    private int[] docLength = new int[1024];
+    // 지울 때 토큰별 살아 있는 문서 수를 줄이려고 문서마다 토큰을 기억한다
+    private String[][] termsByDoc = new String[1024][];
+    private BitSet deleted = new BitSet();
+    private int nextDoc;
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * 상품을 추가하거나 다시 색인한다.
+     */
+    public void index(Long productId, String name, Collection<String> tags) {
+        List<String> tokens = new ArrayList<>(NGramTokenizer.tokenize(name));
+        List<String> characters = new ArrayList<>(NGramTokenizer.characters(name));
+        if (tags != null) {
+            tags.forEach(tag -> {
+                tokens.addAll(NGramTokenizer.tokenize(tag));
+                characters.addAll(NGramTokenizer.characters(tag));
+            });
+        }
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        characters.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            int doc = nextDoc++;
+            ensureDocCapacity(doc + 1);
+            productByDoc[doc] = productId;
+            docLength[doc] = tokens.size();
+            termsByDoc[doc] = frequencies.keySet().toArray(String[]::new);
+            totalLength += tokens.size();
+            docByProduct.put(productId, doc);
+            frequencies.forEach((token, freq) -> postings.computeIfAbsent(token, k -> new PostingList()).add(doc, freq));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, SearchMode mode, int limit) {
+        List<String> terms = NGramTokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                } else if (mode == SearchMode.AND) {
+                    return List.of();
+                }
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            return mode == SearchMode.AND ? searchAll(lists, limit) : searchAny(lists, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHit> searchAll(List<PostingList> lists, int limit) {
+        lists.sort(Comparator.comparingInt(PostingList::docCount));
+        PostingList.Cursor[] cursors = lists.stream().map(PostingList::cursor).toArray(PostingList.Cursor[]::new);
+        double[] idf = idf(lists);
+        double averageLength = averageLength();
+        TopHits top = new TopHits(limit);
+
+        PostingList.Cursor lead = cursors[0];
+        if (!lead.next()) {
+            return List.of();
+        }
+        while (true) {
+            int doc = lead.doc;
+            boolean matched = true;
+            for (int i = 1; i < cursors.length; i++) {
+                if (!cursors[i].advance(doc)) {
+                    return top.toHits(productByDoc);
+                }
+                if (cursors[i].doc > doc) {
+                    // 다른 목록이 앞서 있으면 lead 를 그 문서까지 건너뛴다
+                    if (!lead.advance(cursors[i].doc)) {
+                        return top.toHits(productByDoc);
+                    }
+                    matched = false;
+                    break;
+                }
+            }
+            if (!matched) {
+                continue;
+            }
+            if (!deleted.get(doc)) {
+                double score = 0;
+                for (int i = 0; i < cursors.length; i++) {
+                    score += bm25(idf[i], cursors[i].freq, docLength[doc], averageLength);
+                }
+                top.offer(doc, score);
+            }
+            if (!lead.next()) {
+                break;
+            }
+        }
+        return top.toHits(productByDoc);
+    }
+
+    private List<SearchHit> searchAny(List<PostingList> lists, int limit) {
+        double[] idf = idf(lists);
+        double averageLength = averageLength();
+        Map<Integer, double[]> scores = new HashMap<>();
+        for (int i = 0; i < lists.size(); i++) {
+            PostingList.Cursor cursor = lists.get(i).cursor();
+            while (cursor.next()) {
+                if (!deleted.get(cursor.doc)) {
+                    scores.computeIfAbsent(cursor.doc, k -> new double[1])[0] += bm25(idf[i], cursor.freq, docLength[cursor.doc], averageLength);
+                }
+            }
+        }
+        TopHits top = new TopHits(limit);
+        scores.forEach((doc, score) -> top.offer(doc, score[0]));
+        return top.toHits(productByDoc);
+    }
+
+    private double[] idf(List<PostingList> lists) {
+        int liveDocs = docByProduct.size();
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < lists.size(); i++) {
+            int df = lists.get(i).liveCount();
+            idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        }
+        return idf;
+    }
+
+    private double averageLength() {
+        return docByProduct.isEmpty() ? 1 : (double) totalLength / docByProduct.size();
+    }
+
+    private static double bm25(double idf, int freq, int length, double averageLength) {
+        return idf * (freq * (K1 + 1)) / (freq + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void removeLocked(Long productId) {
+        Integer doc = docByProduct.remove(productId);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= docLength[doc];
+        for (String term : termsByDoc[doc]) {
+            postings.get(term).tombstone();
+        }
+        termsByDoc[doc] = null;
+        if (deletedCount > 1_000 && deletedCount > nextDoc * COMPACT_RATIO) {
+            compactLocked();
+        }
+    }
+
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지운 문서를 빼고 문서 번호를 앞으로 당겨 색인 목록을 다시 쓴다.
+     */
+    private void compactLocked() {
+        int[] remap = new int[nextDoc];
+        int live = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            remap[doc] = deleted.get(doc) ? -1 : live++;
+        }
+        BitSet oldDeleted = deleted;
+        Map<String, PostingList> compacted = new HashMap<>(postings.size());
+        postings.forEach((term, list) -> {
+            PostingList kept = list.compact(doc -> !oldDeleted.get(doc), doc -> remap[doc]);
+            if (kept.docCount() > 0) {
+                compacted.put(term, kept);
+            }
+        });
+        long[] newProductByDoc = new long[Math.max(1024, live * 2)];
+        int[] newDocLength = new int[newProductByDoc.length];
+        String[][] newTermsByDoc = new String[newProductByDoc.length][];
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (remap[doc] >= 0) {
+                newProductByDoc[remap[doc]] = productByDoc[doc];
+                newDocLength[remap[doc]] = docLength[doc];
+                newTermsByDoc[remap[doc]] = termsByDoc[doc];
+            }
+        }
+        docByProduct.replaceAll((productId, doc) -> remap[doc]);
+        postings = compacted;
+        productByDoc = newProductByDoc;
+        docLength = newDocLength;
+        termsByDoc = newTermsByDoc;
+        deleted = new BitSet();
+        deletedCount = 0;
+        nextDoc = live;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > productByDoc.length) {
+            int newLength = Math.max(capacity, productByDoc.length * 2);
+            productByDoc = Arrays.copyOf(productByDoc, newLength);
+            docLength = Arrays.copyOf(docLength, newLength);
+            termsByDoc = Arrays.copyOf(termsByDoc, newLength);
+        }
+    }
+
+    /**
+     * 점수 상위 limit 개만 유지하는 min-heap
+     */
+    private static final class TopHits {
+
+        private final int limit;
+        private final PriorityQueue<double[]> heap;
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Comparator.<double[]>comparingDouble(hit -> hit[1]).thenComparingDouble(hit -> -hit[0]));
+        }
+
+        void offer(int doc, double score) {
+            if (heap.size() < limit) {
+                heap.add(new double[]{doc, score});
+            } else if (score > heap.peek()[1]) {
+                heap.poll();
+                heap.add(new double[]{doc, score});
+            }
+        }
+
+        List<SearchHit> toHits(long[] productByDoc) {
+            List<SearchHit> hits = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                double[] hit = heap.poll();
+                hits.add(new SearchHit(productByDoc[(int) hit[0]], hit[1]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.objects.marketbridge.search;
+
+import com.objects.marketbridge.product.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 검색. 기동 시 전체 상품으로 색인을 만들고, {@link ProductChangedEvent} 를 받으면 해당 상품만 다시 색인한다.
+ */
+@Slf4j
+@Service
+public class ProductSearchService {
+
+    private static final String SELECT_DOCUMENTS =
+            "select p.product_id, p.name, t.name as tag_name from product p " +
+            "left join prod_tag pt on pt.product_id = p.product_id and pt.deleted_at is null " +
+            "left join tag t on t.tag_id = pt.tag_id and t.deleted_at is null " +
+            "where p.deleted_at is null ";
+    private static final String ORDER_BY = "order by p.product_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    public ProductSearchService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        load(SELECT_DOCUMENTS + ORDER_BY, Map.of());
+        log.info("product search index built. size={}", index.size());
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Set<Long> productIds = new HashSet<>(event.productIds());
+        Set<Long> found = load(SELECT_DOCUMENTS + "and p.product_id in (:productIds) " + ORDER_BY, Map.of("productIds", productIds));
+        productIds.removeAll(found);
+        // 지워졌거나 soft delete 된 상품
+        productIds.forEach(index::remove);
+    }
+
+    public List<SearchHit> search(String query, SearchMode mode, int limit) {
+        return index.search(query, mode, limit);
+    }
+
+    /**
+     * product_id 순으로 정렬된 (상품, 태그) 행을 상품 단위로 모아 색인한다. 한 상품의 행만 메모리에 둔다.
+     */
+    private Set<Long> load(String sql, Map<String, ?> params) {
+        Set<Long> loaded = new HashSet<>();
+        DocumentCollector collector = new DocumentCollector(loaded);
+        jdbcTemplate.query(sql, params, rs -> collector.add(rs.getLong("product_id"), rs.getString("name"), rs.getString("tag_name")));
+        collector.flush();
+        return loaded;
+    }
+
+    private final class DocumentCollector {
+
+        private final Set<Long> loaded;
+        private Long productId;
+        private String name;
+        private final List<String> tags = new ArrayList<>();
+
+        private DocumentCollector(Set<Long> loaded) {
+            this.loaded = loaded;
+        }
+
+        void add(Long rowProductId, String rowName, String tagName) {
+            if (!rowProductId.equals(productId)) {
+                flush();
+                productId = rowProductId;
+                name = rowName;
+            }
+            if (tagName != null) {
+                tags.add(tagName);
+            }
+        }
+
+        void flush() {
+            if (productId != null) {
+                index.index(productId, name, tags);
+                loaded.add(productId);
+            }
+            productId = null;
+            tags.clear();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.objects.marketbridge.search;
+
+public record SearchHit(Long productId, double score) {
+}
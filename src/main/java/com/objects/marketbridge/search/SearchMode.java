@@ -0,0 +1,8 @@
+package com.objects.marketbridge.search;
+
+public enum SearchMode {
+    // 검색어의 모든 토큰을 포함
+    AND,
+    // 검색어의 토큰을 하나 이상 포함
+    OR
+}
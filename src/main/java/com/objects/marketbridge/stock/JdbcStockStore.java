@@ -0,0 +1,43 @@
+package com.objects.marketbridge.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcStockStore implements StockStore {
+
+    private static final String SELECT_BY_KEY =
+            "select stock_id, quantity from stock where product_id = ? and warehouse_id = ? and product_option_id = ?";
+    private static final String SELECT_BY_KEY_WITHOUT_OPTION =
+            "select stock_id, quantity from stock where product_id = ? and warehouse_id = ? and product_option_id is null";
+    private static final String UPDATE_QUANTITY =
+            "update stock set quantity = quantity + ? where stock_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<StockSnapshot> load(StockKey key) {
+        List<StockSnapshot> rows = key.productOptionId() == null
+                ? jdbcTemplate.query(SELECT_BY_KEY_WITHOUT_OPTION, (rs, rowNum) -> new StockSnapshot(rs.getLong("stock_id"), rs.getInt("quantity")),
+                        key.productId(), key.warehouseId())
+                : jdbcTemplate.query(SELECT_BY_KEY, (rs, rowNum) -> new StockSnapshot(rs.getLong("stock_id"), rs.getInt("quantity")),
+                        key.productId(), key.warehouseId(), key.productOptionId());
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(List<StockDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPDATE_QUANTITY, deltas, deltas.size(),
+                (ps, delta) -> {
+                    ps.setInt(1, delta.delta());
+                    ps.setLong(2, delta.stockId());
+                });
+    }
+}
@@ -0,0 +1,9 @@
+package com.objects.marketbridge.stock;
+
+/**
+ * 재고 예약 엔진에서 키의 가용 수량이 0 을 지났을 때 내는 이벤트.
+ *
+ * @param available 0 에서 다시 생겼으면 true, 0 이 됐으면 false
+ */
+public record StockAvailabilityChangedEvent(StockKey key, boolean available) {
+}
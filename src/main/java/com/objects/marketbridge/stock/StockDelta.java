@@ -0,0 +1,7 @@
+package com.objects.marketbridge.stock;
+
+/**
+ * 아직 DB 에 반영되지 않은 Stock 행의 순 변화량 (판매는 음수)
+ */
+public record StockDelta(Long stockId, int delta) {
+}
@@ -0,0 +1,7 @@
+package com.objects.marketbridge.stock;
+
+/**
+ * Stock 행을 식별하는 키 (상품, 창고, 옵션). 옵션이 없는 상품은 productOptionId 가 null 이다.
+ */
+public record StockKey(Long productId, Long warehouseId, Long productOptionId) {
+}
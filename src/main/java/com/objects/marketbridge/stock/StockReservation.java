@@ -0,0 +1,13 @@
+package com.objects.marketbridge.stock;
+
+import java.time.Instant;
+
+/**
+ * 결제 완료 전까지 잡아두는 재고 예약. expiresAt 이 지나면 자동으로 해제된다.
+ */
+public record StockReservation(Long id, StockKey key, int quantity, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
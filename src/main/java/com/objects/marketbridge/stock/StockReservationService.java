@@ -0,0 +1,217 @@
+package com.objects.marketbridge.stock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인기 상품의 Stock 수량을 메모리에서 관리하는 재고 예약 서비스.
+ * <p>
+ * 주문마다 stock 행을 read-modify-write 하지 않고, 키별 카운터를 CAS 로 차감해 예약을 잡는다.
+ * 확정된 차감분만 모아 두었다가 {@link #flush()} 에서 배치 update 로 반영한다.
+ * 한 번 적재된 키의 수량은 이 서비스가 기준이므로, 같은 행을 다른 경로에서 수정하면 안 된다.
+ * 가용 수량이 0 이 되거나 0 에서 다시 생기면 {@link StockAvailabilityChangedEvent} 를 낸다.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final StockStore stockStore;
+    private final Duration reservationTtl;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private final Map<StockKey, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, StockReservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong reservationSequence = new AtomicLong();
+
+    @Autowired
+    public StockReservationService(StockStore stockStore,
+                                   @Value("${marketbridge.stock.reservation-ttl:10m}") Duration reservationTtl,
+                                   ApplicationEventPublisher eventPublisher) {
+        this(stockStore, reservationTtl, eventPublisher, Clock.systemUTC());
+    }
+
+    StockReservationService(StockStore stockStore, Duration reservationTtl, ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.stockStore = stockStore;
+        this.reservationTtl = reservationTtl;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * 가용 수량이 충분하면 예약을 잡는다. 재고가 부족하거나 stock 행이 없으면 빈 값을 돌려준다.
+     */
+    public Optional<StockReservation> reserve(StockKey key, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("예약 수량은 1 이상이어야 합니다. quantity=" + quantity);
+        }
+        StockCounter counter = counter(key);
+        int remaining = counter == null ? -1 : counter.tryTake(quantity);
+        if (remaining < 0) {
+            return Optional.empty();
+        }
+        if (remaining == 0) {
+            eventPublisher.publishEvent(new StockAvailabilityChangedEvent(key, false));
+        }
+        StockReservation reservation = new StockReservation(
+                reservationSequence.incrementAndGet(), key, quantity, clock.instant().plus(reservationTtl));
+        reservations.put(reservation.id(), reservation);
+        return Optional.of(reservation);
+    }
+
+    /**
+     * 예약을 판매로 확정한다. 이미 만료/해제된 예약이면 false 를 돌려주며 재고는 건드리지 않는다.
+     */
+    public boolean confirm(Long reservationId) {
+        StockReservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        StockCounter counter = counters.get(reservation.key());
+        if (reservation.isExpired(clock.instant())) {
+            giveBack(reservation);
+            return false;
+        }
+        counter.recordSale(reservation.quantity());
+        return true;
+    }
+
+    /**
+     * 예약을 취소하고 수량을 되돌린다.
+     */
+    public boolean release(Long reservationId) {
+        StockReservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        giveBack(reservation);
+        return true;
+    }
+
+    /**
+     * 현재 예약 가능한 수량. 적재되지 않은 키는 DB 에서 읽어 온다.
+     */
+    public int available(StockKey key) {
+        StockCounter counter = counter(key);
+        return counter == null ? 0 : counter.available.get();
+    }
+
+    @Scheduled(fixedDelayString = "${marketbridge.stock.expire-interval:1000}")
+    public int releaseExpired() {
+        Instant now = clock.instant();
+        int released = 0;
+        for (StockReservation reservation : reservations.values()) {
+            if (reservation.isExpired(now) && reservations.remove(reservation.id(), reservation)) {
+                giveBack(reservation);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * 확정된 판매분을 stock 테이블에 배치로 반영한다. 실패하면 변화량을 되돌려 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${marketbridge.stock.flush-interval:1000}")
+    public int flush() {
+        List<StockDelta> deltas = new ArrayList<>();
+        List<StockCounter> drained = new ArrayList<>();
+        for (StockCounter counter : counters.values()) {
+            int delta = counter.unflushed.getAndSet(0);
+            if (delta != 0) {
+                deltas.add(new StockDelta(counter.stockId, delta));
+                drained.add(counter);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            stockStore.applyDeltas(deltas);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).unflushed.addAndGet(deltas.get(i).delta());
+            }
+            log.warn("stock flush failed, {} rows will be retried", deltas.size(), e);
+            return 0;
+        }
+        return deltas.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void giveBack(StockReservation reservation) {
+        if (counters.get(reservation.key()).giveBack(reservation.quantity())) {
+            eventPublisher.publishEvent(new StockAvailabilityChangedEvent(reservation.key(), true));
+        }
+    }
+
+    private StockCounter counter(StockKey key) {
+        StockCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        return stockStore.load(key)
+                .map(snapshot -> counters.computeIfAbsent(key, k -> new StockCounter(snapshot.stockId(), snapshot.quantity())))
+                .orElse(null);
+    }
+
+    static final class StockCounter {
+
+        private final Long stockId;
+        // 예약 가능한 수량 (DB 수량 - 예약 중 - 미반영 판매)
+        private final AtomicInteger available;
+        // DB 에 아직 반영하지 않은 순 변화량
+        private final AtomicInteger unflushed = new AtomicInteger();
+
+        StockCounter(Long stockId, int quantity) {
+            this.stockId = stockId;
+            this.available = new AtomicInteger(quantity);
+        }
+
+        /**
+         * @return 차감 후 남은 수량. 부족하면 -1
+         */
+        int tryTake(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    return -1;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return current - quantity;
+                }
+            }
+        }
+
+        /**
+         * @return 0 이던 수량이 다시 생겼으면 true
+         */
+        boolean giveBack(int quantity) {
+            return available.addAndGet(quantity) == quantity;
+        }
+
+        void recordSale(int quantity) {
+            unflushed.addAndGet(-quantity);
+        }
+    }
+}
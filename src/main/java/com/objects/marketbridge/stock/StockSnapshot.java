@@ -0,0 +1,7 @@
+package com.objects.marketbridge.stock;
+
+/**
+ * DB 에서 읽어온 Stock 행의 현재 수량
+ */
+public record StockSnapshot(Long stockId, int quantity) {
+}
@@ -0,0 +1,17 @@
+package com.objects.marketbridge.stock;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 재고 예약 엔진이 사용하는 Stock 테이블 접근 포트
+ */
+public interface StockStore {
+
+    Optional<StockSnapshot> load(StockKey key);
+
+    /**
+     * quantity = quantity + delta 를 한 트랜잭션 안에서 배치로 반영한다.
+     */
+    void applyDeltas(List<StockDelta> deltas);
+}
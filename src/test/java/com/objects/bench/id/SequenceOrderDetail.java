@@ -0,0 +1,30 @@
+package com.objects.bench.id;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * IdGenerationBenchmarkTest 전용 엔티티. com.objects.marketbridge 밖에 둬야
+ * 애플리케이션 엔티티 스캔에 잡히지 않아 다른 테스트 컨텍스트에 테이블이 생기지 않는다.
+ */
+@Entity
+@Table(name = "bench_sequence_order_detail")
+public class SequenceOrderDetail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+    private Long orderId;
+    private Long price;
+
+    protected SequenceOrderDetail() {
+    }
+
+    public SequenceOrderDetail(Long orderId, Long price) {
+        this.orderId = orderId;
+        this.price = price;
+    }
+}
@@ -0,0 +1,161 @@
+package com.objects.marketbridge.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SoftDeleteArchiverTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 3, 0);
+    private static final ArchiveTarget REVIEW = new ArchiveTarget("review", "review_id");
+
+    private FakeArchiveStore store;
+    private List<Duration> sleeps;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        store = new FakeArchiveStore();
+        sleeps = new ArrayList<>();
+        clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    @Test
+    void 보관_기간이_지난_삭제_행만_옮긴다() {
+        store.row(1, NOW.minusDays(100));
+        store.row(2, NOW.minusDays(91));
+        store.row(3, NOW.minusDays(10));
+        store.row(4, null);
+
+        long archived = archiver(10, 0).run();
+
+        assertThat(archived).isEqualTo(2L);
+        assertThat(store.archived).containsExactly(1L, 2L);
+        assertThat(store.live.keySet()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void 묶음_단위로_옮기고_checkpoint_를_남긴다() {
+        for (long id = 1; id <= 25; id++) {
+            store.row(id, NOW.minusDays(200).plusMinutes(id));
+        }
+
+        archiver(10, 0).run();
+
+        assertThat(store.archiveCalls).isEqualTo(3);
+        assertThat(store.checkpoint.id()).isEqualTo(25L);
+        assertThat(store.checkpoint.archivedCount()).isEqualTo(25L);
+    }
+
+    @Test
+    void 중간에_실패하면_다음_실행이_checkpoint_부터_이어간다() {
+        for (long id = 1; id <= 30; id++) {
+            store.row(id, NOW.minusDays(200));
+        }
+        store.failOnCall = 2;
+        SoftDeleteArchiver archiver = archiver(10, 0);
+
+        assertThatThrownBy(archiver::run).isInstanceOf(IllegalStateException.class);
+        assertThat(store.archived).hasSize(10);
+
+        store.failOnCall = -1;
+        archiver.run();
+
+        assertThat(store.archived).hasSize(30).doesNotHaveDuplicates();
+        assertThat(store.checkpoint.archivedCount()).isEqualTo(30L);
+    }
+
+    @Test
+    void 초당_처리량을_넘지_않도록_묶음_사이에_쉰다() {
+        for (long id = 1; id <= 30; id++) {
+            store.row(id, NOW.minusDays(200));
+        }
+
+        archiver(10, 20).run();
+
+        // 10 건을 초당 20 건으로 옮기면 묶음마다 0.5 초 가까이 쉬어야 한다
+        assertThat(sleeps).hasSize(3);
+        assertThat(sleeps.stream().allMatch(sleep -> sleep.toMillis() > 400)).isTrue();
+    }
+
+    @Test
+    void 진행_상황을_테이블별로_보여준다() {
+        store.row(1, NOW.minusDays(100));
+        SoftDeleteArchiver archiver = archiver(10, 0);
+
+        archiver.run();
+
+        ArchiveProgress progress = archiver.progress().get(0);
+        assertThat(progress.table()).isEqualTo("review");
+        assertThat(progress.archivedTotal()).isEqualTo(1L);
+        assertThat(progress.archivedLastRun()).isEqualTo(1L);
+        assertThat(progress.running()).isFalse();
+    }
+
+    @Test
+    void 식별자가_아닌_테이블_이름은_받지_않는다() {
+        assertThatThrownBy(() -> ArchiveTarget.parse("review; drop table user:review_id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SoftDeleteArchiver archiver(int chunkSize, int rowsPerSecond) {
+        return new SoftDeleteArchiver(store, List.of(REVIEW), Duration.ofDays(90), chunkSize, rowsPerSecond, clock, sleeps::add);
+    }
+
+    static class FakeArchiveStore implements ArchiveStore {
+
+        private final Map<Long, LocalDateTime> live = new TreeMap<>();
+        private final List<Long> archived = new ArrayList<>();
+        private ArchivePosition checkpoint = ArchivePosition.start();
+        private int archiveCalls;
+        private int failOnCall = -1;
+
+        void row(long id, LocalDateTime deletedAt) {
+            live.put(id, deletedAt);
+        }
+
+        @Override
+        public ArchivePosition findCheckpoint(ArchiveTarget target) {
+            return checkpoint;
+        }
+
+        @Override
+        public List<ArchiveCandidate> findDeleted(ArchiveTarget target, LocalDateTime cutoff, ArchivePosition after, int limit) {
+            Comparator<ArchiveCandidate> order = Comparator.comparing(ArchiveCandidate::deletedAt).thenComparingLong(ArchiveCandidate::id);
+            ArchiveCandidate from = new ArchiveCandidate(after.id(), after.deletedAt(), Map.of());
+            return live.entrySet().stream()
+                    .filter(entry -> entry.getValue() != null && entry.getValue().isBefore(cutoff))
+                    .map(entry -> new ArchiveCandidate(entry.getKey(), entry.getValue(), new HashMap<>(Map.of("review_id", entry.getKey()))))
+                    .filter(candidate -> order.compare(candidate, from) > 0)
+                    .sorted(order)
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public void archive(ArchiveTarget target, List<ArchiveCandidate> rows, ArchivePosition checkpoint) {
+            archiveCalls++;
+            if (archiveCalls == failOnCall) {
+                throw new IllegalStateException("db down");
+            }
+            rows.forEach(row -> {
+                archived.add(row.id());
+                live.remove(row.id());
+            });
+            this.checkpoint = checkpoint;
+        }
+    }
+}
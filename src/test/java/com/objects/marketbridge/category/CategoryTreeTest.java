@@ -0,0 +1,112 @@
+package com.objects.marketbridge.category;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryTreeTest {
+
+    // 1 패션 ─ 2 여성 ─ 4 원피스
+    //        └ 3 남성
+    // 5 식품 ─ 6 과일
+    private final CategoryTree tree = CategoryTree.of(List.of(
+            new CategoryNode(1L, null, "패션"),
+            new CategoryNode(2L, 1L, "여성"),
+            new CategoryNode(3L, 1L, "남성"),
+            new CategoryNode(4L, 2L, "원피스"),
+            new CategoryNode(5L, null, "식품"),
+            new CategoryNode(6L, 5L, "과일")
+    ));
+
+    @Test
+    void 하위_카테고리_id를_전위_순서로_돌려준다() {
+        assertThat(tree.subtreeIds(1L)).containsExactly(1L, 2L, 4L, 3L);
+        assertThat(tree.subtreeIds(2L)).containsExactly(2L, 4L);
+        assertThat(tree.subtreeIds(6L)).containsExactly(6L);
+        assertThat(tree.subtreeIds(99L)).isEmpty();
+    }
+
+    @Test
+    void 하위_여부를_판단한다() {
+        assertThat(tree.isInSubtree(1L, 4L)).isTrue();
+        assertThat(tree.isInSubtree(1L, 1L)).isTrue();
+        assertThat(tree.isInSubtree(2L, 3L)).isFalse();
+        assertThat(tree.isInSubtree(5L, 4L)).isFalse();
+    }
+
+    @Test
+    void 최상위부터의_경로를_돌려준다() {
+        assertThat(tree.path(4L).stream().map(CategoryNode::name).toList()).containsExactly("패션", "여성", "원피스");
+        assertThat(tree.roots().stream().map(CategoryNode::id).toList()).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void 카테고리를_옮기면_새_트리에만_반영된다() {
+        CategoryTree moved = tree.with(new CategoryNode(2L, 5L, "여성"));
+
+        assertThat(moved.subtreeIds(5L)).containsExactly(5L, 2L, 4L, 6L);
+        assertThat(moved.subtreeIds(1L)).containsExactly(1L, 3L);
+        assertThat(tree.subtreeIds(1L)).containsExactly(1L, 2L, 4L, 3L);
+    }
+
+    @Test
+    void 카테고리를_지우면_하위는_최상위가_된다() {
+        CategoryTree removed = tree.without(2L);
+
+        assertThat(removed.roots().stream().map(CategoryNode::id).toList()).containsExactly(1L, 4L, 5L);
+        assertThat(removed.isInSubtree(1L, 4L)).isFalse();
+    }
+
+    @Test
+    void 이름만_바꾸면_번호는_그대로_두고_노드와_형제_목록만_바꾼다() {
+        CategoryTree renamed = tree.with(new CategoryNode(3L, 1L, "남성의류"));
+
+        assertThat(renamed.children(1L).stream().map(CategoryNode::name).toList()).containsExactly("여성", "남성의류");
+        assertThat(renamed.subtreeIds(1L)).containsExactly(1L, 2L, 4L, 3L);
+        assertThat(renamed.path(3L).stream().map(CategoryNode::name).toList()).containsExactly("패션", "남성의류");
+        assertThat(tree.find(3L).orElseThrow().name()).isEqualTo("남성");
+    }
+
+    @Test
+    void 한_노드씩_바꾼_트리는_전체를_다시_만든_트리와_같다() {
+        Random random = new Random(7);
+        Map<Long, CategoryNode> expected = new HashMap<>();
+        CategoryTree patched = CategoryTree.empty();
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextLong(1, 60);
+            if (random.nextInt(5) == 0) {
+                expected.remove(id);
+                patched = patched.without(id);
+            } else {
+                Long parentId = random.nextInt(4) == 0 ? null : random.nextLong(1, 60);
+                CategoryNode node = new CategoryNode(id, parentId, "c" + step);
+                expected.put(id, node);
+                patched = patched.with(node);
+            }
+            CategoryTree rebuilt = CategoryTree.of(expected.values());
+
+            assertThat(patched.size()).isEqualTo(rebuilt.size());
+            for (Long categoryId : expected.keySet()) {
+                assertThat(patched.subtreeIds(categoryId)).containsExactlyElementsOf(rebuilt.subtreeIds(categoryId));
+                assertThat(patched.children(categoryId)).containsExactlyElementsOf(rebuilt.children(categoryId));
+                assertThat(patched.path(categoryId)).containsExactlyElementsOf(rebuilt.path(categoryId));
+            }
+        }
+    }
+
+    @Test
+    void 순환이_있어도_모든_노드를_번호_매긴다() {
+        CategoryTree cyclic = CategoryTree.of(List.of(
+                new CategoryNode(1L, 2L, "A"),
+                new CategoryNode(2L, 1L, "B")
+        ));
+
+        assertThat(cyclic.subtreeIds(1L)).containsExactly(1L, 2L);
+        assertThat(cyclic.path(2L).stream().map(CategoryNode::id).toList()).containsExactly(1L, 2L);
+    }
+}
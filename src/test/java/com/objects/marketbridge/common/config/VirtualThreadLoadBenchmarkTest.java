@@ -0,0 +1,150 @@
+package com.objects.marketbridge.common.config;
+
+import com.objects.marketbridge.MarketbridgeApplication;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 부하를 Tomcat 스레드 풀 모드와 가상 스레드 모드로 걸어 처리량과 p99 를 비교한다. ./gradlew benchmark 로 실행한다.
+ * 요청마다 결제 대행사 호출을 흉내 낸 대기 후 DB 를 한 번 조회하며, 동시 요청 수는 Tomcat 최대 스레드(200)보다 많다.
+ * 측정하는 동안 JFR 로 가상 스레드 pinning 이벤트를 센다.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CONCURRENCY = 1_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 20_000;
+    private static final Duration GATEWAY_LATENCY = Duration.ofMillis(50);
+
+    @Test
+    void 스레드_풀_대_가상_스레드() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        System.out.printf("throughput x%.1f, p99 x%.1f%n",
+                virtual.requestsPerSecond() / platform.requestsPerSecond(), platform.p99Millis() / virtual.p99Millis());
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MarketbridgeApplication.class, CheckoutProbeConfig.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .run()) {
+            int port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/load-test/checkout");
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientThreads)
+                        .build();
+                fire(client, uri, WARMUP_REQUESTS, new long[WARMUP_REQUESTS], new AtomicInteger());
+
+                LongAdder pinned = new LongAdder();
+                try (RecordingStream recording = new RecordingStream()) {
+                    recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+                    recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.increment());
+                    recording.startAsync();
+
+                    long[] latencies = new long[REQUESTS];
+                    AtomicInteger failures = new AtomicInteger();
+                    long start = System.nanoTime();
+                    fire(client, uri, REQUESTS, latencies, failures);
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                    return LoadResult.of(virtualThreads ? "virtual" : "platform", latencies, elapsed, failures.get(), pinned.sum());
+                }
+            }
+        }
+    }
+
+    private static void fire(HttpClient client, URI uri, int requests, long[] latencies, AtomicInteger failures) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int index = i;
+                callers.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - start;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    record LoadResult(String mode, double requestsPerSecond, double p50Millis, double p99Millis, int failures, long pinnedEvents) {
+
+        static LoadResult of(String mode, long[] latencies, Duration elapsed, int failures, long pinnedEvents) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return new LoadResult(mode, sorted.length / seconds,
+                    sorted[sorted.length / 2] / 1_000_000.0,
+                    sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000.0,
+                    failures, pinnedEvents);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %8.0f req/s, p50 %7.1fms, p99 %7.1fms, failures %d, pinned %d",
+                    mode, requestsPerSecond, p50Millis, p99Millis, failures, pinnedEvents);
+        }
+    }
+
+    /**
+     * 결제 대행사 호출(대기)과 DB 조회를 하는 부하 시험용 엔드포인트.
+     * 이 시험이 띄우는 컨텍스트에만 등록하고, 다른 테스트 컨텍스트의 컴포넌트 스캔에서는 빠진다.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CheckoutProbeConfig {
+
+        @Bean
+        RouterFunction<ServerResponse> checkoutProbe(JdbcTemplate jdbcTemplate) {
+            return RouterFunctions.route()
+                    .GET("/load-test/checkout", request -> {
+                        Thread.sleep(GATEWAY_LATENCY);
+                        return ServerResponse.ok().body(jdbcTemplate.queryForObject("select count(*) from product", Long.class));
+                    })
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.objects.marketbridge.common.id;
+
+import com.objects.bench.id.IdentityOrderDetail;
+import com.objects.bench.id.SequenceOrderDetail;
+import com.objects.marketbridge.common.config.IdGeneratorConfig;
+import com.objects.marketbridge.common.config.JpaAuditingConfig;
+import com.objects.marketbridge.domain.ProdOrderDetail;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongFunction;
+
+/**
+ * 식별자 전략별 대량 insert 처리량 비교. ./gradlew benchmark 로 실행한다.
+ * IDENTITY 는 insert 마다 생성된 키를 받아와야 해서 JDBC 배치가 꺼지고,
+ * SEQUENCE 는 allocationSize 마다 시퀀스를 조회하며, Snowflake 는 DB 왕복이 없다.
+ * 비교용 엔티티는 이 테스트의 JPA 슬라이스에서만 스캔한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = IdGenerationBenchmarkTest.JpaSlice.class)
+class IdGenerationBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int FLUSH_SIZE = 500;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void 식별자_전략별_insert_처리량() {
+        measure("IDENTITY", i -> new IdentityOrderDetail(i, i * 10));
+        measure("SEQUENCE", i -> new SequenceOrderDetail(i, i * 10));
+        measure("SNOWFLAKE", i -> ProdOrderDetail.builder().orderId(i).productId(i).price(i * 10).build());
+    }
+
+    private void measure(String strategy, LongFunction<Object> factory) {
+        insert(2_000, factory);
+        long start = System.nanoTime();
+        insert(ROWS, factory);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-10s %,d rows in %.3fs -> %,.0f rows/s%n", strategy, ROWS, seconds, ROWS / seconds);
+    }
+
+    private void insert(int rows, LongFunction<Object> factory) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long i = 1; i <= rows; i++) {
+                em.persist(factory.apply(i));
+                if (i % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = {ProdOrderDetail.class, IdentityOrderDetail.class})
+    @Import({IdGeneratorConfig.class, JpaAuditingConfig.class})
+    static class JpaSlice {
+    }
+}
@@ -0,0 +1,72 @@
+package com.objects.marketbridge.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void 시각과_노드가_식별자에_담긴다() {
+        long now = SnowflakeIdGenerator.EPOCH_MILLIS + 123_456_789L;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, () -> now);
+
+        long id = generator.nextId();
+
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(now);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(42);
+    }
+
+    @Test
+    void 같은_밀리초에_시퀀스를_다_쓰거나_시계가_뒤로_가도_증가한다() {
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long prev = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-500);
+            }
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(prev);
+            prev = id;
+        }
+    }
+
+    @Test
+    void 여러_스레드에서_중복없이_발급한다() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(400_000);
+    }
+
+    @Test
+    void 노드_번호_범위를_벗어나면_예외가_발생한다() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.objects.marketbridge.common.page;
+
+import com.objects.marketbridge.common.id.IdGenerator;
+import com.objects.marketbridge.domain.BaseEntity;
+import com.objects.marketbridge.repository.ProdOrderRepository;
+import com.objects.marketbridge.repository.QnaRepository;
+import com.objects.marketbridge.repository.ReviewRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1000 번째 페이지 조회 시간을 offset 과 keyset 으로 비교한다. ./gradlew benchmark 로 실행한다.
+ * offset 은 앞의 행을 모두 읽고 버리지만, keyset 은 (owner, created_at, id) 인덱스에서 바로 시작 위치를 찾는다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class KeysetPaginationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGE = 1_000;
+    private static final int ROWS = PAGE_SIZE * PAGE + 5_000;
+    private static final int RUNS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private QnaRepository qnaRepository;
+
+    @Autowired
+    private ProdOrderRepository prodOrderRepository;
+
+    @Test
+    void 천_번째_페이지_offset_대_keyset() {
+        long productId = idGenerator.nextId();
+        insert("insert into review (review_id, order_id, product_id, content, rating, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                (id, at) -> new Object[]{id, 1L, productId, "리뷰", 5, at, at});
+        compare("review", reviewRepository::findByProductId, productId, (owner, request) -> reviewRepository.findPageByProductId(owner, request),
+                review -> review.getId());
+
+        long sellerId = idGenerator.nextId();
+        insert("insert into qna (board_id, user_customer_id, user_seller_id, content, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                (id, at) -> new Object[]{id, 1L, sellerId, "문의", at, at});
+        compare("qna", qnaRepository::findByUserSellerId, sellerId, (owner, request) -> qnaRepository.findPageBySeller(owner, request),
+                qna -> qna.getId());
+
+        long userId = idGenerator.nextId();
+        insert("insert into prod_order (prod_order_id, user_id, status_code, total_price, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                (id, at) -> new Object[]{id, userId, 100, 10_000L, at, at});
+        compare("prod_order", prodOrderRepository::findByUserId, userId, (owner, request) -> prodOrderRepository.findPageByUserId(owner, request),
+                order -> order.getId());
+    }
+
+    private void insert(String sql, RowFactory factory) {
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            // 같은 시각이 섞이도록 10 건마다 1 초씩 늘린다
+            rows.add(factory.create(idGenerator.nextId(), Timestamp.valueOf(base.plusSeconds(i / 10))));
+        }
+        for (int from = 0; from < rows.size(); from += 1_000) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + 1_000, rows.size())));
+        }
+    }
+
+    private <T extends BaseEntity> void compare(String table, WindowQuery<T> query, long owner, PageQuery<T> pageQuery, Function<T, Long> idOf) {
+        Sort.Direction direction = Sort.Direction.DESC;
+        CursorPageRequest first = CursorPageRequest.first(PAGE_SIZE, direction);
+        Supplier<Window<T>> offset = () -> query.find(owner, ScrollPosition.offset((long) (PAGE - 1) * PAGE_SIZE - 1), first.sort(), Limit.of(PAGE_SIZE));
+
+        // 999 번째 페이지의 마지막 행을 cursor 로 삼는다. offset 조회의 positionAt 은 keyset 위치가 아니므로 행의 값으로 만든다
+        Window<T> previous = query.find(owner, ScrollPosition.offset((long) (PAGE - 2) * PAGE_SIZE - 1), first.sort(), Limit.of(PAGE_SIZE));
+        T last = previous.getContent().get(previous.size() - 1);
+        String cursor = new PageCursor(last.getCreatedAt(), idOf.apply(last), direction).encode();
+        Supplier<CursorPage<T>> keyset = () -> pageQuery.find(owner, first.next(cursor));
+
+        assertThat(keyset.get().content().stream().map(idOf).toList())
+                .isEqualTo(offset.get().getContent().stream().map(idOf).toList());
+
+        double offsetMillis = median(offset::get);
+        double keysetMillis = median(keyset::get);
+        System.out.printf("%-10s page %d: offset %.3fms, keyset %.3fms (x%.1f)%n",
+                table, PAGE, offsetMillis, keysetMillis, offsetMillis / keysetMillis);
+    }
+
+    private static double median(Runnable query) {
+        for (int i = 0; i < 5; i++) {
+            query.run();
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+
+    @FunctionalInterface
+    interface RowFactory {
+        Object[] create(long id, Timestamp at);
+    }
+
+    @FunctionalInterface
+    interface WindowQuery<T> {
+        Window<T> find(Long owner, ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    @FunctionalInterface
+    interface PageQuery<T> {
+        CursorPage<T> find(Long owner, CursorPageRequest request);
+    }
+}
@@ -0,0 +1,46 @@
+package com.objects.marketbridge.common.page;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void 인코딩한_cursor_를_그대로_되살린다() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 7_160_000_000_001L, Sort.Direction.DESC);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("|", "=", "+", "/");
+        assertThat(PageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void 잘못된_cursor_는_거절한다() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(new PageCursor(LocalDateTime.now(), 1L, Sort.Direction.ASC).encode() + "AA"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 다른_정렬_방향의_cursor_로_요청할_수_없다() {
+        String ascending = new PageCursor(LocalDateTime.now(), 1L, Sort.Direction.ASC).encode();
+
+        assertThat(new CursorPageRequest(ascending, 20, Sort.Direction.ASC).isFirst()).isFalse();
+        assertThatThrownBy(() -> new CursorPageRequest(ascending, 20, Sort.Direction.DESC))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 페이지_크기는_1_부터_최대값까지다() {
+        assertThatThrownBy(() -> CursorPageRequest.first(0, Sort.Direction.DESC)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPageRequest.first(CursorPageRequest.MAX_SIZE + 1, Sort.Direction.DESC)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new CursorPageRequest(null, 20, null).direction()).isEqualTo(Sort.Direction.DESC);
+    }
+}
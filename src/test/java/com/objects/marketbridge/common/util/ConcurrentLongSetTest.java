@@ -0,0 +1,33 @@
+package com.objects.marketbridge.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentLongSetTest {
+
+    @Test
+    void 무작위_추가와_삭제가_HashSet과_같게_동작한다() {
+        ConcurrentLongSet set = new ConcurrentLongSet(16);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value = 0; value < 5_000; value++) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.objects.marketbridge.common.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 테스트에서 직접 앞으로 돌리는 UTC 시계
+ */
+public class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    public MutableClock() {
+        this(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    public MutableClock(Instant now) {
+        this.now = now;
+    }
+
+    public void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
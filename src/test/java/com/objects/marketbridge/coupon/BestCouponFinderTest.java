@@ -0,0 +1,159 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.common.util.MutableClock;
+import com.objects.marketbridge.order.CheckoutLine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestCouponFinderTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final LocalDateTime T0 = LocalDateTime.ofInstant(START, ZoneOffset.UTC);
+
+    private final MutableClock clock = new MutableClock(START);
+    private final FakeUsableCouponStore store = new FakeUsableCouponStore();
+    private final BestCouponFinder finder = new BestCouponFinder(store, 1_000, Duration.ofMinutes(30), clock);
+
+    @Test
+    void 상품_전용_쿠폰과_전체_쿠폰_중_가장_많이_깎이는_쿠폰을_고른다() {
+        store.add(USER_ID, coupon(1L, 10L, 3_000, 10_000, null, null));
+        store.add(USER_ID, coupon(2L, 10L, 5_000, 50_000, null, null));
+        store.add(USER_ID, coupon(3L, null, 4_000, 0, null, null));
+
+        List<BestCoupon> best = finder.bestPerLine(USER_ID, List.of(
+                new CheckoutLine(10L, 60_000L),
+                new CheckoutLine(10L, 20_000L),
+                new CheckoutLine(20L, 1_000L)));
+
+        assertThat(best.get(0).customerCouponId()).isEqualTo(2L);
+        assertThat(best.get(1).customerCouponId()).isEqualTo(3L);
+        // 주문 금액보다 많이 깎을 수는 없다
+        assertThat(best.get(2).discount()).isEqualTo(1_000L);
+    }
+
+    @Test
+    void 기간이_지나거나_시작하지_않은_쿠폰은_쓰지_않는다() {
+        store.add(USER_ID, coupon(1L, null, 5_000, 0, T0.plusHours(1), T0.plusHours(2)));
+        store.add(USER_ID, coupon(2L, null, 1_000, 0, null, T0.plusHours(3)));
+        List<CheckoutLine> cart = List.of(new CheckoutLine(10L, 10_000L));
+
+        assertThat(finder.bestPerLine(USER_ID, cart).get(0).customerCouponId()).isEqualTo(2L);
+        clock.advance(Duration.ofHours(1));
+        assertThat(finder.bestPerLine(USER_ID, cart).get(0).customerCouponId()).isEqualTo(1L);
+        clock.advance(Duration.ofHours(1));
+        assertThat(finder.bestPerLine(USER_ID, cart).get(0).customerCouponId()).isEqualTo(2L);
+        clock.advance(Duration.ofHours(1));
+        assertThat(finder.bestPerLine(USER_ID, cart).get(0).present()).isFalse();
+        assertThat(store.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 쿠폰을_쓰면_색인을_다시_읽는다() {
+        store.add(USER_ID, coupon(1L, null, 5_000, 0, null, null));
+        store.add(USER_ID, coupon(2L, null, 1_000, 0, null, null));
+        List<CheckoutLine> cart = List.of(new CheckoutLine(10L, 10_000L), new CheckoutLine(11L, 3_000L));
+        assertThat(finder.bestForCart(USER_ID, cart).orElseThrow().customerCouponId()).isEqualTo(1L);
+
+        store.use(USER_ID, 1L);
+        assertThat(finder.bestForCart(USER_ID, cart).orElseThrow().customerCouponId()).isEqualTo(1L);
+        finder.onCustomerCouponChanged(new CustomerCouponChangedEvent(Set.of(USER_ID)));
+
+        assertThat(finder.bestForCart(USER_ID, cart).orElseThrow().customerCouponId()).isEqualTo(2L);
+        assertThat(store.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 무작위_쿠폰과_장바구니에서_전수_조사와_결과가_같다() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (long userId = 1; userId <= 200; userId++) {
+            int couponCount = random.nextInt(0, 40);
+            for (int c = 0; c < couponCount; c++) {
+                LocalDateTime startDate = random.nextInt(4) == 0 ? null : T0.plusHours(random.nextInt(-48, 48));
+                LocalDateTime endDate = random.nextInt(4) == 0 ? null : T0.plusHours(random.nextInt(-24, 96));
+                Long productId = random.nextInt(3) == 0 ? null : (long) random.nextInt(1, 8);
+                store.add(userId, coupon(userId * 1_000 + c, productId,
+                        random.nextInt(1, 10) * 1_000, random.nextInt(0, 6) * 5_000, startDate, endDate));
+            }
+        }
+
+        for (int step = 0; step < 20; step++) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (long userId = 1; userId <= 200; userId++) {
+                List<CheckoutLine> cart = new ArrayList<>();
+                for (int line = random.nextInt(1, 6); line > 0; line--) {
+                    cart.add(new CheckoutLine((long) random.nextInt(1, 10), (long) random.nextInt(0, 40) * 1_000));
+                }
+                List<BestCoupon> best = finder.bestPerLine(userId, cart);
+                for (int i = 0; i < cart.size(); i++) {
+                    UsableCoupon expected = bruteForce(store.coupons(userId), cart.get(i), now);
+                    assertThat(best.get(i)).isEqualTo(BestCoupon.of(cart.get(i).productId(), cart.get(i).price(), expected));
+                }
+            }
+            clock.advance(Duration.ofMinutes(random.nextInt(1, 600)));
+        }
+    }
+
+    private static UsableCoupon bruteForce(List<UsableCoupon> coupons, CheckoutLine line, LocalDateTime now) {
+        UsableCoupon best = null;
+        for (UsableCoupon coupon : coupons) {
+            if (!coupon.usableAt(now) || !coupon.appliesTo(line.productId())) {
+                continue;
+            }
+            long discount = coupon.discount(line.price());
+            if (discount == 0) {
+                continue;
+            }
+            long bestDiscount = best == null ? 0 : best.discount(line.price());
+            if (discount > bestDiscount || discount == bestDiscount && coupon.customerCouponId() < best.customerCouponId()) {
+                best = coupon;
+            }
+        }
+        return best;
+    }
+
+    private static UsableCoupon coupon(Long customerCouponId, Long productId, int amount, int minimumPrice,
+                                       LocalDateTime startDate, LocalDateTime endDate) {
+        return new UsableCoupon(customerCouponId, customerCouponId + 100_000, productId, amount, minimumPrice, startDate, endDate);
+    }
+
+    static class FakeUsableCouponStore implements UsableCouponStore {
+
+        private final Map<Long, List<UsableCoupon>> coupons = new HashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+
+        void add(Long userId, UsableCoupon coupon) {
+            coupons.computeIfAbsent(userId, k -> new ArrayList<>()).add(coupon);
+        }
+
+        void use(Long userId, Long customerCouponId) {
+            coupons.get(userId).removeIf(coupon -> coupon.customerCouponId().equals(customerCouponId));
+        }
+
+        List<UsableCoupon> coupons(Long userId) {
+            return coupons.getOrDefault(userId, List.of());
+        }
+
+        @Override
+        public List<UsableCoupon> findUnused(Long userId, LocalDateTime now) {
+            loads.incrementAndGet();
+            // 아직 시작하지 않은 쿠폰도 색인에 들어가야 한다
+            return coupons(userId).stream()
+                    .filter(coupon -> coupon.endDate() == null || coupon.endDate().isAfter(now))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.objects.marketbridge.coupon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CouponBudgetServiceTest {
+
+    private static final Long SELLER_ID = 1L;
+
+    private final FakeCouponBudgetStore store = new FakeCouponBudgetStore();
+    private final CouponBudgetService service = new CouponBudgetService(store, 8, 2);
+
+    @Test
+    void 동시에_차감해도_예산을_넘겨_쓰지_않는다() throws InterruptedException {
+        store.budget(SELLER_ID, 100_000);
+        AtomicLong spent = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(64);
+
+        for (int t = 0; t < 64; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    int failures = 0;
+                    while (failures < 20) {
+                        int amount = ThreadLocalRandom.current().nextInt(1, 500);
+                        if (service.spend(SELLER_ID, amount)) {
+                            spent.addAndGet(amount);
+                        } else {
+                            failures++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(spent.get()).isLessThanOrEqualTo(100_000L);
+        assertThat(spent.get() + service.remaining(SELLER_ID)).isEqualTo(100_000L);
+        assertThat(service.remaining(SELLER_ID)).isLessThan(500L);
+        assertThat(store.minimumSeen.get()).isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    void 한_shard_로_모자라면_여러_shard_를_합쳐서_쓴다() {
+        store.budget(SELLER_ID, 800);
+
+        assertThat(service.spend(SELLER_ID, 500)).isTrue();
+        assertThat(service.remaining(SELLER_ID)).isEqualTo(300L);
+        assertThat(service.spend(SELLER_ID, 301)).isFalse();
+        assertThat(service.spend(SELLER_ID, 300)).isTrue();
+        assertThat(service.remaining(SELLER_ID)).isZero();
+    }
+
+    @Test
+    void 예산이_없으면_차감도_충전도_안_된다() {
+        assertThat(service.spend(SELLER_ID, 100)).isFalse();
+        assertThatThrownBy(() -> service.credit(SELLER_ID, 100)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void 바뀐_예산만_합계를_기록하고_shard_를_고르게_다시_나눈다() {
+        store.budget(SELLER_ID, 800);
+        store.budget(2L, 1_000);
+        service.spend(SELLER_ID, 90);
+        service.spend(SELLER_ID, 90);
+        service.credit(SELLER_ID, 3);
+
+        assertThat(service.reconcile()).isEqualTo(1);
+
+        assertThat(store.price(SELLER_ID)).isEqualTo(623L);
+        assertThat(store.shardRemaining(SELLER_ID, 0)).isEqualTo(78L);
+        assertThat(store.shardRemaining(SELLER_ID, 7)).isEqualTo(77L);
+        assertThat(store.price(2L)).isEqualTo(1_000L);
+        assertThat(service.reconcile()).isZero();
+    }
+
+    /**
+     * shard 행마다 락을 두어 행 잠금을 흉내 낸다. 여러 행은 shard 번호 순으로 잠근다.
+     */
+    static class FakeCouponBudgetStore implements CouponBudgetStore {
+
+        private final Map<Long, Budget> budgets = new ConcurrentHashMap<>();
+        private final AtomicLong minimumSeen = new AtomicLong(Long.MAX_VALUE);
+
+        void budget(Long userId, long price) {
+            budgets.put(userId, new Budget(price));
+        }
+
+        long price(Long userId) {
+            return budgets.get(userId).price;
+        }
+
+        long shardRemaining(Long userId, int shardNo) {
+            return budgets.get(userId).rows[shardNo].remaining;
+        }
+
+        @Override
+        public boolean tryTake(Long userId, int shardNo, long amount) {
+            Row row = row(userId, shardNo);
+            if (row == null) {
+                return false;
+            }
+            row.lock.lock();
+            try {
+                if (row.remaining < amount) {
+                    return false;
+                }
+                row.remaining -= amount;
+                minimumSeen.accumulateAndGet(row.remaining, Math::min);
+                return true;
+            } finally {
+                row.lock.unlock();
+            }
+        }
+
+        @Override
+        public BudgetTakeResult takeAcross(Long userId, long amount) {
+            Budget budget = budgets.get(userId);
+            Row[] rows = budget == null ? null : budget.rows;
+            if (rows == null) {
+                return BudgetTakeResult.NOT_SHARDED;
+            }
+            lockAll(rows);
+            try {
+                long total = 0;
+                for (Row row : rows) {
+                    total += row.remaining;
+                }
+                if (total < amount) {
+                    return BudgetTakeResult.INSUFFICIENT;
+                }
+                long left = amount;
+                for (Row row : rows) {
+                    long taken = Math.min(left, row.remaining);
+                    row.remaining -= taken;
+                    left -= taken;
+                }
+                return BudgetTakeResult.TAKEN;
+            } finally {
+                unlockAll(rows);
+            }
+        }
+
+        @Override
+        public boolean give(Long userId, int shardNo, long amount) {
+            Row row = row(userId, shardNo);
+            if (row == null) {
+                return false;
+            }
+            row.lock.lock();
+            try {
+                row.remaining += amount;
+                return true;
+            } finally {
+                row.lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean seed(Long userId, int shards) {
+            Budget budget = budgets.get(userId);
+            if (budget == null) {
+                return false;
+            }
+            budget.lock.lock();
+            try {
+                if (budget.rows == null) {
+                    Row[] rows = new Row[shards];
+                    for (int i = 0; i < shards; i++) {
+                        rows[i] = new Row(JdbcCouponBudgetStore.share(budget.price, shards, i));
+                    }
+                    budget.rows = rows;
+                }
+                return true;
+            } finally {
+                budget.lock.unlock();
+            }
+        }
+
+        @Override
+        public long remaining(Long userId) {
+            Budget budget = budgets.get(userId);
+            if (budget == null) {
+                return 0;
+            }
+            Row[] rows = budget.rows;
+            if (rows == null) {
+                return budget.price;
+            }
+            long total = 0;
+            for (Row row : rows) {
+                total += row.remaining;
+            }
+            return total;
+        }
+
+        @Override
+        public long reconcile(Long userId, int shards) {
+            Budget budget = budgets.get(userId);
+            budget.lock.lock();
+            try {
+                Row[] rows = budget.rows;
+                if (rows == null) {
+                    return -1;
+                }
+                lockAll(rows);
+                try {
+                    long total = 0;
+                    for (Row row : rows) {
+                        total += row.remaining;
+                    }
+                    for (int i = 0; i < rows.length; i++) {
+                        rows[i].remaining = JdbcCouponBudgetStore.share(total, shards, i);
+                    }
+                    budget.price = total;
+                    return total;
+                } finally {
+                    unlockAll(rows);
+                }
+            } finally {
+                budget.lock.unlock();
+            }
+        }
+
+        private Row row(Long userId, int shardNo) {
+            Budget budget = budgets.get(userId);
+            Row[] rows = budget == null ? null : budget.rows;
+            return rows == null || shardNo >= rows.length ? null : rows[shardNo];
+        }
+
+        private static void lockAll(Row[] rows) {
+            for (Row row : rows) {
+                row.lock.lock();
+            }
+        }
+
+        private static void unlockAll(Row[] rows) {
+            for (Row row : rows) {
+                row.lock.unlock();
+            }
+        }
+
+        static final class Budget {
+
+            private final ReentrantLock lock = new ReentrantLock();
+            private volatile long price;
+            private volatile Row[] rows;
+
+            Budget(long price) {
+                this.price = price;
+            }
+        }
+
+        static final class Row {
+
+            private final ReentrantLock lock = new ReentrantLock();
+            private long remaining;
+
+            Row(long remaining) {
+                this.remaining = remaining;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.objects.marketbridge.coupon;
+
+import com.objects.marketbridge.domain.Coupon;
+import com.objects.marketbridge.domain.CustomerCoupon;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIssueServiceTest {
+
+    private static final Long COUPON_ID = 1L;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T03:00:00Z"), ZoneId.of("Asia/Seoul"));
+
+    @Test
+    void 동시에_요청해도_수량만큼만_발급된다() throws InterruptedException {
+        FakeCouponIssueStore store = new FakeCouponIssueStore(coupon(100));
+        CouponIssueService service = new CouponIssueService(store, 50, CLOCK);
+        int users = 10_000;
+        AtomicInteger issued = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users);
+
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    if (service.issue(COUPON_ID, id) == CouponIssueResult.ISSUED) {
+                        issued.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        service.flush();
+
+        assertThat(issued.get()).isEqualTo(100);
+        assertThat(store.saved).hasSize(100);
+        assertThat(new HashSet<>(store.saved.stream().map(CustomerCoupon::getUserId).toList())).hasSize(100);
+        assertThat(service.remaining(COUPON_ID)).isZero();
+    }
+
+    @Test
+    void 같은_사용자는_동시에_요청해도_한_번만_발급된다() throws InterruptedException {
+        FakeCouponIssueStore store = new FakeCouponIssueStore(coupon(100));
+        CouponIssueService service = new CouponIssueService(store, 50, CLOCK);
+        AtomicInteger issued = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            executor.submit(() -> {
+                if (service.issue(COUPON_ID, 7L) == CouponIssueResult.ISSUED) {
+                    issued.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(issued.get()).isEqualTo(1);
+        assertThat(service.remaining(COUPON_ID)).isEqualTo(99);
+    }
+
+    @Test
+    void 이미_발급된_사용자와_수량은_재시작_후에도_반영된다() {
+        FakeCouponIssueStore store = new FakeCouponIssueStore(coupon(2));
+        store.issuedUserIds.add(7L);
+        CouponIssueService service = new CouponIssueService(store, 50, CLOCK);
+
+        assertThat(service.issue(COUPON_ID, 7L)).isEqualTo(CouponIssueResult.DUPLICATE);
+        assertThat(service.issue(COUPON_ID, 8L)).isEqualTo(CouponIssueResult.ISSUED);
+        assertThat(service.issue(COUPON_ID, 9L)).isEqualTo(CouponIssueResult.SOLD_OUT);
+    }
+
+    @Test
+    void 기간이_아니거나_없는_쿠폰은_발급되지_않는다() {
+        Coupon expired = Coupon.builder()
+                .count(10)
+                .startDate(LocalDateTime.of(2023, 1, 1, 0, 0))
+                .endDate(LocalDateTime.of(2023, 12, 31, 0, 0))
+                .build();
+        CouponIssueService service = new CouponIssueService(new FakeCouponIssueStore(expired), 50, CLOCK);
+
+        assertThat(service.issue(COUPON_ID, 1L)).isEqualTo(CouponIssueResult.NOT_IN_PERIOD);
+        assertThat(service.issue(2L, 1L)).isEqualTo(CouponIssueResult.NOT_FOUND);
+    }
+
+    @Test
+    void 저장에_실패한_발급분은_다음_주기에_저장된다() {
+        FakeCouponIssueStore store = new FakeCouponIssueStore(coupon(10));
+        CouponIssueService service = new CouponIssueService(store, 2, CLOCK);
+        for (long userId = 1; userId <= 5; userId++) {
+            service.issue(COUPON_ID, userId);
+        }
+        store.failNext = true;
+
+        assertThat(service.flush()).isZero();
+        assertThat(service.flush()).isEqualTo(5);
+        assertThat(store.saved).hasSize(5);
+    }
+
+    private static Coupon coupon(int count) {
+        return Coupon.builder()
+                .name("선착순 쿠폰")
+                .price(1_000)
+                .count(count)
+                .startDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .endDate(LocalDateTime.of(2024, 1, 31, 0, 0))
+                .build();
+    }
+
+    static class FakeCouponIssueStore implements CouponIssueStore {
+
+        private final Coupon coupon;
+        private final List<Long> issuedUserIds = new ArrayList<>();
+        private final List<CustomerCoupon> saved = Collections.synchronizedList(new ArrayList<>());
+        private boolean failNext;
+
+        FakeCouponIssueStore(Coupon coupon) {
+            this.coupon = coupon;
+        }
+
+        @Override
+        public Optional<Coupon> findCoupon(Long couponId) {
+            return COUPON_ID.equals(couponId) ? Optional.of(coupon) : Optional.empty();
+        }
+
+        @Override
+        public List<Long> findIssuedUserIds(Long couponId) {
+            return issuedUserIds;
+        }
+
+        @Override
+        public void saveAll(List<CustomerCoupon> customerCoupons) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("db down");
+            }
+            saved.addAll(customerCoupons);
+        }
+    }
+}
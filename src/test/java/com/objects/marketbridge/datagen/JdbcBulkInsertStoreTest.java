@@ -0,0 +1,47 @@
+package com.objects.marketbridge.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 여러 행 insert 문장이 실제로 실행되는지 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+class JdbcBulkInsertStoreTest {
+
+    private static final DataProfile PROFILE = new DataProfile(7, 5, 3, 2, 3, 50);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 모든_테이블을_여러_행_문장과_나머지_문장으로_넣는다() {
+        // 3 행씩 묶으므로 대부분의 테이블에 나머지 문장이 생긴다
+        JdbcBulkInsertStore store = new JdbcBulkInsertStore(jdbcTemplate, 3);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, PROFILE, LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        for (SyntheticTable table : SyntheticTable.values()) {
+            List<Object[]> rows = new ArrayList<>();
+            generator.generate(table, 0, generator.partitionCount(table), rows::add);
+
+            store.insert(table, rows);
+
+            assertThat(jdbcTemplate.queryForObject("select count(*) from " + table.getTableName(), Long.class))
+                    .as(table.name())
+                    .isEqualTo(rows.size());
+        }
+    }
+
+    @Test
+    void 예약어인_user_테이블은_따옴표로_감싼다() {
+        assertThat(JdbcBulkInsertStore.insertSql(SyntheticTable.USER, 2)).startsWith("insert into \"user\" (user_id, ");
+    }
+}
@@ -0,0 +1,135 @@
+package com.objects.marketbridge.datagen;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataLoaderTest {
+
+    private static final DataProfile PROFILE = new DataProfile(300, 50, 5, 3, 4, 30);
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void 같은_seed_면_나눠_만들어도_같은_행이_나온다() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, PROFILE, ANCHOR);
+        List<Object[]> whole = new ArrayList<>();
+        generator.generate(SyntheticTable.PROD_ORDER_DETAIL, 0, 900, whole::add);
+
+        List<Object[]> parts = new ArrayList<>();
+        SyntheticDataGenerator other = new SyntheticDataGenerator(42, PROFILE, ANCHOR);
+        other.generate(SyntheticTable.PROD_ORDER_DETAIL, 450, 900, parts::add);
+        parts.addAll(0, collect(other, SyntheticTable.PROD_ORDER_DETAIL, 0, 450));
+
+        assertThat(parts).hasSameSizeAs(whole);
+        for (int i = 0; i < whole.size(); i++) {
+            assertThat(parts.get(i)).containsExactly(whole.get(i));
+        }
+        assertThat(collect(new SyntheticDataGenerator(7, PROFILE, ANCHOR), SyntheticTable.PROD_ORDER_DETAIL, 0, 900).stream().map(row -> row[3]).toList())
+                .isNotEqualTo(whole.stream().map(row -> row[3]).toList());
+    }
+
+    @Test
+    void 적재한_행의_id_참조와_금액이_서로_맞는다() {
+        FakeBulkInsertStore store = new FakeBulkInsertStore();
+        SyntheticDataLoader loader = new SyntheticDataLoader(store, 4, 64, 100);
+
+        DataLoadReport report = loader.load(new SyntheticDataGenerator(42, PROFILE, ANCHOR));
+
+        Map<SyntheticTable, List<Object[]>> rows = store.rows;
+        assertThat(rows.get(SyntheticTable.USER)).hasSize(300);
+        assertThat(rows.get(SyntheticTable.PRODUCT)).hasSize(50);
+        assertThat(rows.get(SyntheticTable.PROD_ORDER)).hasSize(900);
+        assertThat(report.totalRows()).isEqualTo(rows.values().stream().mapToLong(List::size).sum());
+        rows.forEach((table, tableRows) -> assertThat(ids(tableRows)).doesNotHaveDuplicates());
+
+        Set<Object> userIds = new HashSet<>(ids(rows.get(SyntheticTable.USER)));
+        Set<Object> productIds = new HashSet<>(ids(rows.get(SyntheticTable.PRODUCT)));
+        Map<Object, Object[]> orders = new HashMap<>();
+        rows.get(SyntheticTable.PROD_ORDER).forEach(row -> orders.put(row[0], row));
+        for (Object[] order : orders.values()) {
+            assertThat(userIds).contains(order[1]);
+        }
+
+        Map<Object, Long> detailTotals = new HashMap<>();
+        Set<String> orderedProducts = new HashSet<>();
+        for (Object[] detail : rows.get(SyntheticTable.PROD_ORDER_DETAIL)) {
+            assertThat(orders).containsKey(detail[1]);
+            assertThat(productIds).contains(detail[2]);
+            detailTotals.merge(detail[1], (Long) detail[3], Long::sum);
+            orderedProducts.add(detail[1] + ":" + detail[2]);
+        }
+        orders.forEach((orderId, order) -> assertThat(detailTotals.get(orderId)).isEqualTo(order[4]));
+
+        assertThat(rows.get(SyntheticTable.REVIEW)).isNotEmpty();
+        for (Object[] review : rows.get(SyntheticTable.REVIEW)) {
+            assertThat(orderedProducts).contains(review[1] + ":" + review[2]);
+            assertThat(orders.get(review[1])[3]).isEqualTo((short) StatusCodeType.DELIVERY_COMPLETED.getValue());
+            assertThat((Integer) review[4]).isBetween(1, 5);
+        }
+
+        Map<Object, Integer> balances = new HashMap<>();
+        for (Object[] point : rows.get(SyntheticTable.POINT)) {
+            Object[] order = orders.get(point[2]);
+            assertThat(order[1]).isEqualTo(point[1]);
+            assertThat(point[3]).isEqualTo(order[6]);
+            int balance = balances.merge(point[1], (Integer) point[3], Integer::sum);
+            assertThat(point[5]).isEqualTo(balance);
+        }
+    }
+
+    @Test
+    void 의존하는_테이블을_다_넣은_뒤에_시작한다() {
+        FakeBulkInsertStore store = new FakeBulkInsertStore();
+        SyntheticDataLoader loader = new SyntheticDataLoader(store, 8, 16, 20);
+
+        loader.load(new SyntheticDataGenerator(1, PROFILE, ANCHOR));
+
+        for (SyntheticTable table : SyntheticTable.values()) {
+            for (SyntheticTable dependency : table.getDependencies()) {
+                assertThat(store.firstInsert.get(table)).isGreaterThan(store.lastInsert.get(dependency));
+            }
+        }
+        assertThat(store.maxBatch.get()).isLessThanOrEqualTo(20);
+    }
+
+    private static List<Object[]> collect(SyntheticDataGenerator generator, SyntheticTable table, long from, long to) {
+        List<Object[]> rows = new ArrayList<>();
+        generator.generate(table, from, to, rows::add);
+        return rows;
+    }
+
+    private static List<Object> ids(List<Object[]> rows) {
+        return rows.stream().map(row -> row[0]).toList();
+    }
+
+    static class FakeBulkInsertStore implements BulkInsertStore {
+
+        private final Map<SyntheticTable, List<Object[]>> rows = Collections.synchronizedMap(new EnumMap<>(SyntheticTable.class));
+        private final Map<SyntheticTable, Integer> firstInsert = new ConcurrentHashMap<>();
+        private final Map<SyntheticTable, Integer> lastInsert = new ConcurrentHashMap<>();
+        private final AtomicInteger sequence = new AtomicInteger();
+        private final AtomicInteger maxBatch = new AtomicInteger();
+
+        @Override
+        public void insert(SyntheticTable table, List<Object[]> batch) {
+            int order = sequence.incrementAndGet();
+            firstInsert.putIfAbsent(table, order);
+            lastInsert.merge(table, order, Math::max);
+            maxBatch.accumulateAndGet(batch.size(), Math::max);
+            rows.computeIfAbsent(table, k -> Collections.synchronizedList(new ArrayList<>())).addAll(batch);
+        }
+    }
+}
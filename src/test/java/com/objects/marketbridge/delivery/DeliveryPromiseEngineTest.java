@@ -0,0 +1,126 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.common.util.MutableClock;
+import com.objects.marketbridge.stock.StockAvailabilityChangedEvent;
+import com.objects.marketbridge.stock.StockKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveryPromiseEngineTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final Long SEOUL = 1L;
+    private static final Long BUSAN = 2L;
+
+    private final FakeDeliveryPromiseStore store = new FakeDeliveryPromiseStore();
+    private final MutableClock clock = new MutableClock(MORNING.toInstant(ZoneOffset.UTC));
+    private final DeliveryPromiseEngine engine = new DeliveryPromiseEngine(store, clock);
+
+    @BeforeEach
+    void setUp() {
+        store.warehouses.add(new WarehouseLocation(SEOUL, "06236"));
+        store.warehouses.add(new WarehouseLocation(BUSAN, "48058"));
+        store.cutoffs.add(new DeliveryCutoff(null, 24, 1));
+        store.cutoffs.add(new DeliveryCutoff(BUSAN, 12, 1));
+        store.stock.add(new PromiseStockRow(100L, SEOUL, null, true));
+        store.stock.add(new PromiseStockRow(100L, BUSAN, null, true));
+        engine.reload();
+    }
+
+    @Test
+    void 재고_있는_창고_중_가장_빨리_도착하는_창고를_고른다() {
+        DeliveryPromise seoul = engine.promise(100L, "04524");
+        DeliveryPromise busan = engine.promise(100L, "47011");
+        DeliveryPromise jeju = engine.promise(100L, "63122");
+
+        assertThat(seoul.warehouseId()).isEqualTo(SEOUL);
+        assertThat(seoul.arrivesBy()).isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(busan.warehouseId()).isEqualTo(BUSAN);
+        assertThat(busan.arrivesBy()).isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(jeju.arrivesBy()).isEqualTo(LocalDate.of(2024, 1, 4));
+    }
+
+    @Test
+    void 마감_시각이_지나면_하루_더_걸린다() {
+        clock.advance(Duration.ofHours(3));
+
+        DeliveryPromise busan = engine.promise(100L, "47011");
+
+        // 부산 창고는 12시 마감이 지나 하루 더, 서울 창고는 24시 마감이지만 권역 이동에 하루 더. 같으면 먼저 적재된 창고
+        assertThat(busan.arrivesBy()).isEqualTo(LocalDate.of(2024, 1, 3));
+        assertThat(busan.warehouseId()).isEqualTo(SEOUL);
+    }
+
+    @Test
+    void 로켓배송_상품이_아니거나_모르는_우편번호면_약속하지_않는다() {
+        List<DeliveryPromise> promises = engine.promise(List.of(
+                new PromiseRequest(999L, "04524"),
+                new PromiseRequest(100L, "99999"),
+                new PromiseRequest(100L, null),
+                new PromiseRequest(100L, "04524")));
+
+        assertThat(promises.get(0).available()).isFalse();
+        assertThat(promises.get(1).available()).isFalse();
+        assertThat(promises.get(2).available()).isFalse();
+        assertThat(promises.get(3).available()).isTrue();
+    }
+
+    @Test
+    void 재고가_0을_지나면_다시_만들지_않고_바로_반영한다() {
+        engine.onStockAvailabilityChanged(new StockAvailabilityChangedEvent(new StockKey(100L, SEOUL, null), false));
+        assertThat(engine.promise(100L, "04524").warehouseId()).isEqualTo(BUSAN);
+        assertThat(engine.promise(100L, "04524").arrivesBy()).isEqualTo(LocalDate.of(2024, 1, 3));
+
+        engine.onStockAvailabilityChanged(new StockAvailabilityChangedEvent(new StockKey(100L, BUSAN, null), false));
+        assertThat(engine.promise(100L, "04524").available()).isFalse();
+
+        engine.onStockAvailabilityChanged(new StockAvailabilityChangedEvent(new StockKey(100L, SEOUL, null), true));
+        assertThat(engine.promise(100L, "04524").warehouseId()).isEqualTo(SEOUL);
+    }
+
+    @Test
+    void 다시_만드는_중에_들어온_재고_이벤트를_새_표에도_반영한다() {
+        store.duringStockLoad = () -> engine.onStockAvailabilityChanged(
+                new StockAvailabilityChangedEvent(new StockKey(100L, SEOUL, null), false));
+
+        engine.reload();
+
+        assertThat(engine.promise(100L, "04524").warehouseId()).isEqualTo(BUSAN);
+    }
+
+    static class FakeDeliveryPromiseStore implements DeliveryPromiseStore {
+
+        private final List<WarehouseLocation> warehouses = new ArrayList<>();
+        private final List<DeliveryCutoff> cutoffs = new ArrayList<>();
+        private final List<PromiseStockRow> stock = new ArrayList<>();
+        private Runnable duringStockLoad;
+
+        @Override
+        public List<WarehouseLocation> findWarehouses() {
+            return warehouses;
+        }
+
+        @Override
+        public List<DeliveryCutoff> findCutoffs() {
+            return cutoffs;
+        }
+
+        @Override
+        public List<PromiseStockRow> findOwnProductStock() {
+            List<PromiseStockRow> rows = List.copyOf(stock);
+            if (duringStockLoad != null) {
+                duringStockLoad.run();
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.objects.marketbridge.delivery;
+
+import com.objects.marketbridge.common.config.IdGeneratorConfig;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.order.JdbcOrderStatusStore;
+import com.objects.marketbridge.outbox.JdbcOutboxStore;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 송장 조회(주문 상품 left join, soft delete 제외), 배송 배치 update, 주문 완료 판정을 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+@Import({JdbcTrackingStore.class, JdbcOrderStatusStore.class, OutboxWriter.class, JdbcOutboxStore.class, IdGeneratorConfig.class})
+class JdbcTrackingStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String ING = StatusCodeType.DELIVERY_ING.getCode();
+    private static final String COMPLETED = StatusCodeType.DELIVERY_COMPLETED.getCode();
+
+    @Autowired
+    private JdbcTrackingStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 송장으로_배송과_주문을_찾고_지운_배송은_뺀다() {
+        order(1L, StatusCodeType.DELIVERY_ING);
+        detail(11L, 1L);
+        delivery(21L, 11L, "T1", ING, null);
+        delivery(22L, 99L, "T1", ING, null);
+        delivery(23L, 11L, "T1", ING, START);
+
+        List<DeliveryState> found = store.findByTrackingNos(List.of("T1", "T2"));
+
+        Map<Long, Long> orderIds = new HashMap<>();
+        found.forEach(state -> orderIds.put(state.deliveryId(), state.orderId()));
+        assertThat(orderIds.keySet()).containsExactlyInAnyOrder(21L, 22L);
+        assertThat(orderIds.get(21L)).isEqualTo(1L);
+        assertThat(orderIds.get(22L)).isNull();
+    }
+
+    @Test
+    void 모든_주문_상품의_배송이_끝난_주문만_완료로_바꾼다() {
+        order(1L, StatusCodeType.DELIVERY_ING);
+        detail(11L, 1L);
+        detail(12L, 1L);
+        delivery(21L, 11L, "T1", ING, null);
+        delivery(22L, 12L, "T2", COMPLETED, null);
+        order(2L, StatusCodeType.DELIVERY_ING);
+        detail(13L, 2L);
+        // 배송 행이 없는 주문 상품은 미완료다
+        detail(14L, 2L);
+        delivery(23L, 13L, "T3", ING, null);
+        // 배송은 끝났지만 취소된 주문은 전이표에 따라 그대로 둔다
+        order(3L, StatusCodeType.ORDER_CANCEL);
+        detail(15L, 3L);
+        delivery(24L, 15L, "T4", ING, null);
+
+        int completed = store.apply(List.of(
+                state(21L, "T1", 1L),
+                state(23L, "T3", 2L),
+                state(24L, "T4", 3L)), List.of(1L, 2L, 3L));
+
+        assertThat(completed).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("select status from delivery where delivery_id in (21, 23, 24)", String.class))
+                .containsOnly(COMPLETED);
+        assertThat(orderStatus(1L)).isEqualTo(StatusCodeType.DELIVERY_COMPLETED.getValue());
+        assertThat(orderStatus(2L)).isEqualTo(StatusCodeType.DELIVERY_ING.getValue());
+        assertThat(orderStatus(3L)).isEqualTo(StatusCodeType.ORDER_CANCEL.getValue());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class)).isEqualTo(4L);
+    }
+
+    private static DeliveryState state(Long deliveryId, String trackingNo, Long orderId) {
+        return new DeliveryState(deliveryId, trackingNo, orderId, COMPLETED, START, START.plusDays(1), START.plusDays(1));
+    }
+
+    private void order(Long orderId, StatusCodeType status) {
+        jdbcTemplate.update("insert into prod_order (prod_order_id, user_id, status_code, total_price, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                orderId, 10L, status.getValue(), 10_000L, Timestamp.valueOf(START), Timestamp.valueOf(START));
+    }
+
+    private void detail(Long detailId, Long orderId) {
+        jdbcTemplate.update("insert into prod_order_detail (prod_order_detail_id, order_id, product_id, price, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                detailId, orderId, 100L, 10_000L, Timestamp.valueOf(START), Timestamp.valueOf(START));
+    }
+
+    private void delivery(Long deliveryId, Long detailId, String trackingNo, String status, LocalDateTime deletedAt) {
+        jdbcTemplate.update("insert into delivery (delivery_id, order_detail_id, carrier, tracking_no, status, created_at, updated_at, deleted_at) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                deliveryId, detailId, "cj", trackingNo, status, Timestamp.valueOf(START), Timestamp.valueOf(START),
+                deletedAt == null ? null : Timestamp.valueOf(deletedAt));
+    }
+
+    private Integer orderStatus(Long orderId) {
+        return jdbcTemplate.queryForObject("select status_code from prod_order where prod_order_id = ?", Integer.class, orderId);
+    }
+}
@@ -0,0 +1,175 @@
+package com.objects.marketbridge.delivery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackingIngestionServiceTest {
+
+    private FakeTrackingStore store;
+    private TrackingIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new FakeTrackingStore();
+        service = new TrackingIngestionService(store, new ObjectMapper(), 2);
+        store.add(new DeliveryState(1L, "T-1", 100L, "DL01", null, null, null));
+        store.add(new DeliveryState(2L, "T-2", 200L, "DL01", null, null, null));
+        store.add(new DeliveryState(3L, "T-2", 200L, "DL01", null, null, null));
+    }
+
+    @Test
+    void CSV_이벤트로_배송_상태와_날짜를_바꾼다() {
+        TrackingIngestionReport report = ingest(TrackingFormat.CSV, """
+                tracking_no,status,occurred_at
+                T-1,DL03,2024-03-01 09:00:00
+                T-1,DELIVERY_COMPLETED,2024-03-02 15:30:00
+                """);
+
+        DeliveryState delivery = store.deliveries.get(1L);
+        assertThat(delivery.status()).isEqualTo("DL04");
+        assertThat(delivery.shipDate()).isEqualTo(LocalDateTime.of(2024, 3, 1, 9, 0));
+        assertThat(delivery.deliveredDate()).isEqualTo(LocalDateTime.of(2024, 3, 2, 15, 30));
+        assertThat(report.applied()).isEqualTo(2L);
+        assertThat(report.completedOrders()).isEqualTo(1L);
+    }
+
+    @Test
+    void JSONL_이벤트를_읽는다() {
+        TrackingIngestionReport report = ingest(TrackingFormat.JSONL, """
+                {"trackingNo":"T-2","status":"DL03","occurredAt":"2024-03-01T09:00:00"}
+                {"trackingNo":"T-2","status":"DL04","occurredAt":"2024-03-02T10:00:00"}
+                """);
+
+        assertThat(store.deliveries.get(2L).status()).isEqualTo("DL04");
+        assertThat(store.deliveries.get(3L).status()).isEqualTo("DL04");
+        assertThat(report.read()).isEqualTo(2L);
+        assertThat(store.completedOrders).containsExactly(200L);
+    }
+
+    @Test
+    void 바뀌는_것이_없는_이벤트는_버리고_update_하지_않는다() {
+        TrackingIngestionReport report = ingest(TrackingFormat.CSV, """
+                T-1,DL01,2024-03-01 09:00:00
+                T-1,DL01,2024-03-01 10:00:00
+                """);
+
+        assertThat(report.unchanged()).isEqualTo(2L);
+        assertThat(store.updatedRows).isZero();
+    }
+
+    @Test
+    void 배송완료_뒤에_온_이전_단계_이벤트는_무시한다() {
+        ingest(TrackingFormat.CSV, """
+                T-1,DL04,2024-03-02 15:00:00
+                T-1,DL03,2024-03-01 09:00:00
+                """);
+
+        DeliveryState delivery = store.deliveries.get(1L);
+        assertThat(delivery.status()).isEqualTo("DL04");
+        assertThat(delivery.shipDate()).isEqualTo(LocalDateTime.of(2024, 3, 2, 15, 0));
+    }
+
+    @Test
+    void 마지막으로_반영한_이벤트보다_먼저_일어난_이벤트는_버린다() {
+        TrackingIngestionReport first = ingest(TrackingFormat.CSV, """
+                T-1,DL03,2024-03-01 09:00:00
+                T-1,DL01,2024-03-01 08:00:00
+                """);
+        // 다음 파일로 늦게 도착해도 마찬가지다
+        TrackingIngestionReport second = ingest(TrackingFormat.CSV, """
+                T-1,DL06,2024-03-01 08:30:00
+                T-1,DL06,2024-03-01 11:00:00
+                """);
+
+        DeliveryState delivery = store.deliveries.get(1L);
+        assertThat(first.unchanged()).isEqualTo(1L);
+        assertThat(second.unchanged()).isEqualTo(1L);
+        assertThat(delivery.status()).isEqualTo(StatusCodeType.DELIVERY_DELAY.getCode());
+        assertThat(delivery.shipDate()).isEqualTo(LocalDateTime.of(2024, 3, 1, 9, 0));
+        assertThat(delivery.trackedAt()).isEqualTo(LocalDateTime.of(2024, 3, 1, 11, 0));
+    }
+
+    @Test
+    void 모르는_송장과_잘못된_줄은_세고_넘어간다() {
+        TrackingIngestionReport report = ingest(TrackingFormat.CSV, """
+                T-404,DL03,2024-03-01 09:00:00
+                T-1,OR00,2024-03-01 09:00:00
+                T-1,DL03,어제
+                T-1
+                T-1,DL03,2024-03-01T09:00
+                """);
+
+        assertThat(report.unknown()).isEqualTo(1L);
+        assertThat(report.rejected()).isEqualTo(3L);
+        assertThat(report.applied()).isEqualTo(1L);
+    }
+
+    @Test
+    void 묶음_단위로_조회하고_반영한다() {
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 9; i++) {
+            file.append("T-1,").append(i % 2 == 0 ? "DL03" : "DL06").append(",2024-03-01 09:0").append(i).append(":00\n");
+        }
+
+        TrackingIngestionReport report = ingest(TrackingFormat.CSV, file.toString());
+
+        assertThat(store.lookups).isEqualTo(5);
+        assertThat(report.read()).isEqualTo(9L);
+        assertThat(report.eventsPerSecond()).isPositive();
+        assertThat(store.deliveries.get(1L).status()).isEqualTo(StatusCodeType.DELIVERY_ING.getCode());
+    }
+
+    private TrackingIngestionReport ingest(TrackingFormat format, String content) {
+        return service.ingest(new BufferedReader(new StringReader(content)), format);
+    }
+
+    static class FakeTrackingStore implements TrackingStore {
+
+        private final Map<Long, DeliveryState> deliveries = new LinkedHashMap<>();
+        private final List<Long> completedOrders = new ArrayList<>();
+        private int lookups;
+        private int updatedRows;
+
+        void add(DeliveryState state) {
+            deliveries.put(state.deliveryId(), state);
+        }
+
+        @Override
+        public List<DeliveryState> findByTrackingNos(Collection<String> trackingNos) {
+            lookups++;
+            return deliveries.values().stream().filter(state -> trackingNos.contains(state.trackingNo())).toList();
+        }
+
+        @Override
+        public int apply(List<DeliveryState> updates, Collection<Long> completedOrderIds) {
+            updates.forEach(this::add);
+            updatedRows += updates.size();
+            Set<Long> completed = new HashSet<>();
+            for (Long orderId : completedOrderIds) {
+                boolean allDelivered = deliveries.values().stream()
+                        .filter(state -> orderId.equals(state.orderId()))
+                        .allMatch(state -> "DL04".equals(state.status()));
+                if (allDelivered && !completedOrders.contains(orderId)) {
+                    completed.add(orderId);
+                }
+            }
+            completedOrders.addAll(completed);
+            return completed.size();
+        }
+    }
+}
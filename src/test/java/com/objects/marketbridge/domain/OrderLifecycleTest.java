@@ -0,0 +1,52 @@
+package com.objects.marketbridge.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderLifecycleTest {
+
+    @Test
+    void 전이표에_있는_전이만_허용한다() {
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.ORDER_INIT, StatusCodeType.PAYMENT_COMPLETED)).isTrue();
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.PAYMENT_COMPLETED, StatusCodeType.RELEASE_PENDING)).isTrue();
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.DELIVERY_COMPLETED, StatusCodeType.RETURN_INIT)).isTrue();
+
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.ORDER_INIT, StatusCodeType.DELIVERY_ING)).isFalse();
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.DELIVERY_ING, StatusCodeType.ORDER_CANCEL)).isFalse();
+        assertThat(OrderLifecycle.canTransition(StatusCodeType.RETURN_COMPLETED, StatusCodeType.RETURN_INIT)).isFalse();
+    }
+
+    @Test
+    void 비트마스크와_이전_상태_목록이_같은_표에서_나온다() {
+        for (StatusCodeType from : StatusCodeType.values()) {
+            for (StatusCodeType to : StatusCodeType.values()) {
+                boolean allowed = OrderLifecycle.canTransition(from, to);
+                assertThat(OrderLifecycle.sourcesOf(to).contains(from)).isEqualTo(allowed);
+                assertThat(OrderLifecycle.targetsOf(from).contains(to)).isEqualTo(allowed);
+            }
+        }
+    }
+
+    @Test
+    void 주문_생성에서_모든_주문_상태에_닿고_끝_상태는_정해져_있다() {
+        Set<StatusCodeType> reached = EnumSet.of(StatusCodeType.ORDER_INIT);
+        Deque<StatusCodeType> queue = new ArrayDeque<>(reached);
+        while (!queue.isEmpty()) {
+            for (StatusCodeType next : OrderLifecycle.targetsOf(queue.poll())) {
+                if (reached.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        assertThat(reached).hasSize(StatusCodeType.values().length);
+        assertThat(EnumSet.allOf(StatusCodeType.class).stream().filter(OrderLifecycle::isTerminal).toList())
+                .containsExactlyInAnyOrder(StatusCodeType.ORDER_CANCEL, StatusCodeType.PAYMENT_CANCEL, StatusCodeType.RETURN_COMPLETED);
+    }
+}
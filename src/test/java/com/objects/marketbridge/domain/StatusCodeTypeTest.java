@@ -0,0 +1,43 @@
+package com.objects.marketbridge.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusCodeTypeTest {
+
+    private final StatusCodeTypeConverter converter = new StatusCodeTypeConverter();
+
+    @Test
+    void 코드와_정수_값으로_상태를_찾는다() {
+        for (StatusCodeType type : StatusCodeType.values()) {
+            assertThat(StatusCodeType.fromCode(type.getCode())).isSameAs(type);
+            assertThat(StatusCodeType.fromValue(type.getValue())).isSameAs(type);
+        }
+        assertThat(StatusCodeType.fromCode("XX99")).isNull();
+        assertThat(StatusCodeType.fromValue(-1)).isNull();
+        assertThat(StatusCodeType.fromValue(99_999)).isNull();
+    }
+
+    @Test
+    void 정수_값은_서로_다르고_smallint_범위이다() {
+        assertThat(Arrays.stream(StatusCodeType.values()).mapToInt(StatusCodeType::getValue).distinct().count())
+                .isEqualTo((long) StatusCodeType.values().length);
+        assertThat(Arrays.stream(StatusCodeType.values()).mapToInt(StatusCodeType::getValue).max().getAsInt())
+                .isLessThanOrEqualTo((int) Short.MAX_VALUE);
+    }
+
+    @Test
+    void 컨버터는_smallint로_저장하고_되돌린다() {
+        Short stored = converter.convertToDatabaseColumn(StatusCodeType.DELIVERY_ING);
+
+        assertThat(stored).isEqualTo((short) 303);
+        assertThat(converter.convertToEntityAttribute(stored)).isSameAs(StatusCodeType.DELIVERY_ING);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThatThrownBy(() -> converter.convertToEntityAttribute((short) 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
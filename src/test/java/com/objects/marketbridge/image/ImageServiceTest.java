@@ -0,0 +1,195 @@
+package com.objects.marketbridge.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageServiceTest {
+
+    private static final String CONTENT = "0123456789";
+
+    private final Path root = createRoot();
+    private final FakeImageStore store = new FakeImageStore();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root.getParent())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void 전체_요청은_ETag_와_캐시_헤더를_담아_파일을_그대로_보낸다() throws IOException {
+        ImageService service = service(10);
+        image(1L, "thumb/1.jpg", CONTENT);
+
+        try (ImageResponse response = service.open(1L, null, null, null)) {
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.contentType()).isEqualTo("image/jpeg");
+            assertThat(response.cacheControl()).isEqualTo("public, max-age=86400");
+            assertThat(response.etag()).startsWith("\"");
+            assertThat(body(response)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void Range_요청은_요청한_구간만_보낸다() throws IOException {
+        ImageService service = service(10);
+        image(1L, "/thumb/1.png", CONTENT);
+
+        try (ImageResponse response = service.open(1L, null, "bytes=2-5", null)) {
+            assertThat(response.status()).isEqualTo(206);
+            assertThat(response.contentRange()).isEqualTo("bytes 2-5/10");
+            assertThat(body(response)).isEqualTo("2345");
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=-3", null)) {
+            assertThat(body(response)).isEqualTo("789");
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=8-", null)) {
+            assertThat(body(response)).isEqualTo("89");
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=10-", null)) {
+            assertThat(response.status()).isEqualTo(416);
+            assertThat(response.contentRange()).isEqualTo("bytes */10");
+        }
+        // 여러 구간과 틀린 형식은 전체를 보낸다
+        try (ImageResponse response = service.open(1L, null, "bytes=0-1,4-5", null)) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=5-2", null)) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void ETag_가_같으면_304_이고_If_Range_가_다르면_전체를_보낸다() throws IOException {
+        ImageService service = service(10);
+        image(1L, "1.jpg", CONTENT);
+        String etag;
+        try (ImageResponse response = service.open(1L, null, null, null)) {
+            etag = response.etag();
+        }
+
+        try (ImageResponse response = service.open(1L, "\"other\", W/" + etag, null, null)) {
+            assertThat(response.status()).isEqualTo(304);
+            assertThat(response.hasBody()).isFalse();
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=0-1", "\"other\"")) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+        try (ImageResponse response = service.open(1L, null, "bytes=0-1", etag)) {
+            assertThat(response.status()).isEqualTo(206);
+        }
+    }
+
+    @Test
+    void 루트_밖의_경로나_없는_이미지는_404_다() throws IOException {
+        ImageService service = service(10);
+        image(1L, "../outside.jpg", CONTENT);
+        store.urls.put(2L, "missing.jpg");
+
+        try (ImageResponse response = service.open(1L, null, null, null)) {
+            assertThat(response.status()).isEqualTo(404);
+        }
+        try (ImageResponse response = service.open(2L, null, null, null)) {
+            assertThat(response.found()).isFalse();
+        }
+        try (ImageResponse response = service.open(3L, null, null, null)) {
+            assertThat(response.status()).isEqualTo(404);
+        }
+    }
+
+    @Test
+    void 열어_둔_파일은_LRU_로_줄이되_보내는_중인_파일은_닫지_않는다() throws IOException {
+        ImageFileCache cache = new ImageFileCache(store, root.toString(), 2, Duration.ofMinutes(1));
+        ImageService service = new ImageService(cache, Duration.ofDays(1));
+        image(1L, "1.jpg", "one");
+        image(2L, "2.jpg", "two");
+        image(3L, "3.jpg", "three");
+
+        try (ImageResponse first = service.open(1L, null, null, null)) {
+            service.open(2L, null, null, null).close();
+            service.open(3L, null, null, null).close();
+
+            assertThat(cache.openFiles()).isEqualTo(2);
+            assertThat(body(first)).isEqualTo("one");
+        }
+        service.open(3L, null, null, null).close();
+        assertThat(store.lookups).isEqualTo(3);
+    }
+
+    @Test
+    void 파일이_바뀌면_새_ETag_로_다시_연다() throws IOException {
+        ImageService service = service(0);
+        Path path = image(1L, "1.jpg", CONTENT);
+        String before;
+        try (ImageResponse response = service.open(1L, null, null, null)) {
+            before = response.etag();
+        }
+
+        Files.writeString(path, "changed");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 5_000));
+
+        try (ImageResponse response = service.open(1L, before, null, null)) {
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.etag()).isNotEqualTo(before);
+            assertThat(body(response)).isEqualTo("changed");
+        }
+    }
+
+    private ImageService service(long revalidateSeconds) {
+        ImageFileCache cache = new ImageFileCache(store, root.toString(), 100, Duration.ofSeconds(revalidateSeconds));
+        return new ImageService(cache, Duration.ofDays(1));
+    }
+
+    private Path image(Long imageId, String url, String content) throws IOException {
+        store.urls.put(imageId, url);
+        Path path = root.resolve(url.startsWith("/") ? url.substring(1) : url).normalize();
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        return path;
+    }
+
+    private static String body(ImageResponse response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.transferTo(Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Path createRoot() {
+        try {
+            return Files.createTempDirectory("images").resolve("root");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class FakeImageStore implements ImageStore {
+
+        private final Map<Long, String> urls = new HashMap<>();
+        private int lookups;
+
+        @Override
+        public Optional<String> findUrl(Long imageId) {
+            lookups++;
+            return Optional.ofNullable(urls.get(imageId));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.id.SnowflakeIdGenerator;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.point.FakePointStore;
+import com.objects.marketbridge.point.PointLedgerService;
+import com.objects.marketbridge.point.PointStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckoutWriteServiceTest {
+
+    private final FakePointStore pointStore = new FakePointStore();
+    private final FakeCheckoutStore store = new FakeCheckoutStore(pointStore);
+    private final PointLedgerService pointLedger = new PointLedgerService(pointStore, new SnowflakeIdGenerator(1), 16);
+    private final CheckoutWriteService service =
+            new CheckoutWriteService(store, pointLedger, new SnowflakeIdGenerator(0), Duration.ofMillis(20), 50, 1_000, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void 동시에_들어온_주문은_묶어서_저장한다() {
+        List<CompletableFuture<CheckoutResult>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 200; userId++) {
+            futures.add(service.submit(command(userId, null)));
+        }
+
+        List<CheckoutResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+        assertThat(results.stream().allMatch(CheckoutResult::success)).isTrue();
+        assertThat(store.saved).hasSize(200);
+        assertThat(store.batchSizes.size()).isLessThan(200);
+        assertThat(Collections.max(store.batchSizes)).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    void 묶음_저장이_실패하면_문제있는_주문만_실패한다() {
+        store.poisonUserId = 13L;
+        List<CompletableFuture<CheckoutResult>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 30; userId++) {
+            futures.add(service.submit(command(userId, null)));
+        }
+
+        List<CheckoutResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+        assertThat(results.stream().filter(result -> !result.success()).count()).isEqualTo(1L);
+        assertThat(results.get(12).success()).isFalse();
+        assertThat(store.saved).hasSize(29);
+    }
+
+    @Test
+    void 이미_사용된_쿠폰으로_주문하면_그_주문만_실패한다() {
+        store.usedCoupons.add(99L);
+
+        CheckoutResult rejected = service.place(command(1L, 99L));
+        CheckoutResult accepted = service.place(command(2L, 100L));
+
+        assertThat(rejected.success()).isFalse();
+        assertThat(rejected.failureReason()).isEqualTo("이미 사용된 쿠폰입니다.");
+        assertThat(accepted.success()).isTrue();
+    }
+
+    @Test
+    void 포인트가_부족하면_주문하지_않는다() {
+        pointLedger.earn(1L, 1_000, null, "적립");
+
+        CheckoutResult result = service.place(command(1L, null, 1_500));
+
+        assertThat(result.success()).isFalse();
+        assertThat(result.failureReason()).isEqualTo("포인트가 부족합니다.");
+        assertThat(store.saved).isEmpty();
+        assertThat(pointLedger.balance(1L)).isEqualTo(1_000L);
+    }
+
+    @Test
+    void 주문이_실패하면_사용한_포인트를_되돌린다() {
+        pointLedger.earn(1L, 1_000, null, "적립");
+        pointLedger.earn(2L, 1_000, null, "적립");
+        store.usedCoupons.add(99L);
+
+        CheckoutResult rejected = service.place(command(1L, 99L, 400));
+        CheckoutResult accepted = service.place(command(2L, null, 400));
+
+        assertThat(rejected.success()).isFalse();
+        assertThat(accepted.success()).isTrue();
+        assertThat(pointLedger.balance(1L)).isEqualTo(1_000L);
+        assertThat(pointLedger.balance(2L)).isEqualTo(600L);
+        // 실패한 주문의 포인트 행은 쓰지 않고, 성공한 주문의 행은 주문과 함께 쓴다
+        assertThat(pointStore.sum(1L)).isEqualTo(1_000L);
+        assertThat(pointStore.sum(2L)).isEqualTo(600L);
+    }
+
+    private static CheckoutCommand command(Long userId, Long customerCouponId) {
+        return command(userId, customerCouponId, 0);
+    }
+
+    private static CheckoutCommand command(Long userId, Long customerCouponId, int usedPoint) {
+        return CheckoutCommand.builder()
+                .userId(userId)
+                .addressId(1L)
+                .lines(List.of(new CheckoutLine(10L, 10_000L), new CheckoutLine(11L, 5_000L)))
+                .payMethod(PayMethod.CARD)
+                .receiptId("receipt-" + userId)
+                .customerCouponId(customerCouponId)
+                .usedPoint(usedPoint)
+                .pointRate(1)
+                .build();
+    }
+
+    static class FakeCheckoutStore implements CheckoutStore {
+
+        private final PointStore pointStore;
+        private final List<PlacedOrder> saved = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Long> usedCoupons = Collections.synchronizedSet(new HashSet<>());
+        private volatile Long poisonUserId;
+
+        FakeCheckoutStore(PointStore pointStore) {
+            this.pointStore = pointStore;
+        }
+
+        @Override
+        public Set<Long> saveAll(List<PlacedOrder> orders) {
+            if (orders.stream().anyMatch(order -> order.command().getUserId().equals(poisonUserId))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            batchSizes.add(orders.size());
+            Set<Long> rejected = new HashSet<>();
+            for (PlacedOrder order : orders) {
+                Long couponId = order.command().getCustomerCouponId();
+                if (couponId != null && !usedCoupons.add(couponId)) {
+                    rejected.add(order.orderId());
+                } else {
+                    saved.add(order);
+                    if (order.pointHold() != null) {
+                        pointStore.append(order.pointHold());
+                    }
+                }
+            }
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.config.IdGeneratorConfig;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.outbox.JdbcOutboxStore;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import com.objects.marketbridge.point.JdbcPointStore;
+import com.objects.marketbridge.point.PointEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 쿠폰 사용, 주문/상세/결제/포인트 배치 insert, 아웃박스 기록을 한 묶음으로 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+@Import({JdbcCheckoutStore.class, JdbcPointStore.class, OutboxWriter.class, JdbcOutboxStore.class, IdGeneratorConfig.class})
+class JdbcCheckoutStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcCheckoutStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 주문_묶음을_종류별로_넣고_쓴_쿠폰이_걸린_주문만_뺀다() {
+        customerCoupon(501L, 10L, false);
+        customerCoupon(502L, 20L, true);
+        PointEntry pointHold = new PointEntry(901L, 10L, 1L, 0, 1_000, 4_000, "주문 사용", START);
+
+        Set<Long> rejected = store.saveAll(List.of(
+                new PlacedOrder(1L, command(10L, "r-1", 501L, 2), pointHold),
+                new PlacedOrder(2L, command(20L, "r-2", 502L, 1), null),
+                new PlacedOrder(3L, command(30L, null, null, 3), null)));
+
+        assertThat(rejected).containsExactly(2L);
+        assertThat(jdbcTemplate.queryForList("select prod_order_id from prod_order", Long.class)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(jdbcTemplate.queryForObject("select total_price from prod_order where prod_order_id = 1", Long.class)).isEqualTo(20_000L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from prod_order_detail where order_id = 3", Long.class)).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForList("select order_id from prod_order_detail", Long.class)).doesNotContain(2L);
+        assertThat(jdbcTemplate.queryForList("select order_id from payment", Long.class)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(jdbcTemplate.queryForList("select point_id from point", Long.class)).containsExactly(901L);
+        assertThat(jdbcTemplate.queryForObject("select is_used from customer_coupon where customer_coupon_id = 501", Boolean.class)).isTrue();
+        // 주문 두 건, 영수증이 있는 주문 한 건의 결제
+        assertThat(jdbcTemplate.queryForList("select aggregate_id from outbox_event", String.class)).containsExactlyInAnyOrder("1", "3", "r-1");
+    }
+
+    @Test
+    void 모두_거절되면_아무것도_넣지_않는다() {
+        customerCoupon(502L, 20L, true);
+
+        Set<Long> rejected = store.saveAll(List.of(new PlacedOrder(2L, command(20L, "r-2", 502L, 1), null)));
+
+        assertThat(rejected).containsExactly(2L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from prod_order", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class)).isZero();
+    }
+
+    private static CheckoutCommand command(Long userId, String receiptId, Long customerCouponId, int lines) {
+        return CheckoutCommand.builder()
+                .userId(userId)
+                .lines(LongStream.range(0, lines).mapToObj(i -> new CheckoutLine(100L + i, 10_000L)).toList())
+                .payMethod(PayMethod.CARD)
+                .receiptId(receiptId)
+                .paymentStatus(StatusCodeType.PAYMENT_COMPLETED)
+                .customerCouponId(customerCouponId)
+                .pointRate(1)
+                .build();
+    }
+
+    private void customerCoupon(Long customerCouponId, Long userId, boolean used) {
+        jdbcTemplate.update("insert into customer_coupon (customer_coupon_id, user_id, coupon_id, is_used, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                customerCouponId, userId, 1L, used, Timestamp.valueOf(START), Timestamp.valueOf(START));
+    }
+}
@@ -0,0 +1,143 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 원본 조인(SELECT_SOURCES), (ordered_at, order_id) keyset 조회, 상품 줄 갱신을 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+@Import(JdbcOrderHistoryStore.class)
+class JdbcOrderHistoryStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcOrderHistoryStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 원본에서_주문_상품과_최근_배송_결제를_모아_만든다() {
+        order(1L, 10L, START, null);
+        product(100L, "상품", START);
+        detail(11L, 1L, 100L, START.plusSeconds(1), null);
+        detail(12L, 1L, 100L, START.plusSeconds(2), START.plusSeconds(2));
+        delivery(21L, 11L, "DL01", START.plusSeconds(3));
+        delivery(22L, 11L, "DL03", START.plusSeconds(4));
+        payment(31L, 1L, PayMethod.BANK, START.plusSeconds(5));
+        payment(32L, 1L, PayMethod.CARD, START.plusSeconds(1));
+        order(2L, 10L, START, START.plusSeconds(1));
+
+        List<ProjectedOrder> projected = store.project(List.of(1L, 2L, 3L));
+
+        assertThat(projected).hasSize(1);
+        ProjectedOrder order = projected.get(0);
+        assertThat(order.userId()).isEqualTo(10L);
+        assertThat(order.view().payMethod()).isEqualTo(PayMethod.CARD);
+        assertThat(order.view().statusCode()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(order.view().lines()).containsExactly(
+                new OrderHistoryLine(11L, 100L, "상품", "thumb.png", 10_000L, "DL03", "cj", "t22"));
+        assertThat(order.sourceUpdatedAt()).isEqualTo(START.plusSeconds(4));
+    }
+
+    @Test
+    void 같은_시각의_주문이_섞여도_keyset_으로_빠짐없이_읽는다() {
+        List<ProjectedOrder> projected = new ArrayList<>();
+        for (long orderId = 1; orderId <= 25; orderId++) {
+            // 같은 시각 주문이 섞이도록 3 건씩 같은 시각으로 만든다
+            projected.add(projected(orderId, 10L, START.plusMinutes(orderId / 3)));
+        }
+        projected.add(projected(99L, 20L, START));
+        store.replace(projected.stream().map(order -> order.view().orderId()).toList(), projected, START);
+
+        OrderHistoryService service = new OrderHistoryService(store);
+        List<Long> descending = readAll(service, Sort.Direction.DESC);
+        List<Long> ascending = readAll(service, Sort.Direction.ASC);
+
+        assertThat(descending).hasSize(25).doesNotContain(99L).doesNotHaveDuplicates();
+        assertThat(descending.get(0)).isEqualTo(25L);
+        assertThat(ascending).hasSize(25).doesNotHaveDuplicates();
+        assertThat(ascending.get(0)).isEqualTo(1L);
+    }
+
+    @Test
+    void 상품이_바뀌면_그_상품의_줄만_상품_테이블에서_다시_채운다() {
+        product(100L, "새 상품명", START);
+        product(200L, "다른 상품", START);
+        OrderHistoryView view = new OrderHistoryView(1L, START, StatusCodeType.PAYMENT_COMPLETED, 20_000L, PayMethod.CARD, List.of(
+                new OrderHistoryLine(11L, 100L, "상품", "old.png", 10_000L, "DL03", "cj", "t1"),
+                new OrderHistoryLine(12L, 200L, "예전 상품", "old.png", 10_000L, null, null, null)));
+        store.replace(List.of(1L), List.of(new ProjectedOrder(10L, view, START)), START);
+
+        assertThat(store.updateProducts(List.of(100L))).isEqualTo(1);
+
+        List<OrderHistoryView> orders = store.findByUserId(10L, CursorPageRequest.first(10, Sort.Direction.DESC), 10);
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0).lines()).containsExactly(
+                new OrderHistoryLine(11L, 100L, "새 상품명", "thumb.png", 10_000L, "DL03", "cj", "t1"),
+                new OrderHistoryLine(12L, 200L, "예전 상품", "old.png", 10_000L, null, null, null));
+    }
+
+    private static List<Long> readAll(OrderHistoryService service, Sort.Direction direction) {
+        List<Long> orderIds = new ArrayList<>();
+        CursorPageRequest request = CursorPageRequest.first(4, direction);
+        CursorPage<OrderHistoryView> page;
+        do {
+            page = service.findPage(10L, request);
+            page.content().forEach(view -> orderIds.add(view.orderId()));
+            request = request.next(page.nextCursor());
+        } while (page.hasNext());
+        return orderIds;
+    }
+
+    private static ProjectedOrder projected(Long orderId, Long userId, LocalDateTime orderedAt) {
+        return new ProjectedOrder(userId, new OrderHistoryView(orderId, orderedAt, StatusCodeType.PAYMENT_COMPLETED, 10_000L, PayMethod.CARD,
+                List.of(new OrderHistoryLine(orderId * 10, 100L, "상품", "thumb.png", 10_000L, null, null, null))), orderedAt);
+    }
+
+    private void order(Long orderId, Long userId, LocalDateTime updatedAt, LocalDateTime deletedAt) {
+        jdbcTemplate.update("insert into prod_order (prod_order_id, user_id, status_code, total_price, created_at, updated_at, deleted_at) values (?, ?, ?, ?, ?, ?, ?)",
+                orderId, userId, StatusCodeType.PAYMENT_COMPLETED.getValue(), 10_000L, Timestamp.valueOf(START), Timestamp.valueOf(updatedAt), timestamp(deletedAt));
+    }
+
+    private void product(Long productId, String name, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into product (product_id, is_own, name, price, is_subs, thumb_img, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                productId, true, name, 10_000, false, "thumb.png", Timestamp.valueOf(START), Timestamp.valueOf(updatedAt));
+    }
+
+    private void detail(Long detailId, Long orderId, Long productId, LocalDateTime updatedAt, LocalDateTime deletedAt) {
+        jdbcTemplate.update("insert into prod_order_detail (prod_order_detail_id, order_id, product_id, price, created_at, updated_at, deleted_at) values (?, ?, ?, ?, ?, ?, ?)",
+                detailId, orderId, productId, 10_000L, Timestamp.valueOf(START), Timestamp.valueOf(updatedAt), timestamp(deletedAt));
+    }
+
+    private void delivery(Long deliveryId, Long detailId, String status, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into delivery (delivery_id, order_detail_id, carrier, tracking_no, status, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                deliveryId, detailId, "cj", "t" + deliveryId, status, Timestamp.valueOf(START), Timestamp.valueOf(updatedAt));
+    }
+
+    private void payment(Long paymentId, Long orderId, PayMethod payMethod, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into payment (payment_id, order_id, pay_method, created_at, updated_at) values (?, ?, ?, ?, ?)",
+                paymentId, orderId, payMethod.name(), Timestamp.valueOf(START), Timestamp.valueOf(updatedAt));
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+}
@@ -0,0 +1,70 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.config.IdGeneratorConfig;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.outbox.JdbcOutboxStore;
+import com.objects.marketbridge.outbox.OutboxWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 조건부 UPDATE 한 번과 token 으로 바뀐 주문을 고르는지 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+@Import({JdbcOrderStatusStore.class, OutboxWriter.class, JdbcOutboxStore.class, IdGeneratorConfig.class})
+class JdbcOrderStatusStoreTest {
+
+    private static final Timestamp NOW = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    @Autowired
+    private JdbcOrderStatusStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void 이전_상태가_맞는_주문만_바꾸고_바뀐_주문만_돌려준다() {
+        order(1L, StatusCodeType.PAYMENT_COMPLETED, null);
+        order(2L, StatusCodeType.ORDER_CANCEL, null);
+        order(3L, StatusCodeType.PAYMENT_COMPLETED, NOW);
+        order(4L, StatusCodeType.PAYMENT_COMPLETED, null);
+
+        List<Long> transitioned = store.transition(List.of(1L, 2L, 3L, 4L, 5L), Set.of(StatusCodeType.PAYMENT_COMPLETED), StatusCodeType.RELEASE_PENDING);
+
+        assertThat(transitioned).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(status(1L)).isEqualTo(StatusCodeType.RELEASE_PENDING.getValue());
+        assertThat(status(2L)).isEqualTo(StatusCodeType.ORDER_CANCEL.getValue());
+        assertThat(status(3L)).isEqualTo(StatusCodeType.PAYMENT_COMPLETED.getValue());
+        assertThat(jdbcTemplate.queryForList("select order_id from outbox_event", Long.class)).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    void 앞선_호출에서_같은_상태로_바뀐_주문은_돌려주지_않는다() {
+        order(1L, StatusCodeType.PAYMENT_COMPLETED, null);
+        order(2L, StatusCodeType.PAYMENT_COMPLETED, null);
+        store.transition(List.of(1L), Set.of(StatusCodeType.PAYMENT_COMPLETED), StatusCodeType.RELEASE_PENDING);
+
+        List<Long> transitioned = store.transition(List.of(1L, 2L), Set.of(StatusCodeType.PAYMENT_COMPLETED), StatusCodeType.RELEASE_PENDING);
+
+        assertThat(transitioned).containsExactly(2L);
+    }
+
+    private void order(Long orderId, StatusCodeType status, Timestamp deletedAt) {
+        jdbcTemplate.update("insert into prod_order (prod_order_id, user_id, status_code, total_price, created_at, updated_at, deleted_at) values (?, ?, ?, ?, ?, ?, ?)",
+                orderId, 10L, status.getValue(), 10_000L, NOW, NOW, deletedAt);
+    }
+
+    private Integer status(Long orderId) {
+        return jdbcTemplate.queryForObject("select status_code from prod_order where prod_order_id = ?", Integer.class, orderId);
+    }
+}
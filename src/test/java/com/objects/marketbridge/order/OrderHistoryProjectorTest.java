@@ -0,0 +1,211 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.common.page.CursorPage;
+import com.objects.marketbridge.common.page.CursorPageRequest;
+import com.objects.marketbridge.common.page.PageCursor;
+import com.objects.marketbridge.common.util.MutableClock;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import com.objects.marketbridge.product.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderHistoryProjectorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private FakeOrderHistoryStore store;
+    private MutableClock clock;
+    private OrderHistoryProjector projector;
+    private OrderHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new FakeOrderHistoryStore();
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        projector = new OrderHistoryProjector(store, Duration.ofSeconds(5), Duration.ofSeconds(30), clock);
+        service = new OrderHistoryService(store);
+    }
+
+    @Test
+    void 바뀐_주문을_조회_모델에_반영하고_지연을_잰다() {
+        store.source(order(1L, 10L, START.minusSeconds(1), START.minusSeconds(1)));
+        store.source(order(2L, 10L, START.minusSeconds(2), START.minusSeconds(3)));
+
+        assertThat(projector.poll()).isEqualTo(2);
+
+        assertThat(store.history).containsKeys(1L, 2L);
+        OrderHistoryLag lag = projector.lag();
+        assertThat(lag.projectedOrders()).isEqualTo(2L);
+        assertThat(lag.last()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(lag.max()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(lag.average()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void 반영할_주문이_없는_폴링은_직전_지연을_남기지_않는다() {
+        store.source(order(1L, 10L, START, START.minusSeconds(60)));
+        projector.poll();
+        assertThat(projector.lag().last()).isEqualTo(Duration.ofSeconds(60));
+
+        clock.advance(Duration.ofSeconds(1));
+        projector.poll();
+
+        OrderHistoryLag lag = projector.lag();
+        assertThat(lag.last()).isEqualTo(Duration.ZERO);
+        assertThat(lag.max()).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void 다음_폴링은_직전_폴링_시각부터_겹쳐_읽는다() {
+        projector.poll();
+        clock.advance(Duration.ofSeconds(10));
+
+        projector.poll();
+
+        assertThat(store.polledSince).containsExactly(LocalDateTime.of(1970, 1, 1, 0, 0).minusSeconds(5), START.minusSeconds(5));
+    }
+
+    @Test
+    void 삭제된_주문은_조회_모델에서_빠진다() {
+        store.source(order(1L, 10L, START, START));
+        projector.poll();
+
+        store.sources.remove(1L);
+        store.changed.add(1L);
+        projector.poll();
+
+        assertThat(store.history).doesNotContainKey(1L);
+    }
+
+    @Test
+    void 상품이_바뀌면_주문을_다시_만들지_않고_그_상품의_줄만_고친다() {
+        store.source(order(1L, 10L, START, START));
+        projector.poll();
+        store.productNames.put(100L, "새 상품명");
+        store.projectedOrderIds.clear();
+
+        projector.onProductChanged(new ProductChangedEvent(List.of(100L)));
+
+        assertThat(store.history.get(1L).view().lines().get(0).productName()).isEqualTo("새 상품명");
+        assertThat(store.projectedOrderIds).isEmpty();
+    }
+
+    @Test
+    void 주문_목록을_cursor_로_끝까지_읽는다() {
+        for (long orderId = 1; orderId <= 45; orderId++) {
+            // 같은 시각 주문이 섞이도록 3 건씩 같은 시각으로 만든다
+            store.source(order(orderId, 10L, START.plusMinutes(orderId / 3), START));
+        }
+        store.source(order(99L, 20L, START, START));
+        projector.poll();
+
+        List<Long> orderIds = new ArrayList<>();
+        CursorPageRequest request = CursorPageRequest.first(10, Sort.Direction.DESC);
+        CursorPage<OrderHistoryView> page;
+        do {
+            page = service.findPage(10L, request);
+            page.content().forEach(view -> orderIds.add(view.orderId()));
+            request = request.next(page.nextCursor());
+        } while (page.hasNext());
+
+        assertThat(orderIds).hasSize(45).doesNotContain(99L).doesNotHaveDuplicates();
+        assertThat(orderIds.get(0)).isEqualTo(45L);
+    }
+
+    private static ProjectedOrder order(Long orderId, Long userId, LocalDateTime orderedAt, LocalDateTime updatedAt) {
+        OrderHistoryView view = new OrderHistoryView(orderId, orderedAt, StatusCodeType.PAYMENT_COMPLETED, 10_000L, PayMethod.CARD,
+                List.of(new OrderHistoryLine(orderId * 10, 100L, "상품", "thumb.png", 10_000L, null, null, null)));
+        return new ProjectedOrder(userId, view, updatedAt);
+    }
+
+    static class FakeOrderHistoryStore implements OrderHistoryStore {
+
+        private final Map<Long, ProjectedOrder> sources = new HashMap<>();
+        private final List<Long> changed = new ArrayList<>();
+        private final Map<Long, ProjectedOrder> history = new HashMap<>();
+        private final List<LocalDateTime> polledSince = new ArrayList<>();
+        private final Map<Long, String> productNames = new HashMap<>();
+        private final List<Long> projectedOrderIds = new ArrayList<>();
+
+        void source(ProjectedOrder order) {
+            sources.put(order.view().orderId(), order);
+            changed.add(order.view().orderId());
+        }
+
+        @Override
+        public List<Long> findChangedOrderIds(LocalDateTime since) {
+            polledSince.add(since);
+            List<Long> ids = List.copyOf(changed);
+            changed.clear();
+            return ids;
+        }
+
+        @Override
+        public int updateProducts(Collection<Long> productIds) {
+            int updated = 0;
+            for (Map.Entry<Long, ProjectedOrder> entry : history.entrySet()) {
+                ProjectedOrder order = entry.getValue();
+                OrderHistoryView view = order.view();
+                List<OrderHistoryLine> lines = new ArrayList<>();
+                for (OrderHistoryLine line : view.lines()) {
+                    if (productIds.contains(line.productId()) && productNames.containsKey(line.productId())) {
+                        line = new OrderHistoryLine(line.orderDetailId(), line.productId(), productNames.get(line.productId()), line.thumbImg(),
+                                line.price(), line.deliveryStatus(), line.carrier(), line.trackingNo());
+                        updated++;
+                    }
+                    lines.add(line);
+                }
+                entry.setValue(new ProjectedOrder(order.userId(), new OrderHistoryView(view.orderId(), view.orderedAt(), view.statusCode(),
+                        view.totalPrice(), view.payMethod(), List.copyOf(lines)), order.sourceUpdatedAt()));
+            }
+            return updated;
+        }
+
+        @Override
+        public List<ProjectedOrder> project(Collection<Long> orderIds) {
+            projectedOrderIds.addAll(orderIds);
+            return orderIds.stream().filter(sources::containsKey).map(sources::get).toList();
+        }
+
+        @Override
+        public void replace(Collection<Long> orderIds, List<ProjectedOrder> projected, LocalDateTime projectedAt) {
+            orderIds.forEach(history::remove);
+            projected.forEach(order -> history.put(order.view().orderId(), order));
+        }
+
+        @Override
+        public Optional<LocalDateTime> findLatestSourceUpdatedAt() {
+            return history.values().stream().map(ProjectedOrder::sourceUpdatedAt).max(Comparator.naturalOrder());
+        }
+
+        @Override
+        public List<OrderHistoryView> findByUserId(Long userId, CursorPageRequest request, int limit) {
+            Comparator<OrderHistoryView> order = Comparator.comparing(OrderHistoryView::orderedAt).thenComparing(OrderHistoryView::orderId);
+            Comparator<OrderHistoryView> sorted = request.direction().isAscending() ? order : order.reversed();
+            PageCursor cursor = request.isFirst() ? null : PageCursor.decode(request.cursor());
+            return history.values().stream()
+                    .filter(projected -> projected.userId().equals(userId))
+                    .map(ProjectedOrder::view)
+                    .filter(view -> cursor == null
+                            || sorted.compare(view, new OrderHistoryView(cursor.id(), cursor.createdAt(), null, null, null, List.of())) > 0)
+                    .sorted(sorted)
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
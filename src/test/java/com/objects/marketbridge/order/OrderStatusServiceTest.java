@@ -0,0 +1,162 @@
+package com.objects.marketbridge.order;
+
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderStatusServiceTest {
+
+    private final FakeOrderStatusStore store = new FakeOrderStatusStore();
+    private final OrderStatusService service = new OrderStatusService(store, 1_000);
+
+    @Test
+    void 허용된_이전_상태인_주문만_한_번에_바꾼다() {
+        store.put(1L, StatusCodeType.PAYMENT_COMPLETED);
+        store.put(2L, StatusCodeType.ORDER_INIT);
+        store.put(3L, StatusCodeType.RELEASE_PENDING);
+
+        OrderTransitionResult result = service.transition(List.of(1L, 2L, 3L, 4L), StatusCodeType.ORDER_CANCEL);
+
+        assertThat(result.transitioned()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(result.rejected()).containsExactly(4L);
+        assertThat(store.statuses.get(1L)).isEqualTo(StatusCodeType.ORDER_CANCEL);
+        assertThat(store.statements).hasSize(1);
+    }
+
+    @Test
+    void 지금_상태가_맞지_않는_주문은_그대로_둔다() {
+        store.put(1L, StatusCodeType.PAYMENT_COMPLETED);
+        store.put(2L, StatusCodeType.DELIVERY_ING);
+
+        OrderTransitionResult result = service.transition(List.of(1L, 2L), StatusCodeType.PAYMENT_COMPLETED, StatusCodeType.RELEASE_PENDING);
+
+        assertThat(result.transitioned()).containsExactly(1L);
+        assertThat(result.rejected()).containsExactly(2L);
+        assertThat(store.statuses.get(2L)).isEqualTo(StatusCodeType.DELIVERY_ING);
+    }
+
+    @Test
+    void 전이표에_없는_전이는_거절한다() {
+        assertThatThrownBy(() -> service.transition(List.of(1L), StatusCodeType.ORDER_INIT, StatusCodeType.DELIVERY_COMPLETED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.transition(List.of(1L), StatusCodeType.ORDER_INIT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.statements).isEmpty();
+    }
+
+    @Test
+    void 많은_주문은_chunk_단위_UPDATE로_나눈다() {
+        List<Long> ids = LongStream.rangeClosed(1, 4_500).boxed().toList();
+        ids.forEach(id -> store.put(id, StatusCodeType.RELEASE_COMPLETED));
+
+        OrderTransitionResult result = service.transition(ids, StatusCodeType.DELIVERY_ING);
+
+        assertThat(result.transitioned()).hasSize(4_500);
+        assertThat(store.statements).hasSize(5);
+    }
+
+    @Test
+    void 동시에_충돌하는_전이는_주문마다_하나만_반영된다() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 2_000).boxed().toList();
+        ids.forEach(id -> store.put(id, StatusCodeType.PAYMENT_COMPLETED));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<OrderTransitionResult> release = executor.submit(() -> {
+                start.await();
+                return service.transition(ids, StatusCodeType.PAYMENT_COMPLETED, StatusCodeType.RELEASE_PENDING);
+            });
+            Future<OrderTransitionResult> cancel = executor.submit(() -> {
+                start.await();
+                return service.transition(ids, StatusCodeType.PAYMENT_CANCEL);
+            });
+            start.countDown();
+
+            OrderTransitionResult released = release.get();
+            OrderTransitionResult cancelled = cancel.get();
+
+            // 출고 대기가 먼저 된 주문도 결제 취소는 할 수 있으므로 취소 쪽은 전부 성공할 수 있다
+            assertThat(released.transitioned().size() + released.rejected().size()).isEqualTo(2_000);
+            assertThat(cancelled.transitioned()).hasSize(2_000);
+            for (Long id : ids) {
+                assertThat(store.statuses.get(id)).isEqualTo(StatusCodeType.PAYMENT_CANCEL);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 동시에_같은_상태에서_나가는_전이는_한쪽만_성공한다() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 2_000).boxed().toList();
+        ids.forEach(id -> store.put(id, StatusCodeType.DELIVERY_COMPLETED));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<OrderTransitionResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.transition(ids, StatusCodeType.DELIVERY_COMPLETED, StatusCodeType.RETURN_INIT);
+                }));
+            }
+            start.countDown();
+
+            int transitioned = 0;
+            for (Future<OrderTransitionResult> future : futures) {
+                transitioned += future.get().transitioned().size();
+            }
+            assertThat(transitioned).isEqualTo(2_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 행마다 원자적으로 비교 후 바꾸는 조건부 UPDATE 흉내
+     */
+    static class FakeOrderStatusStore implements OrderStatusStore {
+
+        private final Map<Long, StatusCodeType> statuses = new ConcurrentHashMap<>();
+        private final List<Integer> statements = new ArrayList<>();
+
+        void put(Long orderId, StatusCodeType status) {
+            statuses.put(orderId, status);
+        }
+
+        @Override
+        public List<Long> transition(Collection<Long> orderIds, Collection<StatusCodeType> from, StatusCodeType to) {
+            synchronized (statements) {
+                statements.add(orderIds.size());
+            }
+            List<Long> transitioned = new ArrayList<>();
+            for (Long orderId : orderIds) {
+                boolean[] changed = new boolean[1];
+                statuses.computeIfPresent(orderId, (id, current) -> {
+                    if (!from.contains(current)) {
+                        return current;
+                    }
+                    changed[0] = true;
+                    return to;
+                });
+                if (changed[0]) {
+                    transitioned.add(orderId);
+                }
+            }
+            return transitioned;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.objects.marketbridge.outbox;
+
+import com.objects.marketbridge.common.util.MutableClock;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelayTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private FakeOutboxStore store;
+    private MutableClock clock;
+    private RecordingSubscriber subscriber;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        store = new FakeOutboxStore();
+        subscriber = new RecordingSubscriber();
+        relay = new OutboxRelay(store, List.of(subscriber), 3, Duration.ofSeconds(30),
+                Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofDays(7), Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void 집합체별로_발생_순서대로_전달하고_발행_표시한다() {
+        store.append(List.of(
+                StatusChange.order(1L, StatusCodeType.ORDER_INIT),
+                StatusChange.payment("r-1", 1L, StatusCodeType.PAYMENT_PENDING),
+                StatusChange.order(1L, StatusCodeType.ORDER_RECEIVED),
+                StatusChange.payment("r-1", 1L, StatusCodeType.PAYMENT_COMPLETED),
+                StatusChange.delivery(7L, 1L, StatusCodeType.DELIVERY_ING),
+                StatusChange.order(1L, StatusCodeType.DELIVERY_COMPLETED)), START.minusSeconds(2));
+
+        assertThat(relay.relay()).isEqualTo(6);
+
+        assertThat(subscriber.statuses(AggregateType.ORDER, "1"))
+                .containsExactly(StatusCodeType.ORDER_INIT, StatusCodeType.ORDER_RECEIVED, StatusCodeType.DELIVERY_COMPLETED);
+        assertThat(subscriber.statuses(AggregateType.PAYMENT, "r-1"))
+                .containsExactly(StatusCodeType.PAYMENT_PENDING, StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(store.countPending()).isZero();
+
+        OutboxLag lag = relay.lag();
+        assertThat(lag.published()).isEqualTo(6L);
+        assertThat(lag.last()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(lag.pending()).isZero();
+    }
+
+    @Test
+    void 발행할_이벤트가_없는_폴링은_직전_지연을_남기지_않는다() {
+        store.append(List.of(StatusChange.order(1L, StatusCodeType.ORDER_INIT)), START.minusSeconds(60));
+        relay.relay();
+        assertThat(relay.lag().last()).isEqualTo(Duration.ofSeconds(60));
+
+        clock.advance(Duration.ofSeconds(1));
+        relay.relay();
+
+        OutboxLag lag = relay.lag();
+        assertThat(lag.last()).isEqualTo(Duration.ZERO);
+        assertThat(lag.max()).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void 구독자가_실패하면_뒤_이벤트를_멈췄다가_백오프_뒤에_순서대로_다시_전달한다() {
+        store.append(List.of(
+                StatusChange.order(1L, StatusCodeType.ORDER_INIT),
+                StatusChange.order(1L, StatusCodeType.ORDER_RECEIVED),
+                StatusChange.order(2L, StatusCodeType.ORDER_INIT)), START);
+        subscriber.failuresLeft = 1;
+
+        relay.relay();
+
+        assertThat(subscriber.statuses(AggregateType.ORDER, "1")).isEmpty();
+        assertThat(subscriber.statuses(AggregateType.ORDER, "2")).containsExactly(StatusCodeType.ORDER_INIT);
+        assertThat(relay.lag().failures()).isEqualTo(1L);
+
+        // 재시도 시각 전에는 뒤 이벤트도 나가지 않는다
+        relay.relay();
+        assertThat(subscriber.statuses(AggregateType.ORDER, "1")).isEmpty();
+
+        clock.advance(Duration.ofSeconds(1));
+        relay.relay();
+
+        assertThat(subscriber.statuses(AggregateType.ORDER, "1"))
+                .containsExactly(StatusCodeType.ORDER_INIT, StatusCodeType.ORDER_RECEIVED);
+        assertThat(subscriber.received.get(1).attempts()).isEqualTo(1);
+        assertThat(store.countPending()).isZero();
+    }
+
+    @Test
+    void 다른_릴레이가_선점한_앞_이벤트가_있으면_뒤_이벤트를_보류한다() {
+        store.append(List.of(
+                StatusChange.payment("r-1", 1L, StatusCodeType.PAYMENT_PENDING),
+                StatusChange.payment("r-1", 1L, StatusCodeType.PAYMENT_COMPLETED)), START);
+        long first = store.events.firstKey();
+        store.events.get(first).claimedBy = "other";
+        store.events.get(first).leaseUntil = START.plusSeconds(30);
+
+        assertThat(relay.relay()).isZero();
+        assertThat(subscriber.received).isEmpty();
+
+        // 다른 릴레이가 죽어 선점이 만료되면 앞 이벤트부터 가져간다
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(relay.relay()).isEqualTo(2);
+        assertThat(subscriber.statuses(AggregateType.PAYMENT, "r-1"))
+                .containsExactly(StatusCodeType.PAYMENT_PENDING, StatusCodeType.PAYMENT_COMPLETED);
+    }
+
+    @Test
+    void 미발행_적체와_가장_오래된_대기_시간을_보여준다() {
+        store.append(List.of(StatusChange.order(1L, StatusCodeType.ORDER_INIT)), START.minusMinutes(1));
+        store.append(List.of(StatusChange.order(2L, StatusCodeType.ORDER_INIT)), START);
+
+        OutboxLag lag = relay.lag();
+
+        assertThat(lag.pending()).isEqualTo(2L);
+        assertThat(lag.oldestPendingAge()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void 보존_기간이_지난_발행_이벤트만_지운다() {
+        store.append(List.of(
+                StatusChange.order(1L, StatusCodeType.ORDER_INIT),
+                StatusChange.order(2L, StatusCodeType.ORDER_INIT),
+                StatusChange.order(3L, StatusCodeType.ORDER_INIT),
+                StatusChange.order(4L, StatusCodeType.ORDER_INIT)), START);
+        relay.relay();
+        store.append(List.of(StatusChange.order(5L, StatusCodeType.ORDER_INIT)), START);
+
+        clock.advance(Duration.ofDays(8));
+
+        assertThat(relay.purge()).isEqualTo(4);
+        assertThat(store.events).hasSize(1);
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+
+        private final List<StatusChangedEvent> received = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public void onStatusChanged(StatusChangedEvent event) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("subscriber down");
+            }
+            received.add(event);
+        }
+
+        List<StatusCodeType> statuses(AggregateType type, String aggregateId) {
+            return received.stream()
+                    .filter(event -> event.aggregateType() == type && event.aggregateId().equals(aggregateId))
+                    .map(StatusChangedEvent::status)
+                    .toList();
+        }
+    }
+
+    static class FakeOutboxStore implements OutboxStore {
+
+        private final TreeMap<Long, Row> events = new TreeMap<>();
+        private long nextId = 1;
+
+        @Override
+        public void append(Collection<StatusChange> changes, LocalDateTime createdAt) {
+            for (StatusChange change : changes) {
+                Row row = new Row();
+                row.id = nextId++;
+                row.change = change;
+                row.createdAt = createdAt;
+                row.availableAt = createdAt;
+                events.put(row.id, row);
+            }
+        }
+
+        @Override
+        public List<StatusChangedEvent> claim(String relayId, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+            List<StatusChangedEvent> claimed = new ArrayList<>();
+            for (Row row : events.values()) {
+                if (claimed.size() == limit) {
+                    break;
+                }
+                if (row.publishedAt == null && !row.availableAt.isAfter(now) && (row.leaseUntil == null || row.leaseUntil.isBefore(now))) {
+                    row.claimedBy = relayId;
+                    row.leaseUntil = leaseUntil;
+                    claimed.add(row.toEvent());
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public Map<AggregateKey, Long> findFirstPendingNotClaimedBy(String relayId, Collection<AggregateKey> aggregates) {
+            Map<AggregateKey, Long> first = new HashMap<>();
+            for (Row row : events.values()) {
+                AggregateKey key = new AggregateKey(row.change.aggregateType(), row.change.aggregateId());
+                if (row.publishedAt == null && !relayId.equals(row.claimedBy) && aggregates.contains(key)) {
+                    first.putIfAbsent(key, row.id);
+                }
+            }
+            return first;
+        }
+
+        @Override
+        public void markPublished(Collection<Long> eventIds, LocalDateTime now) {
+            for (Long id : eventIds) {
+                Row row = events.get(id);
+                row.publishedAt = now;
+                row.claimedBy = null;
+                row.leaseUntil = null;
+            }
+        }
+
+        @Override
+        public void release(Collection<Long> eventIds) {
+            for (Long id : eventIds) {
+                events.get(id).claimedBy = null;
+                events.get(id).leaseUntil = null;
+            }
+        }
+
+        @Override
+        public void fail(long eventId, String error, LocalDateTime retryAt) {
+            Row row = events.get(eventId);
+            row.attempts++;
+            row.availableAt = retryAt;
+            row.claimedBy = null;
+            row.leaseUntil = null;
+        }
+
+        @Override
+        public long countPending() {
+            return events.values().stream().filter(row -> row.publishedAt == null).count();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+            return events.values().stream()
+                    .filter(row -> row.publishedAt == null)
+                    .map(row -> row.createdAt)
+                    .min(LocalDateTime::compareTo);
+        }
+
+        @Override
+        public int deletePublishedBefore(LocalDateTime cutoff, int limit) {
+            Set<Long> purgeable = new HashSet<>();
+            for (Row row : events.values()) {
+                if (purgeable.size() < limit && row.publishedAt != null && row.publishedAt.isBefore(cutoff)) {
+                    purgeable.add(row.id);
+                }
+            }
+            purgeable.forEach(events::remove);
+            return purgeable.size();
+        }
+    }
+
+    static class Row {
+
+        private long id;
+        private StatusChange change;
+        private LocalDateTime createdAt;
+        private LocalDateTime availableAt;
+        private String claimedBy;
+        private LocalDateTime leaseUntil;
+        private int attempts;
+        private LocalDateTime publishedAt;
+
+        StatusChangedEvent toEvent() {
+            return new StatusChangedEvent(id, change.aggregateType(), change.aggregateId(), change.orderId(),
+                    change.status(), createdAt, attempts);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.objects.marketbridge.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.objects.marketbridge.common.util.MutableClock;
+import com.objects.marketbridge.domain.IdempotencyState;
+import com.objects.marketbridge.domain.PayMethod;
+import com.objects.marketbridge.domain.StatusCodeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentServiceTest {
+
+    private final FakePaymentStore paymentStore = new FakePaymentStore();
+    private final FakeIdempotencyStore idempotencyStore = new FakeIdempotencyStore();
+
+    @Test
+    void 같은_receiptId_로_다시_요청하면_저장된_응답을_돌려주고_다시_청구하지_않는다() {
+        StubPaymentGateway gateway = new StubPaymentGateway(0, 0, new Random(1));
+        PaymentService service = service(gateway, Clock.systemDefaultZone());
+
+        PaymentResult first = service.create(command("r-1"));
+        PaymentResult second = service.create(command("r-1"));
+
+        assertThat(first.outcome()).isEqualTo(PaymentResult.Outcome.PROCESSED);
+        assertThat(first.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(second.outcome()).isEqualTo(PaymentResult.Outcome.REPLAYED);
+        assertThat(second.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(second.message()).isEqualTo(first.message());
+        assertThat(gateway.approveCalls()).isEqualTo(1L);
+        // 최근 응답은 노드 캐시에서 돌려주므로 멱등 테이블을 조회하지 않는다
+        assertThat(idempotencyStore.finds.get()).isZero();
+    }
+
+    @Test
+    void 캐시가_없는_다른_노드도_멱등_테이블의_응답을_돌려준다() {
+        StubPaymentGateway gateway = new StubPaymentGateway(0, 0, new Random(1));
+        service(gateway, Clock.systemDefaultZone()).create(command("r-1"));
+
+        PaymentResult replayed = service(gateway, Clock.systemDefaultZone()).create(command("r-1"));
+
+        assertThat(replayed.outcome()).isEqualTo(PaymentResult.Outcome.REPLAYED);
+        assertThat(idempotencyStore.finds.get()).isEqualTo(1);
+        assertThat(gateway.approveCalls()).isEqualTo(1L);
+    }
+
+    @Test
+    void 같은_receiptId_로_내용이_다른_요청은_거절한다() {
+        PaymentService service = service(new StubPaymentGateway(0, 0, new Random(1)), Clock.systemDefaultZone());
+        service.create(command("r-1"));
+
+        assertThatThrownBy(() -> service.create(new PaymentCommand("r-1", 1L, 99_000L, PayMethod.CARD, "1234", "KB")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void 처리_중인_요청은_처리_중_응답을_받고_lease_가_지나면_넘겨받는다() {
+        MutableClock clock = new MutableClock();
+        StubPaymentGateway gateway = new StubPaymentGateway(0, 0, new Random(1));
+        PaymentService service = service(gateway, clock);
+        idempotencyStore.claim(IdempotencyKey.of(PaymentOperation.CREATE, "r-1"), command("r-1").requestHash(), LocalDateTime.now(clock));
+
+        PaymentResult waiting = service.create(command("r-1"));
+        clock.advance(Duration.ofMinutes(1));
+        PaymentResult takenOver = service.create(command("r-1"));
+
+        assertThat(waiting.outcome()).isEqualTo(PaymentResult.Outcome.IN_PROGRESS);
+        assertThat(takenOver.outcome()).isEqualTo(PaymentResult.Outcome.PROCESSED);
+        assertThat(takenOver.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+    }
+
+    @Test
+    void 승인_뒤에_실패한_요청의_재시도는_PG_를_다시_부르지_않는다() {
+        StubPaymentGateway gateway = new StubPaymentGateway(0, 0, new Random(1));
+        PaymentService service = service(gateway, Clock.systemDefaultZone());
+        paymentStore.failTransitions.set(1);
+
+        assertThatThrownBy(() -> service.create(command("r-1"))).isInstanceOf(IllegalStateException.class);
+        PaymentResult retried = service.create(command("r-1"));
+
+        assertThat(retried.outcome()).isEqualTo(PaymentResult.Outcome.PROCESSED);
+        assertThat(retried.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(gateway.approveCalls()).isEqualTo(1L);
+    }
+
+    @Test
+    void 보존_기간이_지난_끝난_기록만_지운다() {
+        MutableClock clock = new MutableClock();
+        PaymentService service = service(new StubPaymentGateway(0, 0, new Random(1)), clock);
+        service.create(command("r-1"));
+        clock.advance(Duration.ofDays(8));
+        service.create(command("r-2"));
+        idempotencyStore.claim(IdempotencyKey.of(PaymentOperation.CREATE, "r-3"), command("r-3").requestHash(), LocalDateTime.now(clock).minusDays(30));
+
+        PaymentIdempotencyService idempotencyService =
+                new PaymentIdempotencyService(idempotencyStore, new ObjectMapper(), 1_000, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                        Duration.ofDays(7), clock);
+
+        assertThat(idempotencyService.purge()).isEqualTo(1);
+        assertThat(idempotencyStore.records.keySet()).containsExactlyInAnyOrder(
+                IdempotencyKey.of(PaymentOperation.CREATE, "r-2").value(), IdempotencyKey.of(PaymentOperation.CREATE, "r-3").value());
+    }
+
+    @Test
+    void 늦게_온_결제대기_콜백은_완료된_결제를_되돌리지_않는다() {
+        PaymentService service = service(new StubPaymentGateway(0, 0, new Random(1)), Clock.systemDefaultZone());
+
+        service.confirm(new PaymentCallback("r-1", 1L, StatusCodeType.PAYMENT_COMPLETED, "APV-1"));
+        PaymentResult stale = service.confirm(new PaymentCallback("r-1", 1L, StatusCodeType.PAYMENT_PENDING, null));
+        PaymentResult created = service.create(command("r-1"));
+
+        assertThat(stale.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(created.status()).isEqualTo(StatusCodeType.PAYMENT_COMPLETED);
+        assertThat(created.message()).isEqualTo("이미 처리된 결제입니다.");
+    }
+
+    @Test
+    void 응답_유실_재시도와_중복_역순_콜백이_섞여도_receiptId_당_한_번만_청구하고_완료된다() throws Exception {
+        StubPaymentGateway gateway = new StubPaymentGateway(0.3, 0.5, new Random(42));
+        PaymentService service = service(gateway, Clock.systemDefaultZone());
+        int receipts = 200;
+        AtomicInteger lostResponses = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < receipts; i++) {
+                String receiptId = "r-" + i;
+                PaymentCommand command = command(receiptId, i + 1);
+                gateway.registerOrder(receiptId, command.orderId());
+                // 같은 결제를 세 번 눌렀다
+                for (int click = 0; click < 3; click++) {
+                    futures.add(executor.submit(() -> payUntilDone(service, command, lostResponses)));
+                }
+                if (i % 20 == 0) {
+                    futures.add(executor.submit(() -> gateway.drainCallbacks().forEach(service::confirm)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<PaymentCallback> remaining = gateway.drainCallbacks();
+        remaining.forEach(service::confirm);
+        remaining.forEach(service::confirm);
+
+        assertThat(gateway.chargedCount()).isEqualTo(receipts);
+        assertThat(paymentStore.payments).hasSize(receipts);
+        assertThat(paymentStore.payments.values().stream().allMatch(payment -> payment.status() == StatusCodeType.PAYMENT_COMPLETED)).isTrue();
+        assertThat(lostResponses.get()).isPositive();
+        // 중복 클릭은 PG 까지 가지 않는다. PG 를 다시 부르는 것은 응답을 잃은 재시도뿐이다.
+        assertThat(gateway.approveCalls()).isLessThanOrEqualTo((long) receipts + lostResponses.get());
+    }
+
+    private static Void payUntilDone(PaymentService service, PaymentCommand command, AtomicInteger lostResponses) throws InterruptedException {
+        for (int attempt = 0; attempt < 1_000; attempt++) {
+            try {
+                PaymentResult result = service.create(command);
+                if (result.outcome() != PaymentResult.Outcome.IN_PROGRESS) {
+                    return null;
+                }
+            } catch (IllegalStateException e) {
+                lostResponses.incrementAndGet();
+            }
+            Thread.sleep(1);
+        }
+        throw new AssertionError("결제가 끝나지 않았습니다. receiptId=" + command.receiptId());
+    }
+
+    private PaymentService service(StubPaymentGateway gateway, Clock clock) {
+        PaymentIdempotencyService idempotencyService =
+                new PaymentIdempotencyService(idempotencyStore, new ObjectMapper(), 1_000, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                        Duration.ofDays(7), clock);
+        return new PaymentService(paymentStore, gateway, idempotencyService);
+    }
+
+    private static PaymentCommand command(String receiptId) {
+        return command(receiptId, 1L);
+    }
+
+    private static PaymentCommand command(String receiptId, long orderId) {
+        return new PaymentCommand(receiptId, orderId, 30_000L, PayMethod.CARD, "1234", "KB");
+    }
+
+    static class FakePaymentStore implements PaymentStore {
+
+        private final Map<String, PaymentRow> payments = new ConcurrentHashMap<>();
+        private final AtomicInteger failTransitions = new AtomicInteger();
+
+        @Override
+        public Optional<PaymentRow> findByReceiptId(String receiptId) {
+            return Optional.ofNullable(payments.get(receiptId));
+        }
+
+        @Override
+        public void insert(PaymentRow payment) {
+            if (payments.putIfAbsent(payment.receiptId(), payment) != null) {
+                throw new DuplicateKeyException("receiptId=" + payment.receiptId());
+            }
+        }
+
+        @Override
+        public boolean transition(String receiptId, Collection<StatusCodeType> from, StatusCodeType to) {
+            if (failTransitions.getAndDecrement() > 0) {
+                throw new IllegalStateException("결제 상태를 바꾸지 못했습니다.");
+            }
+            boolean[] changed = new boolean[1];
+            payments.computeIfPresent(receiptId, (key, payment) -> {
+                if (!from.contains(payment.status())) {
+                    return payment;
+                }
+                changed[0] = true;
+                return new PaymentRow(payment.receiptId(), payment.orderId(), payment.payMethod(), payment.payNum(), payment.pg(), to);
+            });
+            return changed[0];
+        }
+    }
+
+    static class FakeIdempotencyStore implements IdempotencyStore {
+
+        private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+        private final AtomicInteger finds = new AtomicInteger();
+
+        @Override
+        public boolean claim(IdempotencyKey key, String requestHash, LocalDateTime now) {
+            return records.putIfAbsent(key.value(), new IdempotencyRecord(key.value(), requestHash, IdempotencyState.IN_PROGRESS, null, now)) == null;
+        }
+
+        @Override
+        public Optional<IdempotencyRecord> find(String key) {
+            finds.incrementAndGet();
+            return Optional.ofNullable(records.get(key));
+        }
+
+        @Override
+        public boolean takeOver(String key, LocalDateTime updatedAt, String requestHash, LocalDateTime now) {
+            IdempotencyRecord current = records.get(key);
+            return current != null && current.state() != IdempotencyState.COMPLETED && current.updatedAt().equals(updatedAt)
+                    && records.replace(key, current, new IdempotencyRecord(key, requestHash, current.state(), current.response(), now));
+        }
+
+        @Override
+        public void charge(String key, String approval, LocalDateTime now) {
+            records.computeIfPresent(key, (k, record) -> record.state() == IdempotencyState.IN_PROGRESS
+                    ? new IdempotencyRecord(k, record.requestHash(), IdempotencyState.CHARGED, approval, now) : record);
+        }
+
+        @Override
+        public void complete(String key, String response, LocalDateTime now) {
+            records.computeIfPresent(key, (k, record) -> new IdempotencyRecord(k, record.requestHash(), IdempotencyState.COMPLETED, response, now));
+        }
+
+        @Override
+        public void release(String key) {
+            records.computeIfPresent(key, (k, record) -> switch (record.state()) {
+                case IN_PROGRESS -> null;
+                case CHARGED -> new IdempotencyRecord(k, record.requestHash(), record.state(), record.response(), LocalDateTime.MIN);
+                case COMPLETED -> record;
+            });
+        }
+
+        @Override
+        public int deleteCompletedBefore(LocalDateTime cutoff, int limit) {
+            List<String> keys = records.values().stream()
+                    .filter(record -> record.state() == IdempotencyState.COMPLETED && record.updatedAt().isBefore(cutoff))
+                    .map(IdempotencyRecord::key)
+                    .limit(limit)
+                    .toList();
+            keys.forEach(records::remove);
+            return keys.size();
+        }
+    }
+}
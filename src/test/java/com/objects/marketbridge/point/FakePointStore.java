@@ -0,0 +1,72 @@
+package com.objects.marketbridge.point;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * point / point_balance 테이블을 메모리로 흉내 낸다. 포인트 원장을 쓰는 테스트가 함께 쓴다.
+ */
+public class FakePointStore implements PointStore {
+
+    private static final Comparator<PointEntry> CURSOR_ORDER =
+            Comparator.comparing(PointEntry::createdAt).thenComparing(PointEntry::pointId);
+
+    final List<PointEntry> entries = Collections.synchronizedList(new ArrayList<>());
+    final Map<Long, PointSnapshot> snapshots = new ConcurrentHashMap<>();
+    volatile boolean failSnapshots;
+
+    @Override
+    public Optional<PointSnapshot> findSnapshot(Long userId) {
+        return Optional.ofNullable(snapshots.get(userId));
+    }
+
+    @Override
+    public List<PointEntry> findEntriesAfter(Long userId, LocalDateTime afterCreatedAt, long afterPointId) {
+        return entriesOf(userId).stream()
+                .filter(entry -> entry.isAfter(afterCreatedAt, afterPointId))
+                .toList();
+    }
+
+    @Override
+    public void append(PointEntry entry) {
+        entries.add(entry);
+    }
+
+    @Override
+    public void appendAll(Collection<PointEntry> entries) {
+        this.entries.addAll(entries);
+    }
+
+    @Override
+    public void saveSnapshots(Collection<PointSnapshot> snapshots) {
+        if (failSnapshots) {
+            throw new IllegalStateException("db down");
+        }
+        snapshots.forEach(snapshot -> this.snapshots.merge(snapshot.userId(), snapshot,
+                (old, next) -> old.lastCreatedAt().isAfter(next.lastCreatedAt())
+                        || old.lastCreatedAt().equals(next.lastCreatedAt()) && old.lastPointId() > next.lastPointId() ? old : next));
+    }
+
+    /**
+     * 사용자의 point 행을 (created_at, point_id) 순으로 돌려준다.
+     */
+    public List<PointEntry> entriesOf(Long userId) {
+        synchronized (entries) {
+            return entries.stream()
+                    .filter(entry -> entry.userId().equals(userId))
+                    .sorted(CURSOR_ORDER)
+                    .toList();
+        }
+    }
+
+    public long sum(Long userId) {
+        return entriesOf(userId).stream().mapToLong(PointEntry::amount).sum();
+    }
+}
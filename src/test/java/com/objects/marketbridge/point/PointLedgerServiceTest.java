@@ -0,0 +1,195 @@
+package com.objects.marketbridge.point;
+
+import com.objects.marketbridge.common.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointLedgerServiceTest {
+
+    private FakePointStore pointStore;
+    private PointLedgerService service;
+
+    @BeforeEach
+    void setUp() {
+        pointStore = new FakePointStore();
+        service = new PointLedgerService(pointStore, new SnowflakeIdGenerator(0), 16);
+    }
+
+    @Test
+    void 적립과_사용을_원장에_쌓고_잔액을_돌려준다() {
+        service.earn(1L, 1_000, null, "가입 적립");
+        PointEntry spent = service.spend(1L, 300, 10L, "주문 사용").orElseThrow();
+
+        assertThat(spent.balance()).isEqualTo(700L);
+        assertThat(service.balance(1L)).isEqualTo(700L);
+        assertThat(pointStore.entries).hasSize(2);
+    }
+
+    @Test
+    void 잔액보다_많이_쓸_수_없다() {
+        service.earn(1L, 100, null, "적립");
+
+        assertThat(service.spend(1L, 101, null, "사용")).isEmpty();
+        assertThat(service.balance(1L)).isEqualTo(100L);
+        assertThat(pointStore.entries).hasSize(1);
+    }
+
+    @Test
+    void 처음_읽을_때_스냅샷_이후_원장만_더한다() {
+        LocalDateTime snapshotAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        pointStore.snapshots.put(1L, new PointSnapshot(1L, 5_000, snapshotAt, 100));
+        pointStore.entries.add(new PointEntry(50L, 1L, null, 9_999, 0, 9_999, "스냅샷에 이미 반영", snapshotAt.minusSeconds(1)));
+        pointStore.entries.add(new PointEntry(200L, 1L, 7L, 0, 1_000, 4_000, "주문 사용", snapshotAt.plusSeconds(1)));
+        pointStore.entries.add(new PointEntry(300L, 1L, null, 500, 0, 4_500, "리뷰 적립", snapshotAt.plusSeconds(2)));
+
+        assertThat(service.balance(1L)).isEqualTo(4_500L);
+    }
+
+    @Test
+    void 다른_노드가_더_작은_id_로_나중에_쓴_행도_다시_읽는다() {
+        LocalDateTime snapshotAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        pointStore.snapshots.put(1L, new PointSnapshot(1L, 1_000, snapshotAt, 900));
+        // id 는 스냅샷보다 작지만 시각은 뒤다
+        pointStore.entries.add(new PointEntry(500L, 1L, null, 200, 0, 1_200, "다른 노드 적립", snapshotAt.plusSeconds(1)));
+        pointStore.entries.add(new PointEntry(800L, 1L, null, 300, 0, 1_300, "같은 시각 작은 id", snapshotAt));
+
+        assertThat(service.balance(1L)).isEqualTo(1_200L);
+    }
+
+    @Test
+    void hold_는_커밋_결과에_따라_확정하거나_되돌린다() {
+        service.earn(1L, 1_000, null, "적립");
+
+        PointEntry committed = service.hold(1L, 300, 10L, "주문 사용").orElseThrow();
+        PointEntry aborted = service.hold(1L, 200, 11L, "주문 사용").orElseThrow();
+
+        assertThat(service.balance(1L)).isEqualTo(500L);
+        assertThat(service.hold(1L, 501, 12L, "주문 사용")).isEmpty();
+        assertThat(pointStore.entries).hasSize(1);
+        // 결과를 모르는 hold 가 남아 있으면 스냅샷을 미룬다
+        assertThat(service.snapshot()).isZero();
+
+        pointStore.append(committed);
+        service.confirm(committed);
+        service.release(aborted);
+
+        assertThat(service.balance(1L)).isEqualTo(700L);
+        assertThat(service.snapshot()).isEqualTo(1);
+        assertThat(new PointLedgerService(pointStore, new SnowflakeIdGenerator(1), 16).balance(1L)).isEqualTo(700L);
+    }
+
+    @Test
+    void hold_중에_쓴_행의_잔액은_커밋된_잔액으로_남는다() {
+        service.earn(1L, 1_000, null, "적립");
+        PointEntry held = service.hold(1L, 300, 10L, "주문 사용").orElseThrow();
+
+        PointEntry earned = service.earn(1L, 100, null, "리뷰 적립");
+        PointEntry spent = service.spend(1L, 750, null, "사용").orElseThrow();
+        service.release(held);
+
+        assertThat(earned.balance()).isEqualTo(1_100L);
+        assertThat(spent.balance()).isEqualTo(350L);
+        assertThat(service.spend(1L, 351, null, "사용")).isEmpty();
+        assertThat(service.balance(1L)).isEqualTo(350L);
+        assertThat(service.snapshot()).isEqualTo(1);
+        assertThat(pointStore.snapshots.get(1L).balance()).isEqualTo(350L);
+        assertThat(new PointLedgerService(pointStore, new SnowflakeIdGenerator(1), 16).balance(1L)).isEqualTo(350L);
+    }
+
+    @Test
+    void 바뀐_잔액만_스냅샷으로_기록한다() {
+        service.earn(1L, 100, null, "적립");
+        service.earn(2L, 200, null, "적립");
+
+        assertThat(service.snapshot()).isEqualTo(2);
+        assertThat(service.snapshot()).isZero();
+
+        service.spend(2L, 50, null, "사용");
+
+        assertThat(service.snapshot()).isEqualTo(1);
+        assertThat(pointStore.snapshots.get(2L).balance()).isEqualTo(150L);
+        assertThat(new PointLedgerService(pointStore, new SnowflakeIdGenerator(1), 16).balance(2L)).isEqualTo(150L);
+    }
+
+    @Test
+    void 스냅샷_저장에_실패하면_다음_주기에_다시_기록한다() {
+        service.earn(1L, 100, null, "적립");
+        pointStore.failSnapshots = true;
+
+        assertThat(service.snapshot()).isZero();
+
+        pointStore.failSnapshots = false;
+
+        assertThat(service.snapshot()).isEqualTo(1);
+    }
+
+    @Test
+    void 동시에_적립과_사용이_몰려도_잔액이_정확하다() throws InterruptedException {
+        int users = 20;
+        int operations = 20_000;
+        Map<Long, AtomicLong> expected = new ConcurrentHashMap<>();
+        for (long userId = 1; userId <= users; userId++) {
+            expected.put(userId, new AtomicLong());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(operations);
+        for (int i = 0; i < operations; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long userId = random.nextLong(1, users + 1);
+                    int amount = random.nextInt(1, 100);
+                    if (random.nextBoolean()) {
+                        service.earn(userId, amount, null, "적립");
+                        expected.get(userId).addAndGet(amount);
+                    } else if (service.spend(userId, amount, null, "사용").isPresent()) {
+                        expected.get(userId).addAndGet(-amount);
+                    }
+                    if (random.nextInt(500) == 0) {
+                        service.snapshot();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        service.snapshot();
+
+        PointLedgerService reloaded = new PointLedgerService(pointStore, new SnowflakeIdGenerator(1), 16);
+        for (long userId = 1; userId <= users; userId++) {
+            long balance = expected.get(userId).get();
+            assertThat(balance).isNotNegative();
+            assertThat(service.balance(userId)).isEqualTo(balance);
+            assertThat(pointStore.sum(userId)).isEqualTo(balance);
+            assertThat(pointStore.snapshots.get(userId).balance()).isEqualTo(balance);
+            assertThat(reloaded.balance(userId)).isEqualTo(balance);
+        }
+        // 사용자별로 원장의 잔액 열이 순서대로 이어져야 한다
+        for (long userId = 1; userId <= users; userId++) {
+            long running = 0;
+            for (PointEntry entry : pointStore.entriesOf(userId)) {
+                running += entry.amount();
+                assertThat(entry.balance()).isEqualTo(running);
+            }
+        }
+    }
+}
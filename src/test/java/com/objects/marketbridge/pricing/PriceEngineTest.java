@@ -0,0 +1,120 @@
+package com.objects.marketbridge.pricing;
+
+import com.objects.marketbridge.domain.Membership;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceEngineTest {
+
+    private final PriceEngine engine = new PriceEngine(5, 1_000);
+
+    @Test
+    void 옵션_최저가에_할인율과_와우_할인을_적용한다() {
+        PriceBatch batch = new PriceBatch(3);
+        int rocket = batch.addProduct(1L, 20_000, 10, true);
+        batch.addOptionPrice(rocket, 15_000);
+        batch.addOptionPrice(rocket, 12_000);
+        batch.addOptionPrice(rocket, null);
+        batch.addProduct(2L, 20_000, 10, false);
+        batch.addProduct(3L, null, null, true);
+
+        PriceBatchResult basic = engine.compute(batch, Membership.BASIC);
+        PriceBatchResult wow = engine.compute(batch, Membership.WOW);
+
+        assertThat(basic.get(0)).isEqualTo(new ListingPrice(1L, 12_000, 10_800, 10_800, null));
+        assertThat(wow.get(0).salePrice()).isEqualTo(10_260);
+        // 와우 할인은 로켓배송 상품에만
+        assertThat(wow.get(1).salePrice()).isEqualTo(18_000);
+        assertThat(wow.get(2).finalPrice()).isZero();
+    }
+
+    @Test
+    void 최소_주문_금액을_넘는_쿠폰_중_가장_많이_깎이는_쿠폰_하나를_쓴다() {
+        PriceBatch batch = new PriceBatch(2);
+        int first = batch.addProduct(1L, 30_000, 0, false);
+        int second = batch.addProduct(2L, 9_000, 0, false);
+        batch.addCoupon(first, 11L, 3_000, 10_000);
+        batch.addCoupon(first, 12L, 5_000, 50_000);
+        batch.addCoupon(second, 21L, 1_000, 10_000);
+        batch.addGlobalCoupon(99L, 2_000, 5_000);
+
+        PriceBatchResult result = engine.compute(batch, Membership.BASIC);
+
+        assertThat(result.get(0).couponId()).isEqualTo(11L);
+        assertThat(result.get(0).finalPrice()).isEqualTo(27_000);
+        assertThat(result.get(1).couponId()).isEqualTo(99L);
+        assertThat(result.get(1).finalPrice()).isEqualTo(7_000);
+    }
+
+    @Test
+    void 잡아_둔_자리_중_채우지_않은_상품은_빼고_순서를_지킨다() {
+        PriceBatch batch = new PriceBatch(3);
+        int first = batch.reserveProduct(1L);
+        int missing = batch.reserveProduct(2L);
+        int third = batch.reserveProduct(3L);
+        batch.setProduct(third, 5_000, 0, false);
+        batch.setProduct(first, 10_000, 150, false);
+
+        int[] index = batch.compact();
+        batch.addOptionPrice(index[third], 4_000);
+
+        assertThat(index).containsExactly(0, -1, 1);
+        assertThat(missing).isEqualTo(1);
+        PriceBatchResult result = engine.compute(batch, Membership.BASIC);
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0)).isEqualTo(new ListingPrice(1L, 10_000, 0, 0, null));
+        assertThat(result.get(1)).isEqualTo(new ListingPrice(3L, 4_000, 4_000, 4_000, null));
+    }
+
+    @Test
+    void 쿠폰이_가격보다_크면_0원이다() {
+        PriceBatch batch = new PriceBatch(1);
+        batch.addCoupon(batch.addProduct(1L, 1_000, 0, false), 1L, 5_000, 0);
+
+        assertThat(engine.compute(batch, Membership.BASIC).finalPrice(0)).isZero();
+    }
+
+    @Test
+    void 병렬_계산은_상품별_계산과_결과가_같다() {
+        SplittableRandom random = new SplittableRandom(7);
+        PriceBatch batch = new PriceBatch(16);
+        int size = 50_000;
+        int[][] reference = new int[size][];
+        for (int i = 0; i < size; i++) {
+            int price = random.nextInt(1_000, 500_000);
+            int rate = random.nextInt(0, 60);
+            boolean own = random.nextBoolean();
+            int index = batch.addProduct(i + 1, price, rate, own);
+            int option = random.nextInt(3) == 0 ? random.nextInt(1_000, 500_000) : -1;
+            if (option >= 0) {
+                batch.addOptionPrice(index, option);
+            }
+            int amount = random.nextInt(500, 20_000);
+            int minimum = random.nextInt(0, 300_000);
+            batch.addCoupon(index, 1_000_000L + i, amount, minimum);
+            reference[i] = new int[]{option >= 0 ? option : price, rate, own ? 1 : 0, amount, minimum};
+        }
+
+        PriceBatchResult result = engine.compute(batch, Membership.WOW);
+
+        for (int i = 0; i < size; i++) {
+            int[] row = reference[i];
+            int sale = row[0] * (100 - row[1]) / 100;
+            if (row[2] == 1) {
+                sale = sale * 95 / 100;
+            }
+            int expected = sale >= row[4] ? Math.max(0, sale - row[3]) : sale;
+            assertThat(result.finalPrice(i)).isEqualTo(expected);
+            assertThat(result.productId(i)).isEqualTo(i + 1L);
+        }
+    }
+
+    @Test
+    void 와우_할인율은_0에서_100_사이여야_한다() {
+        assertThatThrownBy(() -> new PriceEngine(101, 1_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
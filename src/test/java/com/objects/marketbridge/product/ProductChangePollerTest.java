@@ -0,0 +1,148 @@
+package com.objects.marketbridge.product;
+
+import com.objects.marketbridge.common.util.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductChangePollerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private MutableClock clock;
+    private FakeProductChangeStore store;
+    private FakeProductDetailLoader loader;
+    private ProductCatalogCache cache;
+    private List<ProductChangedEvent> events;
+    private ProductChangePoller poller;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        store = new FakeProductChangeStore();
+        loader = new FakeProductDetailLoader();
+        cache = new ProductCatalogCache(loader, 1_000);
+        events = new ArrayList<>();
+        poller = new ProductChangePoller(store, event -> {
+            events.add((ProductChangedEvent) event);
+            cache.onProductChanged((ProductChangedEvent) event);
+        }, OVERLAP, clock);
+    }
+
+    @Test
+    void 폴링할_때마다_워터마크를_폴링_시작_시각으로_옮기고_overlap_만큼_겹쳐_읽는다() {
+        clock.advance(Duration.ofSeconds(1));
+        poller.poll();
+        clock.advance(Duration.ofSeconds(1));
+        poller.poll();
+
+        assertThat(store.sinces).containsExactly(START.minus(OVERLAP), START.plusSeconds(1).minus(OVERLAP));
+        assertThat(poller.watermark()).isEqualTo(START.plusSeconds(2));
+    }
+
+    @Test
+    void 바뀐_상품은_다음_폴링에서_캐시에서_지워지고_새로_읽힌다() {
+        loader.put(1L, "린넨 셔츠");
+        loader.put(2L, "면 바지");
+        assertThat(cache.get(1L).orElseThrow().getName()).isEqualTo("린넨 셔츠");
+        cache.get(2L);
+
+        clock.advance(Duration.ofSeconds(1));
+        loader.put(1L, "린넨 셔츠 (할인)");
+        store.change(1L, START.plusSeconds(1));
+
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(cache.get(1L).orElseThrow().getName()).isEqualTo("린넨 셔츠 (할인)");
+        assertThat(loader.loads.get(1L)).isEqualTo(2);
+        assertThat(loader.loads.get(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void 직전_폴링보다_먼저_찍힌_변경도_overlap_안이면_놓치지_않는다() {
+        clock.advance(Duration.ofSeconds(1));
+        poller.poll();
+
+        // 폴링 전에 시작했지만 폴링 뒤에 커밋된 트랜잭션
+        store.change(7L, START.minusSeconds(3));
+        clock.advance(Duration.ofSeconds(1));
+        poller.poll();
+        // overlap 보다 오래된 변경은 이미 앞선 폴링이 보냈어야 한다
+        store.change(8L, START.minusSeconds(10));
+        clock.advance(Duration.ofSeconds(1));
+        poller.poll();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).productIds()).containsExactly(7L);
+    }
+
+    @Test
+    void 변경_행의_product_id_가_비어_있어도_캐시_무효화는_실패하지_않는다() {
+        loader.put(1L, "린넨 셔츠");
+        cache.get(1L);
+        store.change(null, START);
+        store.change(1L, START);
+
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(events.get(0).productIds()).containsExactly(1L);
+    }
+
+    static class FakeProductChangeStore implements ProductChangeStore {
+
+        private final List<Object[]> changes = new ArrayList<>();
+        private final List<LocalDateTime> sinces = new ArrayList<>();
+
+        void change(Long productId, LocalDateTime updatedAt) {
+            changes.add(new Object[]{productId, updatedAt});
+        }
+
+        @Override
+        public List<Long> findChangedProductIds(LocalDateTime since) {
+            sinces.add(since);
+            List<Long> changed = new ArrayList<>();
+            for (Object[] change : changes) {
+                if (((LocalDateTime) change[1]).isAfter(since) && !changed.contains((Long) change[0])) {
+                    changed.add((Long) change[0]);
+                }
+            }
+            return changed;
+        }
+    }
+
+    static class FakeProductDetailLoader extends ProductDetailLoader {
+
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<Long, Integer> loads = new HashMap<>();
+
+        FakeProductDetailLoader() {
+            super(null, null, null, null, null, null);
+        }
+
+        void put(Long productId, String name) {
+            names.put(productId, name);
+        }
+
+        @Override
+        public Map<Long, ProductDetail> loadAll(Collection<Long> productIds) {
+            Map<Long, ProductDetail> details = new HashMap<>();
+            for (Long productId : Set.copyOf(productIds)) {
+                loads.merge(productId, 1, Integer::sum);
+                if (names.containsKey(productId)) {
+                    details.put(productId, ProductDetail.builder().productId(productId).name(names.get(productId)).build());
+                }
+            }
+            return details;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.objects.marketbridge.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 에서 행 생성, 증감 반영, 제자리 rebuild 를 확인한다. 스키마는 엔티티에서 만든다.
+ */
+@DataJpaTest
+@Import(JdbcRatingStore.class)
+class JdbcRatingStoreTest {
+
+    private static final Timestamp NOW = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    @Autowired
+    private JdbcRatingStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        store.createLockRow();
+    }
+
+    @Test
+    void 없는_행만_만들고_증감을_더한다() {
+        store.createMissing(List.of(1L));
+        store.applyDeltas(Map.of(1L, new long[]{0, 0, 0, 0, 1}));
+
+        store.createMissing(List.of(1L, 2L));
+        store.applyDeltas(Map.of(1L, new long[]{0, 0, 0, 1, 0}, 2L, new long[]{1, 0, 0, 0, 0}));
+
+        assertThat(store.findAll(List.of(1L, 2L))).containsExactlyInAnyOrder(
+                new RatingSummary(1L, new long[]{0, 0, 0, 1, 1}),
+                new RatingSummary(2L, new long[]{1, 0, 0, 0, 0}));
+        assertThat(jdbcTemplate.queryForObject("select review_count from product_rating where product_id = 1", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    void rebuild_는_행을_지우지_않고_review_로_고친다() {
+        store.createMissing(List.of(1L, 2L));
+        store.applyDeltas(Map.of(1L, new long[]{0, 0, 5, 0, 0}, 2L, new long[]{0, 1, 0, 0, 0}));
+        review(11L, 1L, 5, null);
+        review(12L, 1L, 4, null);
+        review(13L, 1L, 1, NOW);
+        review(14L, 3L, 2, null);
+
+        int rebuilt = store.rebuild();
+
+        assertThat(rebuilt).isEqualTo(2);
+        assertThat(store.findAll(List.of(1L, 2L, 3L))).containsExactlyInAnyOrder(
+                new RatingSummary(1L, new long[]{0, 0, 0, 1, 1}),
+                RatingSummary.empty(2L),
+                new RatingSummary(3L, new long[]{0, 1, 0, 0, 0}));
+        assertThat(store.findAll(List.of(RatingStore.LOCK_ROW_ID))).containsExactly(RatingSummary.empty(RatingStore.LOCK_ROW_ID));
+    }
+
+    private void review(Long reviewId, Long productId, int rating, Timestamp deletedAt) {
+        jdbcTemplate.update("insert into review (review_id, order_id, product_id, content, rating, created_at, updated_at, deleted_at) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                reviewId, 100L, productId, "리뷰", rating, NOW, NOW, deletedAt);
+    }
+}
@@ -0,0 +1,156 @@
+package com.objects.marketbridge.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingSummaryServiceTest {
+
+    private final FakeRatingStore ratingStore = new FakeRatingStore();
+    private final RatingSummaryService service = new RatingSummaryService(ratingStore);
+
+    @Test
+    void 리뷰를_쓰면_별점_개수가_늘어난다() {
+        change(null, null, 1L, 5);
+        change(null, null, 1L, 4);
+        change(null, null, 1L, 5);
+
+        RatingSummary summary = service.find(1L);
+
+        assertThat(summary.reviewCount()).isEqualTo(3L);
+        assertThat(summary.count(5)).isEqualTo(2L);
+        assertThat(summary.average()).isEqualTo(14.0 / 3);
+        assertThat(ratingStore.createCount).isEqualTo(1);
+    }
+
+    @Test
+    void 별점을_고치면_이전_별점에서_빼고_새_별점에_더한다() {
+        change(null, null, 1L, 2);
+
+        change(1L, 2, 1L, 5);
+
+        RatingSummary summary = service.find(1L);
+        assertThat(summary.count(2)).isZero();
+        assertThat(summary.count(5)).isEqualTo(1L);
+    }
+
+    @Test
+    void 별점이_그대로면_집계는_그대로다() {
+        change(null, null, 1L, 3);
+        int updates = ratingStore.applyCount;
+
+        change(1L, 3, 1L, 3);
+
+        assertThat(ratingStore.applyCount).isEqualTo(updates);
+    }
+
+    @Test
+    void 같은_상품의_증감이_상쇄되면_반영하지_않는다() {
+        int updates = ratingStore.applyCount;
+
+        service.onReviewRatingChanged(new ReviewRatingChangedEvent(List.of(new RatingDelta(1L, 4, 1), new RatingDelta(1L, 4, -1))));
+
+        assertThat(ratingStore.applyCount).isEqualTo(updates);
+        assertThat(ratingStore.createCount).isZero();
+    }
+
+    @Test
+    void 지운_리뷰는_집계에서_빠진다() {
+        change(null, null, 1L, 4);
+        change(null, null, 1L, 1);
+
+        change(1L, 1, null, null);
+
+        RatingSummary summary = service.find(1L);
+        assertThat(summary.reviewCount()).isEqualTo(1L);
+        assertThat(summary.count(4)).isEqualTo(1L);
+    }
+
+    @Test
+    void 범위를_벗어난_별점은_집계하지_않는다() {
+        change(null, null, 1L, 0);
+        change(null, null, 1L, null);
+
+        assertThat(service.find(1L).reviewCount()).isZero();
+        assertThat(ratingStore.createCount).isZero();
+    }
+
+    @Test
+    void 여러_상품의_요약을_입력_순서대로_한_번에_읽는다() {
+        change(null, null, 3L, 5);
+        change(null, null, 1L, 1);
+        int queries = ratingStore.findCount;
+
+        Map<Long, RatingSummary> summaries = service.findAll(List.of(3L, 2L, 1L));
+
+        assertThat(ratingStore.findCount).isEqualTo(queries + 1);
+        assertThat(summaries.keySet()).containsExactly(3L, 2L, 1L);
+        assertThat(summaries.get(2L)).isEqualTo(RatingSummary.empty(2L));
+        assertThat(summaries.get(1L).count(1)).isEqualTo(1L);
+    }
+
+    @Test
+    void 상품이_바뀐_리뷰는_두_상품_모두에_반영된다() {
+        List<RatingDelta> deltas = RatingDelta.between(1L, 4, 2L, 4);
+
+        assertThat(deltas).containsExactly(new RatingDelta(1L, 4, -1), new RatingDelta(2L, 4, 1));
+    }
+
+    private void change(Long beforeProductId, Integer beforeRating, Long afterProductId, Integer afterRating) {
+        List<RatingDelta> deltas = RatingDelta.between(beforeProductId, beforeRating, afterProductId, afterRating);
+        if (!deltas.isEmpty()) {
+            service.onReviewRatingChanged(new ReviewRatingChangedEvent(deltas));
+        }
+    }
+
+    static class FakeRatingStore implements RatingStore {
+
+        private final Map<Long, long[]> rows = new HashMap<>();
+        private int applyCount;
+        private int findCount;
+        private int createCount;
+
+        @Override
+        public List<RatingSummary> findAll(Collection<Long> productIds) {
+            findCount++;
+            return productIds.stream()
+                    .filter(rows::containsKey)
+                    .map(productId -> new RatingSummary(productId, rows.get(productId)))
+                    .toList();
+        }
+
+        @Override
+        public void createLockRow() {
+        }
+
+        @Override
+        public void createMissing(Collection<Long> productIds) {
+            productIds.forEach(productId -> {
+                if (rows.putIfAbsent(productId, new long[5]) == null) {
+                    createCount++;
+                }
+            });
+        }
+
+        @Override
+        public void applyDeltas(Map<Long, long[]> deltas) {
+            applyCount++;
+            deltas.forEach((productId, delta) -> {
+                long[] counts = rows.get(productId);
+                for (int i = 0; i < 5; i++) {
+                    counts[i] += delta[i];
+                }
+            });
+        }
+
+        @Override
+        public int rebuild() {
+            return rows.size();
+        }
+    }
+}
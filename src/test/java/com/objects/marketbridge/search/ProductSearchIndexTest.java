@@ -0,0 +1,103 @@
+package com.objects.marketbridge.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(1L, "여름원피스 린넨", List.of("여성의류"));
+        index.index(2L, "린넨 셔츠", List.of("남성의류"));
+        index.index(3L, "꽃무늬 원피스", List.of("여성의류", "원피스"));
+        index.index(4L, "Nike Air Max", List.of("운동화"));
+    }
+
+    @Test
+    void 붙여쓴_한글의_부분_단어로_찾는다() {
+        assertThat(productIds(index.search("원피스", SearchMode.AND, 10))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void AND는_모든_토큰을_포함한_상품만_찾는다() {
+        assertThat(productIds(index.search("린넨 원피스", SearchMode.AND, 10))).containsExactly(1L);
+        assertThat(productIds(index.search("린넨 구두", SearchMode.AND, 10))).isEmpty();
+    }
+
+    @Test
+    void OR는_토큰이_많이_맞을수록_앞에_온다() {
+        List<Long> ids = productIds(index.search("린넨 원피스", SearchMode.OR, 10));
+
+        assertThat(ids.get(0)).isEqualTo(1L);
+        assertThat(ids).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void 태그와_영문_대소문자를_구분없이_찾는다() {
+        assertThat(productIds(index.search("남성", SearchMode.AND, 10))).containsExactly(2L);
+        assertThat(productIds(index.search("nike", SearchMode.AND, 10))).containsExactly(4L);
+    }
+
+    @Test
+    void 상품이_바뀌거나_지워지면_바로_반영된다() {
+        index.index(2L, "린넨 원피스", List.of());
+        index.remove(3L);
+
+        assertThat(productIds(index.search("원피스", SearchMode.AND, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(productIds(index.search("셔츠", SearchMode.AND, 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void 압축_후에도_같은_결과를_돌려준다() {
+        for (long id = 100; id < 2_000; id++) {
+            index.index(id, "상품 " + id, List.of());
+        }
+        for (long id = 100; id < 1_900; id++) {
+            index.remove(id);
+        }
+        index.remove(3L);
+        index.compact();
+
+        assertThat(productIds(index.search("원피스", SearchMode.AND, 10))).containsExactly(1L);
+        assertThat(productIds(index.search("상품", SearchMode.AND, 200))).hasSize(100);
+    }
+
+    @Test
+    void 한_글자로도_찾는다() {
+        assertThat(productIds(index.search("셔", SearchMode.AND, 10))).containsExactly(2L);
+        assertThat(productIds(index.search("스", SearchMode.AND, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(productIds(index.search("린넨 셔", SearchMode.AND, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void 지운_문서는_df_에서_빠져서_점수가_음수가_되지_않는다() {
+        for (long id = 100; id < 600; id++) {
+            index.index(id, "린넨 바지 " + id, List.of());
+        }
+        for (long id = 100; id < 600; id++) {
+            index.remove(id);
+        }
+
+        List<SearchHit> hits = index.search("린넨", SearchMode.OR, 10);
+
+        assertThat(productIds(hits)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(hits.stream().allMatch(hit -> hit.score() > 0)).isTrue();
+    }
+
+    @Test
+    void 결과는_limit_개수만큼만_돌려준다() {
+        assertThat(index.search("의류", SearchMode.OR, 2)).hasSize(2);
+    }
+
+    private static List<Long> productIds(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::productId).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package com.objects.marketbridge.stock;
+
+import com.objects.marketbridge.common.util.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockReservationServiceTest {
+
+    private static final StockKey KEY = new StockKey(1L, 10L, null);
+
+    private FakeStockStore stockStore;
+    private MutableClock clock;
+    private List<Object> events;
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        stockStore = new FakeStockStore();
+        stockStore.rows.put(KEY, new AtomicInteger(1_000));
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        events = Collections.synchronizedList(new ArrayList<>());
+        service = new StockReservationService(stockStore, Duration.ofMinutes(10), events::add, clock);
+    }
+
+    @Test
+    void 가용_수량보다_많이_예약할_수_없다() {
+        assertThat(service.reserve(KEY, 1_000)).isPresent();
+        assertThat(service.reserve(KEY, 1)).isEmpty();
+    }
+
+    @Test
+    void 없는_재고는_예약되지_않는다() {
+        assertThat(service.reserve(new StockKey(2L, 10L, null), 1)).isEmpty();
+    }
+
+    @Test
+    void 해제한_예약은_확정할_수_없고_수량이_돌아온다() {
+        StockReservation reservation = service.reserve(KEY, 300).orElseThrow();
+
+        assertThat(service.release(reservation.id())).isTrue();
+        assertThat(service.confirm(reservation.id())).isFalse();
+        assertThat(service.available(KEY)).isEqualTo(1_000);
+    }
+
+    @Test
+    void 가용_수량이_0을_지나면_이벤트를_낸다() {
+        StockReservation all = service.reserve(KEY, 1_000).orElseThrow();
+        service.release(all.id());
+
+        assertThat(events).containsExactly(
+                new StockAvailabilityChangedEvent(KEY, false),
+                new StockAvailabilityChangedEvent(KEY, true));
+    }
+
+    @Test
+    void 만료된_예약은_해제된다() {
+        StockReservation reservation = service.reserve(KEY, 400).orElseThrow();
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThat(service.releaseExpired()).isEqualTo(1);
+        assertThat(service.confirm(reservation.id())).isFalse();
+        assertThat(service.available(KEY)).isEqualTo(1_000);
+    }
+
+    @Test
+    void 확정된_수량만_배치로_반영된다() {
+        StockReservation first = service.reserve(KEY, 3).orElseThrow();
+        StockReservation second = service.reserve(KEY, 5).orElseThrow();
+        service.confirm(first.id());
+        service.confirm(second.id());
+
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(stockStore.quantity(KEY)).isEqualTo(992);
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    void 반영에_실패하면_다음_주기에_다시_반영한다() {
+        service.confirm(service.reserve(KEY, 7).orElseThrow().id());
+        stockStore.failNext = true;
+
+        assertThat(service.flush()).isZero();
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(stockStore.quantity(KEY)).isEqualTo(993);
+    }
+
+    @Test
+    void 동시에_예약해도_초과판매가_발생하지_않는다() throws InterruptedException {
+        int threads = 32;
+        int attemptsPerThread = 2_000;
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        int quantity = random.nextInt(1, 4);
+                        Optional<StockReservation> reservation = service.reserve(KEY, quantity);
+                        if (reservation.isEmpty()) {
+                            continue;
+                        }
+                        if (random.nextInt(3) == 0) {
+                            service.release(reservation.get().id());
+                        } else if (service.confirm(reservation.get().id())) {
+                            sold.addAndGet(quantity);
+                        }
+                        if (i % 100 == 0) {
+                            service.flush();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        service.flush();
+
+        assertThat(sold.get()).isLessThanOrEqualTo(1_000);
+        assertThat(stockStore.minimumSeen.get()).isNotNegative();
+        assertThat(stockStore.quantity(KEY)).isEqualTo(1_000 - sold.get());
+        assertThat(service.available(KEY)).isEqualTo(1_000 - sold.get());
+    }
+
+    static class FakeStockStore implements StockStore {
+
+        private final Map<StockKey, AtomicInteger> rows = new ConcurrentHashMap<>();
+        private final AtomicInteger minimumSeen = new AtomicInteger(Integer.MAX_VALUE);
+        private volatile boolean failNext;
+
+        int quantity(StockKey key) {
+            return rows.get(key).get();
+        }
+
+        @Override
+        public Optional<StockSnapshot> load(StockKey key) {
+            AtomicInteger quantity = rows.get(key);
+            return quantity == null ? Optional.empty() : Optional.of(new StockSnapshot(key.productId(), quantity.get()));
+        }
+
+        @Override
+        public synchronized void applyDeltas(List<StockDelta> deltas) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("db down");
+            }
+            for (StockDelta delta : deltas) {
+                int quantity = rows.get(KEY).addAndGet(delta.delta());
+                minimumSeen.accumulateAndGet(quantity, Math::min);
+            }
+        }
+    }
+}